@@ -0,0 +1,91 @@
+package com.register.vehicletype.adapter.db.cache;
+
+import org.springframework.cache.Cache;
+
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * The BatchCache interface is implemented by the caches that can read, write or evict many entries in a single round
+ * trip.
+ */
+public interface BatchCache {
+
+    /**
+     * Puts all the given entries into the cache in a single round trip.
+     *
+     * @param entries the entries to put, keyed by cache key
+     */
+    void putAll(Map<?, ?> entries);
+
+    /**
+     * Gets the entries of all the given keys from the cache in a single round trip.
+     *
+     * @param keys the keys of the entries to get
+     * @return the entries found, keyed by cache key in the order of the given keys, holding null for the keys cached
+     *         with a null value
+     */
+    Map<Object, Object> getAll(Collection<?> keys);
+
+    /**
+     * Evicts the entries of all the given keys from the cache in a single round trip.
+     *
+     * @param keys the keys of the entries to evict
+     */
+    void evictAll(Collection<?> keys);
+
+    /**
+     * Puts all the given entries into the given cache, in a single round trip when the cache supports it
+     * and one entry at a time otherwise.
+     *
+     * @param cache   the cache to put the entries into
+     * @param entries the entries to put, keyed by cache key
+     */
+    static void putAll(Cache cache, Map<?, ?> entries) {
+        if (cache instanceof BatchCache batchCache) {
+            batchCache.putAll(entries);
+        } else if (cache != null) {
+            entries.forEach(cache::put);
+        }
+    }
+
+    /**
+     * Gets the entries of all the given keys from the given cache, in a single round trip when the cache supports it
+     * and one entry at a time otherwise.
+     *
+     * @param cache the cache to get the entries from
+     * @param keys  the keys of the entries to get
+     * @return the entries found, keyed by cache key in the order of the given keys
+     */
+    static Map<Object, Object> getAll(Cache cache, Collection<?> keys) {
+        if (cache instanceof BatchCache batchCache) {
+            return batchCache.getAll(keys);
+        }
+        Map<Object, Object> entries = new LinkedHashMap<>();
+        if (cache != null) {
+            keys.forEach(key -> {
+                Cache.ValueWrapper valueWrapper = cache.get(key);
+                if (valueWrapper != null) {
+                    entries.put(key, valueWrapper.get());
+                }
+            });
+        }
+        return entries;
+    }
+
+    /**
+     * Evicts the entries of all the given keys from the given cache, in a single round trip when the cache supports
+     * it and one entry at a time otherwise.
+     *
+     * @param cache the cache to evict the entries from
+     * @param keys  the keys of the entries to evict
+     */
+    static void evictAll(Cache cache, Collection<?> keys) {
+        if (cache instanceof BatchCache batchCache) {
+            batchCache.evictAll(keys);
+        } else if (cache != null) {
+            keys.forEach(cache::evict);
+        }
+    }
+}
@@ -0,0 +1,144 @@
+package com.register.vehicletype.adapter.db.cache;
+
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.connection.RedisConnection;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.BiConsumer;
+import java.util.stream.Collectors;
+
+/**
+ * The CacheInvalidationChannel class tells the other nodes, through a Redis pub/sub channel, which keys of their local
+ * caches are stale. Every message holds the ID of the sending node, the name of the cache and the stale keys, one per
+ * line; a message without keys clears the whole cache. The messages sent by this node are ignored when received.
+ * While the given circuit breaker bypasses Redis nothing is published, the caches invalidating the keys they wrote
+ * meanwhile once Redis answers again.
+ */
+public class CacheInvalidationChannel implements MessageListener {
+
+    private static final String LINE_SEPARATOR = "\n";
+
+    private final RedisConnectionFactory redisConnectionFactory;
+    private final byte[] channel;
+    private final RedisCircuitBreaker circuitBreaker;
+    private final String nodeId = UUID.randomUUID().toString();
+    private final List<BiConsumer<String, List<String>>> invalidationHandlers = new CopyOnWriteArrayList<>();
+
+    /**
+     * The CacheInvalidationChannel class tells the other nodes which keys of their local caches are stale.
+     *
+     * @param redisConnectionFactory the factory of the Redis connections
+     * @param channel                the name of the Redis pub/sub channel
+     */
+    public CacheInvalidationChannel(RedisConnectionFactory redisConnectionFactory, String channel) {
+        this(redisConnectionFactory, channel, null);
+    }
+
+    /**
+     * The CacheInvalidationChannel class tells the other nodes which keys of their local caches are stale.
+     *
+     * @param redisConnectionFactory the factory of the Redis connections
+     * @param channel                the name of the Redis pub/sub channel
+     * @param circuitBreaker         the circuit breaker of the calls to Redis, null to always call Redis
+     */
+    public CacheInvalidationChannel(RedisConnectionFactory redisConnectionFactory, String channel,
+                                    RedisCircuitBreaker circuitBreaker) {
+        this.redisConnectionFactory = redisConnectionFactory;
+        this.channel = channel.getBytes(StandardCharsets.UTF_8);
+        this.circuitBreaker = circuitBreaker;
+    }
+
+    /**
+     * Adds a handler receiving the invalidations sent by the other nodes, with the name of the cache and the stale
+     * keys, or no keys when the whole cache is stale.
+     *
+     * @param invalidationHandler the handler of the invalidations
+     */
+    public void addInvalidationHandler(BiConsumer<String, List<String>> invalidationHandler) {
+        invalidationHandlers.add(invalidationHandler);
+    }
+
+    /**
+     * Tells the other nodes that the given keys of the given cache are stale.
+     *
+     * @param cacheName the name of the cache
+     * @param keys      the stale keys
+     */
+    public void publishEvict(String cacheName, Collection<?> keys) {
+        if (!keys.isEmpty()) {
+            publishUnlessBypassed(() -> sendEvict(cacheName, keys));
+        }
+    }
+
+    /**
+     * Tells the other nodes that the whole given cache is stale.
+     *
+     * @param cacheName the name of the cache
+     */
+    public void publishClear(String cacheName) {
+        publishUnlessBypassed(() -> sendClear(cacheName));
+    }
+
+    /**
+     * Tells the other nodes that the given keys of the given cache are stale, whatever the state of the circuit
+     * breaker.
+     *
+     * @param cacheName the name of the cache
+     * @param keys      the stale keys
+     */
+    void sendEvict(String cacheName, Collection<?> keys) {
+        publish(cacheName + LINE_SEPARATOR + keys.stream().map(String::valueOf)
+                .collect(Collectors.joining(LINE_SEPARATOR)));
+    }
+
+    /**
+     * Tells the other nodes that the whole given cache is stale, whatever the state of the circuit breaker.
+     *
+     * @param cacheName the name of the cache
+     */
+    void sendClear(String cacheName) {
+        publish(cacheName);
+    }
+
+    /**
+     * Hands an invalidation learned by this node from another source than the Redis channel to the handlers, as if
+     * another node had sent it on the channel.
+     *
+     * @param cacheName the name of the cache
+     * @param keys      the stale keys, or no keys when the whole cache is stale
+     */
+    public void receive(String cacheName, List<String> keys) {
+        invalidationHandlers.forEach(invalidationHandler -> invalidationHandler.accept(cacheName, keys));
+    }
+
+    @Override
+    public void onMessage(Message message, byte[] pattern) {
+        List<String> lines = Arrays.asList(new String(message.getBody(), StandardCharsets.UTF_8).split(LINE_SEPARATOR));
+        if (lines.size() < 2 || nodeId.equals(lines.get(0))) {
+            return;
+        }
+        receive(lines.get(1), lines.subList(2, lines.size()));
+    }
+
+    private void publishUnlessBypassed(Runnable send) {
+        if (circuitBreaker == null) {
+            send.run();
+        } else if (circuitBreaker.isCallPermitted()) {
+            circuitBreaker.run(send);
+        }
+    }
+
+    private void publish(String invalidation) {
+        try (RedisConnection connection = redisConnectionFactory.getConnection()) {
+            connection.publish(channel, (nodeId + LINE_SEPARATOR + invalidation).getBytes(StandardCharsets.UTF_8));
+        }
+    }
+
+}
@@ -0,0 +1,39 @@
+package com.register.vehicletype.adapter.db.cache;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * The CachePolicies class holds the {@link CachePolicy} of each cache with bounds of its own, keyed by cache name.
+ */
+public class CachePolicies {
+
+    private final Map<String, CachePolicy> policies = new LinkedHashMap<>();
+
+    /**
+     * Bounds the cache with the given name by the given policy.
+     *
+     * @param cacheName the name of the cache
+     * @param policy    the policy of the cache
+     * @return these cache policies
+     */
+    public CachePolicies with(String cacheName, CachePolicy policy) {
+        policies.put(cacheName, policy);
+        return this;
+    }
+
+    /**
+     * Returns the policies of the caches with bounds of their own, keyed by cache name.
+     *
+     * @return the policies
+     */
+    public Map<String, CachePolicy> getPolicies() {
+        return Collections.unmodifiableMap(policies);
+    }
+
+    public Set<String> getCacheNames() {
+        return Collections.unmodifiableSet(policies.keySet());
+    }
+}
@@ -0,0 +1,49 @@
+package com.register.vehicletype.adapter.db.cache;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+import java.time.Duration;
+
+/**
+ * The CachePolicy record holds the bounds of a cache: how long its entries live in Redis and in the local cache
+ * after being written, how many entries the local cache of each node keeps at most, and how long a local entry
+ * may go unread before it is dropped.
+ *
+ * @param timeToLive        the time an entry lives after being written, zero for no expiry
+ * @param maximumSize       the maximum number of entries of the local cache of each node
+ * @param expireAfterAccess the time a local entry may go unread before being dropped, zero for no idle expiry
+ */
+public record CachePolicy(Duration timeToLive, long maximumSize, Duration expireAfterAccess) {
+
+    /**
+     * Creates a builder of local caches bounded by this policy, which also records the statistics of the cache.
+     * The local entries expire after the time to live of the policy, or sooner after the given time should it be
+     * shorter, so that a missed invalidation is not served for long.
+     *
+     * @param localExpireAfterWrite the longest time a local entry is kept after being written
+     * @return the builder of the local caches
+     */
+    public Caffeine<Object, Object> newLocalCacheBuilder(Duration localExpireAfterWrite) {
+        Caffeine<Object, Object> localCacheBuilder = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(timeToLive.isPositive() && timeToLive.compareTo(localExpireAfterWrite) < 0
+                        ? timeToLive : localExpireAfterWrite)
+                .recordStats();
+        if (expireAfterAccess.isPositive()) {
+            localCacheBuilder.expireAfterAccess(expireAfterAccess);
+        }
+        return localCacheBuilder;
+    }
+
+    /**
+     * Creates the reloads of the entries read after the given fraction of the time to live of this policy, keeping
+     * the write time of as many keys as the local cache holds.
+     *
+     * @param refreshAheadRatio the fraction of the time to live after which an entry read is reloaded
+     * @return the reloads of the entries close to their expiry
+     */
+    public RefreshAhead newRefreshAhead(double refreshAheadRatio) {
+        return new RefreshAhead(Duration.ofNanos((long) (timeToLive.toNanos() * refreshAheadRatio)), timeToLive,
+                maximumSize);
+    }
+}
@@ -0,0 +1,120 @@
+package com.register.vehicletype.adapter.db.cache;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationStartedEvent;
+import org.springframework.context.ApplicationListener;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Consumer;
+import java.util.function.IntFunction;
+
+/**
+ * The CacheWarmer class fills the caches of the vehicles once the application has started, before it reports itself
+ * ready to take traffic, so that the first requests after a deploy or a flush of Redis do not all reach the database.
+ * The hot IDs of every registered cache are loaded in chunks, several chunks at a time, each chunk being loaded
+ * with a single query and written to the cache in a single round trip. The warm-up gives up after the given timeout,
+ * leaving the rest of the entries to be loaded on demand.
+ */
+public class CacheWarmer implements ApplicationListener<ApplicationStartedEvent> {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(CacheWarmer.class);
+
+    private final int size;
+    private final int chunkSize;
+    private final int parallelism;
+    private final Duration timeout;
+    private final Map<String, Target> targets = new LinkedHashMap<>();
+
+    /**
+     * The CacheWarmer class fills the caches of the vehicles once the application has started.
+     *
+     * @param size        the maximum number of entries loaded into each cache
+     * @param chunkSize   the number of entries loaded at once
+     * @param parallelism the number of chunks loaded at the same time
+     * @param timeout     the longest time the warm-up may delay the readiness of the application
+     */
+    public CacheWarmer(int size, int chunkSize, int parallelism, Duration timeout) {
+        this.size = size;
+        this.chunkSize = chunkSize;
+        this.parallelism = parallelism;
+        this.timeout = timeout;
+    }
+
+    /**
+     * Registers a cache to warm up.
+     *
+     * @param name        the name of the cache
+     * @param hotIds      the function returning up to the given number of the IDs to load, the hottest first
+     * @param chunkLoader the loader of a chunk of IDs into the cache
+     * @return this cache warmer
+     */
+    public CacheWarmer register(String name, IntFunction<List<Long>> hotIds, Consumer<List<Long>> chunkLoader) {
+        targets.put(name, new Target(hotIds, chunkLoader));
+        return this;
+    }
+
+    @Override
+    public void onApplicationEvent(ApplicationStartedEvent event) {
+        warmUp();
+    }
+
+    /**
+     * Loads the hot IDs of every registered cache, waiting at most the timeout for the chunks to be loaded.
+     */
+    public void warmUp() {
+        long start = System.nanoTime();
+        LongAdder loadedIds = new LongAdder();
+        ExecutorService executor = Executors.newFixedThreadPool(parallelism,
+                Thread.ofVirtual().name("cache-warmer-", 0).factory());
+        targets.forEach((name, target) -> {
+            try {
+                for (List<Long> chunk : chunks(target.hotIds().apply(size))) {
+                    executor.execute(() -> loadChunk(name, target, chunk, loadedIds));
+                }
+            } catch (RuntimeException e) {
+                LOGGER.warn("Unable to read the hot IDs to warm the cache {} up with", name, e);
+            }
+        });
+        executor.shutdown();
+        try {
+            if (!executor.awaitTermination(timeout.toNanos(), TimeUnit.NANOSECONDS)) {
+                executor.shutdownNow();
+                LOGGER.warn("Cache warm-up timed out after {}, the remaining entries are loaded on demand", timeout);
+            }
+        } catch (InterruptedException e) {
+            executor.shutdownNow();
+            Thread.currentThread().interrupt();
+        }
+        LOGGER.info("Warmed the caches up with {} entries in {} ms", loadedIds.sum(),
+                TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+    }
+
+    private List<List<Long>> chunks(List<Long> ids) {
+        List<List<Long>> chunks = new ArrayList<>();
+        for (int from = 0; from < ids.size(); from += chunkSize) {
+            chunks.add(ids.subList(from, Math.min(from + chunkSize, ids.size())));
+        }
+        return chunks;
+    }
+
+    private static void loadChunk(String name, Target target, List<Long> chunk, LongAdder loadedIds) {
+        try {
+            target.chunkLoader().accept(chunk);
+            loadedIds.add(chunk.size());
+        } catch (RuntimeException e) {
+            LOGGER.warn("Unable to warm the cache {} up with {} entries", name, chunk.size(), e);
+        }
+    }
+
+    private record Target(IntFunction<List<Long>> hotIds, Consumer<List<Long>> chunkLoader) {
+    }
+}
@@ -0,0 +1,233 @@
+package com.register.vehicletype.adapter.db.cache;
+
+import org.springframework.cache.Cache;
+import org.springframework.dao.DataAccessException;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Supplier;
+
+/**
+ * The CircuitBreakingCache class guards a Redis cache with a {@link RedisCircuitBreaker}. While the breaker is open,
+ * or when Redis fails, reads are answered as misses, so the values are loaded from the database, and writes are
+ * skipped. The keys whose writes were skipped are remembered as suspect, since Redis may still hold their former
+ * values, and are evicted from Redis and announced to the other nodes once Redis answers again; past the maximum
+ * number of suspect keys the whole cache is cleared instead.
+ */
+public class CircuitBreakingCache implements Cache, BatchCache, VersionedCache {
+
+    private final Cache redisCache;
+    private final RedisCircuitBreaker circuitBreaker;
+    private final CacheInvalidationChannel invalidationChannel;
+    private final int maximumSuspectKeys;
+    private final Set<Object> suspectKeys = ConcurrentHashMap.newKeySet();
+    private final AtomicBoolean wholeCacheSuspect = new AtomicBoolean();
+
+    /**
+     * The CircuitBreakingCache class guards a Redis cache with a {@link RedisCircuitBreaker}.
+     *
+     * @param redisCache          the Redis cache
+     * @param circuitBreaker      the circuit breaker of the calls to Redis
+     * @param invalidationChannel the channel the suspect keys are announced on once Redis answers again
+     * @param maximumSuspectKeys  the maximum number of suspect keys remembered before clearing the whole cache
+     */
+    public CircuitBreakingCache(Cache redisCache, RedisCircuitBreaker circuitBreaker,
+                                CacheInvalidationChannel invalidationChannel, int maximumSuspectKeys) {
+        this.redisCache = redisCache;
+        this.circuitBreaker = circuitBreaker;
+        this.invalidationChannel = invalidationChannel;
+        this.maximumSuspectKeys = maximumSuspectKeys;
+    }
+
+    @Override
+    public String getName() {
+        return redisCache.getName();
+    }
+
+    @Override
+    public Object getNativeCache() {
+        return redisCache.getNativeCache();
+    }
+
+    @Override
+    public ValueWrapper get(Object key) {
+        return read(() -> redisCache.get(key));
+    }
+
+    @Override
+    public <T> T get(Object key, Class<T> type) {
+        return read(() -> redisCache.get(key, type));
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> T get(Object key, Callable<T> valueLoader) {
+        ValueWrapper valueWrapper = get(key);
+        if (valueWrapper != null) {
+            return (T) valueWrapper.get();
+        }
+        T value;
+        try {
+            value = valueLoader.call();
+        } catch (Exception e) {
+            throw new ValueRetrievalException(key, valueLoader, e);
+        }
+        ValueWrapper existingValue = putIfAbsent(key, value);
+        return existingValue == null ? value : (T) existingValue.get();
+    }
+
+    @Override
+    public void put(Object key, Object value) {
+        write(List.of(key), () -> redisCache.put(key, value));
+    }
+
+    @Override
+    public ValueWrapper putIfAbsent(Object key, Object value) {
+        if (circuitBreaker.isCallPermitted()) {
+            try {
+                return circuitBreaker.call(() -> redisCache.putIfAbsent(key, value));
+            } catch (DataAccessException e) {
+                // The write may or may not have reached Redis
+            }
+        }
+        addSuspectKeys(List.of(key));
+        return null;
+    }
+
+    @Override
+    public void evict(Object key) {
+        write(List.of(key), () -> redisCache.evict(key));
+    }
+
+    @Override
+    public boolean evictIfPresent(Object key) {
+        if (circuitBreaker.isCallPermitted()) {
+            try {
+                return circuitBreaker.call(() -> redisCache.evictIfPresent(key));
+            } catch (DataAccessException e) {
+                // The eviction may or may not have reached Redis
+            }
+        }
+        addSuspectKeys(List.of(key));
+        return false;
+    }
+
+    @Override
+    public void clear() {
+        if (circuitBreaker.isCallPermitted()) {
+            try {
+                circuitBreaker.run(redisCache::clear);
+                return;
+            } catch (DataAccessException e) {
+                // The clearing may or may not have reached Redis
+            }
+        }
+        wholeCacheSuspect.set(true);
+    }
+
+    @Override
+    public void putAll(Map<?, ?> entries) {
+        write(entries.keySet(), () -> BatchCache.putAll(redisCache, entries));
+    }
+
+    @Override
+    public Set<Object> putAllIfNewer(Map<?, ?> entries, Map<?, Long> versions) {
+        if (circuitBreaker.isCallPermitted()) {
+            try {
+                return circuitBreaker.call(() -> VersionedCache.putAllIfNewer(redisCache, entries, versions));
+            } catch (DataAccessException e) {
+                // The write may or may not have reached Redis
+            }
+        }
+        addSuspectKeys(entries.keySet());
+        return Set.of();
+    }
+
+    @Override
+    public Set<Object> putAllIfAbsent(Map<?, ?> entries) {
+        if (circuitBreaker.isCallPermitted()) {
+            try {
+                return circuitBreaker.call(() -> VersionedCache.putAllIfAbsent(redisCache, entries));
+            } catch (DataAccessException e) {
+                // The write may or may not have reached Redis
+            }
+        }
+        addSuspectKeys(entries.keySet());
+        return Set.of();
+    }
+
+    @Override
+    public Long getVersion(Object key) {
+        return read(() -> VersionedCache.getVersion(redisCache, key));
+    }
+
+    @Override
+    public Map<Object, Object> getAll(Collection<?> keys) {
+        Map<Object, Object> entries = read(() -> BatchCache.getAll(redisCache, keys));
+        return entries == null ? Map.of() : entries;
+    }
+
+    @Override
+    public void evictAll(Collection<?> keys) {
+        write(keys, () -> BatchCache.evictAll(redisCache, keys));
+    }
+
+    /**
+     * Evicts the suspect keys from Redis and announces them to the other nodes, reaching Redis directly since it
+     * runs while the circuit breaker recovers.
+     */
+    void invalidateSuspectKeys() {
+        if (wholeCacheSuspect.getAndSet(false)) {
+            suspectKeys.clear();
+            redisCache.clear();
+            invalidationChannel.sendClear(getName());
+            return;
+        }
+        List<Object> keys = List.copyOf(suspectKeys);
+        if (keys.isEmpty()) {
+            return;
+        }
+        keys.forEach(redisCache::evict);
+        invalidationChannel.sendEvict(getName(), keys);
+        keys.forEach(suspectKeys::remove);
+    }
+
+    private <T> T read(Supplier<T> redisCall) {
+        if (!circuitBreaker.isCallPermitted()) {
+            return null;
+        }
+        try {
+            return circuitBreaker.call(redisCall);
+        } catch (DataAccessException e) {
+            return null;
+        }
+    }
+
+    private void write(Collection<?> keys, Runnable redisCall) {
+        if (circuitBreaker.isCallPermitted()) {
+            try {
+                circuitBreaker.run(redisCall);
+                return;
+            } catch (DataAccessException e) {
+                // The write may or may not have reached Redis
+            }
+        }
+        addSuspectKeys(keys);
+    }
+
+    private void addSuspectKeys(Collection<?> keys) {
+        if (wholeCacheSuspect.get()) {
+            return;
+        }
+        suspectKeys.addAll(keys);
+        if (suspectKeys.size() > maximumSuspectKeys) {
+            wholeCacheSuspect.set(true);
+            suspectKeys.clear();
+        }
+    }
+}
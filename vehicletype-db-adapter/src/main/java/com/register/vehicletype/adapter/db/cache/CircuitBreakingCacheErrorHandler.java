@@ -0,0 +1,34 @@
+package com.register.vehicletype.adapter.db.cache;
+
+import org.springframework.cache.interceptor.LoggingCacheErrorHandler;
+import org.springframework.dao.DataAccessException;
+
+import java.util.function.Supplier;
+
+/**
+ * The CircuitBreakingCacheErrorHandler class keeps a cache error from failing the request: a failed read is handled
+ * as a miss, so the value is loaded from the database, and a failed write is logged and skipped. The Redis errors
+ * reaching it are also counted by the circuit breaker, so that they open it as the errors of the guarded caches do.
+ */
+public class CircuitBreakingCacheErrorHandler extends LoggingCacheErrorHandler {
+
+    private final RedisCircuitBreaker circuitBreaker;
+
+    /**
+     * The CircuitBreakingCacheErrorHandler class keeps a cache error from failing the request.
+     *
+     * @param circuitBreaker the circuit breaker of the calls to Redis
+     */
+    public CircuitBreakingCacheErrorHandler(RedisCircuitBreaker circuitBreaker) {
+        super(CircuitBreakingCacheErrorHandler.class.getName(), false);
+        this.circuitBreaker = circuitBreaker;
+    }
+
+    @Override
+    protected void logCacheError(Supplier<String> messageSupplier, RuntimeException exception) {
+        if (exception instanceof DataAccessException) {
+            circuitBreaker.recordFailure();
+        }
+        super.logCacheError(messageSupplier, exception);
+    }
+}
@@ -0,0 +1,53 @@
+package com.register.vehicletype.adapter.db.cache;
+
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+
+import java.util.Collection;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * The CircuitBreakingCacheManager class guards every cache of the given Redis cache manager with a
+ * {@link CircuitBreakingCache}, and invalidates their suspect keys once the circuit breaker recovers.
+ */
+public class CircuitBreakingCacheManager implements CacheManager {
+
+    private final CacheManager redisCacheManager;
+    private final RedisCircuitBreaker circuitBreaker;
+    private final CacheInvalidationChannel invalidationChannel;
+    private final int maximumSuspectKeys;
+    private final ConcurrentMap<String, CircuitBreakingCache> caches = new ConcurrentHashMap<>();
+
+    /**
+     * The CircuitBreakingCacheManager class guards every cache of the given Redis cache manager with a
+     * {@link CircuitBreakingCache}.
+     *
+     * @param redisCacheManager   the cache manager of the Redis caches
+     * @param circuitBreaker      the circuit breaker of the calls to Redis
+     * @param invalidationChannel the channel the suspect keys are announced on once Redis answers again
+     * @param maximumSuspectKeys  the maximum number of suspect keys of a cache before clearing it entirely
+     */
+    public CircuitBreakingCacheManager(CacheManager redisCacheManager, RedisCircuitBreaker circuitBreaker,
+                                       CacheInvalidationChannel invalidationChannel, int maximumSuspectKeys) {
+        this.redisCacheManager = redisCacheManager;
+        this.circuitBreaker = circuitBreaker;
+        this.invalidationChannel = invalidationChannel;
+        this.maximumSuspectKeys = maximumSuspectKeys;
+        circuitBreaker.addRecoveryHandler(() -> caches.values().forEach(CircuitBreakingCache::invalidateSuspectKeys));
+    }
+
+    @Override
+    public Cache getCache(String name) {
+        return caches.computeIfAbsent(name, cacheName -> {
+            Cache redisCache = redisCacheManager.getCache(cacheName);
+            return redisCache == null ? null
+                    : new CircuitBreakingCache(redisCache, circuitBreaker, invalidationChannel, maximumSuspectKeys);
+        });
+    }
+
+    @Override
+    public Collection<String> getCacheNames() {
+        return redisCacheManager.getCacheNames();
+    }
+}
@@ -0,0 +1,163 @@
+package com.register.vehicletype.adapter.db.cache;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.redis.connection.RedisConnection;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * The GenerationCounter class is a counter shared by all the nodes through Redis, whose current value is kept on
+ * every node so reading it needs no round trip. Bumping it increments the Redis value and announces the new value on
+ * the invalidation channel, so the other nodes move to it as well. The value never goes backwards on a node.
+ * While the given circuit breaker bypasses Redis, a bump only moves this node to a new generation, and is made again
+ * in Redis once it answers.
+ */
+public class GenerationCounter {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(GenerationCounter.class);
+    private static final String KEY_PREFIX = "vehicletype:generation:";
+    private static final String CHANNEL_SUFFIX = ":generation";
+
+    private final String name;
+    private final byte[] key;
+    private final RedisConnectionFactory redisConnectionFactory;
+    private final CacheInvalidationChannel invalidationChannel;
+    private final RedisCircuitBreaker circuitBreaker;
+    private final AtomicLong generation = new AtomicLong(-1);
+    private final AtomicBoolean bumpMissed = new AtomicBoolean();
+
+    /**
+     * The GenerationCounter class is a counter shared by all the nodes through Redis.
+     *
+     * @param name                   the name of the counter
+     * @param redisConnectionFactory the factory of the Redis connections
+     * @param invalidationChannel    the channel the new values are announced on
+     */
+    public GenerationCounter(String name, RedisConnectionFactory redisConnectionFactory,
+                             CacheInvalidationChannel invalidationChannel) {
+        this(name, redisConnectionFactory, invalidationChannel, null);
+    }
+
+    /**
+     * The GenerationCounter class is a counter shared by all the nodes through Redis.
+     *
+     * @param name                   the name of the counter
+     * @param redisConnectionFactory the factory of the Redis connections
+     * @param invalidationChannel    the channel the new values are announced on
+     * @param circuitBreaker         the circuit breaker of the calls to Redis, null to always call Redis
+     */
+    public GenerationCounter(String name, RedisConnectionFactory redisConnectionFactory,
+                             CacheInvalidationChannel invalidationChannel, RedisCircuitBreaker circuitBreaker) {
+        this.name = name;
+        this.key = (KEY_PREFIX + name).getBytes(StandardCharsets.UTF_8);
+        this.redisConnectionFactory = redisConnectionFactory;
+        this.invalidationChannel = invalidationChannel;
+        this.circuitBreaker = circuitBreaker;
+        invalidationChannel.addInvalidationHandler(this::onRemoteBump);
+        if (circuitBreaker != null) {
+            circuitBreaker.addRecoveryHandler(this::bumpIfMissed);
+        }
+    }
+
+    /**
+     * Returns the current generation, read from Redis on first use only. Should Redis not answer, the generation
+     * of this node is returned, or the first generation until it is read.
+     *
+     * @return the current generation
+     */
+    public long current() {
+        long currentGeneration = generation.get();
+        if (currentGeneration >= 0) {
+            return currentGeneration;
+        }
+        if (!isCallPermitted()) {
+            return 0;
+        }
+        try {
+            byte[] value = callRedis(connection -> connection.stringCommands().get(key));
+            long storedGeneration = value == null ? 0 : Long.parseLong(new String(value, StandardCharsets.UTF_8));
+            return advanceTo(storedGeneration);
+        } catch (DataAccessException e) {
+            return 0;
+        }
+    }
+
+    /**
+     * Moves every node to a new generation, or only this node while Redis does not answer.
+     */
+    public void bump() {
+        Long bumpedGeneration = null;
+        if (isCallPermitted()) {
+            try {
+                bumpedGeneration = callRedis(connection -> connection.stringCommands().incr(key));
+            } catch (DataAccessException e) {
+                LOGGER.debug("Could not bump the {} generation in Redis", name, e);
+            }
+        }
+        if (bumpedGeneration == null) {
+            bumpMissed.set(true);
+            generation.updateAndGet(currentGeneration -> Math.max(currentGeneration, 0) + 1);
+            return;
+        }
+        advanceTo(bumpedGeneration);
+        invalidationChannel.publishEvict(name + CHANNEL_SUFFIX, List.of(bumpedGeneration));
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    private void onRemoteBump(String channelName, List<String> keys) {
+        if (!channelName.equals(name + CHANNEL_SUFFIX)) {
+            return;
+        }
+        for (String bumpedGeneration : keys) {
+            advanceTo(Long.parseLong(bumpedGeneration));
+        }
+    }
+
+    private void bumpIfMissed() {
+        if (bumpMissed.getAndSet(false)) {
+            try (RedisConnection connection = redisConnectionFactory.getConnection()) {
+                Long bumpedGeneration = connection.stringCommands().incr(key);
+                long localGeneration = generation.get();
+                if (bumpedGeneration != null && bumpedGeneration <= localGeneration) {
+                    // Moves Redis past the generations this node went through alone
+                    bumpedGeneration = connection.stringCommands().incrBy(key, localGeneration + 1 - bumpedGeneration);
+                }
+                if (bumpedGeneration != null) {
+                    advanceTo(bumpedGeneration);
+                    invalidationChannel.sendEvict(name + CHANNEL_SUFFIX, List.of(bumpedGeneration));
+                }
+            } catch (DataAccessException e) {
+                bumpMissed.set(true);
+                throw e;
+            }
+        }
+    }
+
+    private boolean isCallPermitted() {
+        return circuitBreaker == null || circuitBreaker.isCallPermitted();
+    }
+
+    private <T> T callRedis(Function<RedisConnection, T> redisCall) {
+        Supplier<T> call = () -> {
+            try (RedisConnection connection = redisConnectionFactory.getConnection()) {
+                return redisCall.apply(connection);
+            }
+        };
+        return circuitBreaker == null ? call.get() : circuitBreaker.call(call);
+    }
+
+    private long advanceTo(long newGeneration) {
+        return generation.accumulateAndGet(newGeneration, Math::max);
+    }
+}
@@ -0,0 +1,63 @@
+package com.register.vehicletype.adapter.db.cache;
+
+import com.register.vehicletype.adapter.db.transaction.TransactionCallbacks;
+import org.springframework.cache.Cache;
+
+import java.util.List;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+
+/**
+ * The GenerationalCache class caches query results keyed by the shape of the query and the current generation of
+ * its counter. Invalidating the cache only bumps the generation, which orphans every cached result at once without
+ * enumerating their keys; the orphaned results are then dropped by the size and expiry policies of the cache.
+ */
+public class GenerationalCache {
+
+    private static final String KEY_SEPARATOR = ":";
+
+    private final Cache cache;
+    private final GenerationCounter generation;
+
+    /**
+     * The GenerationalCache class caches query results keyed by the shape of the query and the current generation.
+     *
+     * @param cache      the cache the results are kept in
+     * @param generation the counter of the generations of the results
+     */
+    public GenerationalCache(Cache cache, GenerationCounter generation) {
+        this.cache = cache;
+        this.generation = generation;
+    }
+
+    /**
+     * Returns the result of the query with the given shape in the current generation, running the given loader on a
+     * miss. Concurrent misses of the same query share a single run of the loader.
+     *
+     * @param queryShape the name and arguments of the query
+     * @param loader     the loader of the result
+     * @param <V>        the type of the result
+     * @return the result of the query
+     */
+    public <V> V get(List<?> queryShape, Supplier<V> loader) {
+        String key = generation.current() + KEY_SEPARATOR
+                + queryShape.stream().map(String::valueOf).collect(Collectors.joining(KEY_SEPARATOR));
+        try {
+            return cache.get(key, loader::get);
+        } catch (Cache.ValueRetrievalException e) {
+            if (e.getCause() instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            throw e;
+        }
+    }
+
+    /**
+     * Orphans every cached result once the current transaction commits, or right away without a transaction.
+     * Bumping after the commit keeps a concurrent reader from caching the data of before the write under the new
+     * generation.
+     */
+    public void invalidate() {
+        TransactionCallbacks.afterCommit(generation::bump);
+    }
+}
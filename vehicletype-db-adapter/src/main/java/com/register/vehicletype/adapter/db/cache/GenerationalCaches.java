@@ -0,0 +1,47 @@
+package com.register.vehicletype.adapter.db.cache;
+
+import org.springframework.cache.CacheManager;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * The GenerationalCaches class holds the named {@link GenerationalCache} instances of the adapter, each one backed by
+ * the cache of the same name of the cache manager and by its own generation counter.
+ */
+public class GenerationalCaches {
+
+    private final CacheManager cacheManager;
+    private final RedisConnectionFactory redisConnectionFactory;
+    private final CacheInvalidationChannel invalidationChannel;
+    private final RedisCircuitBreaker circuitBreaker;
+    private final ConcurrentMap<String, GenerationalCache> caches = new ConcurrentHashMap<>();
+
+    /**
+     * The GenerationalCaches class holds the named {@link GenerationalCache} instances of the adapter.
+     *
+     * @param cacheManager           the cache manager of the backing caches
+     * @param redisConnectionFactory the factory of the Redis connections the generations are kept with
+     * @param invalidationChannel    the channel the new generations are announced on
+     * @param circuitBreaker         the circuit breaker of the calls to Redis
+     */
+    public GenerationalCaches(CacheManager cacheManager, RedisConnectionFactory redisConnectionFactory,
+                              CacheInvalidationChannel invalidationChannel, RedisCircuitBreaker circuitBreaker) {
+        this.cacheManager = cacheManager;
+        this.redisConnectionFactory = redisConnectionFactory;
+        this.invalidationChannel = invalidationChannel;
+        this.circuitBreaker = circuitBreaker;
+    }
+
+    /**
+     * Returns the GenerationalCache with the given name, creating it on first use.
+     *
+     * @param name the name of the cache
+     * @return the GenerationalCache
+     */
+    public GenerationalCache get(String name) {
+        return caches.computeIfAbsent(name, cacheName -> new GenerationalCache(cacheManager.getCache(cacheName),
+                new GenerationCounter(cacheName, redisConnectionFactory, invalidationChannel, circuitBreaker)));
+    }
+}
@@ -0,0 +1,391 @@
+package com.register.vehicletype.adapter.db.cache;
+
+import org.springframework.cache.support.AbstractValueAdaptingCache;
+import org.springframework.data.redis.connection.RedisConnection;
+import org.springframework.data.redis.connection.ReturnType;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.core.Cursor;
+import org.springframework.data.redis.core.ScanOptions;
+import org.springframework.data.redis.serializer.RedisSerializer;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.Callable;
+
+/**
+ * The HashBucketRedisCache class is a Redis cache keyed by numeric IDs that buckets its entries into Redis hashes,
+ * the entry of ID {@code id} being the field {@code id} of the hash {@code <name>:{<id / bucketSize>}}, instead of
+ * one Redis key per entry. Small hashes of small values are stored by Redis in its compact listpack encoding, which
+ * removes most of the per-key overhead, as long as the bucket size and the values stay within the
+ * {@code hash-max-listpack-entries} and {@code hash-max-listpack-value} settings of the server.
+ * Reads and writes of many entries take one HMGET or HSET per bucket, all through a single pipeline.
+ * Since Redis hashes expire as a whole, the time to live of the cache applies to the buckets, each bucket expiring
+ * once none of its entries has been written for that time.
+ * The versioned writes keep the version of every entry in the sibling hash {@code <name>:{<bucket>}:versions}, in
+ * the same slot thanks to the shared hash tag, and a Lua script writes each bucket atomically, skipping the entries
+ * whose stored version is newer. Evictions keep the versions, so a late write of a deleted entry is still rejected.
+ * The entries loaded on a miss carry no version and are written with HSETNX, never replacing an entry written since.
+ */
+public class HashBucketRedisCache extends AbstractValueAdaptingCache implements BatchCache, VersionedCache {
+
+    private static final int SCAN_COUNT = 1000;
+    private static final byte[] PUT_IF_NEWER_SCRIPT = """
+            local rejected = {}
+            for i = 2, #ARGV, 3 do
+                local version = redis.call('HGET', KEYS[2], ARGV[i])
+                if version and tonumber(version) > tonumber(ARGV[i + 1]) then
+                    rejected[#rejected + 1] = ARGV[i]
+                else
+                    redis.call('HSET', KEYS[1], ARGV[i], ARGV[i + 2])
+                    redis.call('HSET', KEYS[2], ARGV[i], ARGV[i + 1])
+                end
+            end
+            if tonumber(ARGV[1]) > 0 then
+                redis.call('PEXPIRE', KEYS[1], ARGV[1])
+                redis.call('PEXPIRE', KEYS[2], ARGV[1])
+            end
+            return rejected
+            """.getBytes(StandardCharsets.UTF_8);
+
+    private final String name;
+    private final RedisConnectionFactory redisConnectionFactory;
+    private final RedisSerializer<Object> valueSerializer;
+    private final long bucketSize;
+    private final Duration timeToLive;
+
+    /**
+     * The HashBucketRedisCache class is a Redis cache keyed by numeric IDs that buckets its entries into Redis hashes.
+     *
+     * @param name                   the name of the cache, which prefixes the keys of its hashes
+     * @param redisConnectionFactory the factory of the Redis connections
+     * @param valueSerializer        the serializer of the cached values
+     * @param bucketSize             the number of consecutive IDs sharing a hash
+     * @param timeToLive             the time a bucket lives after its last write, zero for no expiry
+     */
+    public HashBucketRedisCache(String name, RedisConnectionFactory redisConnectionFactory,
+                                RedisSerializer<Object> valueSerializer, long bucketSize, Duration timeToLive) {
+        super(true);
+        this.name = name;
+        this.redisConnectionFactory = redisConnectionFactory;
+        this.valueSerializer = valueSerializer;
+        this.bucketSize = bucketSize;
+        this.timeToLive = timeToLive;
+    }
+
+    @Override
+    public String getName() {
+        return name;
+    }
+
+    @Override
+    public Object getNativeCache() {
+        return redisConnectionFactory;
+    }
+
+    @Override
+    protected Object lookup(Object key) {
+        byte[] value;
+        try (RedisConnection connection = redisConnectionFactory.getConnection()) {
+            value = connection.hashCommands().hGet(bucketKey(key), field(key));
+        }
+        return value == null ? null : valueSerializer.deserialize(value);
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> T get(Object key, Callable<T> valueLoader) {
+        Object storeValue = lookup(key);
+        if (storeValue != null) {
+            return (T) fromStoreValue(storeValue);
+        }
+        T value;
+        try {
+            value = valueLoader.call();
+        } catch (Exception e) {
+            throw new ValueRetrievalException(key, valueLoader, e);
+        }
+        ValueWrapper existingValue = putIfAbsent(key, value);
+        return existingValue == null ? value : (T) existingValue.get();
+    }
+
+    @Override
+    public void put(Object key, Object value) {
+        byte[] bucketKey = bucketKey(key);
+        try (RedisConnection connection = redisConnectionFactory.getConnection()) {
+            connection.hashCommands().hSet(bucketKey, field(key), valueSerializer.serialize(toStoreValue(value)));
+            expire(connection, bucketKey);
+        }
+    }
+
+    @Override
+    public ValueWrapper putIfAbsent(Object key, Object value) {
+        try (RedisConnection connection = redisConnectionFactory.getConnection()) {
+            byte[] bucketKey = bucketKey(key);
+            byte[] field = field(key);
+            if (Boolean.TRUE.equals(connection.hashCommands().hSetNX(bucketKey, field,
+                    valueSerializer.serialize(toStoreValue(value))))) {
+                expire(connection, bucketKey);
+                return null;
+            }
+            byte[] existingValue = connection.hashCommands().hGet(bucketKey, field);
+            return existingValue == null ? null : toValueWrapper(valueSerializer.deserialize(existingValue));
+        }
+    }
+
+    @Override
+    public void evict(Object key) {
+        evictIfPresent(key);
+    }
+
+    @Override
+    public boolean evictIfPresent(Object key) {
+        try (RedisConnection connection = redisConnectionFactory.getConnection()) {
+            Long deletedFields = connection.hashCommands().hDel(bucketKey(key), field(key));
+            return deletedFields != null && deletedFields > 0;
+        }
+    }
+
+    @Override
+    public void clear() {
+        ScanOptions scanOptions = ScanOptions.scanOptions().match(name + ":{*}").count(SCAN_COUNT).build();
+        try (RedisConnection connection = redisConnectionFactory.getConnection();
+             Cursor<byte[]> bucketKeys = connection.keyCommands().scan(scanOptions)) {
+            List<byte[]> batch = new ArrayList<>(SCAN_COUNT);
+            while (bucketKeys.hasNext()) {
+                batch.add(bucketKeys.next());
+                if (batch.size() == SCAN_COUNT || !bucketKeys.hasNext()) {
+                    connection.keyCommands().unlink(batch.toArray(byte[][]::new));
+                    batch.clear();
+                }
+            }
+        }
+    }
+
+    /**
+     * Puts all the given entries into Redis with one HSET per bucket, all through a single pipeline.
+     *
+     * @param entries the entries to put, keyed by cache key
+     */
+    @Override
+    public void putAll(Map<?, ?> entries) {
+        if (entries.isEmpty()) {
+            return;
+        }
+        Map<Long, Map<byte[], byte[]>> buckets = new LinkedHashMap<>();
+        entries.forEach((key, value) -> buckets.computeIfAbsent(bucket(key), bucket -> new LinkedHashMap<>())
+                .put(field(key), valueSerializer.serialize(toStoreValue(value))));
+        try (RedisConnection connection = redisConnectionFactory.getConnection()) {
+            connection.openPipeline();
+            buckets.forEach((bucket, fields) -> {
+                byte[] bucketKey = bucketKeyOf(bucket);
+                connection.hashCommands().hMSet(bucketKey, fields);
+                expire(connection, bucketKey);
+            });
+            connection.closePipeline();
+        }
+    }
+
+    /**
+     * Puts all the given entries into Redis with one script call per bucket, all through a single pipeline, each call
+     * skipping the entries of the bucket whose stored version is newer than the given one.
+     *
+     * @param entries  the entries to put, keyed by cache key
+     * @param versions the versions of the entries, keyed by cache key
+     * @return the keys whose entry was rejected as older than the cached one
+     */
+    @Override
+    public Set<Object> putAllIfNewer(Map<?, ?> entries, Map<?, Long> versions) {
+        Set<Object> rejectedKeys = new HashSet<>();
+        if (entries.isEmpty()) {
+            return rejectedKeys;
+        }
+        byte[] timeToLiveMillis = Long.toString(timeToLive.isPositive() ? timeToLive.toMillis() : 0)
+                .getBytes(StandardCharsets.UTF_8);
+        Map<Long, List<byte[]>> buckets = new LinkedHashMap<>();
+        Map<String, Object> keysByField = new HashMap<>();
+        entries.forEach((key, value) -> {
+            List<byte[]> keysAndArgs = buckets.computeIfAbsent(bucket(key), bucket -> {
+                List<byte[]> bucketKeys = new ArrayList<>();
+                bucketKeys.add(bucketKeyOf(bucket));
+                bucketKeys.add(versionsKey(bucket));
+                bucketKeys.add(timeToLiveMillis);
+                return bucketKeys;
+            });
+            keysAndArgs.add(field(key));
+            keysAndArgs.add(Long.toString(versions.get(key)).getBytes(StandardCharsets.UTF_8));
+            keysAndArgs.add(valueSerializer.serialize(toStoreValue(value)));
+            keysByField.put(Long.toString(id(key)), key);
+        });
+        List<Object> results;
+        try (RedisConnection connection = redisConnectionFactory.getConnection()) {
+            connection.openPipeline();
+            buckets.values().forEach(keysAndArgs -> connection.scriptingCommands().eval(PUT_IF_NEWER_SCRIPT,
+                    ReturnType.MULTI, 2, keysAndArgs.toArray(byte[][]::new)));
+            results = connection.closePipeline();
+        }
+        for (Object result : results) {
+            if (result instanceof List<?> rejectedFields) {
+                rejectedFields.forEach(rejectedField -> rejectedKeys.add(keysByField.get(
+                        new String((byte[]) rejectedField, StandardCharsets.UTF_8))));
+            }
+        }
+        return rejectedKeys;
+    }
+
+    /**
+     * Puts all the given entries into Redis with one HSETNX per entry, all through a single pipeline, so that an entry
+     * written meanwhile by a newer version is kept.
+     *
+     * @param entries the entries to put, keyed by cache key
+     * @return the keys whose entry was kept as Redis already held one
+     */
+    @Override
+    public Set<Object> putAllIfAbsent(Map<?, ?> entries) {
+        Set<Object> keptKeys = new HashSet<>();
+        if (entries.isEmpty()) {
+            return keptKeys;
+        }
+        Map<Long, Map<Object, byte[]>> buckets = new LinkedHashMap<>();
+        entries.forEach((key, value) -> buckets.computeIfAbsent(bucket(key), bucket -> new LinkedHashMap<>())
+                .put(key, valueSerializer.serialize(toStoreValue(value))));
+        List<Object> commandKeys = new ArrayList<>();
+        List<Object> results;
+        try (RedisConnection connection = redisConnectionFactory.getConnection()) {
+            connection.openPipeline();
+            buckets.forEach((bucket, values) -> {
+                byte[] bucketKey = bucketKeyOf(bucket);
+                values.forEach((key, value) -> {
+                    connection.hashCommands().hSetNX(bucketKey, field(key), value);
+                    commandKeys.add(key);
+                });
+                if (timeToLive.isPositive()) {
+                    expire(connection, bucketKey);
+                    commandKeys.add(null);
+                }
+            });
+            results = connection.closePipeline();
+        }
+        for (int i = 0; i < commandKeys.size(); i++) {
+            if (commandKeys.get(i) != null && Boolean.FALSE.equals(results.get(i))) {
+                keptKeys.add(commandKeys.get(i));
+            }
+        }
+        return keptKeys;
+    }
+
+    /**
+     * Returns the version of the entry of the given key, kept in the sibling versions hash of its bucket.
+     *
+     * @param key the key of the entry
+     * @return the version of the entry, or null if no versioned write of the key is known
+     */
+    @Override
+    public Long getVersion(Object key) {
+        byte[] version;
+        try (RedisConnection connection = redisConnectionFactory.getConnection()) {
+            version = connection.hashCommands().hGet(versionsKey(bucket(key)), field(key));
+        }
+        return version == null ? null : Long.valueOf(new String(version, StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Gets the entries of all the given keys from Redis with one HMGET per bucket, all through a single pipeline.
+     *
+     * @param keys the keys of the entries to get
+     * @return the entries found, keyed by cache key in the order of the given keys
+     */
+    @Override
+    public Map<Object, Object> getAll(Collection<?> keys) {
+        Map<Object, Object> entries = new LinkedHashMap<>();
+        if (keys.isEmpty()) {
+            return entries;
+        }
+        Map<Long, List<Object>> buckets = new LinkedHashMap<>();
+        keys.forEach(key -> buckets.computeIfAbsent(bucket(key), bucket -> new ArrayList<>()).add(key));
+        List<Object> results;
+        try (RedisConnection connection = redisConnectionFactory.getConnection()) {
+            connection.openPipeline();
+            buckets.forEach((bucket, bucketKeys) -> connection.hashCommands().hMGet(bucketKeyOf(bucket),
+                    bucketKeys.stream().map(HashBucketRedisCache::field).toArray(byte[][]::new)));
+            results = connection.closePipeline();
+        }
+        Map<Object, Object> foundEntries = new LinkedHashMap<>();
+        int bucketIndex = 0;
+        for (List<Object> bucketKeys : buckets.values()) {
+            List<?> values = (List<?>) results.get(bucketIndex++);
+            for (int i = 0; i < bucketKeys.size(); i++) {
+                if (values != null && values.get(i) instanceof byte[] value) {
+                    foundEntries.put(bucketKeys.get(i), fromStoreValue(valueSerializer.deserialize(value)));
+                }
+            }
+        }
+        for (Object key : keys) {
+            if (foundEntries.containsKey(key)) {
+                entries.put(key, foundEntries.get(key));
+            }
+        }
+        return entries;
+    }
+
+    /**
+     * Evicts the entries of all the given keys from Redis with one HDEL per bucket, all through a single pipeline.
+     * The versions of the entries are kept.
+     *
+     * @param keys the keys of the entries to evict
+     */
+    @Override
+    public void evictAll(Collection<?> keys) {
+        if (keys.isEmpty()) {
+            return;
+        }
+        Map<Long, List<byte[]>> buckets = new LinkedHashMap<>();
+        keys.forEach(key -> buckets.computeIfAbsent(bucket(key), bucket -> new ArrayList<>()).add(field(key)));
+        try (RedisConnection connection = redisConnectionFactory.getConnection()) {
+            connection.openPipeline();
+            buckets.forEach((bucket, fields) -> connection.hashCommands().hDel(bucketKeyOf(bucket),
+                    fields.toArray(byte[][]::new)));
+            connection.closePipeline();
+        }
+    }
+
+    private void expire(RedisConnection connection, byte[] bucketKey) {
+        if (timeToLive.isPositive()) {
+            connection.keyCommands().pExpire(bucketKey, timeToLive.toMillis());
+        }
+    }
+
+    private long bucket(Object key) {
+        return Math.floorDiv(id(key), bucketSize);
+    }
+
+    private byte[] bucketKey(Object key) {
+        return bucketKeyOf(bucket(key));
+    }
+
+    private byte[] bucketKeyOf(long bucket) {
+        return (name + ":{" + bucket + "}").getBytes(StandardCharsets.UTF_8);
+    }
+
+    private byte[] versionsKey(long bucket) {
+        return (name + ":{" + bucket + "}:versions").getBytes(StandardCharsets.UTF_8);
+    }
+
+    private static byte[] field(Object key) {
+        return Long.toString(id(key)).getBytes(StandardCharsets.UTF_8);
+    }
+
+    private static long id(Object key) {
+        if (key instanceof Number number) {
+            return number.longValue();
+        }
+        throw new IllegalArgumentException("HashBucketRedisCache keys must be numeric IDs, got " + key);
+    }
+}
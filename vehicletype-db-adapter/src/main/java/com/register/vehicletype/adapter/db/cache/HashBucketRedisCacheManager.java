@@ -0,0 +1,48 @@
+package com.register.vehicletype.adapter.db.cache;
+
+import org.springframework.cache.Cache;
+import org.springframework.cache.support.AbstractCacheManager;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.serializer.RedisSerializer;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.Map;
+
+/**
+ * The HashBucketRedisCacheManager class is a CacheManager providing a {@link HashBucketRedisCache} for each of the
+ * given caches, and no other cache, so it can be put in front of another cache manager in a composite one.
+ */
+public class HashBucketRedisCacheManager extends AbstractCacheManager {
+
+    private final Map<String, Duration> cacheTimeToLives;
+    private final RedisConnectionFactory redisConnectionFactory;
+    private final RedisSerializer<Object> valueSerializer;
+    private final long bucketSize;
+
+    /**
+     * The HashBucketRedisCacheManager class is a CacheManager providing a {@link HashBucketRedisCache} for each of the
+     * given caches.
+     *
+     * @param cacheTimeToLives       the time to live of the buckets of each cache keyed by numeric IDs, keyed by
+     *                               cache name
+     * @param redisConnectionFactory the factory of the Redis connections
+     * @param valueSerializer        the serializer of the cached values
+     * @param bucketSize             the number of consecutive IDs sharing a hash
+     */
+    public HashBucketRedisCacheManager(Map<String, Duration> cacheTimeToLives, RedisConnectionFactory redisConnectionFactory,
+                                       RedisSerializer<Object> valueSerializer, long bucketSize) {
+        this.cacheTimeToLives = cacheTimeToLives;
+        this.redisConnectionFactory = redisConnectionFactory;
+        this.valueSerializer = valueSerializer;
+        this.bucketSize = bucketSize;
+    }
+
+    @Override
+    protected Collection<? extends Cache> loadCaches() {
+        return cacheTimeToLives.entrySet().stream()
+                .map(cacheTimeToLive -> new HashBucketRedisCache(cacheTimeToLive.getKey(), redisConnectionFactory,
+                        valueSerializer, bucketSize, cacheTimeToLive.getValue()))
+                .toList();
+    }
+}
@@ -0,0 +1,114 @@
+package com.register.vehicletype.adapter.db.cache;
+
+import org.springframework.data.redis.cache.RedisCache;
+import org.springframework.data.redis.cache.RedisCacheConfiguration;
+import org.springframework.data.redis.cache.RedisCacheWriter;
+import org.springframework.data.redis.connection.RedisConnection;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.connection.RedisStringCommands.SetOption;
+import org.springframework.data.redis.core.types.Expiration;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * The PipelinedRedisCache class is a RedisCache that can also read many entries with a single MGET, evict many
+ * entries with a single DEL and write many entries through a single pipelined connection, instead of paying one
+ * network round trip per entry.
+ * Keys and values are serialized exactly like the single entry operations, so both paths can be mixed freely.
+ */
+public class PipelinedRedisCache extends RedisCache implements BatchCache {
+
+    private final RedisConnectionFactory redisConnectionFactory;
+
+    /**
+     * The PipelinedRedisCache class is a RedisCache that can also write many entries through a single pipelined
+     * connection.
+     *
+     * @param name                   the name of the cache
+     * @param cacheWriter            the writer used for the single entry operations
+     * @param cacheConfiguration     the configuration of the cache
+     * @param redisConnectionFactory the factory of the connections used for the pipelined operations
+     */
+    protected PipelinedRedisCache(String name, RedisCacheWriter cacheWriter, RedisCacheConfiguration cacheConfiguration,
+                                  RedisConnectionFactory redisConnectionFactory) {
+        super(name, cacheWriter, cacheConfiguration);
+        this.redisConnectionFactory = redisConnectionFactory;
+    }
+
+    /**
+     * Puts all the given entries into Redis using a single pipeline.
+     *
+     * @param entries the entries to put, keyed by cache key
+     */
+    @Override
+    public void putAll(Map<?, ?> entries) {
+        if (entries.isEmpty()) {
+            return;
+        }
+        try (RedisConnection connection = redisConnectionFactory.getConnection()) {
+            connection.openPipeline();
+            entries.forEach((key, value) -> {
+                Object storeValue = toStoreValue(value);
+                byte[] cacheKey = serializeCacheKey(createCacheKey(key));
+                byte[] cacheValue = serializeCacheValue(storeValue);
+                Duration timeToLive = getCacheConfiguration().getTtlFunction().getTimeToLive(key, value);
+                if (timeToLive == null || timeToLive.isZero() || timeToLive.isNegative()) {
+                    connection.stringCommands().set(cacheKey, cacheValue);
+                } else {
+                    connection.stringCommands().set(cacheKey, cacheValue, Expiration.from(timeToLive), SetOption.upsert());
+                }
+            });
+            connection.closePipeline();
+        }
+    }
+
+    /**
+     * Gets the entries of all the given keys from Redis with a single MGET.
+     *
+     * @param keys the keys of the entries to get
+     * @return the entries found, keyed by cache key in the order of the given keys
+     */
+    @Override
+    public Map<Object, Object> getAll(Collection<?> keys) {
+        Map<Object, Object> entries = new LinkedHashMap<>();
+        if (keys.isEmpty()) {
+            return entries;
+        }
+        List<?> orderedKeys = List.copyOf(keys);
+        byte[][] cacheKeys = orderedKeys.stream()
+                .map(key -> serializeCacheKey(createCacheKey(key)))
+                .toArray(byte[][]::new);
+        List<byte[]> cacheValues;
+        try (RedisConnection connection = redisConnectionFactory.getConnection()) {
+            cacheValues = connection.stringCommands().mGet(cacheKeys);
+        }
+        for (int i = 0; cacheValues != null && i < orderedKeys.size(); i++) {
+            if (cacheValues.get(i) != null) {
+                entries.put(orderedKeys.get(i), fromStoreValue(deserializeCacheValue(cacheValues.get(i))));
+            }
+        }
+        return entries;
+    }
+
+    /**
+     * Evicts the entries of all the given keys from Redis with a single DEL.
+     *
+     * @param keys the keys of the entries to evict
+     */
+    @Override
+    public void evictAll(Collection<?> keys) {
+        if (keys.isEmpty()) {
+            return;
+        }
+        byte[][] cacheKeys = keys.stream()
+                .map(key -> serializeCacheKey(createCacheKey(key)))
+                .toArray(byte[][]::new);
+        try (RedisConnection connection = redisConnectionFactory.getConnection()) {
+            connection.keyCommands().del(cacheKeys);
+        }
+    }
+}
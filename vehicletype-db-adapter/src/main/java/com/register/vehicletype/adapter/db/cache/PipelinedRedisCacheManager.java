@@ -0,0 +1,67 @@
+package com.register.vehicletype.adapter.db.cache;
+
+import org.springframework.data.redis.cache.RedisCache;
+import org.springframework.data.redis.cache.RedisCacheConfiguration;
+import org.springframework.data.redis.cache.RedisCacheManager;
+import org.springframework.data.redis.cache.RedisCacheWriter;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+
+import java.util.Map;
+
+/**
+ * The PipelinedRedisCacheManager class is a RedisCacheManager that creates {@link PipelinedRedisCache} instances,
+ * so the adapters can write whole batches of entries in a single round trip.
+ */
+public class PipelinedRedisCacheManager extends RedisCacheManager {
+
+    private final RedisCacheWriter cacheWriter;
+    private final RedisCacheConfiguration defaultCacheConfiguration;
+    private final RedisConnectionFactory redisConnectionFactory;
+
+    /**
+     * The PipelinedRedisCacheManager class is a RedisCacheManager that creates {@link PipelinedRedisCache} instances.
+     *
+     * @param redisConnectionFactory    the factory of the Redis connections
+     * @param defaultCacheConfiguration the configuration used for every cache
+     */
+    public PipelinedRedisCacheManager(RedisConnectionFactory redisConnectionFactory,
+                                      RedisCacheConfiguration defaultCacheConfiguration) {
+        this(redisConnectionFactory, defaultCacheConfiguration, Map.of());
+    }
+
+    /**
+     * The PipelinedRedisCacheManager class is a RedisCacheManager that creates {@link PipelinedRedisCache} instances.
+     *
+     * @param redisConnectionFactory     the factory of the Redis connections
+     * @param defaultCacheConfiguration  the configuration used for the caches without their own configuration
+     * @param initialCacheConfigurations the configurations of the caches that have their own, keyed by cache name
+     */
+    public PipelinedRedisCacheManager(RedisConnectionFactory redisConnectionFactory,
+                                      RedisCacheConfiguration defaultCacheConfiguration,
+                                      Map<String, RedisCacheConfiguration> initialCacheConfigurations) {
+        this(RedisCacheWriter.nonLockingRedisCacheWriter(redisConnectionFactory), defaultCacheConfiguration,
+                initialCacheConfigurations, redisConnectionFactory);
+    }
+
+    private PipelinedRedisCacheManager(RedisCacheWriter cacheWriter, RedisCacheConfiguration defaultCacheConfiguration,
+                                       Map<String, RedisCacheConfiguration> initialCacheConfigurations,
+                                       RedisConnectionFactory redisConnectionFactory) {
+        super(cacheWriter, defaultCacheConfiguration, initialCacheConfigurations);
+        this.cacheWriter = cacheWriter;
+        this.defaultCacheConfiguration = defaultCacheConfiguration;
+        this.redisConnectionFactory = redisConnectionFactory;
+    }
+
+    /**
+     * Creates a {@link PipelinedRedisCache} with the given name and configuration.
+     *
+     * @param name               the name of the cache
+     * @param cacheConfiguration the configuration of the cache, or null to use the default one
+     * @return the created cache
+     */
+    @Override
+    protected RedisCache createRedisCache(String name, RedisCacheConfiguration cacheConfiguration) {
+        RedisCacheConfiguration configuration = cacheConfiguration != null ? cacheConfiguration : defaultCacheConfiguration;
+        return new PipelinedRedisCache(name, cacheWriter, configuration, redisConnectionFactory);
+    }
+}
@@ -0,0 +1,242 @@
+package com.register.vehicletype.adapter.db.cache;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.dao.DataAccessException;
+import org.springframework.dao.QueryTimeoutException;
+import org.springframework.data.redis.connection.RedisConnection;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * The RedisCircuitBreaker class stops the caches from calling Redis once too many of their calls fail or are slow,
+ * so that a stalled Redis costs a volatile read per call instead of the full client timeout. The calls are counted
+ * in fixed windows; once at least the minimum number of calls was made in a window and the share of the failed or
+ * slow ones reaches the threshold, the breaker opens. A call is given up after the call timeout, so that the calls
+ * made while Redis stalls do not wait for the client timeout before the breaker opens. While open, a background
+ * virtual thread pings Redis at the probe interval; once Redis answers in time again, the recovery handlers run, to
+ * invalidate the entries that may have gone stale meanwhile, and the breaker closes.
+ */
+public class RedisCircuitBreaker implements MeterBinder {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(RedisCircuitBreaker.class);
+    private static final String OPEN_METRIC_NAME = "vehicletype.cache.circuit-breaker.open";
+    private static final String REJECTED_CALLS_METRIC_NAME = "vehicletype.cache.circuit-breaker.rejected-calls";
+
+    /**
+     * The states of the breaker. The recovering state still keeps the caches away from Redis, while the recovery
+     * handlers invalidate the stale entries.
+     */
+    public enum State {
+        CLOSED, OPEN, RECOVERING
+    }
+
+    private final RedisConnectionFactory redisConnectionFactory;
+    private final double failureRateThreshold;
+    private final long slowCallNanos;
+    private final Duration callTimeout;
+    private final long minimumCalls;
+    private final long windowNanos;
+    private final Duration probeInterval;
+    private final List<Runnable> recoveryHandlers = new CopyOnWriteArrayList<>();
+    private final AtomicReference<State> state = new AtomicReference<>(State.CLOSED);
+    private final AtomicLong windowStart = new AtomicLong(System.nanoTime());
+    private final LongAdder calls = new LongAdder();
+    private final LongAdder failedCalls = new LongAdder();
+    private final LongAdder rejectedCalls = new LongAdder();
+    private final ExecutorService callExecutor = Executors.newVirtualThreadPerTaskExecutor();
+
+    /**
+     * The RedisCircuitBreaker class stops the caches from calling Redis once too many of their calls fail or are slow.
+     *
+     * @param redisConnectionFactory the factory of the Redis connections, used to probe Redis while open
+     * @param failureRateThreshold   the share of failed or slow calls of a window opening the breaker
+     * @param slowCallDuration       the duration above which a call counts as failed
+     * @param callTimeout            the duration after which a call is given up and counts as failed
+     * @param minimumCalls           the minimum number of calls of a window before the breaker may open
+     * @param window                 the duration of the windows the calls are counted in
+     * @param probeInterval          the interval between two probes of Redis while open
+     */
+    public RedisCircuitBreaker(RedisConnectionFactory redisConnectionFactory, double failureRateThreshold,
+                               Duration slowCallDuration, Duration callTimeout, long minimumCalls, Duration window,
+                               Duration probeInterval) {
+        this.redisConnectionFactory = redisConnectionFactory;
+        this.failureRateThreshold = failureRateThreshold;
+        this.slowCallNanos = slowCallDuration.toNanos();
+        this.callTimeout = callTimeout;
+        this.minimumCalls = minimumCalls;
+        this.windowNanos = window.toNanos();
+        this.probeInterval = probeInterval;
+    }
+
+    /**
+     * Adds a handler run once Redis answers again, before the breaker closes and again right after. The handlers
+     * must reach Redis directly rather than through this breaker.
+     *
+     * @param recoveryHandler the handler of the recovery
+     */
+    public void addRecoveryHandler(Runnable recoveryHandler) {
+        recoveryHandlers.add(recoveryHandler);
+    }
+
+    /**
+     * Tells whether Redis may be called, counting the call as rejected when it may not.
+     *
+     * @return true when the breaker is closed
+     */
+    public boolean isCallPermitted() {
+        if (state.get() == State.CLOSED) {
+            return true;
+        }
+        rejectedCalls.increment();
+        return false;
+    }
+
+    /**
+     * Makes the given call to Redis on a virtual thread, counting it as failed when it throws a DataAccessException,
+     * which is rethrown, when it is slow, or when it does not answer within the call timeout, in which case it is
+     * interrupted and a QueryTimeoutException is thrown.
+     *
+     * @param redisCall the call to Redis
+     * @param <T>       the type of the result of the call
+     * @return the result of the call
+     */
+    public <T> T call(Supplier<T> redisCall) {
+        long start = System.nanoTime();
+        Future<T> future = callExecutor.submit(redisCall::get);
+        T result;
+        try {
+            result = future.get(callTimeout.toNanos(), TimeUnit.NANOSECONDS);
+        } catch (TimeoutException e) {
+            future.cancel(true);
+            record(true);
+            throw new QueryTimeoutException("Redis did not answer within " + callTimeout, e);
+        } catch (InterruptedException e) {
+            future.cancel(true);
+            Thread.currentThread().interrupt();
+            throw new QueryTimeoutException("Interrupted while waiting for Redis", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof DataAccessException dataAccessException) {
+                record(true);
+                throw dataAccessException;
+            }
+            if (e.getCause() instanceof Error error) {
+                throw error;
+            }
+            throw (RuntimeException) e.getCause();
+        }
+        record(System.nanoTime() - start > slowCallNanos);
+        return result;
+    }
+
+    /**
+     * Makes the given call to Redis without result, counting it as {@link #call(Supplier)} does.
+     *
+     * @param redisCall the call to Redis
+     */
+    public void run(Runnable redisCall) {
+        call(() -> {
+            redisCall.run();
+            return null;
+        });
+    }
+
+    /**
+     * Counts a failed call to Redis made outside this breaker.
+     */
+    public void recordFailure() {
+        record(true);
+    }
+
+    public State getState() {
+        return state.get();
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        Gauge.builder(OPEN_METRIC_NAME, this, breaker -> breaker.getState() == State.CLOSED ? 0 : 1)
+                .description("Whether the caches bypass Redis")
+                .register(registry);
+        FunctionCounter.builder(REJECTED_CALLS_METRIC_NAME, rejectedCalls, LongAdder::sum)
+                .description("Calls to Redis skipped while the caches bypass it")
+                .register(registry);
+    }
+
+    private void record(boolean failed) {
+        long now = System.nanoTime();
+        long currentWindowStart = windowStart.get();
+        if (now - currentWindowStart > windowNanos && windowStart.compareAndSet(currentWindowStart, now)) {
+            calls.reset();
+            failedCalls.reset();
+        }
+        calls.increment();
+        if (!failed) {
+            return;
+        }
+        failedCalls.increment();
+        long callCount = calls.sum();
+        if (callCount >= minimumCalls && failedCalls.sum() >= failureRateThreshold * callCount
+                && state.compareAndSet(State.CLOSED, State.OPEN)) {
+            LOGGER.warn("Bypassing Redis after {} failed or slow calls out of {}", failedCalls.sum(), callCount);
+            Thread.ofVirtual().name("redis-circuit-breaker-probe").start(this::probeUntilRecovered);
+        }
+    }
+
+    private void probeUntilRecovered() {
+        while (state.get() != State.CLOSED) {
+            try {
+                Thread.sleep(probeInterval);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+            if (isRedisAnswering() && recover()) {
+                LOGGER.info("Redis answers again, no longer bypassing it");
+            }
+        }
+    }
+
+    private boolean isRedisAnswering() {
+        long start = System.nanoTime();
+        try (RedisConnection connection = redisConnectionFactory.getConnection()) {
+            connection.ping();
+            return System.nanoTime() - start <= slowCallNanos;
+        } catch (RuntimeException e) {
+            return false;
+        }
+    }
+
+    private boolean recover() {
+        state.set(State.RECOVERING);
+        try {
+            recoveryHandlers.forEach(Runnable::run);
+            windowStart.set(System.nanoTime());
+            calls.reset();
+            failedCalls.reset();
+            state.set(State.CLOSED);
+            recoveryHandlers.forEach(Runnable::run);
+            return true;
+        } catch (RuntimeException e) {
+            LOGGER.warn("Could not invalidate the entries that went stale while Redis was bypassed", e);
+            state.compareAndSet(State.RECOVERING, State.OPEN);
+            return false;
+        }
+    }
+}
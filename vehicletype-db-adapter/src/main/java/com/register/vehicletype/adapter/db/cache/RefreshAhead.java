@@ -0,0 +1,101 @@
+package com.register.vehicletype.adapter.db.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.Duration;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * The RefreshAhead class reloads in the background the entries read once they are close to expiring, so that the
+ * entries kept hot by reads are replaced before they expire instead of being missed by a request. It remembers when
+ * this node wrote each entry, the entries written by other nodes being refreshed by those nodes.
+ */
+public class RefreshAhead {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(RefreshAhead.class);
+
+    private final long refreshAfterNanos;
+    private final Cache<String, Long> writeTimes;
+    private final Set<String> refreshingKeys = ConcurrentHashMap.newKeySet();
+    private final LongAdder refreshes = new LongAdder();
+
+    /**
+     * The RefreshAhead class reloads in the background the entries read once they are close to expiring.
+     *
+     * @param refreshAfter the age after which an entry read is reloaded, shorter than the time to live
+     * @param timeToLive   the time an entry lives after being written
+     * @param maximumKeys  the maximum number of keys whose write time is remembered
+     */
+    public RefreshAhead(Duration refreshAfter, Duration timeToLive, long maximumKeys) {
+        if (!refreshAfter.isPositive() || refreshAfter.compareTo(timeToLive) >= 0) {
+            throw new IllegalArgumentException("The refresh age must be positive and shorter than the time to live: "
+                    + refreshAfter);
+        }
+        this.refreshAfterNanos = refreshAfter.toNanos();
+        this.writeTimes = Caffeine.newBuilder()
+                .expireAfterWrite(timeToLive)
+                .maximumSize(maximumKeys)
+                .build();
+    }
+
+    /**
+     * Records that the entry of the given key was just written.
+     *
+     * @param localKey the string form of the key
+     */
+    void recordWrite(String localKey) {
+        writeTimes.put(localKey, System.nanoTime());
+    }
+
+    /**
+     * Forgets the write time of the given keys, after they were evicted or written by another node.
+     *
+     * @param localKeys the string form of the keys
+     */
+    void forget(Iterable<String> localKeys) {
+        writeTimes.invalidateAll(localKeys);
+    }
+
+    /**
+     * Forgets the write time of every key, after the cache was cleared.
+     */
+    void forgetAll() {
+        writeTimes.invalidateAll();
+    }
+
+    /**
+     * Runs the given reload on a virtual thread when the entry of the given key is old enough and no reload of it
+     * is running yet.
+     *
+     * @param localKey the string form of the key of the entry read
+     * @param reload   the reload of the entry, which writes it again
+     */
+    void refreshIfDue(String localKey, Runnable reload) {
+        Long writeTime = writeTimes.getIfPresent(localKey);
+        if (writeTime == null || System.nanoTime() - writeTime < refreshAfterNanos || !refreshingKeys.add(localKey)) {
+            return;
+        }
+        refreshes.increment();
+        Thread.ofVirtual().name("cache-refresh-ahead").start(() -> {
+            try {
+                reload.run();
+            } catch (RuntimeException e) {
+                LOGGER.debug("Unable to refresh the cache entry {} ahead of its expiry", localKey, e);
+            } finally {
+                refreshingKeys.remove(localKey);
+            }
+        });
+    }
+
+    /**
+     * Returns the number of entries reloaded ahead of their expiry.
+     */
+    long getRefreshCount() {
+        return refreshes.sum();
+    }
+}
@@ -0,0 +1,82 @@
+package com.register.vehicletype.adapter.db.cache;
+
+import com.register.vehicletype.domain.dto.CarDTO;
+import com.register.vehicletype.domain.dto.MotorcycleDTO;
+import com.register.vehicletype.domain.dto.TruckDTO;
+import com.register.vehicletype.domain.event.RemoteVehicleChangedEvent;
+import com.register.vehicletype.domain.event.VehicleChangedEvent;
+import com.register.vehicletype.domain.event.VehicleDeletedEvent;
+import com.register.vehicletype.domain.event.VehicleSavedEvent;
+import com.register.vehicletype.domain.event.bus.VehicleEventListener;
+import org.springframework.context.ApplicationListener;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * The RemoteVehicleChangeListener class applies the vehicle changes relayed from the outbox to the state every node
+ * keeps locally. Every change is handed to the handlers of the cache invalidation channel, so the local caches drop
+ * the changed vehicle and the ID filters learn its ID, as they do for the invalidations received through Redis.
+ * Unlike those, the changes are fed from the outbox, so they also reach a node whose Redis message was lost.
+ * The other nodes receive the changes through the cluster, while the node relaying them, whose own messages the
+ * cluster subscriber skips, receives them from the vehicle event bus.
+ */
+public class RemoteVehicleChangeListener implements ApplicationListener<RemoteVehicleChangedEvent>,
+        VehicleEventListener {
+
+    private final CacheInvalidationChannel invalidationChannel;
+    private final Map<String, String> cacheNames;
+
+    /**
+     * The RemoteVehicleChangeListener class applies the vehicle changes relayed from the outbox to the state every
+     * node keeps locally.
+     *
+     * @param invalidationChannel the channel whose handlers the changes are handed to
+     * @param cacheNames          the name of the cache of every vehicle type, keyed by the simple name of its DTO class
+     */
+    public RemoteVehicleChangeListener(CacheInvalidationChannel invalidationChannel, Map<String, String> cacheNames) {
+        this.invalidationChannel = invalidationChannel;
+        this.cacheNames = cacheNames;
+    }
+
+    /**
+     * Applies a change relayed by another node of the cluster.
+     *
+     * @param event the change
+     */
+    @Override
+    public void onApplicationEvent(RemoteVehicleChangedEvent event) {
+        apply(event.getVehicleType(), event.getVehicleId());
+    }
+
+    /**
+     * Applies the changes relayed by this node.
+     *
+     * @param events the events of the batch
+     */
+    @Override
+    public void onEvents(List<VehicleChangedEvent<?>> events) {
+        for (VehicleChangedEvent<?> event : events) {
+            if (event instanceof VehicleSavedEvent<?> savedEvent) {
+                switch (savedEvent.getPayload()) {
+                    case CarDTO carDTO -> apply(CarDTO.class.getSimpleName(), carDTO.id());
+                    case TruckDTO truckDTO -> apply(TruckDTO.class.getSimpleName(), truckDTO.id());
+                    case MotorcycleDTO motorcycleDTO -> apply(MotorcycleDTO.class.getSimpleName(), motorcycleDTO.id());
+                    case null, default -> {
+                    }
+                }
+            } else if (event instanceof VehicleDeletedEvent<?> deletedEvent
+                    && deletedEvent.getVehicleType() != null
+                    && deletedEvent.getPayload() instanceof Number vehicleId) {
+                apply(deletedEvent.getVehicleType().getSimpleName(), vehicleId.longValue());
+            }
+        }
+    }
+
+    private void apply(String vehicleType, Long vehicleId) {
+        String cacheName = cacheNames.get(vehicleType);
+        if (cacheName != null && vehicleId != null) {
+            invalidationChannel.receive(cacheName, List.of(String.valueOf(vehicleId)));
+        }
+    }
+}
@@ -0,0 +1,92 @@
+package com.register.vehicletype.adapter.db.cache;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * The SingleFlight class coalesces concurrent loads of the same key: the first caller runs the load while every
+ * other caller arriving before it completes waits for, and shares, its result or its exception. A load is only
+ * shared while it is in flight, nothing is kept once it completes.
+ *
+ * @param <K> the type of the keys the loads are coalesced on
+ */
+public class SingleFlight<K> {
+
+    private final String name;
+    private final ConcurrentMap<K, CompletableFuture<Object>> inFlightLoads = new ConcurrentHashMap<>();
+    private final LongAdder executedLoads = new LongAdder();
+    private final LongAdder coalescedLoads = new LongAdder();
+
+    /**
+     * The SingleFlight class coalesces concurrent loads of the same key.
+     *
+     * @param name the name the loads are reported under
+     */
+    public SingleFlight(String name) {
+        this.name = name;
+    }
+
+    /**
+     * Returns the value loaded for the given key, running the given loader unless a load of the same key is already
+     * in flight, in which case its outcome is shared.
+     *
+     * @param key    the key of the load
+     * @param loader the loader of the value
+     * @param <V>    the type of the value, which must be the same for every load of a key
+     * @return the loaded value
+     */
+    @SuppressWarnings("unchecked")
+    public <V> V load(K key, Supplier<V> loader) {
+        CompletableFuture<Object> load = new CompletableFuture<>();
+        CompletableFuture<Object> inFlightLoad = inFlightLoads.putIfAbsent(key, load);
+        if (inFlightLoad != null) {
+            coalescedLoads.increment();
+            return (V) join(inFlightLoad);
+        }
+        executedLoads.increment();
+        try {
+            V value = loader.get();
+            load.complete(value);
+            return value;
+        } catch (RuntimeException | Error e) {
+            load.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlightLoads.remove(key, load);
+        }
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public long getExecutedLoads() {
+        return executedLoads.sum();
+    }
+
+    public long getCoalescedLoads() {
+        return coalescedLoads.sum();
+    }
+
+    public int getInFlightLoads() {
+        return inFlightLoads.size();
+    }
+
+    private static Object join(CompletableFuture<Object> inFlightLoad) {
+        try {
+            return inFlightLoad.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            if (e.getCause() instanceof Error error) {
+                throw error;
+            }
+            throw e;
+        }
+    }
+}
@@ -0,0 +1,70 @@
+package com.register.vehicletype.adapter.db.cache;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * The SingleFlightRegistry class holds the named {@link SingleFlight} instances of the adapter and reports, for each
+ * of them, how many loads were executed and how many were coalesced into a load already in flight.
+ */
+public class SingleFlightRegistry implements MeterBinder {
+
+    private static final String LOADS_METRIC_NAME = "vehicletype.cache.loads";
+    private static final String IN_FLIGHT_LOADS_METRIC_NAME = "vehicletype.cache.loads.in-flight";
+    private static final String NAME_TAG = "name";
+    private static final String OUTCOME_TAG = "outcome";
+
+    private final ConcurrentMap<String, SingleFlight<Object>> singleFlights = new ConcurrentHashMap<>();
+    private volatile MeterRegistry meterRegistry;
+
+    /**
+     * Returns the SingleFlight with the given name, creating it on first use.
+     *
+     * @param name the name of the SingleFlight
+     * @return the SingleFlight
+     */
+    public SingleFlight<Object> get(String name) {
+        return singleFlights.computeIfAbsent(name, singleFlightName -> {
+            SingleFlight<Object> singleFlight = new SingleFlight<>(singleFlightName);
+            MeterRegistry registry = meterRegistry;
+            if (registry != null) {
+                bindTo(registry, singleFlight);
+            }
+            return singleFlight;
+        });
+    }
+
+    public Collection<SingleFlight<Object>> getSingleFlights() {
+        return Collections.unmodifiableCollection(singleFlights.values());
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        meterRegistry = registry;
+        singleFlights.values().forEach(singleFlight -> bindTo(registry, singleFlight));
+    }
+
+    private static void bindTo(MeterRegistry registry, SingleFlight<Object> singleFlight) {
+        FunctionCounter.builder(LOADS_METRIC_NAME, singleFlight, SingleFlight::getExecutedLoads)
+                .tag(NAME_TAG, singleFlight.getName())
+                .tag(OUTCOME_TAG, "executed")
+                .description("Loads that ran against the database")
+                .register(registry);
+        FunctionCounter.builder(LOADS_METRIC_NAME, singleFlight, SingleFlight::getCoalescedLoads)
+                .tag(NAME_TAG, singleFlight.getName())
+                .tag(OUTCOME_TAG, "coalesced")
+                .description("Loads that shared the result of a load already in flight")
+                .register(registry);
+        Gauge.builder(IN_FLIGHT_LOADS_METRIC_NAME, singleFlight, SingleFlight::getInFlightLoads)
+                .tag(NAME_TAG, singleFlight.getName())
+                .description("Loads currently in flight")
+                .register(registry);
+    }
+}
@@ -0,0 +1,271 @@
+package com.register.vehicletype.adapter.db.cache;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.cache.Cache;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.Callable;
+
+/**
+ * The TransactionAwareCache class defers the writes of a cache made inside a transaction until the transaction
+ * commits, so that a rollback leaves the cache untouched and no other request reads an entry the database does not
+ * hold yet. The puts, evictions and clearing of a transaction are buffered, a later write of a key replacing the
+ * earlier one, and applied once the transaction has committed, all the evictions and all the puts in a single round
+ * trip each, the versioned puts only if newer than the cached entries and the loaded ones only if absent. Outside a
+ * transaction the writes are applied right away, and the reads always reach the target cache.
+ */
+public class TransactionAwareCache implements Cache, BatchCache, VersionedCache {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(TransactionAwareCache.class);
+
+    private final Cache targetCache;
+
+    /**
+     * The TransactionAwareCache class defers the writes of a cache made inside a transaction until it commits.
+     *
+     * @param targetCache the cache the writes are applied to
+     */
+    public TransactionAwareCache(Cache targetCache) {
+        this.targetCache = targetCache;
+    }
+
+    /**
+     * Returns the cache the writes are applied to.
+     *
+     * @return the target cache
+     */
+    public Cache getTargetCache() {
+        return targetCache;
+    }
+
+    @Override
+    public String getName() {
+        return targetCache.getName();
+    }
+
+    @Override
+    public Object getNativeCache() {
+        return targetCache.getNativeCache();
+    }
+
+    @Override
+    public ValueWrapper get(Object key) {
+        return targetCache.get(key);
+    }
+
+    @Override
+    public <T> T get(Object key, Class<T> type) {
+        return targetCache.get(key, type);
+    }
+
+    @Override
+    public <T> T get(Object key, Callable<T> valueLoader) {
+        return targetCache.get(key, valueLoader);
+    }
+
+    @Override
+    public Map<Object, Object> getAll(Collection<?> keys) {
+        return BatchCache.getAll(targetCache, keys);
+    }
+
+    @Override
+    public void put(Object key, Object value) {
+        PendingWrites pendingWrites = pendingWrites();
+        if (pendingWrites == null) {
+            targetCache.put(key, value);
+        } else {
+            pendingWrites.put(key, value, null, false);
+        }
+    }
+
+    @Override
+    public void putAll(Map<?, ?> entries) {
+        PendingWrites pendingWrites = pendingWrites();
+        if (pendingWrites == null) {
+            BatchCache.putAll(targetCache, entries);
+        } else {
+            entries.forEach((key, value) -> pendingWrites.put(key, value, null, false));
+        }
+    }
+
+    /**
+     * Puts all the given entries into the target cache once the transaction commits, except the ones the target
+     * cache holds a newer version of by then.
+     *
+     * @param entries  the entries to put, keyed by cache key
+     * @param versions the versions of the entries, keyed by cache key
+     * @return the keys rejected as older than the cached entries, always empty inside a transaction since the
+     *         entries are only written after it
+     */
+    @Override
+    public Set<Object> putAllIfNewer(Map<?, ?> entries, Map<?, Long> versions) {
+        PendingWrites pendingWrites = pendingWrites();
+        if (pendingWrites == null) {
+            return VersionedCache.putAllIfNewer(targetCache, entries, versions);
+        }
+        entries.forEach((key, value) -> pendingWrites.put(key, value, versions.get(key), false));
+        return Set.of();
+    }
+
+    /**
+     * Puts all the given loaded entries into the target cache once the transaction commits, except the ones the
+     * target cache holds by then.
+     *
+     * @param entries the entries to put, keyed by cache key
+     * @return the keys whose entry was kept as the target cache already held one, always empty inside a transaction
+     *         since the entries are only written after it
+     */
+    @Override
+    public Set<Object> putAllIfAbsent(Map<?, ?> entries) {
+        PendingWrites pendingWrites = pendingWrites();
+        if (pendingWrites == null) {
+            return VersionedCache.putAllIfAbsent(targetCache, entries);
+        }
+        entries.forEach((key, value) -> pendingWrites.put(key, value, null, true));
+        return Set.of();
+    }
+
+    @Override
+    public Long getVersion(Object key) {
+        return VersionedCache.getVersion(targetCache, key);
+    }
+
+    @Override
+    public void evict(Object key) {
+        PendingWrites pendingWrites = pendingWrites();
+        if (pendingWrites == null) {
+            targetCache.evict(key);
+        } else {
+            pendingWrites.evict(key);
+        }
+    }
+
+    @Override
+    public void evictAll(Collection<?> keys) {
+        PendingWrites pendingWrites = pendingWrites();
+        if (pendingWrites == null) {
+            BatchCache.evictAll(targetCache, keys);
+        } else {
+            keys.forEach(pendingWrites::evict);
+        }
+    }
+
+    @Override
+    public void clear() {
+        PendingWrites pendingWrites = pendingWrites();
+        if (pendingWrites == null) {
+            targetCache.clear();
+        } else {
+            pendingWrites.clear();
+        }
+    }
+
+    /**
+     * Returns the writes buffered for the current transaction, registering a new buffer on the first write of the
+     * transaction, or null if no transaction is active.
+     *
+     * @return the buffered writes, or null outside a transaction
+     */
+    private PendingWrites pendingWrites() {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            return null;
+        }
+        PendingWrites pendingWrites = (PendingWrites) TransactionSynchronizationManager.getResource(this);
+        if (pendingWrites == null) {
+            pendingWrites = new PendingWrites();
+            TransactionSynchronizationManager.bindResource(this, pendingWrites);
+            TransactionSynchronizationManager.registerSynchronization(pendingWrites);
+        }
+        return pendingWrites;
+    }
+
+    /**
+     * The PendingWrites class buffers the writes of the cache made by a transaction and applies them once it has
+     * committed.
+     */
+    private final class PendingWrites implements TransactionSynchronization {
+
+        private final Map<Object, Object> puts = new LinkedHashMap<>();
+        private final Map<Object, Long> versions = new LinkedHashMap<>();
+        private final Set<Object> fills = new LinkedHashSet<>();
+        private final Set<Object> evictions = new LinkedHashSet<>();
+        private boolean cleared;
+
+        private void put(Object key, Object value, Long version, boolean fill) {
+            evictions.remove(key);
+            puts.put(key, value);
+            if (version == null) {
+                versions.remove(key);
+            } else {
+                versions.put(key, version);
+            }
+            if (fill) {
+                fills.add(key);
+            } else {
+                fills.remove(key);
+            }
+        }
+
+        private void evict(Object key) {
+            puts.remove(key);
+            versions.remove(key);
+            fills.remove(key);
+            evictions.add(key);
+        }
+
+        private void clear() {
+            puts.clear();
+            versions.clear();
+            fills.clear();
+            evictions.clear();
+            cleared = true;
+        }
+
+        @Override
+        public void afterCommit() {
+            try {
+                if (cleared) {
+                    targetCache.clear();
+                }
+                if (!evictions.isEmpty()) {
+                    BatchCache.evictAll(targetCache, evictions);
+                }
+                Map<Object, Object> versionedPuts = new LinkedHashMap<>();
+                Map<Object, Object> fillPuts = new LinkedHashMap<>();
+                Map<Object, Object> unversionedPuts = new LinkedHashMap<>();
+                puts.forEach((key, value) -> {
+                    if (versions.containsKey(key)) {
+                        versionedPuts.put(key, value);
+                    } else if (fills.contains(key)) {
+                        fillPuts.put(key, value);
+                    } else {
+                        unversionedPuts.put(key, value);
+                    }
+                });
+                if (!versionedPuts.isEmpty()) {
+                    VersionedCache.putAllIfNewer(targetCache, versionedPuts, versions);
+                }
+                if (!fillPuts.isEmpty()) {
+                    VersionedCache.putAllIfAbsent(targetCache, fillPuts);
+                }
+                if (!unversionedPuts.isEmpty()) {
+                    BatchCache.putAll(targetCache, unversionedPuts);
+                }
+            } catch (RuntimeException e) {
+                LOGGER.warn("Unable to apply the writes of a committed transaction to the cache {}", getName(), e);
+            }
+        }
+
+        @Override
+        public void afterCompletion(int status) {
+            TransactionSynchronizationManager.unbindResourceIfPossible(TransactionAwareCache.this);
+        }
+    }
+}
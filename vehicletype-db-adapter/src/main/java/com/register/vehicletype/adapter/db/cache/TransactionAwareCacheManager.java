@@ -0,0 +1,48 @@
+package com.register.vehicletype.adapter.db.cache;
+
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+
+import java.util.Collection;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * The TransactionAwareCacheManager class wraps the given caches of a cache manager in a {@link TransactionAwareCache},
+ * deferring their writes made inside a transaction until it commits, and returns the other caches unchanged.
+ */
+public class TransactionAwareCacheManager implements CacheManager {
+
+    private final CacheManager targetCacheManager;
+    private final Set<String> transactionAwareCacheNames;
+    private final ConcurrentMap<String, Cache> caches = new ConcurrentHashMap<>();
+
+    /**
+     * The TransactionAwareCacheManager class wraps the given caches of a cache manager in a
+     * {@link TransactionAwareCache}.
+     *
+     * @param targetCacheManager         the cache manager of the target caches
+     * @param transactionAwareCacheNames the names of the caches whose writes are deferred until commit
+     */
+    public TransactionAwareCacheManager(CacheManager targetCacheManager, Set<String> transactionAwareCacheNames) {
+        this.targetCacheManager = targetCacheManager;
+        this.transactionAwareCacheNames = Set.copyOf(transactionAwareCacheNames);
+    }
+
+    @Override
+    public Cache getCache(String name) {
+        if (!transactionAwareCacheNames.contains(name)) {
+            return targetCacheManager.getCache(name);
+        }
+        return caches.computeIfAbsent(name, cacheName -> {
+            Cache targetCache = targetCacheManager.getCache(cacheName);
+            return targetCache == null ? null : new TransactionAwareCache(targetCache);
+        });
+    }
+
+    @Override
+    public Collection<String> getCacheNames() {
+        return targetCacheManager.getCacheNames();
+    }
+}
@@ -0,0 +1,440 @@
+package com.register.vehicletype.adapter.db.cache;
+
+import org.springframework.cache.Cache;
+import org.springframework.cache.support.AbstractValueAdaptingCache;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * The TwoLevelCache class keeps the hot entries of a Redis cache in a bounded Caffeine cache local to the node.
+ * Reads are answered by the local cache first and by Redis on a miss, writes go to both levels and are announced on
+ * the invalidation channel so the other nodes drop their now stale local copies.
+ */
+public class TwoLevelCache extends AbstractValueAdaptingCache implements BatchCache, VersionedCache {
+
+    private static final long UNVERSIONED = -1;
+
+    private final String name;
+    private final com.github.benmanes.caffeine.cache.Cache<String, Object> localCache;
+    private final Cache redisCache;
+    private final CacheInvalidationChannel invalidationChannel;
+    private final SingleFlight<Object> loads;
+    private final RefreshAhead refreshAhead;
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder puts = new LongAdder();
+
+    /**
+     * The TwoLevelCache class keeps the hot entries of a Redis cache in a bounded Caffeine cache local to the node.
+     *
+     * @param name                the name of the cache
+     * @param localCache          the local cache, keyed by the string form of the cache keys
+     * @param redisCache          the Redis cache
+     * @param invalidationChannel the channel the writes are announced on
+     * @param loads               the SingleFlight coalescing the concurrent loads of the same missing key
+     */
+    public TwoLevelCache(String name, com.github.benmanes.caffeine.cache.Cache<String, Object> localCache,
+                         Cache redisCache, CacheInvalidationChannel invalidationChannel, SingleFlight<Object> loads) {
+        this(name, localCache, redisCache, invalidationChannel, loads, null);
+    }
+
+    /**
+     * The TwoLevelCache class keeps the hot entries of a Redis cache in a bounded Caffeine cache local to the node,
+     * reloading the entries read close to their expiry in the background.
+     *
+     * @param name                the name of the cache
+     * @param localCache          the local cache, keyed by the string form of the cache keys
+     * @param redisCache          the Redis cache
+     * @param invalidationChannel the channel the writes are announced on
+     * @param loads               the SingleFlight coalescing the concurrent loads of the same missing key
+     * @param refreshAhead        the reloads of the entries close to their expiry, or null to let them expire
+     */
+    public TwoLevelCache(String name, com.github.benmanes.caffeine.cache.Cache<String, Object> localCache,
+                         Cache redisCache, CacheInvalidationChannel invalidationChannel, SingleFlight<Object> loads,
+                         RefreshAhead refreshAhead) {
+        super(true);
+        this.name = name;
+        this.localCache = localCache;
+        this.redisCache = redisCache;
+        this.invalidationChannel = invalidationChannel;
+        this.loads = loads;
+        this.refreshAhead = refreshAhead;
+    }
+
+    @Override
+    public String getName() {
+        return name;
+    }
+
+    @Override
+    public Object getNativeCache() {
+        return localCache;
+    }
+
+    @Override
+    protected Object lookup(Object key) {
+        String localKey = localKey(key);
+        Object storeValue = localCache.getIfPresent(localKey);
+        if (storeValue != null) {
+            hits.increment();
+            return storeValue;
+        }
+        ValueWrapper valueWrapper = redisCache.get(key);
+        if (valueWrapper == null) {
+            misses.increment();
+            return null;
+        }
+        hits.increment();
+        storeValue = toStoreValue(valueWrapper.get());
+        localCache.put(localKey, storeValue);
+        return storeValue;
+    }
+
+    /**
+     * Returns the value of the given key, loading it on a miss of both levels. Concurrent misses of the same key on
+     * this node share a single lookup in Redis and a single call of the value loader. A hit close to the expiry of
+     * the entry reloads it in the background through the value loader and overwrites the entry of Redis, renewing
+     * its time to live, unless a newer version was written meanwhile. A value loaded on a miss is written to Redis
+     * only if Redis holds no entry of the key, so it never replaces an entry written meanwhile by a newer version.
+     *
+     * @param key         the key of the value
+     * @param valueLoader the loader of the value on a miss
+     * @param <T>         the type of the value
+     * @return the value of the key
+     */
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> T get(Object key, Callable<T> valueLoader) {
+        String localKey = localKey(key);
+        Object storeValue = localCache.getIfPresent(localKey);
+        if (storeValue != null) {
+            hits.increment();
+            refreshIfDue(key, localKey, valueLoader);
+        } else {
+            storeValue = loads.load(localKey, () -> load(key, localKey, valueLoader));
+        }
+        return (T) fromStoreValue(storeValue);
+    }
+
+    @Override
+    public void put(Object key, Object value) {
+        String localKey = localKey(key);
+        redisCache.put(key, value);
+        localCache.put(localKey, toStoreValue(value));
+        recordWrite(localKey);
+        puts.increment();
+        invalidationChannel.publishEvict(name, List.of(key));
+    }
+
+    /**
+     * Puts all the given entries into Redis in a single round trip and into the local cache, then announces all
+     * the keys in a single invalidation message.
+     *
+     * @param entries the entries to put, keyed by cache key
+     */
+    @Override
+    public void putAll(Map<?, ?> entries) {
+        BatchCache.putAll(redisCache, entries);
+        Map<String, Object> localEntries = new LinkedHashMap<>();
+        entries.forEach((key, value) -> localEntries.put(localKey(key), toStoreValue(value)));
+        localCache.putAll(localEntries);
+        localEntries.keySet().forEach(this::recordWrite);
+        puts.add(entries.size());
+        invalidationChannel.publishEvict(name, entries.keySet());
+    }
+
+    /**
+     * Puts all the given entries into Redis in a single round trip, except the ones Redis holds a newer version of,
+     * and the accepted ones into the local cache, then announces all the keys in a single invalidation message.
+     * The rejected keys are dropped from the local cache, so the next read takes the newer entry from Redis.
+     *
+     * @param entries  the entries to put, keyed by cache key
+     * @param versions the versions of the entries, keyed by cache key
+     * @return the keys whose entry was rejected as older than the cached one
+     */
+    @Override
+    public Set<Object> putAllIfNewer(Map<?, ?> entries, Map<?, Long> versions) {
+        Set<Object> rejectedKeys = VersionedCache.putAllIfNewer(redisCache, entries, versions);
+        Map<String, Object> localEntries = new LinkedHashMap<>();
+        List<String> rejectedLocalKeys = new ArrayList<>();
+        entries.forEach((key, value) -> {
+            if (rejectedKeys.contains(key)) {
+                rejectedLocalKeys.add(localKey(key));
+            } else {
+                localEntries.put(localKey(key), toStoreValue(value));
+            }
+        });
+        localCache.putAll(localEntries);
+        localEntries.keySet().forEach(this::recordWrite);
+        evictLocal(rejectedLocalKeys);
+        puts.add(localEntries.size());
+        invalidationChannel.publishEvict(name, entries.keySet());
+        return rejectedKeys;
+    }
+
+    /**
+     * Puts all the given loaded entries into Redis in a single round trip, except the ones Redis already holds, and
+     * the accepted ones into the local cache. The kept keys are dropped from the local cache, so the next read takes
+     * the entry from Redis. The loaded entries change nothing, so no invalidation message is sent.
+     *
+     * @param entries the entries to put, keyed by cache key
+     * @return the keys whose entry was kept as Redis already held one
+     */
+    @Override
+    public Set<Object> putAllIfAbsent(Map<?, ?> entries) {
+        Set<Object> keptKeys = VersionedCache.putAllIfAbsent(redisCache, entries);
+        Map<String, Object> localEntries = new LinkedHashMap<>();
+        List<String> keptLocalKeys = new ArrayList<>();
+        entries.forEach((key, value) -> {
+            if (keptKeys.contains(key)) {
+                keptLocalKeys.add(localKey(key));
+            } else {
+                localEntries.put(localKey(key), toStoreValue(value));
+            }
+        });
+        localCache.putAll(localEntries);
+        localEntries.keySet().forEach(this::recordWrite);
+        evictLocal(keptLocalKeys);
+        puts.add(localEntries.size());
+        return keptKeys;
+    }
+
+    @Override
+    public Long getVersion(Object key) {
+        return VersionedCache.getVersion(redisCache, key);
+    }
+
+    /**
+     * Gets the entries of all the given keys from the local cache, and the ones it misses from Redis in a single
+     * round trip, keeping them in the local cache.
+     *
+     * @param keys the keys of the entries to get
+     * @return the entries found, keyed by cache key in the order of the given keys
+     */
+    @Override
+    public Map<Object, Object> getAll(Collection<?> keys) {
+        Map<Object, Object> entries = new LinkedHashMap<>();
+        List<Object> missingKeys = new ArrayList<>();
+        for (Object key : keys) {
+            Object storeValue = localCache.getIfPresent(localKey(key));
+            if (storeValue != null) {
+                entries.put(key, fromStoreValue(storeValue));
+            } else {
+                missingKeys.add(key);
+            }
+        }
+        hits.add(entries.size());
+        if (missingKeys.isEmpty()) {
+            return entries;
+        }
+        Map<Object, Object> redisEntries = BatchCache.getAll(redisCache, missingKeys);
+        hits.add(redisEntries.size());
+        misses.add(missingKeys.size() - redisEntries.size());
+        redisEntries.forEach((key, value) -> localCache.put(localKey(key), toStoreValue(value)));
+        Map<Object, Object> orderedEntries = new LinkedHashMap<>();
+        for (Object key : keys) {
+            if (entries.containsKey(key)) {
+                orderedEntries.put(key, entries.get(key));
+            } else if (redisEntries.containsKey(key)) {
+                orderedEntries.put(key, redisEntries.get(key));
+            }
+        }
+        return orderedEntries;
+    }
+
+    @Override
+    public void evict(Object key) {
+        String localKey = localKey(key);
+        redisCache.evict(key);
+        localCache.invalidate(localKey);
+        if (refreshAhead != null) {
+            refreshAhead.forget(List.of(localKey));
+        }
+        invalidationChannel.publishEvict(name, List.of(key));
+    }
+
+    /**
+     * Evicts all the given keys from Redis in a single round trip and from the local cache, then announces them in a
+     * single invalidation message.
+     *
+     * @param keys the keys of the entries to evict
+     */
+    @Override
+    public void evictAll(Collection<?> keys) {
+        if (keys.isEmpty()) {
+            return;
+        }
+        BatchCache.evictAll(redisCache, keys);
+        evictLocal(keys.stream().map(TwoLevelCache::localKey).toList());
+        invalidationChannel.publishEvict(name, keys);
+    }
+
+    @Override
+    public void clear() {
+        redisCache.clear();
+        localCache.invalidateAll();
+        if (refreshAhead != null) {
+            refreshAhead.forgetAll();
+        }
+        invalidationChannel.publishClear(name);
+    }
+
+    /**
+     * Drops the given keys from the local cache only, after another node changed them.
+     *
+     * @param localKeys the string form of the stale keys
+     */
+    void evictLocal(Iterable<String> localKeys) {
+        localCache.invalidateAll(localKeys);
+        if (refreshAhead != null) {
+            refreshAhead.forget(localKeys);
+        }
+    }
+
+    /**
+     * Drops every entry of the local cache only, after another node cleared the cache.
+     */
+    void clearLocal() {
+        localCache.invalidateAll();
+        if (refreshAhead != null) {
+            refreshAhead.forgetAll();
+        }
+    }
+
+    /**
+     * Returns the number of reads answered by either level.
+     */
+    long getHitCount() {
+        return hits.sum();
+    }
+
+    /**
+     * Returns the number of reads missed by both levels.
+     */
+    long getMissCount() {
+        return misses.sum();
+    }
+
+    /**
+     * Returns the number of entries written to both levels.
+     */
+    long getPutCount() {
+        return puts.sum();
+    }
+
+    /**
+     * Returns the number of entries reloaded ahead of their expiry.
+     */
+    long getRefreshCount() {
+        return refreshAhead == null ? 0 : refreshAhead.getRefreshCount();
+    }
+
+    /**
+     * Returns the number of entries the local cache dropped to stay within its size and expiry bounds.
+     */
+    long getLocalEvictionCount() {
+        return localCache.stats().evictionCount();
+    }
+
+    /**
+     * Returns the approximate number of entries of the local cache.
+     */
+    long getLocalSize() {
+        return localCache.estimatedSize();
+    }
+
+    /**
+     * Returns up to the given number of values of the local cache, null values excluded.
+     *
+     * @param maximumValues the maximum number of values to return
+     * @return the sampled values
+     */
+    List<Object> sampleLocalValues(int maximumValues) {
+        return localCache.asMap().values().stream()
+                .map(this::fromStoreValue)
+                .filter(Objects::nonNull)
+                .limit(maximumValues)
+                .toList();
+    }
+
+    private Object load(Object key, String localKey, Callable<?> valueLoader) {
+        Object storeValue = lookup(key);
+        if (storeValue != null) {
+            refreshIfDue(key, localKey, valueLoader);
+            return storeValue;
+        }
+        Object value;
+        try {
+            value = valueLoader.call();
+        } catch (Exception e) {
+            throw new ValueRetrievalException(key, valueLoader, e);
+        }
+        return fill(key, localKey, value);
+    }
+
+    /**
+     * Puts the given loaded value into Redis unless Redis already holds an entry of the key, written meanwhile by a
+     * newer version, and keeps whichever value Redis holds in the local cache.
+     */
+    private Object fill(Object key, String localKey, Object value) {
+        ValueWrapper existingValue = redisCache.putIfAbsent(key, value);
+        Object storeValue = toStoreValue(existingValue == null ? value : existingValue.get());
+        if (existingValue == null) {
+            puts.increment();
+        }
+        localCache.put(localKey, storeValue);
+        recordWrite(localKey);
+        return storeValue;
+    }
+
+    private void recordWrite(String localKey) {
+        if (refreshAhead != null) {
+            refreshAhead.recordWrite(localKey);
+        }
+    }
+
+    private void refreshIfDue(Object key, String localKey, Callable<?> valueLoader) {
+        if (refreshAhead != null) {
+            refreshAhead.refreshIfDue(localKey, () -> {
+                Long version = VersionedCache.getVersion(redisCache, key);
+                Object value;
+                try {
+                    value = valueLoader.call();
+                } catch (Exception e) {
+                    throw new ValueRetrievalException(key, valueLoader, e);
+                }
+                refresh(key, localKey, value, version == null ? UNVERSIONED : version);
+            });
+        }
+    }
+
+    /**
+     * Writes the given reloaded value over the entry of Redis, extending its time to live, unless a write newer than
+     * the version read before the reload has reached Redis since, in which case the local entry is dropped so that
+     * the next read takes the newer one from Redis.
+     */
+    private void refresh(Object key, String localKey, Object value, long version) {
+        Set<Object> rejectedKeys = VersionedCache.putAllIfNewer(redisCache, Collections.singletonMap(key, value),
+                Map.of(key, version));
+        if (rejectedKeys.contains(key)) {
+            evictLocal(List.of(localKey));
+            return;
+        }
+        puts.increment();
+        localCache.put(localKey, toStoreValue(value));
+        recordWrite(localKey);
+    }
+
+    private static String localKey(Object key) {
+        return String.valueOf(key);
+    }
+}
@@ -0,0 +1,115 @@
+package com.register.vehicletype.adapter.db.cache;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * The TwoLevelCacheManager class is a composite CacheManager putting a bounded Caffeine cache, local to the node,
+ * in front of every cache of the given Redis cache manager. The local caches are kept in line with the other nodes
+ * through the given invalidation channel.
+ */
+public class TwoLevelCacheManager implements CacheManager {
+
+    private final CacheManager redisCacheManager;
+    private final Caffeine<Object, Object> localCacheBuilder;
+    private final Map<String, Caffeine<Object, Object>> localCacheBuilders;
+    private final CacheInvalidationChannel invalidationChannel;
+    private final SingleFlightRegistry singleFlightRegistry;
+    private final Map<String, RefreshAhead> refreshAheads;
+    private final ConcurrentMap<String, TwoLevelCache> caches = new ConcurrentHashMap<>();
+
+    /**
+     * The TwoLevelCacheManager class is a composite CacheManager putting a bounded Caffeine cache in front of every
+     * cache of the given Redis cache manager.
+     *
+     * @param redisCacheManager    the cache manager of the Redis caches
+     * @param localCacheBuilder    the builder of the local caches, holding their size and expiry policies
+     * @param invalidationChannel  the channel the local caches are invalidated through
+     * @param singleFlightRegistry the registry of the SingleFlight coalescing the misses of each cache
+     */
+    public TwoLevelCacheManager(CacheManager redisCacheManager, Caffeine<Object, Object> localCacheBuilder,
+                                CacheInvalidationChannel invalidationChannel,
+                                SingleFlightRegistry singleFlightRegistry) {
+        this(redisCacheManager, localCacheBuilder, Map.of(), invalidationChannel, singleFlightRegistry);
+    }
+
+    /**
+     * The TwoLevelCacheManager class is a composite CacheManager putting a bounded Caffeine cache in front of every
+     * cache of the given Redis cache manager, some caches being bounded by their own policies.
+     *
+     * @param redisCacheManager    the cache manager of the Redis caches
+     * @param localCacheBuilder    the builder of the local caches without a policy of their own
+     * @param localCacheBuilders   the builders of the local caches with a policy of their own, keyed by cache name
+     * @param invalidationChannel  the channel the local caches are invalidated through
+     * @param singleFlightRegistry the registry of the SingleFlight coalescing the misses of each cache
+     */
+    public TwoLevelCacheManager(CacheManager redisCacheManager, Caffeine<Object, Object> localCacheBuilder,
+                                Map<String, Caffeine<Object, Object>> localCacheBuilders,
+                                CacheInvalidationChannel invalidationChannel,
+                                SingleFlightRegistry singleFlightRegistry) {
+        this(redisCacheManager, localCacheBuilder, localCacheBuilders, invalidationChannel, singleFlightRegistry,
+                Map.of());
+    }
+
+    /**
+     * The TwoLevelCacheManager class is a composite CacheManager putting a bounded Caffeine cache in front of every
+     * cache of the given Redis cache manager, some caches being bounded by their own policies and some reloading the
+     * entries read close to their expiry.
+     *
+     * @param redisCacheManager    the cache manager of the Redis caches
+     * @param localCacheBuilder    the builder of the local caches without a policy of their own
+     * @param localCacheBuilders   the builders of the local caches with a policy of their own, keyed by cache name
+     * @param invalidationChannel  the channel the local caches are invalidated through
+     * @param singleFlightRegistry the registry of the SingleFlight coalescing the misses of each cache
+     * @param refreshAheads        the reloads of the entries close to their expiry, keyed by cache name
+     */
+    public TwoLevelCacheManager(CacheManager redisCacheManager, Caffeine<Object, Object> localCacheBuilder,
+                                Map<String, Caffeine<Object, Object>> localCacheBuilders,
+                                CacheInvalidationChannel invalidationChannel,
+                                SingleFlightRegistry singleFlightRegistry, Map<String, RefreshAhead> refreshAheads) {
+        this.redisCacheManager = redisCacheManager;
+        this.localCacheBuilder = localCacheBuilder;
+        this.localCacheBuilders = localCacheBuilders;
+        this.invalidationChannel = invalidationChannel;
+        this.singleFlightRegistry = singleFlightRegistry;
+        this.refreshAheads = refreshAheads;
+        invalidationChannel.addInvalidationHandler(this::invalidateLocal);
+    }
+
+    @Override
+    public Cache getCache(String name) {
+        return caches.computeIfAbsent(name, cacheName -> {
+            Cache redisCache = redisCacheManager.getCache(cacheName);
+            if (redisCache == null) {
+                return null;
+            }
+            Caffeine<Object, Object> builder = localCacheBuilders.getOrDefault(cacheName, localCacheBuilder);
+            return new TwoLevelCache(cacheName, builder.build(), redisCache, invalidationChannel,
+                    singleFlightRegistry.get(cacheName), refreshAheads.get(cacheName));
+        });
+    }
+
+    @Override
+    public Collection<String> getCacheNames() {
+        return redisCacheManager.getCacheNames();
+    }
+
+    private void invalidateLocal(String cacheName, List<String> localKeys) {
+        TwoLevelCache cache = caches.get(cacheName);
+        if (cache == null) {
+            return;
+        }
+        if (localKeys.isEmpty()) {
+            cache.clearLocal();
+        } else {
+            cache.evictLocal(localKeys);
+        }
+    }
+}
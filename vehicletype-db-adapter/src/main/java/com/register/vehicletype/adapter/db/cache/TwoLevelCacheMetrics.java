@@ -0,0 +1,102 @@
+package com.register.vehicletype.adapter.db.cache;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.binder.cache.CacheMeterBinder;
+import org.springframework.data.redis.serializer.RedisSerializer;
+
+import java.util.List;
+
+/**
+ * The TwoLevelCacheMetrics class reports the standard cache metrics of a {@link TwoLevelCache}: the reads answered by
+ * either level and the ones missed by both, the writes, the entries the local cache dropped to stay within its
+ * policy and its number of entries. It also reports an estimate of the memory the local entries take once serialized
+ * into Redis, from the average serialized size of a small sample of them, and the entries reloaded ahead of their
+ * expiry.
+ */
+public class TwoLevelCacheMetrics extends CacheMeterBinder<TwoLevelCache> {
+
+    private static final String MEMORY_METRIC_NAME = "cache.memory.estimate";
+    private static final String REFRESHES_METRIC_NAME = "cache.refreshes";
+    private static final int MEMORY_SAMPLE_SIZE = 32;
+
+    private final RedisSerializer<Object> valueSerializer;
+
+    /**
+     * The TwoLevelCacheMetrics class reports the standard cache metrics of a {@link TwoLevelCache}.
+     *
+     * @param cache           the cache to report on
+     * @param valueSerializer the serializer of the values cached in Redis, used to estimate their size
+     */
+    public TwoLevelCacheMetrics(TwoLevelCache cache, RedisSerializer<Object> valueSerializer) {
+        super(cache, cache.getName(), Tags.empty());
+        this.valueSerializer = valueSerializer;
+    }
+
+    @Override
+    protected Long size() {
+        TwoLevelCache cache = getCache();
+        return cache == null ? null : cache.getLocalSize();
+    }
+
+    @Override
+    protected long hitCount() {
+        TwoLevelCache cache = getCache();
+        return cache == null ? 0 : cache.getHitCount();
+    }
+
+    @Override
+    protected Long missCount() {
+        TwoLevelCache cache = getCache();
+        return cache == null ? null : cache.getMissCount();
+    }
+
+    @Override
+    protected Long evictionCount() {
+        TwoLevelCache cache = getCache();
+        return cache == null ? null : cache.getLocalEvictionCount();
+    }
+
+    @Override
+    protected long putCount() {
+        TwoLevelCache cache = getCache();
+        return cache == null ? 0 : cache.getPutCount();
+    }
+
+    @Override
+    protected void bindImplementationSpecificMetrics(MeterRegistry registry) {
+        FunctionCounter.builder(REFRESHES_METRIC_NAME, this, TwoLevelCacheMetrics::refreshCount)
+                .tags(getTagsWithCacheName())
+                .description("The number of entries reloaded ahead of their expiry")
+                .register(registry);
+        Gauge.builder(MEMORY_METRIC_NAME, this, TwoLevelCacheMetrics::estimateMemory)
+                .tags(getTagsWithCacheName())
+                .baseUnit("bytes")
+                .description("Estimated size of the local entries once serialized into Redis")
+                .register(registry);
+    }
+
+    private double refreshCount() {
+        TwoLevelCache cache = getCache();
+        return cache == null ? 0 : cache.getRefreshCount();
+    }
+
+    private double estimateMemory() {
+        TwoLevelCache cache = getCache();
+        if (cache == null) {
+            return Double.NaN;
+        }
+        List<Object> sample = cache.sampleLocalValues(MEMORY_SAMPLE_SIZE);
+        if (sample.isEmpty()) {
+            return 0;
+        }
+        long sampleBytes = 0;
+        for (Object value : sample) {
+            byte[] serializedValue = valueSerializer.serialize(value);
+            sampleBytes += serializedValue == null ? 0 : serializedValue.length;
+        }
+        return (double) sampleBytes / sample.size() * cache.getLocalSize();
+    }
+}
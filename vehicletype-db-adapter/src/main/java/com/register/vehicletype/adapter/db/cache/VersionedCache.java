@@ -0,0 +1,103 @@
+package com.register.vehicletype.adapter.db.cache;
+
+import org.springframework.cache.Cache;
+
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * The VersionedCache interface is implemented by the caches that can reject a write carrying an older version of an
+ * entry than the one they already hold, so that the last write to reach the cache is not necessarily the one kept.
+ */
+public interface VersionedCache {
+
+    /**
+     * Puts all the given entries into the cache, except the ones whose cached version is newer than the given one.
+     *
+     * @param entries  the entries to put, keyed by cache key
+     * @param versions the versions of the entries, keyed by cache key
+     * @return the keys whose entry was rejected as older than the cached one
+     */
+    Set<Object> putAllIfNewer(Map<?, ?> entries, Map<?, Long> versions);
+
+    /**
+     * Puts all the given entries into the cache, except the ones it already holds. Meant for the entries loaded on a
+     * miss, which carry no version and must not replace an entry written meanwhile by a newer version.
+     *
+     * @param entries the entries to put, keyed by cache key
+     * @return the keys whose entry was kept as the cache already held one
+     */
+    Set<Object> putAllIfAbsent(Map<?, ?> entries);
+
+    /**
+     * Returns the version of the entry of the given key, as last written by a versioned write.
+     *
+     * @param key the key of the entry
+     * @return the version of the entry, or null if no versioned write of the key is known
+     */
+    Long getVersion(Object key);
+
+    /**
+     * Puts all the given entries into the given cache, rejecting the older ones when the cache supports versions and
+     * putting them all in a single round trip otherwise.
+     *
+     * @param cache    the cache to put the entries into
+     * @param entries  the entries to put, keyed by cache key
+     * @param versions the versions of the entries, keyed by cache key
+     * @return the keys whose entry was rejected as older than the cached one
+     */
+    static Set<Object> putAllIfNewer(Cache cache, Map<?, ?> entries, Map<?, Long> versions) {
+        if (cache instanceof VersionedCache versionedCache) {
+            return versionedCache.putAllIfNewer(entries, versions);
+        }
+        BatchCache.putAll(cache, entries);
+        return Set.of();
+    }
+
+    /**
+     * Puts all the given entries into the given cache, except the ones it already holds, in a single round trip when
+     * the cache supports it and one entry at a time otherwise.
+     *
+     * @param cache   the cache to put the entries into
+     * @param entries the entries to put, keyed by cache key
+     * @return the keys whose entry was kept as the cache already held one
+     */
+    static Set<Object> putAllIfAbsent(Cache cache, Map<?, ?> entries) {
+        if (cache instanceof VersionedCache versionedCache) {
+            return versionedCache.putAllIfAbsent(entries);
+        }
+        Set<Object> keptKeys = new HashSet<>();
+        if (cache != null) {
+            entries.forEach((key, value) -> {
+                if (cache.putIfAbsent(key, value) != null) {
+                    keptKeys.add(key);
+                }
+            });
+        }
+        return keptKeys;
+    }
+
+    /**
+     * Returns the version of the entry of the given key in the given cache, when the cache supports versions.
+     *
+     * @param cache the cache holding the entry
+     * @param key   the key of the entry
+     * @return the version of the entry, or null if the cache does not support versions or knows none of the key
+     */
+    static Long getVersion(Cache cache, Object key) {
+        return cache instanceof VersionedCache versionedCache ? versionedCache.getVersion(key) : null;
+    }
+
+    /**
+     * Puts the given entry into the given cache, unless the cache supports versions and holds a newer one.
+     *
+     * @param cache   the cache to put the entry into
+     * @param key     the key of the entry
+     * @param value   the value of the entry
+     * @param version the version of the entry
+     */
+    static void putIfNewer(Cache cache, Object key, Object value, long version) {
+        putAllIfNewer(cache, Map.of(key, value), Map.of(key, version));
+    }
+}
@@ -0,0 +1,58 @@
+package com.register.vehicletype.adapter.db.cache.codec;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * The MakeDictionary class is the dictionary of the common makes shared by every node, so that a make found in it is
+ * written as its one byte code instead of its name. The codes are part of the binary layout: makes may only be
+ * appended, never removed or reordered, without bumping the schema version.
+ */
+final class MakeDictionary {
+
+    /**
+     * The code written before the name of a make that is not in the dictionary.
+     */
+    static final int LITERAL = 0;
+
+    private static final List<String> MAKES = List.of(
+            "Acura", "Alfa Romeo", "Aprilia", "Aston Martin", "Audi", "Bentley", "BMW", "Buick", "Cadillac",
+            "Chevrolet", "Chrysler", "Citroën", "DAF", "Dacia", "Dodge", "Ducati", "Ferrari", "Fiat", "Ford",
+            "Freightliner", "GMC", "Harley-Davidson", "Honda", "Hyundai", "Infiniti", "Isuzu", "Iveco", "Jaguar",
+            "Jeep", "Kawasaki", "Kenworth", "Kia", "KTM", "Lamborghini", "Land Rover", "Lexus", "MAN", "Mack",
+            "Maserati", "Mazda", "Mercedes-Benz", "Mini", "Mitsubishi", "Moto Guzzi", "Nissan", "Opel", "Peterbilt",
+            "Peugeot", "Porsche", "Ram", "Renault", "Royal Enfield", "Scania", "Seat", "Skoda", "Subaru", "Suzuki",
+            "Tesla", "Toyota", "Triumph", "Volkswagen", "Volvo", "Yamaha");
+
+    private static final Map<String, Integer> CODES = new HashMap<>();
+
+    static {
+        for (int i = 0; i < MAKES.size(); i++) {
+            CODES.put(MAKES.get(i), i + 1);
+        }
+    }
+
+    private MakeDictionary() {
+    }
+
+    /**
+     * Returns the code of the given make.
+     *
+     * @param make the make
+     * @return the code of the make, or {@link #LITERAL} if it is not in the dictionary
+     */
+    static int codeOf(String make) {
+        return CODES.getOrDefault(make, LITERAL);
+    }
+
+    /**
+     * Returns the make of the given code.
+     *
+     * @param code the code of a make of the dictionary
+     * @return the make, or null if the code is unknown
+     */
+    static String makeOf(int code) {
+        return code > 0 && code <= MAKES.size() ? MAKES.get(code - 1) : null;
+    }
+}
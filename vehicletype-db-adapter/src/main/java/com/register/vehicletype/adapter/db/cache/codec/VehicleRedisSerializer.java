@@ -0,0 +1,302 @@
+package com.register.vehicletype.adapter.db.cache.codec;
+
+import com.register.vehicletype.domain.dto.CarDTO;
+import com.register.vehicletype.domain.dto.CursorPageDTO;
+import com.register.vehicletype.domain.dto.MotorcycleDTO;
+import com.register.vehicletype.domain.dto.SliceDTO;
+import com.register.vehicletype.domain.dto.TruckDTO;
+import org.springframework.data.redis.serializer.RedisSerializer;
+import org.springframework.data.redis.serializer.SerializationException;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * The VehicleRedisSerializer class writes the cached vehicle DTOs, and the lists, cursor pages and slices of them,
+ * in a compact, schema versioned binary layout instead of JDK serialization: no class descriptors, zigzag varints
+ * for the numbers, a presence bit per nullable field and a shared dictionary for the common makes.
+ * Any other value is written with JDK serialization. Entries written with JDK serialization, such as the ones cached
+ * before this layout, are still read, and entries of an unknown schema version, or holding a tag or a make code this
+ * node does not know, such as the ones written by a newer node during a rolling deployment, are read as cache misses
+ * so that they are simply loaded and written again.
+ *
+ * <p>An entry starts with the {@link #MAGIC} byte and the schema version, followed by the tagged value.
+ */
+public class VehicleRedisSerializer implements RedisSerializer<Object> {
+
+    static final int MAGIC = 0xB7;
+    static final int SCHEMA_VERSION = 1;
+
+    private static final int JDK_STREAM_MAGIC_0 = 0xAC;
+    private static final int JDK_STREAM_MAGIC_1 = 0xED;
+    private static final int INITIAL_CAPACITY = 64;
+
+    private static final int TAG_CAR = 1;
+    private static final int TAG_TRUCK = 2;
+    private static final int TAG_MOTORCYCLE = 3;
+    private static final int TAG_LIST = 4;
+    private static final int TAG_CURSOR_PAGE = 5;
+    private static final int TAG_SLICE = 6;
+
+    private static final int ID_PRESENT = 1;
+    private static final int MAKE_PRESENT = 1 << 1;
+    private static final int MODEL_PRESENT = 1 << 2;
+    private static final int YEAR_PRESENT = 1 << 3;
+    private static final int EXTRA_PRESENT = 1 << 4;
+    private static final int EXTRA_FLAG = 1 << 5;
+
+    private static final double PAYLOAD_CAPACITY_SCALE = 100d;
+
+    private final RedisSerializer<Object> fallbackSerializer;
+
+    /**
+     * The VehicleRedisSerializer class writes the cached vehicle DTOs in a compact, schema versioned binary layout,
+     * using JDK serialization for any other value.
+     */
+    public VehicleRedisSerializer() {
+        this(RedisSerializer.java());
+    }
+
+    /**
+     * The VehicleRedisSerializer class writes the cached vehicle DTOs in a compact, schema versioned binary layout.
+     *
+     * @param fallbackSerializer the serializer of the values without a binary layout, which must read the entries
+     *                           cached before this layout
+     */
+    public VehicleRedisSerializer(RedisSerializer<Object> fallbackSerializer) {
+        this.fallbackSerializer = fallbackSerializer;
+    }
+
+    @Override
+    public byte[] serialize(Object value) throws SerializationException {
+        if (value == null || !hasBinaryLayout(value)) {
+            return fallbackSerializer.serialize(value);
+        }
+        BinaryOutput output = new BinaryOutput(INITIAL_CAPACITY);
+        output.writeByte(MAGIC);
+        output.writeByte(SCHEMA_VERSION);
+        writeValue(output, value);
+        return output.toByteArray();
+    }
+
+    @Override
+    public Object deserialize(byte[] bytes) throws SerializationException {
+        if (bytes == null || bytes.length == 0) {
+            return null;
+        }
+        if (bytes.length >= 2 && (bytes[0] & 0xFF) == JDK_STREAM_MAGIC_0 && (bytes[1] & 0xFF) == JDK_STREAM_MAGIC_1) {
+            return fallbackSerializer.deserialize(bytes);
+        }
+        if ((bytes[0] & 0xFF) != MAGIC) {
+            throw new SerializationException("Unknown cache entry format");
+        }
+        BinaryInput input = new BinaryInput(bytes, 1);
+        if (input.readByte() != SCHEMA_VERSION) {
+            return null;
+        }
+        try {
+            return readValue(input);
+        } catch (UnknownCodeException e) {
+            return null;
+        }
+    }
+
+    private static boolean hasBinaryLayout(Object value) {
+        return switch (value) {
+            case CarDTO carDTO -> true;
+            case TruckDTO truckDTO -> true;
+            case MotorcycleDTO motorcycleDTO -> true;
+            case List<?> list -> list.stream().allMatch(VehicleRedisSerializer::isVehicle);
+            case CursorPageDTO<?> cursorPageDTO -> cursorPageDTO.content().stream()
+                    .allMatch(VehicleRedisSerializer::isVehicle);
+            case SliceDTO<?> sliceDTO -> sliceDTO.content().stream().allMatch(VehicleRedisSerializer::isVehicle);
+            default -> false;
+        };
+    }
+
+    private static boolean isVehicle(Object value) {
+        return value instanceof CarDTO || value instanceof TruckDTO || value instanceof MotorcycleDTO;
+    }
+
+    private static void writeValue(BinaryOutput output, Object value) {
+        switch (value) {
+            case CarDTO carDTO -> writeCar(output, carDTO);
+            case TruckDTO truckDTO -> writeTruck(output, truckDTO);
+            case MotorcycleDTO motorcycleDTO -> writeMotorcycle(output, motorcycleDTO);
+            case List<?> list -> {
+                output.writeByte(TAG_LIST);
+                writeList(output, list);
+            }
+            case CursorPageDTO<?> cursorPageDTO -> {
+                output.writeByte(TAG_CURSOR_PAGE);
+                writeList(output, cursorPageDTO.content());
+                output.writeByte(cursorPageDTO.nextCursor() != null ? 1 : 0);
+                if (cursorPageDTO.nextCursor() != null) {
+                    output.writeString(cursorPageDTO.nextCursor());
+                }
+            }
+            case SliceDTO<?> sliceDTO -> {
+                output.writeByte(TAG_SLICE);
+                writeList(output, sliceDTO.content());
+                output.writeVarLong(sliceDTO.page());
+                output.writeVarLong(sliceDTO.size());
+                output.writeByte((sliceDTO.hasNext() ? 1 : 0) | (sliceDTO.estimatedTotal() != null ? 2 : 0));
+                if (sliceDTO.estimatedTotal() != null) {
+                    output.writeVarLong(sliceDTO.estimatedTotal());
+                }
+            }
+            default -> throw new SerializationException("No binary layout for " + value.getClass().getName());
+        }
+    }
+
+    private static void writeList(BinaryOutput output, List<?> list) {
+        output.writeVarLong(list.size());
+        list.forEach(element -> writeValue(output, element));
+    }
+
+    private static void writeCar(BinaryOutput output, CarDTO carDTO) {
+        output.writeByte(TAG_CAR);
+        output.writeByte(presence(carDTO.id(), carDTO.make(), carDTO.model(), carDTO.year())
+                | (carDTO.numberOfDoors() != null ? EXTRA_PRESENT : 0));
+        writeCommonFields(output, carDTO.id(), carDTO.make(), carDTO.model(), carDTO.year());
+        if (carDTO.numberOfDoors() != null) {
+            output.writeVarLong(carDTO.numberOfDoors());
+        }
+    }
+
+    private static void writeTruck(BinaryOutput output, TruckDTO truckDTO) {
+        double scaledPayloadCapacity = truckDTO.payloadCapacity() * PAYLOAD_CAPACITY_SCALE;
+        boolean payloadCapacityInHundredths = scaledPayloadCapacity == Math.rint(scaledPayloadCapacity)
+                && Math.abs(scaledPayloadCapacity) < Long.MAX_VALUE
+                && (long) scaledPayloadCapacity / PAYLOAD_CAPACITY_SCALE == truckDTO.payloadCapacity();
+        output.writeByte(TAG_TRUCK);
+        output.writeByte(presence(truckDTO.id(), truckDTO.make(), truckDTO.model(), truckDTO.year())
+                | (payloadCapacityInHundredths ? EXTRA_FLAG : 0));
+        writeCommonFields(output, truckDTO.id(), truckDTO.make(), truckDTO.model(), truckDTO.year());
+        if (payloadCapacityInHundredths) {
+            output.writeVarLong((long) scaledPayloadCapacity);
+        } else {
+            output.writeDouble(truckDTO.payloadCapacity());
+        }
+    }
+
+    private static void writeMotorcycle(BinaryOutput output, MotorcycleDTO motorcycleDTO) {
+        output.writeByte(TAG_MOTORCYCLE);
+        output.writeByte(presence(motorcycleDTO.id(), motorcycleDTO.make(), motorcycleDTO.model(),
+                motorcycleDTO.year()) | (motorcycleDTO.hasSidecar() ? EXTRA_FLAG : 0));
+        writeCommonFields(output, motorcycleDTO.id(), motorcycleDTO.make(), motorcycleDTO.model(),
+                motorcycleDTO.year());
+    }
+
+    private static int presence(Long id, String make, String model, Integer year) {
+        return (id != null ? ID_PRESENT : 0)
+                | (make != null ? MAKE_PRESENT : 0)
+                | (model != null ? MODEL_PRESENT : 0)
+                | (year != null ? YEAR_PRESENT : 0);
+    }
+
+    private static void writeCommonFields(BinaryOutput output, Long id, String make, String model, Integer year) {
+        if (id != null) {
+            output.writeVarLong(id);
+        }
+        if (make != null) {
+            int code = MakeDictionary.codeOf(make);
+            output.writeVarLong(code);
+            if (code == MakeDictionary.LITERAL) {
+                output.writeString(make);
+            }
+        }
+        if (model != null) {
+            output.writeString(model);
+        }
+        if (year != null) {
+            output.writeVarLong(year);
+        }
+    }
+
+    private static Object readValue(BinaryInput input) {
+        int tag = input.readByte();
+        return switch (tag) {
+            case TAG_CAR -> readCar(input);
+            case TAG_TRUCK -> readTruck(input);
+            case TAG_MOTORCYCLE -> readMotorcycle(input);
+            case TAG_LIST -> readList(input);
+            case TAG_CURSOR_PAGE -> {
+                List<Object> content = readList(input);
+                String nextCursor = input.readByte() != 0 ? input.readString() : null;
+                yield new CursorPageDTO<>(content, nextCursor);
+            }
+            case TAG_SLICE -> {
+                List<Object> content = readList(input);
+                int page = input.readVarInt();
+                int size = input.readVarInt();
+                int flags = input.readByte();
+                Long estimatedTotal = (flags & 2) != 0 ? input.readVarLong() : null;
+                yield new SliceDTO<>(content, page, size, (flags & 1) != 0, estimatedTotal);
+            }
+            default -> throw new UnknownCodeException();
+        };
+    }
+
+    private static List<Object> readList(BinaryInput input) {
+        int size = input.readVarInt();
+        List<Object> list = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            list.add(readValue(input));
+        }
+        return List.copyOf(list);
+    }
+
+    private static CarDTO readCar(BinaryInput input) {
+        int presence = input.readByte();
+        Long id = (presence & ID_PRESENT) != 0 ? input.readVarLong() : null;
+        String make = (presence & MAKE_PRESENT) != 0 ? readMake(input) : null;
+        String model = (presence & MODEL_PRESENT) != 0 ? input.readString() : null;
+        Integer year = (presence & YEAR_PRESENT) != 0 ? input.readVarInt() : null;
+        Integer numberOfDoors = (presence & EXTRA_PRESENT) != 0 ? input.readVarInt() : null;
+        return new CarDTO(id, make, model, year, numberOfDoors);
+    }
+
+    private static TruckDTO readTruck(BinaryInput input) {
+        int presence = input.readByte();
+        Long id = (presence & ID_PRESENT) != 0 ? input.readVarLong() : null;
+        String make = (presence & MAKE_PRESENT) != 0 ? readMake(input) : null;
+        String model = (presence & MODEL_PRESENT) != 0 ? input.readString() : null;
+        Integer year = (presence & YEAR_PRESENT) != 0 ? input.readVarInt() : null;
+        double payloadCapacity = (presence & EXTRA_FLAG) != 0
+                ? input.readVarLong() / PAYLOAD_CAPACITY_SCALE
+                : input.readDouble();
+        return new TruckDTO(id, make, model, year, payloadCapacity);
+    }
+
+    private static MotorcycleDTO readMotorcycle(BinaryInput input) {
+        int presence = input.readByte();
+        Long id = (presence & ID_PRESENT) != 0 ? input.readVarLong() : null;
+        String make = (presence & MAKE_PRESENT) != 0 ? readMake(input) : null;
+        String model = (presence & MODEL_PRESENT) != 0 ? input.readString() : null;
+        Integer year = (presence & YEAR_PRESENT) != 0 ? input.readVarInt() : null;
+        return new MotorcycleDTO(id, make, model, year, (presence & EXTRA_FLAG) != 0);
+    }
+
+    private static String readMake(BinaryInput input) {
+        int code = input.readVarInt();
+        if (code == MakeDictionary.LITERAL) {
+            return input.readString();
+        }
+        String make = MakeDictionary.makeOf(code);
+        if (make == null) {
+            throw new UnknownCodeException();
+        }
+        return make;
+    }
+
+    /**
+     * Thrown while reading an entry holding a tag or a make code this node does not know, to read it as a cache miss.
+     */
+    private static final class UnknownCodeException extends RuntimeException {
+
+        private UnknownCodeException() {
+            super(null, null, false, false);
+        }
+    }
+}
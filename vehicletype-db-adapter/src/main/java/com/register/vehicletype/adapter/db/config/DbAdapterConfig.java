@@ -1,29 +1,76 @@
 package com.register.vehicletype.adapter.db.config;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.register.vehicletype.adapter.db.cache.CacheInvalidationChannel;
+import com.register.vehicletype.adapter.db.cache.CachePolicies;
+import com.register.vehicletype.adapter.db.cache.CachePolicy;
+import com.register.vehicletype.adapter.db.cache.CacheWarmer;
+import com.register.vehicletype.adapter.db.cache.CircuitBreakingCacheErrorHandler;
+import com.register.vehicletype.adapter.db.cache.CircuitBreakingCacheManager;
+import com.register.vehicletype.adapter.db.cache.GenerationalCaches;
+import com.register.vehicletype.adapter.db.cache.HashBucketRedisCacheManager;
+import com.register.vehicletype.adapter.db.cache.PipelinedRedisCacheManager;
+import com.register.vehicletype.adapter.db.cache.RedisCircuitBreaker;
+import com.register.vehicletype.adapter.db.cache.RefreshAhead;
+import com.register.vehicletype.adapter.db.cache.RemoteVehicleChangeListener;
+import com.register.vehicletype.adapter.db.cache.SingleFlightRegistry;
+import com.register.vehicletype.adapter.db.cache.TransactionAwareCache;
+import com.register.vehicletype.adapter.db.cache.TransactionAwareCacheManager;
+import com.register.vehicletype.adapter.db.cache.TwoLevelCache;
+import com.register.vehicletype.adapter.db.cache.TwoLevelCacheManager;
+import com.register.vehicletype.adapter.db.cache.TwoLevelCacheMetrics;
+import com.register.vehicletype.adapter.db.cache.codec.VehicleRedisSerializer;
 import com.register.vehicletype.adapter.db.converter.todto.CarEntityToDTOConverter;
 import com.register.vehicletype.adapter.db.converter.todto.MotorcycleEntityToDTOConverter;
 import com.register.vehicletype.adapter.db.converter.todto.TruckEntityToDTOConverter;
 import com.register.vehicletype.adapter.db.converter.toentity.CarDTOToEntityConverter;
 import com.register.vehicletype.adapter.db.converter.toentity.MotorcycleDTOToEntityConverter;
 import com.register.vehicletype.adapter.db.converter.toentity.TruckDTOToEntityConverter;
+import com.register.vehicletype.adapter.db.filter.VehicleIdFilters;
 import com.register.vehicletype.adapter.db.outbound.CarRepositoryAdapter;
 import com.register.vehicletype.adapter.db.outbound.MotorcycleRepositoryAdapter;
 import com.register.vehicletype.adapter.db.outbound.TruckRepositoryAdapter;
+import com.register.vehicletype.adapter.db.outbox.OutboxRelay;
+import com.register.vehicletype.adapter.db.outbox.OutboxWriter;
 import com.register.vehicletype.adapter.db.repository.CarRepository;
 import com.register.vehicletype.adapter.db.repository.MotorcycleRepository;
+import com.register.vehicletype.adapter.db.repository.OutboxRepository;
 import com.register.vehicletype.adapter.db.repository.TruckRepository;
 import com.register.vehicletype.domain.dto.CarDTO;
 import com.register.vehicletype.domain.dto.MotorcycleDTO;
 import com.register.vehicletype.domain.dto.TruckDTO;
+import com.register.vehicletype.domain.event.bus.AsyncVehicleEventBus;
 import com.register.vehicletype.domain.port.inbound.HasConverterConfigPort;
 import com.register.vehicletype.domain.port.outbound.IRepositoryPort;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import jakarta.persistence.EntityManager;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.CachingConfigurer;
 import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.cache.interceptor.CacheErrorHandler;
+import org.springframework.cache.support.CompositeCacheManager;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.ComponentScan;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.context.annotation.PropertySource;
 import org.springframework.core.convert.ConversionService;
 import org.springframework.core.convert.converter.ConverterRegistry;
+import org.springframework.data.redis.cache.RedisCacheConfiguration;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.data.redis.serializer.RedisSerializationContext;
+import org.springframework.data.redis.serializer.RedisSerializer;
+import org.springframework.scheduling.annotation.EnableScheduling;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
 
 /**
  * The DbAdapterConfig class is a configuration class for the database adapter.
@@ -33,6 +80,7 @@ import org.springframework.core.convert.converter.ConverterRegistry;
 @ComponentScan(value = "com.register.vehicletype.adapter.db")
 @PropertySource("classpath:/application-db.properties")
 @EnableCaching
+@EnableScheduling
 public class DbAdapterConfig implements HasConverterConfigPort {
 
     private static final String CAR_REPOSITORY_PORT_NAME = "carRepositoryPort";
@@ -44,6 +92,62 @@ public class DbAdapterConfig implements HasConverterConfigPort {
     private static final String CAR_DTO_ENTITY_CONVERTER_NAME = "carDTOToEntityConverter";
     private static final String TRUCK_DTO_ENTITY_CONVERTER_NAME = "truckDTOToEntityConverter";
     private static final String MOTORCYCLE_DTO_ENTITY_CONVERTER_NAME = "motorcycleDTOToEntityConverter";
+    private static final String CACHE_MANAGER_NAME = "cacheManager";
+    private static final String CACHE_VALUE_SERIALIZER_NAME = "cacheValueSerializer";
+    private static final String CACHE_POLICIES_NAME = "cachePolicies";
+    private static final String CACHE_METRICS_NAME = "cacheMetrics";
+    private static final String SINGLE_FLIGHT_REGISTRY_NAME = "singleFlightRegistry";
+    private static final String GENERATIONAL_CACHES_NAME = "generationalCaches";
+    private static final String VEHICLE_ID_FILTERS_NAME = "vehicleIdFilters";
+    private static final String CACHE_INVALIDATION_CHANNEL_NAME = "cacheInvalidationChannel";
+    private static final String REDIS_CIRCUIT_BREAKER_NAME = "redisCircuitBreaker";
+    private static final String CACHING_CONFIGURER_NAME = "cachingConfigurer";
+    private static final String CACHE_WARMER_NAME = "cacheWarmer";
+    private static final String CACHE_INVALIDATION_LISTENER_CONTAINER_NAME = "cacheInvalidationListenerContainer";
+    private static final String REMOTE_VEHICLE_CHANGE_LISTENER_NAME = "remoteVehicleChangeListener";
+    private static final String OUTBOX_WRITER_NAME = "outboxWriter";
+    private static final String OUTBOX_RELAY_NAME = "outboxRelay";
+    private static final String SAVE_BATCH_SIZE = "${spring.jpa.properties.hibernate.jdbc.batch_size}";
+    private static final String DELETE_CHUNK_SIZE = "${vehicletype.delete.chunk-size}";
+    private static final String LOCAL_CACHE_MAXIMUM_SIZE = "${vehicletype.cache.local.maximum-size}";
+    private static final String LOCAL_CACHE_EXPIRE_AFTER_WRITE = "${vehicletype.cache.local.expire-after-write}";
+    private static final String LIST_CACHE_TIME_TO_LIVE = "${vehicletype.cache.lists.time-to-live}";
+    private static final String CAR_CACHE_TIME_TO_LIVE = "${vehicletype.cache.cars.time-to-live}";
+    private static final String CAR_CACHE_MAXIMUM_SIZE = "${vehicletype.cache.cars.maximum-size}";
+    private static final String CAR_CACHE_EXPIRE_AFTER_ACCESS = "${vehicletype.cache.cars.expire-after-access}";
+    private static final String TRUCK_CACHE_TIME_TO_LIVE = "${vehicletype.cache.trucks.time-to-live}";
+    private static final String TRUCK_CACHE_MAXIMUM_SIZE = "${vehicletype.cache.trucks.maximum-size}";
+    private static final String TRUCK_CACHE_EXPIRE_AFTER_ACCESS = "${vehicletype.cache.trucks.expire-after-access}";
+    private static final String MOTORCYCLE_CACHE_TIME_TO_LIVE = "${vehicletype.cache.motorcycles.time-to-live}";
+    private static final String MOTORCYCLE_CACHE_MAXIMUM_SIZE = "${vehicletype.cache.motorcycles.maximum-size}";
+    private static final String MOTORCYCLE_CACHE_EXPIRE_AFTER_ACCESS =
+            "${vehicletype.cache.motorcycles.expire-after-access}";
+    private static final String CACHE_REFRESH_AHEAD_RATIO = "${vehicletype.cache.refresh-ahead-ratio}";
+    private static final String CACHE_WARM_UP_SIZE = "${vehicletype.cache.warm-up.size}";
+    private static final String CACHE_WARM_UP_CHUNK_SIZE = "${vehicletype.cache.warm-up.chunk-size}";
+    private static final String CACHE_WARM_UP_PARALLELISM = "${vehicletype.cache.warm-up.parallelism}";
+    private static final String CACHE_WARM_UP_TIMEOUT = "${vehicletype.cache.warm-up.timeout}";
+    private static final String CACHE_INVALIDATION_CHANNEL = "${vehicletype.cache.invalidation-channel}";
+    private static final String CIRCUIT_BREAKER_FAILURE_RATE_THRESHOLD =
+            "${vehicletype.cache.circuit-breaker.failure-rate-threshold}";
+    private static final String CIRCUIT_BREAKER_SLOW_CALL_DURATION =
+            "${vehicletype.cache.circuit-breaker.slow-call-duration}";
+    private static final String CIRCUIT_BREAKER_CALL_TIMEOUT = "${vehicletype.cache.circuit-breaker.call-timeout}";
+    private static final String CIRCUIT_BREAKER_MINIMUM_CALLS = "${vehicletype.cache.circuit-breaker.minimum-calls}";
+    private static final String CIRCUIT_BREAKER_WINDOW = "${vehicletype.cache.circuit-breaker.window}";
+    private static final String CIRCUIT_BREAKER_PROBE_INTERVAL = "${vehicletype.cache.circuit-breaker.probe-interval}";
+    private static final String CIRCUIT_BREAKER_MAXIMUM_SUSPECT_KEYS =
+            "${vehicletype.cache.circuit-breaker.maximum-suspect-keys}";
+    private static final String HASH_BUCKET_CACHE_ENABLED = "${vehicletype.cache.hash-bucket.enabled}";
+    private static final String HASH_BUCKET_CACHE_BUCKET_SIZE = "${vehicletype.cache.hash-bucket.bucket-size}";
+    private static final String ID_FILTER_FALSE_POSITIVE_PROBABILITY =
+            "${vehicletype.id-filter.false-positive-probability}";
+    private static final String ID_FILTER_MINIMUM_EXPECTED_INSERTIONS =
+            "${vehicletype.id-filter.minimum-expected-insertions}";
+    private static final String ID_FILTER_MISSING_IDS_TIME_TO_LIVE = "${vehicletype.id-filter.missing-ids.time-to-live}";
+    private static final String ID_FILTER_MISSING_IDS_MAXIMUM_SIZE = "${vehicletype.id-filter.missing-ids.maximum-size}";
+    private static final String OUTBOX_RELAY_BATCH_SIZE = "${vehicletype.outbox.relay-batch-size}";
+    private static final String OUTBOX_RELAY_MAX_ATTEMPTS = "${vehicletype.outbox.relay-max-attempts}";
 
 
     /**
@@ -51,12 +155,27 @@ public class DbAdapterConfig implements HasConverterConfigPort {
      *
      * @param carRepository the repository for managing CarEntity objects
      * @param conversionService the conversion service for converting between CarDTO and CarEntity
+     * @param entityManager the entity manager used to flush and clear the batched saves
+     * @param cacheManager the cache manager used to write the batched saves to the cache
+     * @param outboxWriter the writer recording the vehicle events in the outbox
+     * @param saveBatchSize the number of cars flushed to the database per JDBC batch
+     * @param deleteChunkSize the number of cars deleted per statement by the bulk deletes
+     * @param generationalCaches the caches of the list queries, invalidated by generation
+     * @param vehicleIdFilters the filters of the IDs that might exist
      * @return an instance of IRepositoryPort for CarDTO
      */
     @Bean(name = CAR_REPOSITORY_PORT_NAME)
     public IRepositoryPort<CarDTO, Long> carRepositoryPort(CarRepository carRepository,
-                                                           ConversionService conversionService) {
-        return new CarRepositoryAdapter(carRepository, conversionService);
+                                                           ConversionService conversionService,
+                                                           EntityManager entityManager,
+                                                           CacheManager cacheManager,
+                                                           OutboxWriter outboxWriter,
+                                                           @Value(SAVE_BATCH_SIZE) int saveBatchSize,
+                                                           @Value(DELETE_CHUNK_SIZE) int deleteChunkSize,
+                                                           GenerationalCaches generationalCaches,
+                                                           VehicleIdFilters vehicleIdFilters) {
+        return new CarRepositoryAdapter(carRepository, conversionService, entityManager, cacheManager, outboxWriter,
+                saveBatchSize, deleteChunkSize, generationalCaches, vehicleIdFilters);
     }
 
     /** s
@@ -64,13 +183,28 @@ public class DbAdapterConfig implements HasConverterConfigPort {
      *
      * @param conversionService the conversion service for converting between TruckDTO and TruckEntity
      * @param truckRepository the repository for managing TruckEntity objects
+     * @param entityManager the entity manager used to flush and clear the batched saves
+     * @param cacheManager the cache manager used to write the batched saves to the cache
+     * @param outboxWriter the writer recording the vehicle events in the outbox
+     * @param saveBatchSize the number of trucks flushed to the database per JDBC batch
+     * @param deleteChunkSize the number of trucks deleted per statement by the bulk deletes
+     * @param generationalCaches the caches of the list queries, invalidated by generation
+     * @param vehicleIdFilters the filters of the IDs that might exist
      *
      * @return an instance of IRepositoryPort for TruckDTO
      */
     @Bean(name = TRUCK_REPOSITORY_PORT_NAME)
     public IRepositoryPort<TruckDTO, Long> truckRepositoryPort(TruckRepository truckRepository,
-                                                               ConversionService conversionService) {
-        return new TruckRepositoryAdapter(truckRepository, conversionService);
+                                                               ConversionService conversionService,
+                                                               EntityManager entityManager,
+                                                               CacheManager cacheManager,
+                                                               OutboxWriter outboxWriter,
+                                                               @Value(SAVE_BATCH_SIZE) int saveBatchSize,
+                                                               @Value(DELETE_CHUNK_SIZE) int deleteChunkSize,
+                                                               GenerationalCaches generationalCaches,
+                                                               VehicleIdFilters vehicleIdFilters) {
+        return new TruckRepositoryAdapter(truckRepository, conversionService, entityManager, cacheManager, outboxWriter,
+                saveBatchSize, deleteChunkSize, generationalCaches, vehicleIdFilters);
     }
 
     /**
@@ -78,12 +212,397 @@ public class DbAdapterConfig implements HasConverterConfigPort {
      *
      * @param motorcycleRepository the repository for managing MotorcycleEntity objects
      * @param conversionService the conversion service for converting between MotorcycleDTO and MotorcycleEntity
+     * @param entityManager the entity manager used to flush and clear the batched saves
+     * @param cacheManager the cache manager used to write the batched saves to the cache
+     * @param outboxWriter the writer recording the vehicle events in the outbox
+     * @param saveBatchSize the number of motorcycles flushed to the database per JDBC batch
+     * @param deleteChunkSize the number of motorcycles deleted per statement by the bulk deletes
+     * @param generationalCaches the caches of the list queries, invalidated by generation
+     * @param vehicleIdFilters the filters of the IDs that might exist
      * @return an instance of IRepositoryPort for MotorcycleDTO
      */
     @Bean(name = MOTORCYCLE_REPOSITORY_PORT_NAME)
     public IRepositoryPort<MotorcycleDTO, Long> motorcycleRepositoryPort(MotorcycleRepository motorcycleRepository,
-                                                                         ConversionService conversionService) {
-        return new MotorcycleRepositoryAdapter(motorcycleRepository, conversionService);
+                                                                         ConversionService conversionService,
+                                                                         EntityManager entityManager,
+                                                                         CacheManager cacheManager,
+                                                                         OutboxWriter outboxWriter,
+                                                                         @Value(SAVE_BATCH_SIZE) int saveBatchSize,
+                                                                         @Value(DELETE_CHUNK_SIZE) int deleteChunkSize,
+                                                                         GenerationalCaches generationalCaches,
+                                                                         VehicleIdFilters vehicleIdFilters) {
+        return new MotorcycleRepositoryAdapter(motorcycleRepository, conversionService, entityManager, cacheManager,
+                outboxWriter, saveBatchSize, deleteChunkSize, generationalCaches, vehicleIdFilters);
+    }
+
+    /**
+     * Creates the cache manager backing the @Cacheable, @CachePut and @CacheEvict annotations of the adapters.
+     * Every cache keeps its hot entries in a bounded Caffeine cache local to the node, in front of Redis whose caches
+     * can also write whole batches of entries through a single pipelined connection. Redis is bypassed while the
+     * circuit breaker is open, the local caches still answering. The writes of the caches of the vehicles made inside
+     * a transaction are deferred until it commits.
+     *
+     * @param redisConnectionFactory the factory of the Redis connections
+     * @param cacheValueSerializer the serializer of the values cached in Redis
+     * @param invalidationChannel the channel the local caches of the nodes are invalidated through
+     * @param localCacheMaximumSize the maximum number of entries of each local cache
+     * @param localCacheExpireAfterWrite the time after which a local entry is dropped, should an invalidation be missed
+     * @param singleFlightRegistry the registry of the SingleFlight coalescing the concurrent misses of each cache
+     * @param redisCircuitBreaker the circuit breaker of the calls to Redis
+     * @param maximumSuspectKeys the maximum number of keys written while Redis was bypassed that are invalidated one
+     *                           by one once it answers again, before clearing the whole cache instead
+     * @param cachePolicies the time to live, size and idle expiry of the caches of the vehicles, the time to live
+     *                      applying to Redis too
+     * @param refreshAheadRatio the fraction of the time to live of a vehicle entry after which reading it reloads it
+     *                          in the background, 0 to let the entries expire
+     * @param listCacheTimeToLive the time the results of the list queries are kept in Redis, which also drops the
+     *                            results orphaned by a new generation
+     * @param hashBucketCacheEnabled whether the vehicles are cached in Redis hashes bucketing consecutive IDs, instead
+     *                               of one key per vehicle
+     * @param hashBucketCacheBucketSize the number of consecutive IDs sharing a Redis hash, which should stay below the
+     *                                  hash-max-listpack-entries setting of Redis
+     * @return the cache manager
+     */
+    @Bean(name = CACHE_MANAGER_NAME)
+    public CacheManager cacheManager(RedisConnectionFactory redisConnectionFactory,
+                                     RedisSerializer<Object> cacheValueSerializer,
+                                     CacheInvalidationChannel invalidationChannel,
+                                     SingleFlightRegistry singleFlightRegistry,
+                                     RedisCircuitBreaker redisCircuitBreaker,
+                                     @Value(CIRCUIT_BREAKER_MAXIMUM_SUSPECT_KEYS) int maximumSuspectKeys,
+                                     CachePolicies cachePolicies,
+                                     @Value(CACHE_REFRESH_AHEAD_RATIO) double refreshAheadRatio,
+                                     @Value(LOCAL_CACHE_MAXIMUM_SIZE) long localCacheMaximumSize,
+                                     @Value(LOCAL_CACHE_EXPIRE_AFTER_WRITE) Duration localCacheExpireAfterWrite,
+                                     @Value(LIST_CACHE_TIME_TO_LIVE) Duration listCacheTimeToLive,
+                                     @Value(HASH_BUCKET_CACHE_ENABLED) boolean hashBucketCacheEnabled,
+                                     @Value(HASH_BUCKET_CACHE_BUCKET_SIZE) long hashBucketCacheBucketSize) {
+        RedisCacheConfiguration defaultCacheConfiguration = RedisCacheConfiguration.defaultCacheConfig()
+                .serializeValuesWith(RedisSerializationContext.SerializationPair.fromSerializer(cacheValueSerializer));
+        RedisCacheConfiguration listCacheConfiguration = defaultCacheConfiguration.entryTtl(listCacheTimeToLive);
+        Map<String, RedisCacheConfiguration> cacheConfigurations = new HashMap<>(Map.of(
+                CarRepositoryAdapter.LIST_CACHE_NAME, listCacheConfiguration,
+                TruckRepositoryAdapter.LIST_CACHE_NAME, listCacheConfiguration,
+                MotorcycleRepositoryAdapter.LIST_CACHE_NAME, listCacheConfiguration));
+        Map<String, Duration> cacheTimeToLives = new HashMap<>();
+        Map<String, Caffeine<Object, Object>> localCacheBuilders = new HashMap<>();
+        Map<String, RefreshAhead> refreshAheads = new HashMap<>();
+        cachePolicies.getPolicies().forEach((cacheName, policy) -> {
+            cacheConfigurations.put(cacheName, defaultCacheConfiguration.entryTtl(policy.timeToLive()));
+            cacheTimeToLives.put(cacheName, policy.timeToLive());
+            localCacheBuilders.put(cacheName, policy.newLocalCacheBuilder(localCacheExpireAfterWrite));
+            if (refreshAheadRatio > 0 && refreshAheadRatio < 1 && policy.timeToLive().isPositive()) {
+                refreshAheads.put(cacheName, policy.newRefreshAhead(refreshAheadRatio));
+            }
+        });
+        PipelinedRedisCacheManager redisCacheManager = new PipelinedRedisCacheManager(redisConnectionFactory,
+                defaultCacheConfiguration, cacheConfigurations);
+        redisCacheManager.afterPropertiesSet();
+        CacheManager backingCacheManager = redisCacheManager;
+        if (hashBucketCacheEnabled) {
+            HashBucketRedisCacheManager hashBucketCacheManager = new HashBucketRedisCacheManager(cacheTimeToLives,
+                    redisConnectionFactory, cacheValueSerializer, hashBucketCacheBucketSize);
+            hashBucketCacheManager.afterPropertiesSet();
+            backingCacheManager = new CompositeCacheManager(hashBucketCacheManager, redisCacheManager);
+        }
+        backingCacheManager = new CircuitBreakingCacheManager(backingCacheManager, redisCircuitBreaker,
+                invalidationChannel, maximumSuspectKeys);
+        Caffeine<Object, Object> localCacheBuilder = Caffeine.newBuilder()
+                .maximumSize(localCacheMaximumSize)
+                .expireAfterWrite(localCacheExpireAfterWrite)
+                .recordStats();
+        TwoLevelCacheManager twoLevelCacheManager = new TwoLevelCacheManager(backingCacheManager, localCacheBuilder,
+                localCacheBuilders, invalidationChannel, singleFlightRegistry, refreshAheads);
+        return new TransactionAwareCacheManager(twoLevelCacheManager, cachePolicies.getPolicies().keySet());
+    }
+
+    /**
+     * Creates the warmer filling the caches of the vehicles with the most recently registered ones once the
+     * application has started, before it reports itself ready. Each chunk of IDs is loaded through the multi-get of
+     * the repository port, with a single query and a single pipelined write to Redis.
+     *
+     * @param carRepository the repository reading the IDs of the most recent cars
+     * @param truckRepository the repository reading the IDs of the most recent trucks
+     * @param motorcycleRepository the repository reading the IDs of the most recent motorcycles
+     * @param carRepositoryPort the repository port loading the cars into their cache
+     * @param truckRepositoryPort the repository port loading the trucks into their cache
+     * @param motorcycleRepositoryPort the repository port loading the motorcycles into their cache
+     * @param size the maximum number of vehicles loaded into each cache, 0 to skip the warm-up
+     * @param chunkSize the number of vehicles loaded at once
+     * @param parallelism the number of chunks loaded at the same time, bounded by the size of the connection pool
+     * @param timeout the longest time the warm-up may delay the readiness of the application
+     * @return the cache warmer
+     */
+    @Bean(name = CACHE_WARMER_NAME)
+    public CacheWarmer cacheWarmer(CarRepository carRepository, TruckRepository truckRepository,
+                                   MotorcycleRepository motorcycleRepository,
+                                   IRepositoryPort<CarDTO, Long> carRepositoryPort,
+                                   IRepositoryPort<TruckDTO, Long> truckRepositoryPort,
+                                   IRepositoryPort<MotorcycleDTO, Long> motorcycleRepositoryPort,
+                                   @Value(CACHE_WARM_UP_SIZE) int size,
+                                   @Value(CACHE_WARM_UP_CHUNK_SIZE) int chunkSize,
+                                   @Value(CACHE_WARM_UP_PARALLELISM) int parallelism,
+                                   @Value(CACHE_WARM_UP_TIMEOUT) Duration timeout) {
+        CacheWarmer cacheWarmer = new CacheWarmer(size, chunkSize, parallelism, timeout);
+        if (size > 0) {
+            cacheWarmer
+                    .register(CarRepositoryAdapter.CACHE_NAME, carRepository::findRecentIds,
+                            carRepositoryPort::findAllById)
+                    .register(TruckRepositoryAdapter.CACHE_NAME, truckRepository::findRecentIds,
+                            truckRepositoryPort::findAllById)
+                    .register(MotorcycleRepositoryAdapter.CACHE_NAME, motorcycleRepository::findRecentIds,
+                            motorcycleRepositoryPort::findAllById);
+        }
+        return cacheWarmer;
+    }
+
+    /**
+     * Creates the policies of the caches of the vehicles, bounding how long their entries live in Redis and locally,
+     * how many entries each node keeps locally and how long a local entry may go unread.
+     *
+     * @param carTimeToLive the time a car entry lives in Redis and locally, 0 to keep it until evicted
+     * @param carMaximumSize the maximum number of car entries each node keeps locally
+     * @param carExpireAfterAccess the time after which an unread local car entry is dropped, 0 to keep it
+     * @param truckTimeToLive the time a truck entry lives in Redis and locally, 0 to keep it until evicted
+     * @param truckMaximumSize the maximum number of truck entries each node keeps locally
+     * @param truckExpireAfterAccess the time after which an unread local truck entry is dropped, 0 to keep it
+     * @param motorcycleTimeToLive the time a motorcycle entry lives in Redis and locally, 0 to keep it until evicted
+     * @param motorcycleMaximumSize the maximum number of motorcycle entries each node keeps locally
+     * @param motorcycleExpireAfterAccess the time after which an unread local motorcycle entry is dropped, 0 to keep
+     *                                    it
+     * @return the cache policies
+     */
+    @Bean(name = CACHE_POLICIES_NAME)
+    public CachePolicies cachePolicies(
+            @Value(CAR_CACHE_TIME_TO_LIVE) Duration carTimeToLive,
+            @Value(CAR_CACHE_MAXIMUM_SIZE) long carMaximumSize,
+            @Value(CAR_CACHE_EXPIRE_AFTER_ACCESS) Duration carExpireAfterAccess,
+            @Value(TRUCK_CACHE_TIME_TO_LIVE) Duration truckTimeToLive,
+            @Value(TRUCK_CACHE_MAXIMUM_SIZE) long truckMaximumSize,
+            @Value(TRUCK_CACHE_EXPIRE_AFTER_ACCESS) Duration truckExpireAfterAccess,
+            @Value(MOTORCYCLE_CACHE_TIME_TO_LIVE) Duration motorcycleTimeToLive,
+            @Value(MOTORCYCLE_CACHE_MAXIMUM_SIZE) long motorcycleMaximumSize,
+            @Value(MOTORCYCLE_CACHE_EXPIRE_AFTER_ACCESS) Duration motorcycleExpireAfterAccess) {
+        return new CachePolicies()
+                .with(CarRepositoryAdapter.CACHE_NAME,
+                        new CachePolicy(carTimeToLive, carMaximumSize, carExpireAfterAccess))
+                .with(TruckRepositoryAdapter.CACHE_NAME,
+                        new CachePolicy(truckTimeToLive, truckMaximumSize, truckExpireAfterAccess))
+                .with(MotorcycleRepositoryAdapter.CACHE_NAME,
+                        new CachePolicy(motorcycleTimeToLive, motorcycleMaximumSize, motorcycleExpireAfterAccess));
+    }
+
+    /**
+     * Creates the binder of the hit, miss, put, eviction, size and memory metrics of every two level cache.
+     *
+     * @param cacheManager the cache manager holding the caches
+     * @param cacheValueSerializer the serializer of the values cached in Redis, used to estimate their size
+     * @return the cache metrics binder
+     */
+    @Bean(name = CACHE_METRICS_NAME)
+    public MeterBinder cacheMetrics(CacheManager cacheManager, RedisSerializer<Object> cacheValueSerializer) {
+        return registry -> cacheManager.getCacheNames().forEach(cacheName -> {
+            Cache targetCache = cacheManager.getCache(cacheName);
+            if (targetCache instanceof TransactionAwareCache transactionAwareCache) {
+                targetCache = transactionAwareCache.getTargetCache();
+            }
+            if (targetCache instanceof TwoLevelCache cache) {
+                new TwoLevelCacheMetrics(cache, cacheValueSerializer).bindTo(registry);
+            }
+        });
+    }
+
+    /**
+     * Creates the serializer of the values cached in Redis, which writes the vehicle DTOs in a compact binary layout
+     * and still reads the entries written with JDK serialization.
+     *
+     * @return the cache value serializer
+     */
+    @Bean(name = CACHE_VALUE_SERIALIZER_NAME)
+    public RedisSerializer<Object> cacheValueSerializer() {
+        return new VehicleRedisSerializer();
+    }
+
+    /**
+     * Creates the registry of the SingleFlight instances coalescing the concurrent loads of the same key, which also
+     * reports the executed and coalesced loads as metrics.
+     *
+     * @return the single flight registry
+     */
+    @Bean(name = SINGLE_FLIGHT_REGISTRY_NAME)
+    public SingleFlightRegistry singleFlightRegistry() {
+        return new SingleFlightRegistry();
+    }
+
+    /**
+     * Creates the caches of the list queries, whose results are orphaned all at once by bumping the generation of
+     * their vehicle type on every write.
+     *
+     * @param cacheManager the cache manager of the backing caches
+     * @param redisConnectionFactory the factory of the Redis connections the generations are kept with
+     * @param invalidationChannel the channel the new generations are announced on
+     * @param redisCircuitBreaker the circuit breaker of the calls to Redis, while open of which the generations are
+     *                            bumped on this node only and again in Redis once it answers
+     * @return the generational caches
+     */
+    @Bean(name = GENERATIONAL_CACHES_NAME)
+    public GenerationalCaches generationalCaches(CacheManager cacheManager,
+                                                 RedisConnectionFactory redisConnectionFactory,
+                                                 CacheInvalidationChannel invalidationChannel,
+                                                 RedisCircuitBreaker redisCircuitBreaker) {
+        return new GenerationalCaches(cacheManager, redisConnectionFactory, invalidationChannel, redisCircuitBreaker);
+    }
+
+    /**
+     * Creates the filters telling, per vehicle type, whether an ID might exist, so the lookups of IDs that definitely
+     * do not exist reach neither Redis nor PostgreSQL.
+     *
+     * @param transactionManager the transaction manager the IDs are read with
+     * @param invalidationChannel the channel the IDs saved on the other nodes are learned from
+     * @param redisCircuitBreaker the circuit breaker of the calls to Redis, whose recovery rebuilds the filters
+     * @param falsePositiveProbability the false positive probability the Bloom filters are sized for
+     * @param minimumExpectedInsertions the minimum number of IDs the Bloom filters are sized for
+     * @param missingIdsTimeToLive the time an ID found missing is remembered
+     * @param missingIdsMaximumSize the maximum number of IDs found missing that are remembered per type
+     * @return the vehicle ID filters
+     */
+    @Bean(name = VEHICLE_ID_FILTERS_NAME)
+    public VehicleIdFilters vehicleIdFilters(PlatformTransactionManager transactionManager,
+                                             CacheInvalidationChannel invalidationChannel,
+                                             RedisCircuitBreaker redisCircuitBreaker,
+                                             @Value(ID_FILTER_FALSE_POSITIVE_PROBABILITY) double falsePositiveProbability,
+                                             @Value(ID_FILTER_MINIMUM_EXPECTED_INSERTIONS) long minimumExpectedInsertions,
+                                             @Value(ID_FILTER_MISSING_IDS_TIME_TO_LIVE) Duration missingIdsTimeToLive,
+                                             @Value(ID_FILTER_MISSING_IDS_MAXIMUM_SIZE) long missingIdsMaximumSize) {
+        return new VehicleIdFilters(transactionManager, invalidationChannel, redisCircuitBreaker,
+                falsePositiveProbability, minimumExpectedInsertions, missingIdsTimeToLive, missingIdsMaximumSize);
+    }
+
+    /**
+     * Creates the channel telling the other nodes, through Redis pub/sub, which entries of their local caches are stale.
+     *
+     * @param redisConnectionFactory the factory of the Redis connections
+     * @param channel the name of the Redis pub/sub channel
+     * @param redisCircuitBreaker the circuit breaker of the calls to Redis
+     * @return the cache invalidation channel
+     */
+    @Bean(name = CACHE_INVALIDATION_CHANNEL_NAME)
+    public CacheInvalidationChannel cacheInvalidationChannel(RedisConnectionFactory redisConnectionFactory,
+                                                             @Value(CACHE_INVALIDATION_CHANNEL) String channel,
+                                                             RedisCircuitBreaker redisCircuitBreaker) {
+        return new CacheInvalidationChannel(redisConnectionFactory, channel, redisCircuitBreaker);
+    }
+
+    /**
+     * Creates the circuit breaker of the calls of the caches to Redis, which bypasses Redis once too many of them fail
+     * or are slow, and probes Redis in the background until it answers again.
+     *
+     * @param redisConnectionFactory the factory of the Redis connections
+     * @param failureRateThreshold the share of failed or slow calls of a window opening the breaker
+     * @param slowCallDuration the duration above which a call counts as failed
+     * @param callTimeout the duration after which a call is given up and counts as failed
+     * @param minimumCalls the minimum number of calls of a window before the breaker may open
+     * @param window the duration of the windows the calls are counted in
+     * @param probeInterval the interval between two probes of Redis while the breaker is open
+     * @return the Redis circuit breaker
+     */
+    @Bean(name = REDIS_CIRCUIT_BREAKER_NAME)
+    public RedisCircuitBreaker redisCircuitBreaker(RedisConnectionFactory redisConnectionFactory,
+                                                   @Value(CIRCUIT_BREAKER_FAILURE_RATE_THRESHOLD) double failureRateThreshold,
+                                                   @Value(CIRCUIT_BREAKER_SLOW_CALL_DURATION) Duration slowCallDuration,
+                                                   @Value(CIRCUIT_BREAKER_CALL_TIMEOUT) Duration callTimeout,
+                                                   @Value(CIRCUIT_BREAKER_MINIMUM_CALLS) long minimumCalls,
+                                                   @Value(CIRCUIT_BREAKER_WINDOW) Duration window,
+                                                   @Value(CIRCUIT_BREAKER_PROBE_INTERVAL) Duration probeInterval) {
+        return new RedisCircuitBreaker(redisConnectionFactory, failureRateThreshold, slowCallDuration, callTimeout,
+                minimumCalls, window, probeInterval);
+    }
+
+    /**
+     * Configures the caching annotations to handle cache errors without failing the request, a failed read being
+     * handled as a miss, and to count the Redis errors in the circuit breaker.
+     *
+     * @param redisCircuitBreaker the circuit breaker of the calls to Redis
+     * @return the caching configurer
+     */
+    @Bean(name = CACHING_CONFIGURER_NAME)
+    public CachingConfigurer cachingConfigurer(RedisCircuitBreaker redisCircuitBreaker) {
+        CacheErrorHandler cacheErrorHandler = new CircuitBreakingCacheErrorHandler(redisCircuitBreaker);
+        return new CachingConfigurer() {
+            @Override
+            public CacheErrorHandler errorHandler() {
+                return cacheErrorHandler;
+            }
+        };
+    }
+
+    /**
+     * Creates the container subscribing the cache invalidation channel to the invalidations of the other nodes.
+     *
+     * @param redisConnectionFactory the factory of the Redis connections
+     * @param invalidationChannel the channel receiving the invalidations
+     * @param channel the name of the Redis pub/sub channel
+     * @return the listener container
+     */
+    @Bean(name = CACHE_INVALIDATION_LISTENER_CONTAINER_NAME)
+    public RedisMessageListenerContainer cacheInvalidationListenerContainer(
+            RedisConnectionFactory redisConnectionFactory, CacheInvalidationChannel invalidationChannel,
+            @Value(CACHE_INVALIDATION_CHANNEL) String channel) {
+        RedisMessageListenerContainer container = new RedisMessageListenerContainer();
+        container.setConnectionFactory(redisConnectionFactory);
+        container.addMessageListener(invalidationChannel, new ChannelTopic(channel));
+        return container;
+    }
+
+    /**
+     * Creates the listener applying the vehicle changes relayed from the outbox, by this node or another one, to the
+     * local caches and ID filters of this node.
+     *
+     * @param invalidationChannel the channel whose handlers the changes are handed to
+     * @return the remote vehicle change listener
+     */
+    @Bean(name = REMOTE_VEHICLE_CHANGE_LISTENER_NAME)
+    public RemoteVehicleChangeListener remoteVehicleChangeListener(CacheInvalidationChannel invalidationChannel) {
+        return new RemoteVehicleChangeListener(invalidationChannel, Map.of(
+                CarDTO.class.getSimpleName(), CarRepositoryAdapter.CACHE_NAME,
+                TruckDTO.class.getSimpleName(), TruckRepositoryAdapter.CACHE_NAME,
+                MotorcycleDTO.class.getSimpleName(), MotorcycleRepositoryAdapter.CACHE_NAME));
+    }
+
+    /**
+     * Creates the writer recording the vehicle events in the outbox, inside the transaction of the repository adapters.
+     *
+     * @param outboxRepository the repository of the outbox
+     * @param objectMapper the object mapper used to write the payloads as JSON
+     * @return the outbox writer
+     */
+    @Bean(name = OUTBOX_WRITER_NAME)
+    public OutboxWriter outboxWriter(OutboxRepository outboxRepository, ObjectMapper objectMapper) {
+        return new OutboxWriter(outboxRepository, objectMapper);
+    }
+
+    /**
+     * Creates the relay draining the outbox in the background into the listeners of the vehicle event bus.
+     *
+     * @param outboxRepository the repository of the outbox
+     * @param transactionManager the transaction manager of the relayed batches
+     * @param objectMapper the object mapper used to read the payloads
+     * @param vehicleEventBus the event bus whose listeners the events are delivered to
+     * @param relayBatchSize the maximum number of events relayed per transaction
+     * @param relayMaxAttempts the number of failed deliveries after which an event is parked
+     * @return the outbox relay
+     */
+    @Bean(name = OUTBOX_RELAY_NAME)
+    public OutboxRelay outboxRelay(OutboxRepository outboxRepository, PlatformTransactionManager transactionManager,
+                                   ObjectMapper objectMapper, AsyncVehicleEventBus vehicleEventBus,
+                                   @Value(OUTBOX_RELAY_BATCH_SIZE) int relayBatchSize,
+                                   @Value(OUTBOX_RELAY_MAX_ATTEMPTS) int relayMaxAttempts) {
+        Map<String, Class<?>> payloadTypes = Map.of(
+                CarRepositoryAdapter.AGGREGATE_TYPE, CarDTO.class,
+                TruckRepositoryAdapter.AGGREGATE_TYPE, TruckDTO.class,
+                MotorcycleRepositoryAdapter.AGGREGATE_TYPE, MotorcycleDTO.class);
+        return new OutboxRelay(outboxRepository, new TransactionTemplate(transactionManager), objectMapper,
+                vehicleEventBus, payloadTypes, relayBatchSize, relayMaxAttempts);
     }
 
     /**
@@ -0,0 +1,49 @@
+package com.register.vehicletype.adapter.db.cursor;
+
+import com.register.vehicletype.domain.exception.InvalidCursorException;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+/**
+ * The MakeIdCursor class represents the position of a keyset page over the (make, id) ordering of the vehicle table.
+ * It is handed to the clients as an opaque, URL safe string so the paging columns can change without breaking them.
+ *
+ * @param make the make of the last object of the previous page
+ * @param id   the ID of the last object of the previous page
+ */
+public record MakeIdCursor(String make, long id) {
+
+    private static final char SEPARATOR = ':';
+
+    /**
+     * Encodes this cursor into an opaque, URL safe string.
+     *
+     * @return the encoded cursor
+     */
+    public String encode() {
+        String plainCursor = id + String.valueOf(SEPARATOR) + make;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(plainCursor.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Decodes a cursor previously created by {@link #encode()}.
+     *
+     * @param cursor the encoded cursor
+     * @return the decoded cursor
+     * @throws InvalidCursorException if the given value is not a valid cursor
+     */
+    public static MakeIdCursor decode(String cursor) {
+        try {
+            String plainCursor = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            int separatorIndex = plainCursor.indexOf(SEPARATOR);
+            if (separatorIndex <= 0) {
+                throw new InvalidCursorException(cursor);
+            }
+            long id = Long.parseLong(plainCursor.substring(0, separatorIndex));
+            return new MakeIdCursor(plainCursor.substring(separatorIndex + 1), id);
+        } catch (IllegalArgumentException exception) {
+            throw new InvalidCursorException(cursor);
+        }
+    }
+}
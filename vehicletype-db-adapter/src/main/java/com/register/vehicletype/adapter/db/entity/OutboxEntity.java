@@ -0,0 +1,126 @@
+package com.register.vehicletype.adapter.db.entity;
+
+import com.register.vehicletype.adapter.db.outbox.OutboxEventType;
+import com.register.vehicletype.adapter.db.outbox.OutboxStatus;
+import jakarta.persistence.*;
+
+import java.io.Serializable;
+import java.time.Instant;
+
+/**
+ * The OutboxEntity class represents a vehicle event recorded in the OUTBOX table, in the same transaction as the
+ * change it describes, until the relay delivers it. An event the relay cannot deliver is kept with the FAILED
+ * status instead of being deleted.
+ */
+@Entity
+@Table(name = "OUTBOX")
+public class OutboxEntity implements Serializable {
+
+    private static final String ID_GENERATOR_NAME = "outboxIdGenerator";
+    private static final String ID_SEQUENCE_NAME = "OUTBOX_SEQ";
+    private static final int ID_ALLOCATION_SIZE = 50;
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = ID_GENERATOR_NAME)
+    @SequenceGenerator(name = ID_GENERATOR_NAME, sequenceName = ID_SEQUENCE_NAME, allocationSize = ID_ALLOCATION_SIZE)
+    private Long id;
+
+    @Column(name = "AGGREGATE_TYPE", nullable = false)
+    private String aggregateType;
+
+    @Column(name = "AGGREGATE_ID")
+    private Long aggregateId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "EVENT_TYPE", nullable = false)
+    private OutboxEventType eventType;
+
+    @Column(name = "PAYLOAD")
+    private String payload;
+
+    @Column(name = "CREATED_AT", nullable = false)
+    private Instant createdAt;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "STATUS", nullable = false)
+    private OutboxStatus status;
+
+    @Column(name = "ATTEMPTS", nullable = false)
+    private int attempts;
+
+    public OutboxEntity(String aggregateType, Long aggregateId, OutboxEventType eventType, String payload) {
+        this.aggregateType = aggregateType;
+        this.aggregateId = aggregateId;
+        this.eventType = eventType;
+        this.payload = payload;
+        this.createdAt = Instant.now();
+        this.status = OutboxStatus.PENDING;
+    }
+
+    protected OutboxEntity() {
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public String getAggregateType() {
+        return aggregateType;
+    }
+
+    public Long getAggregateId() {
+        return aggregateId;
+    }
+
+    public OutboxEventType getEventType() {
+        return eventType;
+    }
+
+    public String getPayload() {
+        return payload;
+    }
+
+    public Instant getCreatedAt() {
+        return createdAt;
+    }
+
+    public OutboxStatus getStatus() {
+        return status;
+    }
+
+    public int getAttempts() {
+        return attempts;
+    }
+
+    /**
+     * Records a failed delivery of the event, parking it once it has failed the given number of times.
+     *
+     * @param maxAttempts the number of failed deliveries after which the event is parked
+     */
+    public void recordFailedAttempt(int maxAttempts) {
+        attempts++;
+        if (attempts >= maxAttempts) {
+            status = OutboxStatus.FAILED;
+        }
+    }
+
+    /**
+     * Parks the event, so the relay no longer tries to deliver it.
+     */
+    public void park() {
+        status = OutboxStatus.FAILED;
+    }
+
+    @Override
+    public String toString() {
+        return "OutboxEntity{" +
+                "id=" + id +
+                ", aggregateType='" + aggregateType + '\'' +
+                ", aggregateId=" + aggregateId +
+                ", eventType=" + eventType +
+                ", createdAt=" + createdAt +
+                ", status=" + status +
+                ", attempts=" + attempts +
+                '}';
+    }
+}
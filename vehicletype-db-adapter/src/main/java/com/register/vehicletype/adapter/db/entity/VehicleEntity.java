@@ -2,7 +2,6 @@ package com.register.vehicletype.adapter.db.entity;
 
 
 import jakarta.persistence.*;
-import org.springframework.data.annotation.Version;
 
 import java.io.Serializable;
 
@@ -14,10 +13,13 @@ import java.io.Serializable;
  * It is also annotated with Lombok annotations to generate getter, setter, and toString methods.
  *
  * <p>Fields:
- * - id: The unique identifier for the vehicle entity. It is generated automatically by the database.
+ * - id: The unique identifier for the vehicle entity. It is taken from the VEHICLE_SEQ sequence, which hands out
+ *   blocks of IDs so the inserts into VEHICLE and the subtype tables can be sent as JDBC batches.
  * - make: The make or manufacturer of the vehicle. It cannot be null.
  * - model: The model name of the vehicle. It cannot be null.
  * - year: The manufacturing year of the vehicle. It cannot be null.
+ * - version: The number of updates of the vehicle, checked and incremented by every update so that a concurrent
+ *   update of a stale copy fails, and carried by the cache writes so the cache never takes an older copy.
  *
  * <p>Subclasses:
  * - CarEntity: Represents a car entity, which is a type of vehicle entity. It extends VehicleEntity and adds
@@ -35,8 +37,13 @@ import java.io.Serializable;
 @Table(name = "VEHICLE")
 public abstract class VehicleEntity implements Serializable {
 
+    private static final String ID_GENERATOR_NAME = "vehicleIdGenerator";
+    private static final String ID_SEQUENCE_NAME = "VEHICLE_SEQ";
+    private static final int ID_ALLOCATION_SIZE = 50;
+
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = ID_GENERATOR_NAME)
+    @SequenceGenerator(name = ID_GENERATOR_NAME, sequenceName = ID_SEQUENCE_NAME, allocationSize = ID_ALLOCATION_SIZE)
     private Long id;
 
     @Column(name = "MAKE", nullable = false)
@@ -48,6 +55,10 @@ public abstract class VehicleEntity implements Serializable {
     @Column(name = "YEAR", nullable = false)
     private Integer year;
 
+    @Version
+    @Column(name = "VERSION", nullable = false)
+    private Long version;
+
     protected VehicleEntity(Long id, String make, String model, Integer year) {
         this.id = id;
         this.make = make;
@@ -91,6 +102,14 @@ public abstract class VehicleEntity implements Serializable {
         this.year = year;
     }
 
+    public Long getVersion() {
+        return version;
+    }
+
+    public void setVersion(Long version) {
+        this.version = version;
+    }
+
     @Override
     public String toString() {
         return "VehicleEntity{" +
@@ -98,6 +117,7 @@ public abstract class VehicleEntity implements Serializable {
                 ", make='" + make + '\'' +
                 ", model='" + model + '\'' +
                 ", year=" + year +
+                ", version=" + version +
                 '}';
     }
 }
@@ -0,0 +1,99 @@
+package com.register.vehicletype.adapter.db.filter;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * The BloomFilter class is a fixed size, thread safe Bloom filter of long IDs. It never answers that a put ID is
+ * absent, and answers that an ID never put might be present with roughly the false positive probability it was sized
+ * for, as long as no more than the expected number of IDs are put.
+ */
+public class BloomFilter {
+
+    private static final double LN_2 = Math.log(2);
+
+    private final AtomicLongArray words;
+    private final long bitCount;
+    private final int hashCount;
+    private final long expectedInsertions;
+    private final LongAdder insertions = new LongAdder();
+
+    /**
+     * The BloomFilter class is a fixed size, thread safe Bloom filter of long IDs.
+     *
+     * @param expectedInsertions       the number of IDs the filter is sized for
+     * @param falsePositiveProbability the false positive probability once the expected number of IDs are put
+     */
+    public BloomFilter(long expectedInsertions, double falsePositiveProbability) {
+        this.expectedInsertions = Math.max(1, expectedInsertions);
+        long optimalBitCount = (long) Math.ceil(-this.expectedInsertions * Math.log(falsePositiveProbability)
+                / (LN_2 * LN_2));
+        this.words = new AtomicLongArray(Math.toIntExact(Math.max(1, (optimalBitCount + 63) >>> 6)));
+        this.bitCount = words.length() * 64L;
+        this.hashCount = Math.max(1, (int) Math.round((double) bitCount / this.expectedInsertions * LN_2));
+    }
+
+    /**
+     * Puts the given ID into the filter.
+     *
+     * @param id the ID to put
+     */
+    public void put(long id) {
+        long hash1 = mix(id);
+        long hash2 = mix(hash1) | 1;
+        for (int i = 0; i < hashCount; i++) {
+            long bitIndex = Math.floorMod(hash1 + i * hash2, bitCount);
+            int wordIndex = (int) (bitIndex >>> 6);
+            long mask = 1L << bitIndex;
+            if ((words.get(wordIndex) & mask) == 0) {
+                words.accumulateAndGet(wordIndex, mask, (word, bit) -> word | bit);
+            }
+        }
+        insertions.increment();
+    }
+
+    /**
+     * Tells whether the given ID might have been put into the filter.
+     *
+     * @param id the ID to look for
+     * @return false if the ID was definitely never put, true if it might have been
+     */
+    public boolean mightContain(long id) {
+        long hash1 = mix(id);
+        long hash2 = mix(hash1) | 1;
+        for (int i = 0; i < hashCount; i++) {
+            long bitIndex = Math.floorMod(hash1 + i * hash2, bitCount);
+            if ((words.get((int) (bitIndex >>> 6)) & (1L << bitIndex)) == 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Tells whether more IDs were put than the filter was sized for, so its false positive probability is no longer
+     * the expected one.
+     *
+     * @return true if the filter should be rebuilt larger
+     */
+    public boolean isSaturated() {
+        return insertions.sum() > expectedInsertions;
+    }
+
+    public long getExpectedInsertions() {
+        return expectedInsertions;
+    }
+
+    public long getInsertions() {
+        return insertions.sum();
+    }
+
+    private static long mix(long value) {
+        value ^= value >>> 33;
+        value *= 0xff51afd7ed558ccdL;
+        value ^= value >>> 33;
+        value *= 0xc4ceb9fe1a85ec53L;
+        value ^= value >>> 33;
+        return value;
+    }
+}
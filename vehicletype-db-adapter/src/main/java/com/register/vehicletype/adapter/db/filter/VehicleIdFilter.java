@@ -0,0 +1,178 @@
+package com.register.vehicletype.adapter.db.filter;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.register.vehicletype.adapter.db.transaction.TransactionCallbacks;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.LongSupplier;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+
+/**
+ * The VehicleIdFilter class tells whether a vehicle ID of one type might exist, so that lookups of IDs that definitely
+ * do not exist are answered without reaching Redis or PostgreSQL. It combines a Bloom filter of every existing ID,
+ * rebuilt from the database at startup and larger whenever it saturates, with a short-lived cache of the IDs recently
+ * found missing, which also covers the deleted IDs the Bloom filter cannot forget.
+ * Until the first build completes every ID might exist.
+ */
+public class VehicleIdFilter {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(VehicleIdFilter.class);
+
+    private final String name;
+    private final LongSupplier estimatedCount;
+    private final Supplier<Stream<Long>> ids;
+    private final TransactionTemplate readOnlyTransaction;
+    private final double falsePositiveProbability;
+    private final long minimumExpectedInsertions;
+    private final Cache<Long, Boolean> missingIds;
+    private final AtomicBoolean rebuilding = new AtomicBoolean();
+    private volatile BloomFilter bloomFilter;
+    private volatile Set<Long> idsSavedWhileRebuilding;
+
+    /**
+     * The VehicleIdFilter class tells whether a vehicle ID of one type might exist.
+     *
+     * @param name                      the name of the filter, which is the name of the cache of the vehicle type
+     * @param estimatedCount            the supplier of the estimated number of vehicles of the type
+     * @param ids                       the supplier of the stream of all the IDs of the type
+     * @param readOnlyTransaction       the read-only transaction the IDs are streamed in
+     * @param falsePositiveProbability  the false positive probability the Bloom filter is sized for
+     * @param minimumExpectedInsertions the minimum number of IDs the Bloom filter is sized for
+     * @param missingIdsTimeToLive      the time an ID found missing is remembered
+     * @param missingIdsMaximumSize     the maximum number of IDs found missing that are remembered
+     */
+    public VehicleIdFilter(String name, LongSupplier estimatedCount, Supplier<Stream<Long>> ids,
+                           TransactionTemplate readOnlyTransaction, double falsePositiveProbability,
+                           long minimumExpectedInsertions, Duration missingIdsTimeToLive, long missingIdsMaximumSize) {
+        this.name = name;
+        this.estimatedCount = estimatedCount;
+        this.ids = ids;
+        this.readOnlyTransaction = readOnlyTransaction;
+        this.falsePositiveProbability = falsePositiveProbability;
+        this.minimumExpectedInsertions = minimumExpectedInsertions;
+        this.missingIds = Caffeine.newBuilder()
+                .expireAfterWrite(missingIdsTimeToLive)
+                .maximumSize(missingIdsMaximumSize)
+                .build();
+    }
+
+    /**
+     * Tells whether a vehicle with the given ID might exist.
+     *
+     * @param id the ID of the vehicle
+     * @return false if the vehicle definitely does not exist, true if it might
+     */
+    public boolean mightExist(Long id) {
+        if (id == null || missingIds.getIfPresent(id) != null) {
+            return false;
+        }
+        BloomFilter currentBloomFilter = bloomFilter;
+        return currentBloomFilter == null || currentBloomFilter.mightContain(id);
+    }
+
+    /**
+     * Records that a vehicle with the given ID was saved, here or on another node. The ID is put into the filter right
+     * away, and again once the saving transaction commits if the filter was rebuilt in between, since the rebuild
+     * read the IDs without the uncommitted one.
+     *
+     * @param id the ID of the saved vehicle
+     */
+    public void recordSaved(Long id) {
+        BloomFilter filledBloomFilter = put(id);
+        missingIds.invalidate(id);
+        TransactionCallbacks.afterCommit(() -> {
+            if (rebuilding.get() || bloomFilter != filledBloomFilter) {
+                put(id);
+            }
+            missingIds.invalidate(id);
+        });
+    }
+
+    /**
+     * Records that the vehicle with the given ID was deleted. It is remembered as missing once the deleting
+     * transaction commits.
+     *
+     * @param id the ID of the deleted vehicle
+     */
+    public void recordDeleted(Long id) {
+        TransactionCallbacks.afterCommit(() -> missingIds.put(id, Boolean.TRUE));
+    }
+
+    /**
+     * Records that no vehicle with the given ID was found.
+     *
+     * @param id the ID of the missing vehicle
+     */
+    public void recordMissing(Long id) {
+        missingIds.put(id, Boolean.TRUE);
+    }
+
+    /**
+     * Rebuilds the Bloom filter from the IDs in the database, sized for twice the estimated number of vehicles, and
+     * forgets the IDs found missing, which the rebuilt filter answers from the database as well.
+     * The IDs saved while the filter is rebuilt are put into the new filter as well.
+     */
+    public void rebuild() {
+        if (!rebuilding.compareAndSet(false, true)) {
+            return;
+        }
+        try {
+            idsSavedWhileRebuilding = ConcurrentHashMap.newKeySet();
+            missingIds.invalidateAll();
+            BloomFilter currentBloomFilter = bloomFilter;
+            long expectedInsertions = Math.max(minimumExpectedInsertions, 2 * Math.max(estimatedCount.getAsLong(),
+                    currentBloomFilter == null ? 0 : currentBloomFilter.getInsertions()));
+            BloomFilter rebuiltBloomFilter = new BloomFilter(expectedInsertions, falsePositiveProbability);
+            readOnlyTransaction.executeWithoutResult(status -> {
+                try (Stream<Long> idStream = ids.get()) {
+                    idStream.forEach(rebuiltBloomFilter::put);
+                }
+            });
+            bloomFilter = rebuiltBloomFilter;
+            idsSavedWhileRebuilding.forEach(rebuiltBloomFilter::put);
+            LOGGER.info("Rebuilt the {} ID filter with {} IDs, sized for {}", name,
+                    rebuiltBloomFilter.getInsertions(), expectedInsertions);
+        } catch (RuntimeException e) {
+            LOGGER.warn("Could not rebuild the {} ID filter", name, e);
+        } finally {
+            idsSavedWhileRebuilding = null;
+            rebuilding.set(false);
+        }
+    }
+
+    private BloomFilter put(Long id) {
+        Set<Long> savedIds = idsSavedWhileRebuilding;
+        if (savedIds != null) {
+            savedIds.add(id);
+        }
+        BloomFilter currentBloomFilter = bloomFilter;
+        if (currentBloomFilter != null) {
+            currentBloomFilter.put(id);
+            if (currentBloomFilter.isSaturated()) {
+                rebuildInBackground();
+            }
+        }
+        return currentBloomFilter;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * Rebuilds the Bloom filter as {@link #rebuild()} does, on a virtual thread, unless it is being rebuilt already.
+     */
+    public void rebuildInBackground() {
+        if (!rebuilding.get()) {
+            Thread.ofVirtual().name("vehicle-id-filter-" + name).start(this::rebuild);
+        }
+    }
+}
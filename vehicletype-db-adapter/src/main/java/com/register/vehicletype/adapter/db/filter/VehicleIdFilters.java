@@ -0,0 +1,127 @@
+package com.register.vehicletype.adapter.db.filter;
+
+import com.register.vehicletype.adapter.db.cache.CacheInvalidationChannel;
+import com.register.vehicletype.adapter.db.cache.RedisCircuitBreaker;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.LongSupplier;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+
+/**
+ * The VehicleIdFilters class holds the {@link VehicleIdFilter} of every vehicle type, keyed by the name of the cache
+ * of the type. The filters are built once the application is ready, and learn the IDs saved on the other nodes from
+ * the cache invalidation channel. As that channel loses the messages sent while a node is not subscribed, the filters
+ * are also rebuilt from the database when a whole cache is cleared, when Redis answers again after being bypassed and
+ * at the rebuild interval, so that an ID saved elsewhere is not answered as missing for longer than that.
+ */
+public class VehicleIdFilters implements ApplicationListener<ApplicationReadyEvent> {
+
+    /**
+     * The condition of the @Cacheable lookups by ID, which skips the cache for the IDs that definitely do not exist.
+     * It refers to this registry under the bean name vehicleIdFilters.
+     */
+    public static final String MIGHT_EXIST_CONDITION = "@vehicleIdFilters.mightExist(#root.caches[0].name, #id)";
+
+    private final TransactionTemplate readOnlyTransaction;
+    private final double falsePositiveProbability;
+    private final long minimumExpectedInsertions;
+    private final Duration missingIdsTimeToLive;
+    private final long missingIdsMaximumSize;
+    private final ConcurrentMap<String, VehicleIdFilter> filters = new ConcurrentHashMap<>();
+
+    /**
+     * The VehicleIdFilters class holds the {@link VehicleIdFilter} of every vehicle type.
+     *
+     * @param transactionManager        the transaction manager the IDs are streamed with
+     * @param invalidationChannel       the channel the IDs written on the other nodes are learned from
+     * @param redisCircuitBreaker       the circuit breaker of the calls to Redis, whose recovery rebuilds the filters
+     * @param falsePositiveProbability  the false positive probability the Bloom filters are sized for
+     * @param minimumExpectedInsertions the minimum number of IDs the Bloom filters are sized for
+     * @param missingIdsTimeToLive      the time an ID found missing is remembered
+     * @param missingIdsMaximumSize     the maximum number of IDs found missing that are remembered per type
+     */
+    public VehicleIdFilters(PlatformTransactionManager transactionManager, CacheInvalidationChannel invalidationChannel,
+                            RedisCircuitBreaker redisCircuitBreaker, double falsePositiveProbability,
+                            long minimumExpectedInsertions, Duration missingIdsTimeToLive, long missingIdsMaximumSize) {
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+        this.falsePositiveProbability = falsePositiveProbability;
+        this.minimumExpectedInsertions = minimumExpectedInsertions;
+        this.missingIdsTimeToLive = missingIdsTimeToLive;
+        this.missingIdsMaximumSize = missingIdsMaximumSize;
+        invalidationChannel.addInvalidationHandler(this::recordRemotelyWritten);
+        redisCircuitBreaker.addRecoveryHandler(this::rebuildAllInBackground);
+    }
+
+    /**
+     * Registers the filter of a vehicle type.
+     *
+     * @param name           the name of the cache of the vehicle type
+     * @param estimatedCount the supplier of the estimated number of vehicles of the type
+     * @param ids            the supplier of the stream of all the IDs of the type
+     * @return the filter of the vehicle type
+     */
+    public VehicleIdFilter register(String name, LongSupplier estimatedCount, Supplier<Stream<Long>> ids) {
+        return filters.computeIfAbsent(name, filterName -> new VehicleIdFilter(filterName, estimatedCount, ids,
+                readOnlyTransaction, falsePositiveProbability, minimumExpectedInsertions, missingIdsTimeToLive,
+                missingIdsMaximumSize));
+    }
+
+    /**
+     * Tells whether a vehicle with the given ID might exist in the given cache.
+     *
+     * @param name the name of the cache of the vehicle type
+     * @param id   the ID of the vehicle
+     * @return false if the vehicle definitely does not exist, true if it might or the type has no filter
+     */
+    public boolean mightExist(String name, Long id) {
+        VehicleIdFilter filter = filters.get(name);
+        return filter == null || filter.mightExist(id);
+    }
+
+    @Override
+    public void onApplicationEvent(ApplicationReadyEvent event) {
+        filters.values().forEach(VehicleIdFilter::rebuild);
+    }
+
+    /**
+     * Rebuilds every filter from the database, dropping the IDs learned missing, to catch up with the IDs saved on
+     * the other nodes whose invalidation messages were lost.
+     */
+    @Scheduled(initialDelayString = "${vehicletype.id-filter.rebuild-interval}",
+            fixedDelayString = "${vehicletype.id-filter.rebuild-interval}")
+    public void rebuildAll() {
+        filters.values().forEach(VehicleIdFilter::rebuild);
+    }
+
+    private void rebuildAllInBackground() {
+        filters.values().forEach(VehicleIdFilter::rebuildInBackground);
+    }
+
+    private void recordRemotelyWritten(String name, List<String> keys) {
+        VehicleIdFilter filter = filters.get(name);
+        if (filter == null) {
+            return;
+        }
+        if (keys.isEmpty()) {
+            filter.rebuildInBackground();
+            return;
+        }
+        for (String key : keys) {
+            try {
+                filter.recordSaved(Long.valueOf(key));
+            } catch (NumberFormatException e) {
+                // not a vehicle ID, nothing to record
+            }
+        }
+    }
+}
@@ -1,23 +1,58 @@
 package com.register.vehicletype.adapter.db.outbound;
 
+import com.register.vehicletype.adapter.db.cache.BatchCache;
+import com.register.vehicletype.adapter.db.cache.GenerationalCache;
+import com.register.vehicletype.adapter.db.cache.GenerationalCaches;
+import com.register.vehicletype.adapter.db.cache.VersionedCache;
+import com.register.vehicletype.adapter.db.cursor.MakeIdCursor;
 import com.register.vehicletype.adapter.db.entity.CarEntity;
+import com.register.vehicletype.adapter.db.filter.VehicleIdFilter;
+import com.register.vehicletype.adapter.db.filter.VehicleIdFilters;
+import com.register.vehicletype.adapter.db.outbox.OutboxWriter;
+import com.register.vehicletype.adapter.db.patch.PatchColumn;
+import com.register.vehicletype.adapter.db.patch.PatchedVehicle;
+import com.register.vehicletype.adapter.db.patch.VehiclePatchStatement;
 import com.register.vehicletype.adapter.db.repository.CarRepository;
+import com.register.vehicletype.adapter.db.transaction.ConcurrentUpdates;
 import com.register.vehicletype.domain.dto.CarDTO;
+import com.register.vehicletype.domain.dto.BulkDeleteDTO;
+import com.register.vehicletype.domain.dto.CursorPageDTO;
+import com.register.vehicletype.domain.dto.MultiGetDTO;
+import com.register.vehicletype.domain.dto.SliceDTO;
 import com.register.vehicletype.domain.dto.TruckDTO;
+import com.register.vehicletype.domain.dto.UpsertDTO;
+import com.register.vehicletype.domain.dto.UpsertOutcome;
+import com.register.vehicletype.domain.dto.VersionedDTO;
 import com.register.vehicletype.domain.exception.CarNotFoundException;
+import com.register.vehicletype.domain.exception.ConcurrentUpdateException;
+import com.register.vehicletype.domain.exception.VersionConflictException;
 import com.register.vehicletype.domain.port.outbound.IRepositoryPort;
+import jakarta.persistence.EntityManager;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
 import org.springframework.cache.annotation.CacheConfig;
 import org.springframework.cache.annotation.CacheEvict;
-import org.springframework.cache.annotation.CachePut;
 import org.springframework.cache.annotation.Cacheable;
 import org.springframework.core.convert.ConversionService;
-import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.ArrayList;
 import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
 
 /**
  * The CarRepositoryAdapter class is an adapter class that implements the IRepositoryPort interface
@@ -25,69 +60,312 @@ import java.util.List;
  * It provides CRUD operations for car entities using a CarRepository and a ModelMapper.
  */
 
-@CacheConfig(cacheNames = "cars")
+@CacheConfig(cacheNames = CarRepositoryAdapter.CACHE_NAME)
 public class CarRepositoryAdapter implements IRepositoryPort<CarDTO, Long> {
 
+    public static final String CACHE_NAME = "cars";
+    public static final String AGGREGATE_TYPE = "car";
+    public static final String LIST_CACHE_NAME = CACHE_NAME + ".lists";
+
+    private static final VehiclePatchStatement PATCH_STATEMENT = new VehiclePatchStatement("car",
+            Map.of("numberOfDoors", new PatchColumn("number_of_doors", Integer.class)));
+
     private final CarRepository carRepository;
     private final ConversionService conversionService;
+    private final EntityManager entityManager;
+    private final CacheManager cacheManager;
+    private final OutboxWriter outboxWriter;
+    private final int saveBatchSize;
+    private final int deleteChunkSize;
+    private final GenerationalCache listCache;
+    private final VehicleIdFilter idFilter;
 
     /**
      * The CarRepositoryAdapter class is an adapter class that implements the IRepositoryPort interface
      * for the CarDTO class and the Long type.
      * It provides CRUD operations for car entities using a CarRepository and a ModelMapper.
      */
-    public CarRepositoryAdapter(CarRepository carRepository, ConversionService conversionService) {
+    public CarRepositoryAdapter(CarRepository carRepository, ConversionService conversionService,
+                                EntityManager entityManager, CacheManager cacheManager, OutboxWriter outboxWriter,
+                                int saveBatchSize, int deleteChunkSize, GenerationalCaches generationalCaches,
+                                VehicleIdFilters vehicleIdFilters) {
         this.carRepository = carRepository;
         this.conversionService = conversionService;
+        this.entityManager = entityManager;
+        this.cacheManager = cacheManager;
+        this.outboxWriter = outboxWriter;
+        this.saveBatchSize = saveBatchSize;
+        this.deleteChunkSize = deleteChunkSize;
+        this.listCache = generationalCaches.get(LIST_CACHE_NAME);
+        this.idFilter = vehicleIdFilters.register(CACHE_NAME, () -> Objects.requireNonNullElse(estimateTotal(), 0L),
+                carRepository::streamAllIds);
     }
 
     /**
      * Retrieves a car DTO object by its ID.
+     * Concurrent misses of the same ID share a single query, and IDs that definitely do not exist are answered
+     * without a query.
+     * The car is read straight into a CarDTO record, without loading an entity into the persistence context.
      *
      * @param id the ID of the carDTO to retrieve
      * @return the carDTO object with the specified ID
      * @throws CarNotFoundException if a car with the specified ID is not found in the repository
      */
     @Override
-    @Cacheable(key = "#id")
-    @Transactional(readOnly = true)
+    @Cacheable(key = "#id", sync = true, condition = VehicleIdFilters.MIGHT_EXIST_CONDITION)
     public CarDTO findById(Long id) {
-        CarEntity carEntity = carRepository.findById(id).orElseThrow(() -> new CarNotFoundException(id));
-        return conversionService.convert(carEntity, CarDTO.class);
+        if (!idFilter.mightExist(id)) {
+            throw new CarNotFoundException(id);
+        }
+        return carRepository.findDTOById(id).orElseThrow(() -> {
+            idFilter.recordMissing(id);
+            return new CarNotFoundException(id);
+        });
+    }
+
+    /**
+     * Retrieves many CarDTO objects by their IDs at once. The cached cars are read in a single round trip, the missed
+     * ones are loaded with a single IN query straight into records and written back to the cache in a single round
+     * trip, except the ones cached meanwhile by a write, and the IDs that definitely do not exist reach neither.
+     *
+     * @param ids the IDs of the cars to retrieve
+     * @return the found CarDTO objects in the order of the given IDs, and the IDs no car was found for
+     */
+    @Override
+    public MultiGetDTO<CarDTO, Long> findAllById(Collection<Long> ids) {
+        List<Long> distinctIds = ids.stream().distinct().toList();
+        List<Long> candidateIds = distinctIds.stream().filter(idFilter::mightExist).toList();
+        Cache cache = cacheManager.getCache(CACHE_NAME);
+        Map<Object, Object> cachedCarDTOs = BatchCache.getAll(cache, candidateIds);
+        List<Long> missedIds = candidateIds.stream().filter(id -> !cachedCarDTOs.containsKey(id)).toList();
+        Map<Long, CarDTO> loadedCarDTOs = new LinkedHashMap<>();
+        if (!missedIds.isEmpty()) {
+            carRepository.findDTOsByIdIn(missedIds).forEach(carDTO -> loadedCarDTOs.put(carDTO.id(), carDTO));
+            VersionedCache.putAllIfAbsent(cache, loadedCarDTOs);
+            missedIds.stream().filter(id -> !loadedCarDTOs.containsKey(id)).forEach(idFilter::recordMissing);
+        }
+        List<CarDTO> foundCarDTOs = new ArrayList<>(distinctIds.size());
+        List<Long> missingIds = new ArrayList<>();
+        for (Long id : distinctIds) {
+            CarDTO carDTO = cachedCarDTOs.containsKey(id)
+                    ? (CarDTO) cachedCarDTOs.get(id)
+                    : loadedCarDTOs.get(id);
+            if (carDTO != null) {
+                foundCarDTOs.add(carDTO);
+            } else {
+                missingIds.add(id);
+            }
+        }
+        return new MultiGetDTO<>(foundCarDTOs, missingIds);
     }
 
     /**
      * Retrieves a list of CarDTO objects from the car repository, ordered by make in ascending order.
+     * The result is cached until the next write of a car.
+     * Concurrent identical requests share a single query.
      *
      * @return a list of CarDTO objects ordered by make
      */
     @Override
-    @Transactional(readOnly = true)
     public List<CarDTO> findAllByOrderByMakeAsc(int page, int size) {
-        Pageable pageable = PageRequest.of(page, size);
-        Page<CarEntity> carEntities = carRepository.findAll(pageable);
-        return carEntities.stream()
-                .map(carEntity -> conversionService.convert(carEntity, CarDTO.class))
-                .toList();
+        return listCache.get(List.of("page", page, size), () -> {
+            Pageable pageable = PageRequest.of(page, size, Sort.by("make", "id"));
+            return carRepository.findDTOsBy(pageable).getContent();
+        });
+    }
+
+    /**
+     * Retrieves a page of CarDTO objects ordered by make and ID, starting right after the given cursor.
+     * One extra row is fetched to find out whether a next page exists without counting the table.
+     * The result is cached until the next write of a car.
+     * Concurrent identical requests share a single query.
+     *
+     * @param after the cursor returned with the previous page, or null/empty for the first page
+     * @param size  the maximum number of cars to return
+     * @return a page of CarDTO objects and the cursor of the next page, which is null on the last page
+     */
+    @Override
+    public CursorPageDTO<CarDTO> findAllByOrderByMakeAscAfter(String after, int size) {
+        return listCache.get(List.of("after", after == null ? "" : after, size), () -> {
+            List<CarDTO> fetchedCarDTOs;
+            if (after == null || after.isEmpty()) {
+                fetchedCarDTOs = carRepository.findDTOsOrderByMakeAscIdAsc(Limit.of(size + 1));
+            } else {
+                MakeIdCursor cursor = MakeIdCursor.decode(after);
+                fetchedCarDTOs = carRepository.findDTOsAfterOrderByMakeAscIdAsc(cursor.make(), cursor.id(),
+                        Limit.of(size + 1));
+            }
+            if (fetchedCarDTOs.size() <= size) {
+                return new CursorPageDTO<>(fetchedCarDTOs, null);
+            }
+            List<CarDTO> carDTOs = fetchedCarDTOs.subList(0, size);
+            CarDTO lastCarDTO = carDTOs.getLast();
+            return new CursorPageDTO<>(List.copyOf(carDTOs),
+                    new MakeIdCursor(lastCarDTO.make(), lastCarDTO.id()).encode());
+        });
+    }
+
+    /**
+     * Retrieves a page of CarDTO objects ordered by make without counting all the cars.
+     * When requested, the total is estimated from the planner statistics instead of a COUNT(*) over the joined tables.
+     * The result is cached until the next write of a car.
+     * Concurrent identical requests share a single query.
+     *
+     * @param page                the number of the page to retrieve
+     * @param size                the maximum number of cars to return
+     * @param withEstimatedTotal  whether a rough total of cars should be included
+     * @return a page of CarDTO objects and whether a next page exists
+     */
+    @Override
+    public SliceDTO<CarDTO> findSliceByOrderByMakeAsc(int page, int size, boolean withEstimatedTotal) {
+        return listCache.get(List.of("slice", page, size, withEstimatedTotal), () -> {
+            Pageable pageable = PageRequest.of(page, size, Sort.by("make", "id"));
+            Slice<CarDTO> carDTOs = carRepository.findDTOsBy(pageable);
+            Long estimatedTotal = withEstimatedTotal ? estimateTotal() : null;
+            return new SliceDTO<>(carDTOs.getContent(), page, size, carDTOs.hasNext(), estimatedTotal);
+        });
+    }
+
+    /**
+     * Passes every CarDTO object, ordered by make and ID, to the given action while the rows are read from the
+     * database. The rows are read straight into CarDTO records, so neither the persistence context nor the heap
+     * grow with the number of cars.
+     *
+     * @param action the action to perform on each CarDTO object
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public void forEachOrderByMakeAsc(Consumer<CarDTO> action) {
+        try (Stream<CarDTO> carDTOs = carRepository.streamDTOsOrderByMakeAscIdAsc()) {
+            carDTOs.forEach(action);
+        }
     }
 
     /**
      * Saves a car entity to the repository.
+     * The saved car is written to the cache once the transaction commits, unless the cache holds a newer version.
      *
      * @param carDTO the carDTO object representing the car entity to be saved
      * @return the saved car entity as a CarDTO object
+     * @throws ConcurrentUpdateException if a car is updated concurrently
      */
     @Override
-    @CachePut(key = "#result.id()")
     @Transactional
     public CarDTO save(CarDTO carDTO) {
         CarEntity carEntity = conversionService.convert(carDTO, CarEntity.class);
-        CarEntity savedCarEntity = carRepository.save(carEntity);
-        return conversionService.convert(savedCarEntity, CarDTO.class);
+        attachVersions(List.of(carEntity));
+        CarEntity savedCarEntity = ConcurrentUpdates.failOnConcurrentUpdate(() ->
+                carRepository.saveAndFlush(carEntity));
+        CarDTO savedCarDTO = conversionService.convert(savedCarEntity, CarDTO.class);
+        VersionedCache.putIfNewer(cacheManager.getCache(CACHE_NAME), savedCarDTO.id(), savedCarDTO,
+                savedCarEntity.getVersion());
+        idFilter.recordSaved(savedCarDTO.id());
+        listCache.invalidate();
+        outboxWriter.recordSaved(AGGREGATE_TYPE, savedCarDTO.id(), savedCarDTO);
+        return savedCarDTO;
+    }
+
+    /**
+     * Saves the given CarDTO objects in chunks of the JDBC batch size. Each chunk is flushed as JDBC batches
+     * across the VEHICLE and CAR tables and then cleared from the persistence context, so the memory used does not
+     * grow with the number of cars. The saved cars are written to the cache in a single round trip
+     * once the transaction commits, except the ones the cache holds a newer version of.
+     *
+     * @param carDTOs the CarDTO objects to be saved
+     * @return the saved CarDTO objects, in the same order as given
+     * @throws ConcurrentUpdateException if a car is updated concurrently
+     */
+    @Override
+    @Transactional
+    public List<CarDTO> saveAll(Collection<CarDTO> carDTOs) {
+        List<CarDTO> savedCarDTOs = new ArrayList<>(carDTOs.size());
+        Map<Long, Long> savedVersions = new HashMap<>();
+        List<CarEntity> carEntityChunk = new ArrayList<>(saveBatchSize);
+        for (CarDTO carDTO : carDTOs) {
+            carEntityChunk.add(conversionService.convert(carDTO, CarEntity.class));
+            if (carEntityChunk.size() == saveBatchSize) {
+                saveChunk(carEntityChunk, savedCarDTOs, savedVersions);
+            }
+        }
+        saveChunk(carEntityChunk, savedCarDTOs, savedVersions);
+        Map<Long, CarDTO> cacheEntries = new LinkedHashMap<>();
+        savedCarDTOs.forEach(savedCarDTO -> {
+            idFilter.recordSaved(savedCarDTO.id());
+            cacheEntries.put(savedCarDTO.id(), savedCarDTO);
+        });
+        VersionedCache.putAllIfNewer(cacheManager.getCache(CACHE_NAME), cacheEntries, savedVersions);
+        listCache.invalidate();
+        outboxWriter.recordAllSaved(AGGREGATE_TYPE, cacheEntries);
+        return savedCarDTOs;
+    }
+
+    /**
+     * Updates the car with the same ID only if any of its values differ, with a single statement across the VEHICLE and
+     * CAR tables instead of the read and merge of {@link #save}, or saves the given car as a new car if no car has its
+     * ID, so that its ID is always assigned by the sequence rather than taken from the caller. An unchanged car is
+     * neither written to the cache nor recorded in the outbox.
+     *
+     * @param carDTO the carDTO object representing the car entity to be upserted
+     * @return the upserted CarDTO object and whether it was inserted, updated or left unchanged
+     */
+    @Override
+    @Transactional
+    public UpsertDTO<CarDTO> upsert(CarDTO carDTO) {
+        if (carDTO.id() == null) {
+            return new UpsertDTO<>(save(carDTO), UpsertOutcome.INSERTED);
+        }
+        int updatedCars = carRepository.updateRowIfChanged(carDTO.id(), carDTO.make(), carDTO.model(), carDTO.year(),
+                carDTO.numberOfDoors());
+        Optional<Long> version = carRepository.findVersionById(carDTO.id());
+        if (version.isEmpty()) {
+            return new UpsertDTO<>(save(carDTO), UpsertOutcome.INSERTED);
+        }
+        if (updatedCars == 0) {
+            return new UpsertDTO<>(carDTO, UpsertOutcome.UNCHANGED);
+        }
+        VersionedCache.putIfNewer(cacheManager.getCache(CACHE_NAME), carDTO.id(), carDTO, version.get());
+        idFilter.recordSaved(carDTO.id());
+        listCache.invalidate();
+        outboxWriter.recordSaved(AGGREGATE_TYPE, carDTO.id(), carDTO);
+        return new UpsertDTO<>(carDTO, UpsertOutcome.UPDATED);
+    }
+
+    /**
+     * Updates only the given fields of the car with the given ID, with a single statement setting only their columns
+     * instead of the read and merge of {@link #save}. The CAR table is only updated when the numberOfDoors field is
+     * given. The patched car is written over the cached one once the transaction commits rather than evicted, unless
+     * the cache holds a newer version.
+     *
+     * @param id              the ID of the car to update
+     * @param fields          the new values of the fields to update, keyed by field name
+     * @param expectedVersion the version the car must be at to be updated, or null to update it at any version
+     * @return the updated CarDTO object and its new version
+     * @throws CarNotFoundException if a car with the specified ID is not found in the repository
+     * @throws VersionConflictException if the car is no longer at the expected version
+     */
+    @Override
+    @Transactional
+    public VersionedDTO<CarDTO> patch(Long id, Map<String, Object> fields, Long expectedVersion) {
+        PatchedVehicle patchedCar = PATCH_STATEMENT.execute(entityManager, id, fields, expectedVersion);
+        if (patchedCar == null) {
+            if (expectedVersion != null && carRepository.existsById(id)) {
+                throw new VersionConflictException(id, expectedVersion);
+            }
+            throw new CarNotFoundException(id);
+        }
+        CarDTO patchedCarDTO = new CarDTO(id, patchedCar.value("make", String.class),
+                patchedCar.value("model", String.class), patchedCar.value("year", Integer.class),
+                patchedCar.value("numberOfDoors", Integer.class));
+        VersionedCache.putIfNewer(cacheManager.getCache(CACHE_NAME), id, patchedCarDTO, patchedCar.version());
+        listCache.invalidate();
+        outboxWriter.recordSaved(AGGREGATE_TYPE, id, patchedCarDTO);
+        return new VersionedDTO<>(patchedCarDTO, patchedCar.version());
     }
 
     /**
      * Deletes a car entity from the repository based on the ID.
+     * The car is deleted from the VEHICLE and CAR tables with a single statement, whose row count tells
+     * whether it existed, without loading it first.
      *
      * @param id the ID of the car entity to be deleted
      * @return true if the car entity is successfully deleted, false otherwise
@@ -97,10 +375,112 @@ public class CarRepositoryAdapter implements IRepositoryPort<CarDTO, Long> {
     @CacheEvict(key = "#id")
     @Transactional
     public boolean delete(Long id) {
-        if(!carRepository.existsById(id)) {
+        if (carRepository.deleteRowsById(id) == 0) {
             throw new CarNotFoundException(id);
         }
-        carRepository.deleteById(id);
+        outboxWriter.recordDeleted(AGGREGATE_TYPE, id);
+        idFilter.recordDeleted(id);
+        listCache.invalidate();
         return true;
     }
+
+    /**
+     * Deletes many cars by their IDs in chunks, the cars of each chunk found and locked with one query, then deleted
+     * with a single statement across the VEHICLE and CAR tables instead of loading and deleting every car on its own.
+     * The deleted cars are evicted from the cache in a single round trip once the transaction commits.
+     *
+     * @param ids the IDs of the cars to delete
+     * @return the IDs of the deleted cars and the IDs no car was found for, both in the order of the given IDs
+     */
+    @Override
+    @Transactional
+    public BulkDeleteDTO<Long> deleteAllById(Collection<Long> ids) {
+        List<Long> distinctIds = ids.stream().distinct().toList();
+        Set<Long> deletedIdSet = new HashSet<>();
+        for (int from = 0; from < distinctIds.size(); from += deleteChunkSize) {
+            List<Long> lockedIds = carRepository.lockIdsByIdIn(
+                    distinctIds.subList(from, Math.min(from + deleteChunkSize, distinctIds.size())));
+            if (!lockedIds.isEmpty()) {
+                carRepository.deleteRowsByIdIn(lockedIds);
+                deletedIdSet.addAll(lockedIds);
+            }
+        }
+        List<Long> deletedIds = new ArrayList<>(deletedIdSet.size());
+        List<Long> missingIds = new ArrayList<>();
+        for (Long id : distinctIds) {
+            if (deletedIdSet.contains(id)) {
+                deletedIds.add(id);
+            } else {
+                missingIds.add(id);
+            }
+        }
+        if (!deletedIds.isEmpty()) {
+            outboxWriter.recordAllDeleted(AGGREGATE_TYPE, deletedIds);
+            deletedIds.forEach(idFilter::recordDeleted);
+            BatchCache.evictAll(cacheManager.getCache(CACHE_NAME), deletedIds);
+            listCache.invalidate();
+        }
+        return new BulkDeleteDTO<>(deletedIds, missingIds);
+    }
+
+    /**
+     * Retrieves the number of cars estimated by the database statistics.
+     *
+     * @return the estimated number of cars, or null if the statistics are not available yet
+     */
+    private Long estimateTotal() {
+        Long estimatedCount = carRepository.estimateCount();
+        return estimatedCount == null || estimatedCount < 0 ? null : estimatedCount;
+    }
+
+    /**
+     * Saves a chunk of CarEntity objects, flushes it to the database and detaches it from the persistence context.
+     *
+     * @param carEntityChunk the chunk to be saved, which is emptied afterwards
+     * @param savedCarDTOs   the list the saved cars are appended to
+     * @param savedVersions  the map the versions of the saved cars are put into, keyed by ID
+     */
+    private void saveChunk(List<CarEntity> carEntityChunk, List<CarDTO> savedCarDTOs,
+                           Map<Long, Long> savedVersions) {
+        if (carEntityChunk.isEmpty()) {
+            return;
+        }
+        attachVersions(carEntityChunk);
+        List<CarEntity> savedCarEntities = ConcurrentUpdates.failOnConcurrentUpdate(() -> {
+            List<CarEntity> savedCarEntityChunk = carRepository.saveAll(carEntityChunk);
+            entityManager.flush();
+            return savedCarEntityChunk;
+        });
+        savedCarEntities.forEach(savedCarEntity -> {
+            savedCarDTOs.add(conversionService.convert(savedCarEntity, CarDTO.class));
+            savedVersions.put(savedCarEntity.getId(), savedCarEntity.getVersion());
+        });
+        entityManager.clear();
+        carEntityChunk.clear();
+    }
+
+    /**
+     * Copies the current versions of the given cars onto them, so that they are merged into the rows they update, and
+     * clears the IDs no car has, so that they are inserted as new cars. The current cars are loaded with a single
+     * query into the persistence context, where the merge then finds them without querying again.
+     *
+     * @param carEntities the cars about to be saved
+     */
+    private void attachVersions(List<CarEntity> carEntities) {
+        List<Long> ids = carEntities.stream().map(CarEntity::getId).filter(Objects::nonNull).toList();
+        if (ids.isEmpty()) {
+            return;
+        }
+        Map<Long, Long> currentVersions = new HashMap<>();
+        carRepository.findAllById(ids).forEach(currentCarEntity ->
+                currentVersions.put(currentCarEntity.getId(), currentCarEntity.getVersion()));
+        carEntities.forEach(carEntity -> {
+            if (carEntity.getId() != null) {
+                carEntity.setVersion(currentVersions.get(carEntity.getId()));
+                if (carEntity.getVersion() == null) {
+                    carEntity.setId(null);
+                }
+            }
+        });
+    }
 }
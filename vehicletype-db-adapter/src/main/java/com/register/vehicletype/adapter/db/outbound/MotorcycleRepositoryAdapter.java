@@ -1,93 +1,376 @@
 package com.register.vehicletype.adapter.db.outbound;
 
+import com.register.vehicletype.adapter.db.cache.BatchCache;
+import com.register.vehicletype.adapter.db.cache.GenerationalCache;
+import com.register.vehicletype.adapter.db.cache.GenerationalCaches;
+import com.register.vehicletype.adapter.db.cache.VersionedCache;
+import com.register.vehicletype.adapter.db.cursor.MakeIdCursor;
 import com.register.vehicletype.adapter.db.entity.CarEntity;
 import com.register.vehicletype.adapter.db.entity.MotorcycleEntity;
+import com.register.vehicletype.adapter.db.filter.VehicleIdFilter;
+import com.register.vehicletype.adapter.db.filter.VehicleIdFilters;
+import com.register.vehicletype.adapter.db.outbox.OutboxWriter;
+import com.register.vehicletype.adapter.db.patch.PatchColumn;
+import com.register.vehicletype.adapter.db.patch.PatchedVehicle;
+import com.register.vehicletype.adapter.db.patch.VehiclePatchStatement;
 import com.register.vehicletype.adapter.db.repository.MotorcycleRepository;
+import com.register.vehicletype.adapter.db.transaction.ConcurrentUpdates;
 import com.register.vehicletype.domain.dto.CarDTO;
+import com.register.vehicletype.domain.dto.BulkDeleteDTO;
+import com.register.vehicletype.domain.dto.CursorPageDTO;
+import com.register.vehicletype.domain.dto.MultiGetDTO;
 import com.register.vehicletype.domain.dto.MotorcycleDTO;
+import com.register.vehicletype.domain.dto.SliceDTO;
+import com.register.vehicletype.domain.dto.UpsertDTO;
+import com.register.vehicletype.domain.dto.UpsertOutcome;
+import com.register.vehicletype.domain.dto.VersionedDTO;
+import com.register.vehicletype.domain.exception.ConcurrentUpdateException;
 import com.register.vehicletype.domain.exception.MotorcycleNotFoundException;
+import com.register.vehicletype.domain.exception.VersionConflictException;
 import com.register.vehicletype.domain.port.outbound.IRepositoryPort;
+import jakarta.persistence.EntityManager;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
 import org.springframework.cache.annotation.CacheConfig;
 import org.springframework.cache.annotation.CacheEvict;
-import org.springframework.cache.annotation.CachePut;
 import org.springframework.cache.annotation.Cacheable;
 import org.springframework.core.convert.ConversionService;
-import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.ArrayList;
 import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
 
 /**
  * The MotorcycleRepositoryAdapter is an adapter class that implements the IRepositoryPort interface
  * for the MotorcycleDTO class. It provides CRUD operations for managing MotorcycleDTO objects in the
  * database through the MotorcycleRepository.
  */
-@CacheConfig(cacheNames = "motorcycles")
+@CacheConfig(cacheNames = MotorcycleRepositoryAdapter.CACHE_NAME)
 public class MotorcycleRepositoryAdapter implements IRepositoryPort<MotorcycleDTO, Long> {
 
+    public static final String CACHE_NAME = "motorcycles";
+    public static final String AGGREGATE_TYPE = "motorcycle";
+    public static final String LIST_CACHE_NAME = CACHE_NAME + ".lists";
+
+    private static final VehiclePatchStatement PATCH_STATEMENT = new VehiclePatchStatement("motorcycle",
+            Map.of("hasSidecar", new PatchColumn("has_sidecar", Boolean.class)));
+
     private final MotorcycleRepository motorcycleRepository;
     private final ConversionService conversionService;
+    private final EntityManager entityManager;
+    private final CacheManager cacheManager;
+    private final OutboxWriter outboxWriter;
+    private final int saveBatchSize;
+    private final int deleteChunkSize;
+    private final GenerationalCache listCache;
+    private final VehicleIdFilter idFilter;
 
     /**
      * The MotorcycleRepositoryAdapter is an adapter class that implements the IRepositoryPort interface
      * for the MotorcycleDTO class. It provides CRUD operations for managing MotorcycleDTO objects in the
      * database through the MotorcycleRepository.
      */
-    public MotorcycleRepositoryAdapter(MotorcycleRepository motorcycleRepository, ConversionService conversionService) {
+    public MotorcycleRepositoryAdapter(MotorcycleRepository motorcycleRepository, ConversionService conversionService,
+                                       EntityManager entityManager, CacheManager cacheManager, OutboxWriter outboxWriter,
+                                       int saveBatchSize, int deleteChunkSize, GenerationalCaches generationalCaches,
+                                       VehicleIdFilters vehicleIdFilters) {
         this.motorcycleRepository = motorcycleRepository;
         this.conversionService = conversionService;
+        this.entityManager = entityManager;
+        this.cacheManager = cacheManager;
+        this.outboxWriter = outboxWriter;
+        this.saveBatchSize = saveBatchSize;
+        this.deleteChunkSize = deleteChunkSize;
+        this.listCache = generationalCaches.get(LIST_CACHE_NAME);
+        this.idFilter = vehicleIdFilters.register(CACHE_NAME, () -> Objects.requireNonNullElse(estimateTotal(), 0L),
+                motorcycleRepository::streamAllIds);
     }
 
     /**
      * Finds a MotorcycleDTO by its ID.
+     * Concurrent misses of the same ID share a single query, and IDs that definitely do not exist are answered
+     * without a query.
+     * The motorcycle is read straight into a MotorcycleDTO record, without loading an entity into the persistence
+     * context.
      *
      * @param id the ID of the MotorcycleDTO to find
      * @return the found MotorcycleDTO
      * @throws MotorcycleNotFoundException if the MotorcycleDTO with the specified ID is not found
      */
     @Override
-    @Cacheable(key = "#id")
-    @Transactional(readOnly = true)
+    @Cacheable(key = "#id", sync = true, condition = VehicleIdFilters.MIGHT_EXIST_CONDITION)
     public MotorcycleDTO findById(Long id) {
-        MotorcycleEntity motorcycleEntity = motorcycleRepository.findById(id).orElseThrow(() -> new MotorcycleNotFoundException(id));
-        return conversionService.convert(motorcycleEntity, MotorcycleDTO.class);
+        if (!idFilter.mightExist(id)) {
+            throw new MotorcycleNotFoundException(id);
+        }
+        return motorcycleRepository.findDTOById(id).orElseThrow(() -> {
+            idFilter.recordMissing(id);
+            return new MotorcycleNotFoundException(id);
+        });
+    }
+
+    /**
+     * Retrieves many MotorcycleDTO objects by their IDs at once. The cached motorcycles are read in a single round
+     * trip, the missed ones are loaded with a single IN query straight into records and written back to the cache in a
+     * single round trip, except the ones cached meanwhile by a write, and the IDs that definitely do not exist reach
+     * neither.
+     *
+     * @param ids the IDs of the motorcycles to retrieve
+     * @return the found MotorcycleDTO objects in the order of the given IDs, and the IDs no motorcycle was found for
+     */
+    @Override
+    public MultiGetDTO<MotorcycleDTO, Long> findAllById(Collection<Long> ids) {
+        List<Long> distinctIds = ids.stream().distinct().toList();
+        List<Long> candidateIds = distinctIds.stream().filter(idFilter::mightExist).toList();
+        Cache cache = cacheManager.getCache(CACHE_NAME);
+        Map<Object, Object> cachedMotorcycleDTOs = BatchCache.getAll(cache, candidateIds);
+        List<Long> missedIds = candidateIds.stream().filter(id -> !cachedMotorcycleDTOs.containsKey(id)).toList();
+        Map<Long, MotorcycleDTO> loadedMotorcycleDTOs = new LinkedHashMap<>();
+        if (!missedIds.isEmpty()) {
+            motorcycleRepository.findDTOsByIdIn(missedIds).forEach(motorcycleDTO ->
+                    loadedMotorcycleDTOs.put(motorcycleDTO.id(), motorcycleDTO));
+            VersionedCache.putAllIfAbsent(cache, loadedMotorcycleDTOs);
+            missedIds.stream().filter(id -> !loadedMotorcycleDTOs.containsKey(id)).forEach(idFilter::recordMissing);
+        }
+        List<MotorcycleDTO> foundMotorcycleDTOs = new ArrayList<>(distinctIds.size());
+        List<Long> missingIds = new ArrayList<>();
+        for (Long id : distinctIds) {
+            MotorcycleDTO motorcycleDTO = cachedMotorcycleDTOs.containsKey(id)
+                    ? (MotorcycleDTO) cachedMotorcycleDTOs.get(id)
+                    : loadedMotorcycleDTOs.get(id);
+            if (motorcycleDTO != null) {
+                foundMotorcycleDTOs.add(motorcycleDTO);
+            } else {
+                missingIds.add(id);
+            }
+        }
+        return new MultiGetDTO<>(foundMotorcycleDTOs, missingIds);
     }
 
     /**
      * Retrieves a list of motorcycles from the repository ordered by make in ascending order.
+     * The result is cached until the next write of a motorcycle.
+     * Concurrent identical requests share a single query.
      *
      * @return the list of motorcycles ordered by make
      */
     @Override
-    @Transactional(readOnly = true)
     public List<MotorcycleDTO> findAllByOrderByMakeAsc(int page, int size) {
-        Pageable pageable = PageRequest.of(page, size);
-        Page<MotorcycleEntity> motorcycleEntities = motorcycleRepository.findAll(pageable);
-        return motorcycleEntities.stream()
-                .map(motorcycleEntity -> conversionService.convert(motorcycleEntity, MotorcycleDTO.class))
-                .toList();
+        return listCache.get(List.of("page", page, size), () -> {
+            Pageable pageable = PageRequest.of(page, size, Sort.by("make", "id"));
+            return motorcycleRepository.findDTOsBy(pageable).getContent();
+        });
+    }
+
+    /**
+     * Retrieves a page of MotorcycleDTO objects ordered by make and ID, starting right after the given cursor.
+     * One extra row is fetched to find out whether a next page exists without counting the table.
+     * The result is cached until the next write of a motorcycle.
+     * Concurrent identical requests share a single query.
+     *
+     * @param after the cursor returned with the previous page, or null/empty for the first page
+     * @param size  the maximum number of motorcycles to return
+     * @return a page of MotorcycleDTO objects and the cursor of the next page, which is null on the last page
+     */
+    @Override
+    public CursorPageDTO<MotorcycleDTO> findAllByOrderByMakeAscAfter(String after, int size) {
+        return listCache.get(List.of("after", after == null ? "" : after, size), () -> {
+            List<MotorcycleDTO> fetchedMotorcycleDTOs;
+            if (after == null || after.isEmpty()) {
+                fetchedMotorcycleDTOs = motorcycleRepository.findDTOsOrderByMakeAscIdAsc(Limit.of(size + 1));
+            } else {
+                MakeIdCursor cursor = MakeIdCursor.decode(after);
+                fetchedMotorcycleDTOs = motorcycleRepository.findDTOsAfterOrderByMakeAscIdAsc(cursor.make(),
+                        cursor.id(), Limit.of(size + 1));
+            }
+            if (fetchedMotorcycleDTOs.size() <= size) {
+                return new CursorPageDTO<>(fetchedMotorcycleDTOs, null);
+            }
+            List<MotorcycleDTO> motorcycleDTOs = fetchedMotorcycleDTOs.subList(0, size);
+            MotorcycleDTO lastMotorcycleDTO = motorcycleDTOs.getLast();
+            return new CursorPageDTO<>(List.copyOf(motorcycleDTOs),
+                    new MakeIdCursor(lastMotorcycleDTO.make(), lastMotorcycleDTO.id()).encode());
+        });
+    }
+
+    /**
+     * Retrieves a page of MotorcycleDTO objects ordered by make without counting all the motorcycles.
+     * When requested, the total is estimated from the planner statistics instead of a COUNT(*) over the joined tables.
+     * The result is cached until the next write of a motorcycle.
+     * Concurrent identical requests share a single query.
+     *
+     * @param page                the number of the page to retrieve
+     * @param size                the maximum number of motorcycles to return
+     * @param withEstimatedTotal  whether a rough total of motorcycles should be included
+     * @return a page of MotorcycleDTO objects and whether a next page exists
+     */
+    @Override
+    public SliceDTO<MotorcycleDTO> findSliceByOrderByMakeAsc(int page, int size, boolean withEstimatedTotal) {
+        return listCache.get(List.of("slice", page, size, withEstimatedTotal), () -> {
+            Pageable pageable = PageRequest.of(page, size, Sort.by("make", "id"));
+            Slice<MotorcycleDTO> motorcycleDTOs = motorcycleRepository.findDTOsBy(pageable);
+            Long estimatedTotal = withEstimatedTotal ? estimateTotal() : null;
+            return new SliceDTO<>(motorcycleDTOs.getContent(), page, size, motorcycleDTOs.hasNext(), estimatedTotal);
+        });
+    }
+
+    /**
+     * Passes every MotorcycleDTO object, ordered by make and ID, to the given action while the rows are read from the
+     * database. The rows are read straight into MotorcycleDTO records, so neither the persistence context nor the heap
+     * grow with the number of motorcycles.
+     *
+     * @param action the action to perform on each MotorcycleDTO object
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public void forEachOrderByMakeAsc(Consumer<MotorcycleDTO> action) {
+        try (Stream<MotorcycleDTO> motorcycleDTOs = motorcycleRepository.streamDTOsOrderByMakeAscIdAsc()) {
+            motorcycleDTOs.forEach(action);
+        }
     }
 
     /**
      * Saves a motorcycle in the repository.
+     * The saved motorcycle is written to the cache once the transaction commits, unless the cache holds a newer
+     * version.
      *
      * @param motorcycleDTO the motorcycle object to be saved
      * @return the saved motorcycle as a MotorcycleDTO
+     * @throws ConcurrentUpdateException if a motorcycle is updated concurrently
      */
     @Override
-    @CachePut(key = "#result.id()")
     @Transactional
     public MotorcycleDTO save(MotorcycleDTO motorcycleDTO) {
         MotorcycleEntity motorcycleEntity = conversionService.convert(motorcycleDTO, MotorcycleEntity.class);
-        MotorcycleEntity savedMotorcycleEntity = motorcycleRepository.save(motorcycleEntity);
-        return conversionService.convert(savedMotorcycleEntity, MotorcycleDTO.class);
+        attachVersions(List.of(motorcycleEntity));
+        MotorcycleEntity savedMotorcycleEntity = ConcurrentUpdates.failOnConcurrentUpdate(() ->
+                motorcycleRepository.saveAndFlush(motorcycleEntity));
+        MotorcycleDTO savedMotorcycleDTO = conversionService.convert(savedMotorcycleEntity, MotorcycleDTO.class);
+        VersionedCache.putIfNewer(cacheManager.getCache(CACHE_NAME), savedMotorcycleDTO.id(), savedMotorcycleDTO,
+                savedMotorcycleEntity.getVersion());
+        idFilter.recordSaved(savedMotorcycleDTO.id());
+        listCache.invalidate();
+        outboxWriter.recordSaved(AGGREGATE_TYPE, savedMotorcycleDTO.id(), savedMotorcycleDTO);
+        return savedMotorcycleDTO;
+    }
+
+    /**
+     * Saves the given MotorcycleDTO objects in chunks of the JDBC batch size. Each chunk is flushed as JDBC batches
+     * across the VEHICLE and MOTORCYCLE tables and then cleared from the persistence context, so the memory used does not
+     * grow with the number of motorcycles. The saved motorcycles are written to the cache in a single round trip
+     * once the transaction commits, except the ones the cache holds a newer version of.
+     *
+     * @param motorcycleDTOs the MotorcycleDTO objects to be saved
+     * @return the saved MotorcycleDTO objects, in the same order as given
+     * @throws ConcurrentUpdateException if a motorcycle is updated concurrently
+     */
+    @Override
+    @Transactional
+    public List<MotorcycleDTO> saveAll(Collection<MotorcycleDTO> motorcycleDTOs) {
+        List<MotorcycleDTO> savedMotorcycleDTOs = new ArrayList<>(motorcycleDTOs.size());
+        Map<Long, Long> savedVersions = new HashMap<>();
+        List<MotorcycleEntity> motorcycleEntityChunk = new ArrayList<>(saveBatchSize);
+        for (MotorcycleDTO motorcycleDTO : motorcycleDTOs) {
+            motorcycleEntityChunk.add(conversionService.convert(motorcycleDTO, MotorcycleEntity.class));
+            if (motorcycleEntityChunk.size() == saveBatchSize) {
+                saveChunk(motorcycleEntityChunk, savedMotorcycleDTOs, savedVersions);
+            }
+        }
+        saveChunk(motorcycleEntityChunk, savedMotorcycleDTOs, savedVersions);
+        Map<Long, MotorcycleDTO> cacheEntries = new LinkedHashMap<>();
+        savedMotorcycleDTOs.forEach(savedMotorcycleDTO -> {
+            idFilter.recordSaved(savedMotorcycleDTO.id());
+            cacheEntries.put(savedMotorcycleDTO.id(), savedMotorcycleDTO);
+        });
+        VersionedCache.putAllIfNewer(cacheManager.getCache(CACHE_NAME), cacheEntries, savedVersions);
+        listCache.invalidate();
+        outboxWriter.recordAllSaved(AGGREGATE_TYPE, cacheEntries);
+        return savedMotorcycleDTOs;
+    }
+
+    /**
+     * Updates the motorcycle with the same ID only if any of its values differ, with a single statement across the
+     * VEHICLE and MOTORCYCLE tables instead of the read and merge of {@link #save}, or saves the given motorcycle as a
+     * new motorcycle if no motorcycle has its ID, so that its ID is always assigned by the sequence rather than taken
+     * from the caller. An unchanged motorcycle is neither written to the cache nor recorded in the outbox.
+     *
+     * @param motorcycleDTO the motorcycleDTO object representing the motorcycle entity to be upserted
+     * @return the upserted MotorcycleDTO object and whether it was inserted, updated or left unchanged
+     */
+    @Override
+    @Transactional
+    public UpsertDTO<MotorcycleDTO> upsert(MotorcycleDTO motorcycleDTO) {
+        if (motorcycleDTO.id() == null) {
+            return new UpsertDTO<>(save(motorcycleDTO), UpsertOutcome.INSERTED);
+        }
+        int updatedMotorcycles = motorcycleRepository.updateRowIfChanged(motorcycleDTO.id(), motorcycleDTO.make(),
+                motorcycleDTO.model(), motorcycleDTO.year(), motorcycleDTO.hasSidecar());
+        Optional<Long> version = motorcycleRepository.findVersionById(motorcycleDTO.id());
+        if (version.isEmpty()) {
+            return new UpsertDTO<>(save(motorcycleDTO), UpsertOutcome.INSERTED);
+        }
+        if (updatedMotorcycles == 0) {
+            return new UpsertDTO<>(motorcycleDTO, UpsertOutcome.UNCHANGED);
+        }
+        VersionedCache.putIfNewer(cacheManager.getCache(CACHE_NAME), motorcycleDTO.id(), motorcycleDTO, version.get());
+        idFilter.recordSaved(motorcycleDTO.id());
+        listCache.invalidate();
+        outboxWriter.recordSaved(AGGREGATE_TYPE, motorcycleDTO.id(), motorcycleDTO);
+        return new UpsertDTO<>(motorcycleDTO, UpsertOutcome.UPDATED);
+    }
+
+    /**
+     * Updates only the given fields of the motorcycle with the given ID, with a single statement setting only their
+     * columns instead of the read and merge of {@link #save}. The MOTORCYCLE table is only updated when the hasSidecar
+     * field is given. The patched motorcycle is written over the cached one once the transaction commits rather than
+     * evicted, unless the cache holds a newer version.
+     *
+     * @param id              the ID of the motorcycle to update
+     * @param fields          the new values of the fields to update, keyed by field name
+     * @param expectedVersion the version the motorcycle must be at to be updated, or null to update it at any version
+     * @return the updated MotorcycleDTO object and its new version
+     * @throws MotorcycleNotFoundException if a motorcycle with the specified ID is not found in the repository
+     * @throws VersionConflictException if the motorcycle is no longer at the expected version
+     */
+    @Override
+    @Transactional
+    public VersionedDTO<MotorcycleDTO> patch(Long id, Map<String, Object> fields, Long expectedVersion) {
+        PatchedVehicle patchedMotorcycle = PATCH_STATEMENT.execute(entityManager, id, fields, expectedVersion);
+        if (patchedMotorcycle == null) {
+            if (expectedVersion != null && motorcycleRepository.existsById(id)) {
+                throw new VersionConflictException(id, expectedVersion);
+            }
+            throw new MotorcycleNotFoundException(id);
+        }
+        MotorcycleDTO patchedMotorcycleDTO = new MotorcycleDTO(id, patchedMotorcycle.value("make", String.class),
+                patchedMotorcycle.value("model", String.class), patchedMotorcycle.value("year", Integer.class),
+                patchedMotorcycle.value("hasSidecar", Boolean.class));
+        VersionedCache.putIfNewer(cacheManager.getCache(CACHE_NAME), id, patchedMotorcycleDTO,
+                patchedMotorcycle.version());
+        listCache.invalidate();
+        outboxWriter.recordSaved(AGGREGATE_TYPE, id, patchedMotorcycleDTO);
+        return new VersionedDTO<>(patchedMotorcycleDTO, patchedMotorcycle.version());
     }
 
     /**
      * Deletes a motorcycle with the specified ID.
+     * The motorcycle is deleted from the VEHICLE and MOTORCYCLE tables with a single statement, whose row count tells
+     * whether it existed, without loading it first.
      *
      * @param id the ID of the motorcycle to delete
      * @return true if the motorcycle was deleted successfully, false otherwise
@@ -97,10 +380,115 @@ public class MotorcycleRepositoryAdapter implements IRepositoryPort<MotorcycleDT
     @CacheEvict(key = "#id")
     @Transactional
     public boolean delete(Long id) {
-        if(motorcycleRepository.existsById(id)) {
-            motorcycleRepository.deleteById(id);
-            return !motorcycleRepository.existsById(id);
+        if (motorcycleRepository.deleteRowsById(id) == 0) {
+            throw new MotorcycleNotFoundException(id);
+        }
+        outboxWriter.recordDeleted(AGGREGATE_TYPE, id);
+        idFilter.recordDeleted(id);
+        listCache.invalidate();
+        return true;
+    }
+
+    /**
+     * Deletes many motorcycles by their IDs in chunks, the motorcycles of each chunk found and locked with one query,
+     * then deleted with a single statement across the VEHICLE and MOTORCYCLE tables instead of loading and deleting
+     * every motorcycle on its own. The deleted motorcycles are evicted from the cache in a single round trip once the
+     * transaction commits.
+     *
+     * @param ids the IDs of the motorcycles to delete
+     * @return the IDs of the deleted motorcycles and the IDs no motorcycle was found for, both in the order of the
+     *         given IDs
+     */
+    @Override
+    @Transactional
+    public BulkDeleteDTO<Long> deleteAllById(Collection<Long> ids) {
+        List<Long> distinctIds = ids.stream().distinct().toList();
+        Set<Long> deletedIdSet = new HashSet<>();
+        for (int from = 0; from < distinctIds.size(); from += deleteChunkSize) {
+            List<Long> lockedIds = motorcycleRepository.lockIdsByIdIn(
+                    distinctIds.subList(from, Math.min(from + deleteChunkSize, distinctIds.size())));
+            if (!lockedIds.isEmpty()) {
+                motorcycleRepository.deleteRowsByIdIn(lockedIds);
+                deletedIdSet.addAll(lockedIds);
+            }
+        }
+        List<Long> deletedIds = new ArrayList<>(deletedIdSet.size());
+        List<Long> missingIds = new ArrayList<>();
+        for (Long id : distinctIds) {
+            if (deletedIdSet.contains(id)) {
+                deletedIds.add(id);
+            } else {
+                missingIds.add(id);
+            }
+        }
+        if (!deletedIds.isEmpty()) {
+            outboxWriter.recordAllDeleted(AGGREGATE_TYPE, deletedIds);
+            deletedIds.forEach(idFilter::recordDeleted);
+            BatchCache.evictAll(cacheManager.getCache(CACHE_NAME), deletedIds);
+            listCache.invalidate();
+        }
+        return new BulkDeleteDTO<>(deletedIds, missingIds);
+    }
+
+    /**
+     * Retrieves the number of motorcycles estimated by the database statistics.
+     *
+     * @return the estimated number of motorcycles, or null if the statistics are not available yet
+     */
+    private Long estimateTotal() {
+        Long estimatedCount = motorcycleRepository.estimateCount();
+        return estimatedCount == null || estimatedCount < 0 ? null : estimatedCount;
+    }
+
+    /**
+     * Saves a chunk of MotorcycleEntity objects, flushes it to the database and detaches it from the persistence context.
+     *
+     * @param motorcycleEntityChunk the chunk to be saved, which is emptied afterwards
+     * @param savedMotorcycleDTOs   the list the saved motorcycles are appended to
+     * @param savedVersions         the map the versions of the saved motorcycles are put into, keyed by ID
+     */
+    private void saveChunk(List<MotorcycleEntity> motorcycleEntityChunk, List<MotorcycleDTO> savedMotorcycleDTOs,
+                           Map<Long, Long> savedVersions) {
+        if (motorcycleEntityChunk.isEmpty()) {
+            return;
+        }
+        attachVersions(motorcycleEntityChunk);
+        List<MotorcycleEntity> savedMotorcycleEntities = ConcurrentUpdates.failOnConcurrentUpdate(() -> {
+            List<MotorcycleEntity> savedMotorcycleEntityChunk = motorcycleRepository.saveAll(motorcycleEntityChunk);
+            entityManager.flush();
+            return savedMotorcycleEntityChunk;
+        });
+        savedMotorcycleEntities.forEach(savedMotorcycleEntity -> {
+            savedMotorcycleDTOs.add(conversionService.convert(savedMotorcycleEntity, MotorcycleDTO.class));
+            savedVersions.put(savedMotorcycleEntity.getId(), savedMotorcycleEntity.getVersion());
+        });
+        entityManager.clear();
+        motorcycleEntityChunk.clear();
+    }
+
+    /**
+     * Copies the current versions of the given motorcycles onto them, so that they are merged into the rows they
+     * update, and clears the IDs no motorcycle has, so that they are inserted as new motorcycles. The current
+     * motorcycles are loaded with a single query into the persistence context, where the merge then finds them
+     * without querying again.
+     *
+     * @param motorcycleEntities the motorcycles about to be saved
+     */
+    private void attachVersions(List<MotorcycleEntity> motorcycleEntities) {
+        List<Long> ids = motorcycleEntities.stream().map(MotorcycleEntity::getId).filter(Objects::nonNull).toList();
+        if (ids.isEmpty()) {
+            return;
         }
-        throw new MotorcycleNotFoundException(id);
+        Map<Long, Long> currentVersions = new HashMap<>();
+        motorcycleRepository.findAllById(ids).forEach(currentMotorcycleEntity ->
+                currentVersions.put(currentMotorcycleEntity.getId(), currentMotorcycleEntity.getVersion()));
+        motorcycleEntities.forEach(motorcycleEntity -> {
+            if (motorcycleEntity.getId() != null) {
+                motorcycleEntity.setVersion(currentVersions.get(motorcycleEntity.getId()));
+                if (motorcycleEntity.getVersion() == null) {
+                    motorcycleEntity.setId(null);
+                }
+            }
+        });
     }
 }
@@ -1,91 +1,369 @@
 package com.register.vehicletype.adapter.db.outbound;
 
+import com.register.vehicletype.adapter.db.cache.BatchCache;
+import com.register.vehicletype.adapter.db.cache.GenerationalCache;
+import com.register.vehicletype.adapter.db.cache.GenerationalCaches;
+import com.register.vehicletype.adapter.db.cache.VersionedCache;
+import com.register.vehicletype.adapter.db.cursor.MakeIdCursor;
 import com.register.vehicletype.adapter.db.entity.MotorcycleEntity;
 import com.register.vehicletype.adapter.db.entity.TruckEntity;
+import com.register.vehicletype.adapter.db.filter.VehicleIdFilter;
+import com.register.vehicletype.adapter.db.filter.VehicleIdFilters;
+import com.register.vehicletype.adapter.db.outbox.OutboxWriter;
+import com.register.vehicletype.adapter.db.patch.PatchColumn;
+import com.register.vehicletype.adapter.db.patch.PatchedVehicle;
+import com.register.vehicletype.adapter.db.patch.VehiclePatchStatement;
 import com.register.vehicletype.adapter.db.repository.TruckRepository;
+import com.register.vehicletype.adapter.db.transaction.ConcurrentUpdates;
+import com.register.vehicletype.domain.dto.BulkDeleteDTO;
+import com.register.vehicletype.domain.dto.CursorPageDTO;
+import com.register.vehicletype.domain.dto.MultiGetDTO;
 import com.register.vehicletype.domain.dto.MotorcycleDTO;
+import com.register.vehicletype.domain.dto.SliceDTO;
 import com.register.vehicletype.domain.dto.TruckDTO;
+import com.register.vehicletype.domain.dto.UpsertDTO;
+import com.register.vehicletype.domain.dto.UpsertOutcome;
+import com.register.vehicletype.domain.dto.VersionedDTO;
+import com.register.vehicletype.domain.exception.ConcurrentUpdateException;
 import com.register.vehicletype.domain.exception.TruckNotFoundException;
+import com.register.vehicletype.domain.exception.VersionConflictException;
 import com.register.vehicletype.domain.port.outbound.IRepositoryPort;
+import jakarta.persistence.EntityManager;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
 import org.springframework.cache.annotation.CacheConfig;
 import org.springframework.cache.annotation.CacheEvict;
-import org.springframework.cache.annotation.CachePut;
 import org.springframework.cache.annotation.Cacheable;
 import org.springframework.core.convert.ConversionService;
-import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.ArrayList;
 import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
 
 /**
  * The TruckRepositoryAdapter class is an adapter that implements the IRepositoryPort interface for the TruckDTO class
  * and provides CRUD operations for Truck entities using the underlying TruckRepository and ModelMapper.
  */
-@CacheConfig(cacheNames = "trucks")
+@CacheConfig(cacheNames = TruckRepositoryAdapter.CACHE_NAME)
 public class TruckRepositoryAdapter implements IRepositoryPort<TruckDTO, Long> {
 
+    public static final String CACHE_NAME = "trucks";
+    public static final String AGGREGATE_TYPE = "truck";
+    public static final String LIST_CACHE_NAME = CACHE_NAME + ".lists";
+
+    private static final VehiclePatchStatement PATCH_STATEMENT = new VehiclePatchStatement("truck",
+            Map.of("payloadCapacity", new PatchColumn("payload_capacity", Double.class)));
+
     private final TruckRepository truckRepository;
     private final ConversionService conversionService;
+    private final EntityManager entityManager;
+    private final CacheManager cacheManager;
+    private final OutboxWriter outboxWriter;
+    private final int saveBatchSize;
+    private final int deleteChunkSize;
+    private final GenerationalCache listCache;
+    private final VehicleIdFilter idFilter;
 
     /**
      * The TruckRepositoryAdapter class is an implementation of the IRepositoryPort interface
      * that is responsible for managing TruckDTO objects using TruckRepository and ConversionService.
      */
-    public TruckRepositoryAdapter(TruckRepository truckRepository, ConversionService conversionService) {
+    public TruckRepositoryAdapter(TruckRepository truckRepository, ConversionService conversionService,
+                                  EntityManager entityManager, CacheManager cacheManager, OutboxWriter outboxWriter,
+                                  int saveBatchSize, int deleteChunkSize, GenerationalCaches generationalCaches,
+                                  VehicleIdFilters vehicleIdFilters) {
         this.truckRepository = truckRepository;
         this.conversionService = conversionService;
+        this.entityManager = entityManager;
+        this.cacheManager = cacheManager;
+        this.outboxWriter = outboxWriter;
+        this.saveBatchSize = saveBatchSize;
+        this.deleteChunkSize = deleteChunkSize;
+        this.listCache = generationalCaches.get(LIST_CACHE_NAME);
+        this.idFilter = vehicleIdFilters.register(CACHE_NAME, () -> Objects.requireNonNullElse(estimateTotal(), 0L),
+                truckRepository::streamAllIds);
     }
 
     /**
      * Finds a TruckDTO object by its ID.
+     * Concurrent misses of the same ID share a single query, and IDs that definitely do not exist are answered
+     * without a query.
+     * The truck is read straight into a TruckDTO record, without loading an entity into the persistence context.
      *
      * @param id the ID of the truck to find
      * @return the found TruckDTO object
      * @throws TruckNotFoundException if the truck with the specified ID is not found
      */
     @Override
-    @Cacheable(key = "#id")
-    @Transactional(readOnly = true)
+    @Cacheable(key = "#id", sync = true, condition = VehicleIdFilters.MIGHT_EXIST_CONDITION)
     public TruckDTO findById(Long id) {
-        TruckEntity truckEntity = truckRepository.findById(id).orElseThrow(() -> new TruckNotFoundException(id));
-        return conversionService.convert(truckEntity, TruckDTO.class);
+        if (!idFilter.mightExist(id)) {
+            throw new TruckNotFoundException(id);
+        }
+        return truckRepository.findDTOById(id).orElseThrow(() -> {
+            idFilter.recordMissing(id);
+            return new TruckNotFoundException(id);
+        });
+    }
+
+    /**
+     * Retrieves many TruckDTO objects by their IDs at once. The cached trucks are read in a single round trip, the
+     * missed ones are loaded with a single IN query straight into records and written back to the cache in a single
+     * round trip, except the ones cached meanwhile by a write, and the IDs that definitely do not exist reach neither.
+     *
+     * @param ids the IDs of the trucks to retrieve
+     * @return the found TruckDTO objects in the order of the given IDs, and the IDs no truck was found for
+     */
+    @Override
+    public MultiGetDTO<TruckDTO, Long> findAllById(Collection<Long> ids) {
+        List<Long> distinctIds = ids.stream().distinct().toList();
+        List<Long> candidateIds = distinctIds.stream().filter(idFilter::mightExist).toList();
+        Cache cache = cacheManager.getCache(CACHE_NAME);
+        Map<Object, Object> cachedTruckDTOs = BatchCache.getAll(cache, candidateIds);
+        List<Long> missedIds = candidateIds.stream().filter(id -> !cachedTruckDTOs.containsKey(id)).toList();
+        Map<Long, TruckDTO> loadedTruckDTOs = new LinkedHashMap<>();
+        if (!missedIds.isEmpty()) {
+            truckRepository.findDTOsByIdIn(missedIds).forEach(truckDTO -> loadedTruckDTOs.put(truckDTO.id(), truckDTO));
+            VersionedCache.putAllIfAbsent(cache, loadedTruckDTOs);
+            missedIds.stream().filter(id -> !loadedTruckDTOs.containsKey(id)).forEach(idFilter::recordMissing);
+        }
+        List<TruckDTO> foundTruckDTOs = new ArrayList<>(distinctIds.size());
+        List<Long> missingIds = new ArrayList<>();
+        for (Long id : distinctIds) {
+            TruckDTO truckDTO = cachedTruckDTOs.containsKey(id)
+                    ? (TruckDTO) cachedTruckDTOs.get(id)
+                    : loadedTruckDTOs.get(id);
+            if (truckDTO != null) {
+                foundTruckDTOs.add(truckDTO);
+            } else {
+                missingIds.add(id);
+            }
+        }
+        return new MultiGetDTO<>(foundTruckDTOs, missingIds);
     }
 
     /**
      * Retrieves a list of trucks from the repository, ordered by make in ascending order.
+     * The result is cached until the next write of a truck.
+     * Concurrent identical requests share a single query.
      *
      * @return a list of TruckDTO objects ordered by make
      */
     @Override
-    @Transactional(readOnly = true)
     public List<TruckDTO> findAllByOrderByMakeAsc(int page, int size) {
-        Pageable pageable = PageRequest.of(page, size);
-        Page<TruckEntity> truckRepositories = truckRepository.findAll(pageable);
-        return truckRepositories.stream()
-                .map(truckRepository -> conversionService.convert(truckRepository, TruckDTO.class))
-                .toList();
+        return listCache.get(List.of("page", page, size), () -> {
+            Pageable pageable = PageRequest.of(page, size, Sort.by("make", "id"));
+            return truckRepository.findDTOsBy(pageable).getContent();
+        });
+    }
+
+    /**
+     * Retrieves a page of TruckDTO objects ordered by make and ID, starting right after the given cursor.
+     * One extra row is fetched to find out whether a next page exists without counting the table.
+     * The result is cached until the next write of a truck.
+     * Concurrent identical requests share a single query.
+     *
+     * @param after the cursor returned with the previous page, or null/empty for the first page
+     * @param size  the maximum number of trucks to return
+     * @return a page of TruckDTO objects and the cursor of the next page, which is null on the last page
+     */
+    @Override
+    public CursorPageDTO<TruckDTO> findAllByOrderByMakeAscAfter(String after, int size) {
+        return listCache.get(List.of("after", after == null ? "" : after, size), () -> {
+            List<TruckDTO> fetchedTruckDTOs;
+            if (after == null || after.isEmpty()) {
+                fetchedTruckDTOs = truckRepository.findDTOsOrderByMakeAscIdAsc(Limit.of(size + 1));
+            } else {
+                MakeIdCursor cursor = MakeIdCursor.decode(after);
+                fetchedTruckDTOs = truckRepository.findDTOsAfterOrderByMakeAscIdAsc(cursor.make(), cursor.id(),
+                        Limit.of(size + 1));
+            }
+            if (fetchedTruckDTOs.size() <= size) {
+                return new CursorPageDTO<>(fetchedTruckDTOs, null);
+            }
+            List<TruckDTO> truckDTOs = fetchedTruckDTOs.subList(0, size);
+            TruckDTO lastTruckDTO = truckDTOs.getLast();
+            return new CursorPageDTO<>(List.copyOf(truckDTOs),
+                    new MakeIdCursor(lastTruckDTO.make(), lastTruckDTO.id()).encode());
+        });
+    }
+
+    /**
+     * Retrieves a page of TruckDTO objects ordered by make without counting all the trucks.
+     * When requested, the total is estimated from the planner statistics instead of a COUNT(*) over the joined tables.
+     * The result is cached until the next write of a truck.
+     * Concurrent identical requests share a single query.
+     *
+     * @param page                the number of the page to retrieve
+     * @param size                the maximum number of trucks to return
+     * @param withEstimatedTotal  whether a rough total of trucks should be included
+     * @return a page of TruckDTO objects and whether a next page exists
+     */
+    @Override
+    public SliceDTO<TruckDTO> findSliceByOrderByMakeAsc(int page, int size, boolean withEstimatedTotal) {
+        return listCache.get(List.of("slice", page, size, withEstimatedTotal), () -> {
+            Pageable pageable = PageRequest.of(page, size, Sort.by("make", "id"));
+            Slice<TruckDTO> truckDTOs = truckRepository.findDTOsBy(pageable);
+            Long estimatedTotal = withEstimatedTotal ? estimateTotal() : null;
+            return new SliceDTO<>(truckDTOs.getContent(), page, size, truckDTOs.hasNext(), estimatedTotal);
+        });
+    }
+
+    /**
+     * Passes every TruckDTO object, ordered by make and ID, to the given action while the rows are read from the
+     * database. The rows are read straight into TruckDTO records, so neither the persistence context nor the heap
+     * grow with the number of trucks.
+     *
+     * @param action the action to perform on each TruckDTO object
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public void forEachOrderByMakeAsc(Consumer<TruckDTO> action) {
+        try (Stream<TruckDTO> truckDTOs = truckRepository.streamDTOsOrderByMakeAscIdAsc()) {
+            truckDTOs.forEach(action);
+        }
     }
 
     /**
      * Saves a truck DTO object.
+     * The saved truck is written to the cache once the transaction commits, unless the cache holds a newer version.
      *
      * @param truckDTO the truck DTO object to be saved
      * @return the saved truck DTO object
+     * @throws ConcurrentUpdateException if a truck is updated concurrently
      */
     @Override
-    @CachePut(key = "#result.id()")
     @Transactional
     public TruckDTO save(TruckDTO truckDTO) {
         TruckEntity truckEntity = conversionService.convert(truckDTO, TruckEntity.class);
-        TruckEntity savedTruckEntity = truckRepository.save(truckEntity);
-        return conversionService.convert(savedTruckEntity, TruckDTO.class);
+        attachVersions(List.of(truckEntity));
+        TruckEntity savedTruckEntity = ConcurrentUpdates.failOnConcurrentUpdate(() ->
+                truckRepository.saveAndFlush(truckEntity));
+        TruckDTO savedTruckDTO = conversionService.convert(savedTruckEntity, TruckDTO.class);
+        VersionedCache.putIfNewer(cacheManager.getCache(CACHE_NAME), savedTruckDTO.id(), savedTruckDTO,
+                savedTruckEntity.getVersion());
+        idFilter.recordSaved(savedTruckDTO.id());
+        listCache.invalidate();
+        outboxWriter.recordSaved(AGGREGATE_TYPE, savedTruckDTO.id(), savedTruckDTO);
+        return savedTruckDTO;
+    }
+
+    /**
+     * Saves the given TruckDTO objects in chunks of the JDBC batch size. Each chunk is flushed as JDBC batches
+     * across the VEHICLE and TRUCK tables and then cleared from the persistence context, so the memory used does not
+     * grow with the number of trucks. The saved trucks are written to the cache in a single round trip
+     * once the transaction commits, except the ones the cache holds a newer version of.
+     *
+     * @param truckDTOs the TruckDTO objects to be saved
+     * @return the saved TruckDTO objects, in the same order as given
+     * @throws ConcurrentUpdateException if a truck is updated concurrently
+     */
+    @Override
+    @Transactional
+    public List<TruckDTO> saveAll(Collection<TruckDTO> truckDTOs) {
+        List<TruckDTO> savedTruckDTOs = new ArrayList<>(truckDTOs.size());
+        Map<Long, Long> savedVersions = new HashMap<>();
+        List<TruckEntity> truckEntityChunk = new ArrayList<>(saveBatchSize);
+        for (TruckDTO truckDTO : truckDTOs) {
+            truckEntityChunk.add(conversionService.convert(truckDTO, TruckEntity.class));
+            if (truckEntityChunk.size() == saveBatchSize) {
+                saveChunk(truckEntityChunk, savedTruckDTOs, savedVersions);
+            }
+        }
+        saveChunk(truckEntityChunk, savedTruckDTOs, savedVersions);
+        Map<Long, TruckDTO> cacheEntries = new LinkedHashMap<>();
+        savedTruckDTOs.forEach(savedTruckDTO -> {
+            idFilter.recordSaved(savedTruckDTO.id());
+            cacheEntries.put(savedTruckDTO.id(), savedTruckDTO);
+        });
+        VersionedCache.putAllIfNewer(cacheManager.getCache(CACHE_NAME), cacheEntries, savedVersions);
+        listCache.invalidate();
+        outboxWriter.recordAllSaved(AGGREGATE_TYPE, cacheEntries);
+        return savedTruckDTOs;
+    }
+
+    /**
+     * Updates the truck with the same ID only if any of its values differ, with a single statement across the VEHICLE
+     * and TRUCK tables instead of the read and merge of {@link #save}, or saves the given truck as a new truck if no
+     * truck has its ID, so that its ID is always assigned by the sequence rather than taken from the caller. An
+     * unchanged truck is neither written to the cache nor recorded in the outbox.
+     *
+     * @param truckDTO the truckDTO object representing the truck entity to be upserted
+     * @return the upserted TruckDTO object and whether it was inserted, updated or left unchanged
+     */
+    @Override
+    @Transactional
+    public UpsertDTO<TruckDTO> upsert(TruckDTO truckDTO) {
+        if (truckDTO.id() == null) {
+            return new UpsertDTO<>(save(truckDTO), UpsertOutcome.INSERTED);
+        }
+        int updatedTrucks = truckRepository.updateRowIfChanged(truckDTO.id(), truckDTO.make(), truckDTO.model(),
+                truckDTO.year(), truckDTO.payloadCapacity());
+        Optional<Long> version = truckRepository.findVersionById(truckDTO.id());
+        if (version.isEmpty()) {
+            return new UpsertDTO<>(save(truckDTO), UpsertOutcome.INSERTED);
+        }
+        if (updatedTrucks == 0) {
+            return new UpsertDTO<>(truckDTO, UpsertOutcome.UNCHANGED);
+        }
+        VersionedCache.putIfNewer(cacheManager.getCache(CACHE_NAME), truckDTO.id(), truckDTO, version.get());
+        idFilter.recordSaved(truckDTO.id());
+        listCache.invalidate();
+        outboxWriter.recordSaved(AGGREGATE_TYPE, truckDTO.id(), truckDTO);
+        return new UpsertDTO<>(truckDTO, UpsertOutcome.UPDATED);
+    }
+
+    /**
+     * Updates only the given fields of the truck with the given ID, with a single statement setting only their columns
+     * instead of the read and merge of {@link #save}. The TRUCK table is only updated when the payloadCapacity field is
+     * given. The patched truck is written over the cached one once the transaction commits rather than evicted, unless
+     * the cache holds a newer version.
+     *
+     * @param id              the ID of the truck to update
+     * @param fields          the new values of the fields to update, keyed by field name
+     * @param expectedVersion the version the truck must be at to be updated, or null to update it at any version
+     * @return the updated TruckDTO object and its new version
+     * @throws TruckNotFoundException if a truck with the specified ID is not found in the repository
+     * @throws VersionConflictException if the truck is no longer at the expected version
+     */
+    @Override
+    @Transactional
+    public VersionedDTO<TruckDTO> patch(Long id, Map<String, Object> fields, Long expectedVersion) {
+        PatchedVehicle patchedTruck = PATCH_STATEMENT.execute(entityManager, id, fields, expectedVersion);
+        if (patchedTruck == null) {
+            if (expectedVersion != null && truckRepository.existsById(id)) {
+                throw new VersionConflictException(id, expectedVersion);
+            }
+            throw new TruckNotFoundException(id);
+        }
+        TruckDTO patchedTruckDTO = new TruckDTO(id, patchedTruck.value("make", String.class),
+                patchedTruck.value("model", String.class), patchedTruck.value("year", Integer.class),
+                patchedTruck.value("payloadCapacity", Double.class));
+        VersionedCache.putIfNewer(cacheManager.getCache(CACHE_NAME), id, patchedTruckDTO, patchedTruck.version());
+        listCache.invalidate();
+        outboxWriter.recordSaved(AGGREGATE_TYPE, id, patchedTruckDTO);
+        return new VersionedDTO<>(patchedTruckDTO, patchedTruck.version());
     }
 
     /**
      * Deletes a truck with the specified ID.
+     * The truck is deleted from the VEHICLE and TRUCK tables with a single statement, whose row count tells
+     * whether it existed, without loading it first.
      *
      * @param id the ID of the truck to delete
      * @return true if the truck was deleted successfully, false otherwise
@@ -95,10 +373,112 @@ public class TruckRepositoryAdapter implements IRepositoryPort<TruckDTO, Long> {
     @CacheEvict(key = "#id")
     @Transactional
     public boolean delete(Long id) {
-        if(truckRepository.existsById(id)) {
-            truckRepository.deleteById(id);
-            return !truckRepository.existsById(id);
+        if (truckRepository.deleteRowsById(id) == 0) {
+            throw new TruckNotFoundException(id);
+        }
+        outboxWriter.recordDeleted(AGGREGATE_TYPE, id);
+        idFilter.recordDeleted(id);
+        listCache.invalidate();
+        return true;
+    }
+
+    /**
+     * Deletes many trucks by their IDs in chunks, the trucks of each chunk found and locked with one query, then
+     * deleted with a single statement across the VEHICLE and TRUCK tables instead of loading and deleting every truck
+     * on its own. The deleted trucks are evicted from the cache in a single round trip once the transaction commits.
+     *
+     * @param ids the IDs of the trucks to delete
+     * @return the IDs of the deleted trucks and the IDs no truck was found for, both in the order of the given IDs
+     */
+    @Override
+    @Transactional
+    public BulkDeleteDTO<Long> deleteAllById(Collection<Long> ids) {
+        List<Long> distinctIds = ids.stream().distinct().toList();
+        Set<Long> deletedIdSet = new HashSet<>();
+        for (int from = 0; from < distinctIds.size(); from += deleteChunkSize) {
+            List<Long> lockedIds = truckRepository.lockIdsByIdIn(
+                    distinctIds.subList(from, Math.min(from + deleteChunkSize, distinctIds.size())));
+            if (!lockedIds.isEmpty()) {
+                truckRepository.deleteRowsByIdIn(lockedIds);
+                deletedIdSet.addAll(lockedIds);
+            }
+        }
+        List<Long> deletedIds = new ArrayList<>(deletedIdSet.size());
+        List<Long> missingIds = new ArrayList<>();
+        for (Long id : distinctIds) {
+            if (deletedIdSet.contains(id)) {
+                deletedIds.add(id);
+            } else {
+                missingIds.add(id);
+            }
+        }
+        if (!deletedIds.isEmpty()) {
+            outboxWriter.recordAllDeleted(AGGREGATE_TYPE, deletedIds);
+            deletedIds.forEach(idFilter::recordDeleted);
+            BatchCache.evictAll(cacheManager.getCache(CACHE_NAME), deletedIds);
+            listCache.invalidate();
+        }
+        return new BulkDeleteDTO<>(deletedIds, missingIds);
+    }
+
+    /**
+     * Retrieves the number of trucks estimated by the database statistics.
+     *
+     * @return the estimated number of trucks, or null if the statistics are not available yet
+     */
+    private Long estimateTotal() {
+        Long estimatedCount = truckRepository.estimateCount();
+        return estimatedCount == null || estimatedCount < 0 ? null : estimatedCount;
+    }
+
+    /**
+     * Saves a chunk of TruckEntity objects, flushes it to the database and detaches it from the persistence context.
+     *
+     * @param truckEntityChunk the chunk to be saved, which is emptied afterwards
+     * @param savedTruckDTOs   the list the saved trucks are appended to
+     * @param savedVersions    the map the versions of the saved trucks are put into, keyed by ID
+     */
+    private void saveChunk(List<TruckEntity> truckEntityChunk, List<TruckDTO> savedTruckDTOs,
+                           Map<Long, Long> savedVersions) {
+        if (truckEntityChunk.isEmpty()) {
+            return;
+        }
+        attachVersions(truckEntityChunk);
+        List<TruckEntity> savedTruckEntities = ConcurrentUpdates.failOnConcurrentUpdate(() -> {
+            List<TruckEntity> savedTruckEntityChunk = truckRepository.saveAll(truckEntityChunk);
+            entityManager.flush();
+            return savedTruckEntityChunk;
+        });
+        savedTruckEntities.forEach(savedTruckEntity -> {
+            savedTruckDTOs.add(conversionService.convert(savedTruckEntity, TruckDTO.class));
+            savedVersions.put(savedTruckEntity.getId(), savedTruckEntity.getVersion());
+        });
+        entityManager.clear();
+        truckEntityChunk.clear();
+    }
+
+    /**
+     * Copies the current versions of the given trucks onto them, so that they are merged into the rows they update, and
+     * clears the IDs no truck has, so that they are inserted as new trucks. The current trucks are loaded with a single
+     * query into the persistence context, where the merge then finds them without querying again.
+     *
+     * @param truckEntities the trucks about to be saved
+     */
+    private void attachVersions(List<TruckEntity> truckEntities) {
+        List<Long> ids = truckEntities.stream().map(TruckEntity::getId).filter(Objects::nonNull).toList();
+        if (ids.isEmpty()) {
+            return;
         }
-        throw new TruckNotFoundException(id);
+        Map<Long, Long> currentVersions = new HashMap<>();
+        truckRepository.findAllById(ids).forEach(currentTruckEntity ->
+                currentVersions.put(currentTruckEntity.getId(), currentTruckEntity.getVersion()));
+        truckEntities.forEach(truckEntity -> {
+            if (truckEntity.getId() != null) {
+                truckEntity.setVersion(currentVersions.get(truckEntity.getId()));
+                if (truckEntity.getVersion() == null) {
+                    truckEntity.setId(null);
+                }
+            }
+        });
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,17 @@
+package com.register.vehicletype.adapter.db.outbox;
+
+/**
+ * The OutboxEventType enum defines the kinds of vehicle events recorded in the outbox.
+ */
+public enum OutboxEventType {
+
+    /**
+     * A vehicle was saved, the payload holds the saved vehicle.
+     */
+    SAVED,
+
+    /**
+     * A vehicle was deleted, the payload is empty.
+     */
+    DELETED
+}
@@ -0,0 +1,158 @@
+package com.register.vehicletype.adapter.db.outbox;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.register.vehicletype.adapter.db.entity.OutboxEntity;
+import com.register.vehicletype.adapter.db.repository.OutboxRepository;
+import com.register.vehicletype.adapter.db.transaction.TransactionCallbacks;
+import com.register.vehicletype.domain.event.VehicleChangedEvent;
+import com.register.vehicletype.domain.event.VehicleDeletedEvent;
+import com.register.vehicletype.domain.event.VehicleSavedEvent;
+import com.register.vehicletype.domain.event.bus.AsyncVehicleEventBus;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * The OutboxRelay class drains the outbox in the background and delivers the recorded events to the listeners of the
+ * vehicle event bus. Every batch is locked with {@code FOR UPDATE SKIP LOCKED}, delivered on the relay thread, and
+ * deleted in the same transaction only once every listener has handled it, so several nodes can drain the outbox at
+ * once and no event is lost if a node stops halfway. An event is delivered again if a listener fails or the
+ * transaction fails to commit, and parked with the FAILED status once it has failed {@code maxAttempts} times.
+ * The failed deliveries are counted in a transaction of their own when the batch rolls back, so a batch that keeps
+ * failing to commit still parks its failing events.
+ * An event whose payload cannot be read is parked right away.
+ */
+public class OutboxRelay {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(OutboxRelay.class);
+
+    private final OutboxRepository outboxRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final TransactionTemplate failedAttemptsTransaction;
+    private final ObjectMapper objectMapper;
+    private final AsyncVehicleEventBus vehicleEventBus;
+    private final Map<String, Class<?>> payloadTypes;
+    private final int batchSize;
+    private final int maxAttempts;
+
+    /**
+     * The OutboxRelay class drains the outbox in the background and delivers the recorded events to the listeners
+     * of the vehicle event bus.
+     *
+     * @param outboxRepository    the repository of the outbox
+     * @param transactionTemplate the template running every batch in its own transaction
+     * @param objectMapper        the object mapper used to read the payloads
+     * @param vehicleEventBus     the event bus whose listeners the events are delivered to
+     * @param payloadTypes        the type of the payload of every aggregate type
+     * @param batchSize           the maximum number of events relayed per transaction
+     * @param maxAttempts         the number of failed deliveries after which an event is parked
+     */
+    public OutboxRelay(OutboxRepository outboxRepository, TransactionTemplate transactionTemplate,
+                       ObjectMapper objectMapper, AsyncVehicleEventBus vehicleEventBus,
+                       Map<String, Class<?>> payloadTypes, int batchSize, int maxAttempts) {
+        this.outboxRepository = outboxRepository;
+        this.transactionTemplate = transactionTemplate;
+        this.failedAttemptsTransaction = new TransactionTemplate(transactionTemplate.getTransactionManager());
+        this.failedAttemptsTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.objectMapper = objectMapper;
+        this.vehicleEventBus = vehicleEventBus;
+        this.payloadTypes = payloadTypes;
+        this.batchSize = batchSize;
+        this.maxAttempts = maxAttempts;
+    }
+
+    /**
+     * Relays batches of events until the outbox holds fewer pending events than a full batch, or an event fails to be
+     * delivered, in which case it is retried on the next run rather than right away.
+     */
+    @Scheduled(fixedDelayString = "${vehicletype.outbox.relay-delay}")
+    public void relay() {
+        Integer relayedEvents;
+        do {
+            relayedEvents = transactionTemplate.execute(status -> relayBatch());
+        } while (relayedEvents != null && relayedEvents == batchSize);
+    }
+
+    /**
+     * Delivers a batch of pending events and deletes the delivered ones. When the delivery of the batch fails as a
+     * whole, its events are delivered one by one, so a single failing event neither holds up nor fails the others.
+     * A failure to delete the delivered events fails the transaction, so they are delivered again on the next run.
+     *
+     * @return the number of events that left the pending state, either delivered or parked
+     */
+    int relayBatch() {
+        List<OutboxEntity> outboxEntities = outboxRepository.lockOldestPending(batchSize);
+        List<OutboxEntity> readEntities = new ArrayList<>(outboxEntities.size());
+        List<VehicleChangedEvent<?>> events = new ArrayList<>(outboxEntities.size());
+        for (OutboxEntity outboxEntity : outboxEntities) {
+            try {
+                events.add(toEvent(outboxEntity));
+                readEntities.add(outboxEntity);
+            } catch (JsonProcessingException | IllegalArgumentException exception) {
+                LOGGER.error("Parking unreadable outbox event {}.", outboxEntity, exception);
+                outboxEntity.park();
+            }
+        }
+        try {
+            vehicleEventBus.deliver(events);
+        } catch (RuntimeException exception) {
+            LOGGER.warn("Failed to deliver a batch of {} outbox events, delivering them one by one.", events.size(),
+                    exception);
+            int failedEvents = readEntities.size() - relayOneByOne(readEntities, events);
+            return outboxEntities.size() - failedEvents;
+        }
+        outboxRepository.deleteAllInBatch(readEntities);
+        return outboxEntities.size();
+    }
+
+    private int relayOneByOne(List<OutboxEntity> outboxEntities, List<VehicleChangedEvent<?>> events) {
+        List<OutboxEntity> deliveredEntities = new ArrayList<>(outboxEntities.size());
+        List<Long> failedIds = new ArrayList<>();
+        for (int i = 0; i < outboxEntities.size(); i++) {
+            OutboxEntity outboxEntity = outboxEntities.get(i);
+            try {
+                vehicleEventBus.deliver(List.of(events.get(i)));
+                deliveredEntities.add(outboxEntity);
+            } catch (RuntimeException exception) {
+                outboxEntity.recordFailedAttempt(maxAttempts);
+                failedIds.add(outboxEntity.getId());
+                LOGGER.error("Failed to deliver outbox event {}.", outboxEntity, exception);
+            }
+        }
+        if (!failedIds.isEmpty()) {
+            TransactionCallbacks.afterRollback(() -> recordFailedAttempts(failedIds));
+        }
+        outboxRepository.deleteAllInBatch(deliveredEntities);
+        return deliveredEntities.size();
+    }
+
+    /**
+     * Records a failed delivery of every given event in a new transaction, the one of the batch having rolled back.
+     */
+    private void recordFailedAttempts(List<Long> ids) {
+        try {
+            failedAttemptsTransaction.executeWithoutResult(status -> outboxRepository.findAllById(ids)
+                    .forEach(outboxEntity -> outboxEntity.recordFailedAttempt(maxAttempts)));
+        } catch (RuntimeException exception) {
+            LOGGER.error("Failed to record the failed deliveries of outbox events {}.", ids, exception);
+        }
+    }
+
+    private VehicleChangedEvent<?> toEvent(OutboxEntity outboxEntity) throws JsonProcessingException {
+        Class<?> payloadType = payloadTypes.get(outboxEntity.getAggregateType());
+        if (payloadType == null) {
+            throw new IllegalArgumentException("Unknown aggregate type " + outboxEntity.getAggregateType());
+        }
+        return switch (outboxEntity.getEventType()) {
+            case SAVED -> new VehicleSavedEvent<>(this, objectMapper.readValue(outboxEntity.getPayload(), payloadType));
+            case DELETED -> new VehicleDeletedEvent<>(this, outboxEntity.getAggregateId(), payloadType);
+        };
+    }
+}
@@ -0,0 +1,17 @@
+package com.register.vehicletype.adapter.db.outbox;
+
+/**
+ * The OutboxStatus enum defines the states of an event recorded in the outbox.
+ */
+public enum OutboxStatus {
+
+    /**
+     * The event waits to be delivered to the listeners.
+     */
+    PENDING,
+
+    /**
+     * The event could not be read or kept failing to be delivered, and is parked in the outbox for inspection.
+     */
+    FAILED
+}
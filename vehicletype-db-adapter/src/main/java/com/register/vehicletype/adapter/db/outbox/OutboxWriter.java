@@ -0,0 +1,85 @@
+package com.register.vehicletype.adapter.db.outbox;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.register.vehicletype.adapter.db.entity.OutboxEntity;
+import com.register.vehicletype.adapter.db.repository.OutboxRepository;
+
+import java.io.UncheckedIOException;
+import java.util.Collection;
+import java.util.Map;
+
+/**
+ * The OutboxWriter class records the vehicle events in the outbox. It must be called inside the transaction of the
+ * change the event describes, so the event is stored if and only if the change is committed.
+ */
+public class OutboxWriter {
+
+    private final OutboxRepository outboxRepository;
+    private final ObjectMapper objectMapper;
+
+    /**
+     * The OutboxWriter class records the vehicle events in the outbox.
+     *
+     * @param outboxRepository the repository of the outbox
+     * @param objectMapper     the object mapper used to write the payloads as JSON
+     */
+    public OutboxWriter(OutboxRepository outboxRepository, ObjectMapper objectMapper) {
+        this.outboxRepository = outboxRepository;
+        this.objectMapper = objectMapper;
+    }
+
+    /**
+     * Records that a vehicle was saved.
+     *
+     * @param aggregateType the type of the vehicle
+     * @param aggregateId   the ID of the vehicle
+     * @param vehicle       the saved vehicle
+     */
+    public void recordSaved(String aggregateType, Long aggregateId, Object vehicle) {
+        outboxRepository.save(new OutboxEntity(aggregateType, aggregateId, OutboxEventType.SAVED, toJson(vehicle)));
+    }
+
+    /**
+     * Records that many vehicles were saved, as one event per vehicle sent to the database in JDBC batches.
+     *
+     * @param aggregateType the type of the vehicles
+     * @param vehicles      the saved vehicles, keyed by ID
+     */
+    public void recordAllSaved(String aggregateType, Map<Long, ?> vehicles) {
+        outboxRepository.saveAll(vehicles.entrySet().stream()
+                .map(vehicle -> new OutboxEntity(aggregateType, vehicle.getKey(), OutboxEventType.SAVED,
+                        toJson(vehicle.getValue())))
+                .toList());
+    }
+
+    /**
+     * Records that a vehicle was deleted.
+     *
+     * @param aggregateType the type of the vehicle
+     * @param aggregateId   the ID of the deleted vehicle
+     */
+    public void recordDeleted(String aggregateType, Long aggregateId) {
+        outboxRepository.save(new OutboxEntity(aggregateType, aggregateId, OutboxEventType.DELETED, null));
+    }
+
+    /**
+     * Records that many vehicles were deleted, as one event per vehicle sent to the database in JDBC batches.
+     *
+     * @param aggregateType the type of the vehicles
+     * @param aggregateIds  the IDs of the deleted vehicles
+     */
+    public void recordAllDeleted(String aggregateType, Collection<Long> aggregateIds) {
+        outboxRepository.saveAll(aggregateIds.stream()
+                .map(aggregateId -> new OutboxEntity(aggregateType, aggregateId, OutboxEventType.DELETED, null))
+                .toList());
+    }
+
+    private String toJson(Object payload) {
+        try {
+            return objectMapper.writeValueAsString(payload);
+        } catch (JsonProcessingException exception) {
+            throw new UncheckedIOException(exception);
+        }
+    }
+}
@@ -0,0 +1,58 @@
+package com.register.vehicletype.adapter.db.patch;
+
+import com.register.vehicletype.domain.exception.InvalidPatchException;
+
+/**
+ * The PatchColumn record maps a field of a vehicle to the column holding it, and converts the values of the field
+ * between the types a partial update is read as and the type of the column.
+ *
+ * @param column the name of the column
+ * @param type   the type of the values of the column, one of String, Integer, Double and Boolean
+ */
+public record PatchColumn(String column, Class<?> type) {
+
+    /**
+     * Converts the value a partial update gives the field to the type of the column. A value is rejected if it is
+     * null, a blank string, or cannot be converted without losing precision.
+     *
+     * @param field the name of the field
+     * @param value the value given to the field
+     * @return the value converted to the type of the column
+     * @throws InvalidPatchException if the value cannot be written to the column
+     */
+    public Object fromField(String field, Object value) {
+        if (value == null) {
+            throw new InvalidPatchException(field + " cannot be null");
+        }
+        if (type == String.class && value instanceof String string && !string.isBlank()) {
+            return string;
+        }
+        if (type == Integer.class && (value instanceof Integer || value instanceof Long longValue
+                && longValue == longValue.intValue())) {
+            return ((Number) value).intValue();
+        }
+        if (type == Double.class && value instanceof Number number) {
+            return number.doubleValue();
+        }
+        if (type == Boolean.class && value instanceof Boolean) {
+            return value;
+        }
+        throw new InvalidPatchException(field + " must be a non-empty " + type.getSimpleName() + ", got " + value);
+    }
+
+    /**
+     * Converts the value read from the column to the type of the field, whichever numeric type the driver read it as.
+     *
+     * @param value the value read from the column
+     * @return the value converted to the type of the field, or null if the column is null
+     */
+    public Object fromColumn(Object value) {
+        if (value instanceof Number number && type == Integer.class) {
+            return number.intValue();
+        }
+        if (value instanceof Number number && type == Double.class) {
+            return number.doubleValue();
+        }
+        return value;
+    }
+}
@@ -0,0 +1,24 @@
+package com.register.vehicletype.adapter.db.patch;
+
+import java.util.Map;
+
+/**
+ * The PatchedVehicle record holds the values of a vehicle as they are once a partial update has been applied.
+ *
+ * @param values  the values of all the fields of the vehicle, keyed by field name
+ * @param version the version of the vehicle written by the partial update
+ */
+public record PatchedVehicle(Map<String, Object> values, long version) {
+
+    /**
+     * Returns the value of the given field.
+     *
+     * @param field the name of the field
+     * @param type  the type of the value
+     * @param <V>   the type of the value
+     * @return the value of the field
+     */
+    public <V> V value(String field, Class<V> type) {
+        return type.cast(values.get(field));
+    }
+}
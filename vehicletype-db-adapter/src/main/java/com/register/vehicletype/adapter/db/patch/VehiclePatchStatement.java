@@ -0,0 +1,148 @@
+package com.register.vehicletype.adapter.db.patch;
+
+import com.register.vehicletype.domain.exception.InvalidPatchException;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.Query;
+
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.StringJoiner;
+import java.util.stream.Collectors;
+
+/**
+ * The VehiclePatchStatement class applies a partial update to a vehicle of one type with a single statement, which
+ * sets only the given columns instead of merging the whole vehicle. The VEHICLE table is always updated, since it
+ * holds the version the update increments, and the table of the type only when one of its fields is given. The
+ * statement returns every value of the patched vehicle, the ones of the untouched table being read by ID within the
+ * same statement, so no query is needed before or after it. The columns are set in a fixed order, so that a given
+ * set of fields always produces the same statement.
+ */
+public class VehiclePatchStatement {
+
+    private static final String VEHICLE_TABLE = "vehicle";
+    private static final Map<String, PatchColumn> VEHICLE_COLUMNS = new LinkedHashMap<>();
+
+    static {
+        VEHICLE_COLUMNS.put("make", new PatchColumn("make", String.class));
+        VEHICLE_COLUMNS.put("model", new PatchColumn("model", String.class));
+        VEHICLE_COLUMNS.put("year", new PatchColumn("year", Integer.class));
+    }
+
+    private final String table;
+    private final Map<String, PatchColumn> columns;
+
+    /**
+     * The VehiclePatchStatement class applies a partial update to a vehicle of one type with a single statement.
+     *
+     * @param table   the name of the table of the type
+     * @param columns the columns of the table of the type, keyed by the name of their field, in a fixed order
+     */
+    public VehiclePatchStatement(String table, Map<String, PatchColumn> columns) {
+        this.table = table;
+        this.columns = new LinkedHashMap<>(columns);
+    }
+
+    /**
+     * Sets the given fields of the vehicle with the given ID and increments its version, provided the vehicle is of
+     * the type of this statement and, if a version is expected, at that version.
+     *
+     * @param entityManager   the entity manager the statement is executed with
+     * @param id              the ID of the vehicle
+     * @param fields          the new values of the fields to set, keyed by field name
+     * @param expectedVersion the version the vehicle must be at, or null to update it at any version
+     * @return the values of the patched vehicle and its new version, or null if no vehicle of the type has the ID
+     *         at the expected version
+     * @throws InvalidPatchException if no field is given, or a field is unknown or given an invalid value
+     */
+    public PatchedVehicle execute(EntityManager entityManager, Long id, Map<String, Object> fields,
+                                  Long expectedVersion) {
+        if (fields.isEmpty()) {
+            throw new InvalidPatchException("no field to update");
+        }
+        fields.keySet().forEach(field -> {
+            if (!VEHICLE_COLUMNS.containsKey(field) && !columns.containsKey(field)) {
+                throw new InvalidPatchException("unknown field " + field);
+            }
+        });
+        Map<String, PatchColumn> vehicleColumns = touched(VEHICLE_COLUMNS, fields);
+        Map<String, PatchColumn> typeColumns = touched(columns, fields);
+        Query query = entityManager.createNativeQuery(sql(vehicleColumns, typeColumns, expectedVersion != null));
+        query.setParameter("id", id);
+        bind(query, vehicleColumns, fields);
+        bind(query, typeColumns, fields);
+        if (expectedVersion != null) {
+            query.setParameter("expectedVersion", expectedVersion);
+        }
+        List<?> rows = query.getResultList();
+        if (rows.isEmpty()) {
+            return null;
+        }
+        Object[] row = (Object[]) rows.getFirst();
+        Map<String, Object> values = new HashMap<>();
+        int index = 0;
+        for (Map.Entry<String, PatchColumn> column : VEHICLE_COLUMNS.entrySet()) {
+            values.put(column.getKey(), column.getValue().fromColumn(row[index++]));
+        }
+        for (Map.Entry<String, PatchColumn> column : columns.entrySet()) {
+            values.put(column.getKey(), column.getValue().fromColumn(row[index++]));
+        }
+        return new PatchedVehicle(values, ((Number) row[index]).longValue());
+    }
+
+    /**
+     * Builds the statement setting the given columns. The VEHICLE row is updated first, on the conditions of the
+     * vehicle being of the type and at the expected version, and the row of the type is only updated if the
+     * VEHICLE row was.
+     *
+     * @param vehicleColumns the columns of the VEHICLE table to set, keyed by field name
+     * @param typeColumns    the columns of the table of the type to set, keyed by field name
+     * @param versioned      whether the vehicle must be at the expected version
+     * @return the statement returning the values of the patched vehicle and its new version
+     */
+    String sql(Map<String, PatchColumn> vehicleColumns, Map<String, PatchColumn> typeColumns, boolean versioned) {
+        StringJoiner vehicleAssignments = new StringJoiner(", ", "", ", ");
+        vehicleAssignments.setEmptyValue("");
+        vehicleColumns.forEach((field, column) -> vehicleAssignments.add(column.column() + " = :" + field));
+        StringBuilder sql = new StringBuilder("WITH patched_vehicle AS (UPDATE ").append(VEHICLE_TABLE)
+                .append(" SET ").append(vehicleAssignments).append("version = version + 1 WHERE id = :id")
+                .append(versioned ? " AND version = :expectedVersion" : "")
+                .append(" AND EXISTS (SELECT 1 FROM ").append(table).append(" WHERE ").append(table)
+                .append(".id = ").append(VEHICLE_TABLE).append(".id) RETURNING id, ")
+                .append(columnNames(VEHICLE_COLUMNS)).append(", version)");
+        String typeSource = table;
+        if (!typeColumns.isEmpty()) {
+            StringJoiner typeAssignments = new StringJoiner(", ");
+            typeColumns.forEach((field, column) -> typeAssignments.add(column.column() + " = :" + field));
+            typeSource = "patched_" + table;
+            sql.append(", ").append(typeSource).append(" AS (UPDATE ").append(table).append(" SET ")
+                    .append(typeAssignments).append(" WHERE id IN (SELECT id FROM patched_vehicle) RETURNING id, ")
+                    .append(columnNames(columns)).append(")");
+        }
+        StringJoiner selected = new StringJoiner(", ");
+        VEHICLE_COLUMNS.values().forEach(column -> selected.add("v." + column.column()));
+        columns.values().forEach(column -> selected.add("t." + column.column()));
+        selected.add("v.version");
+        return sql.append(" SELECT ").append(selected).append(" FROM patched_vehicle v JOIN ").append(typeSource)
+                .append(" t ON t.id = v.id").toString();
+    }
+
+    private static void bind(Query query, Map<String, PatchColumn> columns, Map<String, Object> fields) {
+        columns.forEach((field, column) -> query.setParameter(field, column.fromField(field, fields.get(field))));
+    }
+
+    private static String columnNames(Map<String, PatchColumn> columns) {
+        return columns.values().stream().map(PatchColumn::column).collect(Collectors.joining(", "));
+    }
+
+    private static Map<String, PatchColumn> touched(Map<String, PatchColumn> columns, Map<String, Object> fields) {
+        Map<String, PatchColumn> touchedColumns = new LinkedHashMap<>();
+        columns.forEach((field, column) -> {
+            if (fields.containsKey(field)) {
+                touchedColumns.put(field, column);
+            }
+        });
+        return touchedColumns;
+    }
+}
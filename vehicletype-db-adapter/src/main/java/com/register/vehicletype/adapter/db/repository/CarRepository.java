@@ -1,19 +1,195 @@
 package com.register.vehicletype.adapter.db.repository;
 
 import com.register.vehicletype.adapter.db.entity.CarEntity;
+import com.register.vehicletype.domain.dto.CarDTO;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 
 import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
 
 /**
  * The CarRepository interface provides methods for accessing and manipulating car entities in a repository.
  */
 public interface CarRepository extends JpaRepository<CarEntity, Long> {
 
+    String STREAM_FETCH_SIZE = "500";
+    String ID_STREAM_FETCH_SIZE = "10000";
+    String DTO_SELECT = "select new com.register.vehicletype.domain.dto.CarDTO(v.id, v.make, v.model, v.year, "
+            + "v.numberOfDoors) from CarEntity v";
+
     /**
      * Retrieves a collection of CarEntity objects from the repository, ordered by make in ascending order.
      *
      * @return the collection of CarEntity objects ordered by make
      */
     Collection<CarEntity> findAllByOrderByMakeAsc();
-}
\ No newline at end of file
+
+    /**
+     * Retrieves the car with the given ID, built straight into a CarDTO record by a constructor expression. No
+     * entity is loaded into the persistence context, so there is nothing to snapshot for dirty checking or to convert.
+     *
+     * @param id the ID of the car
+     * @return the CarDTO record of the car, or empty if no car has the given ID
+     */
+    @Query(DTO_SELECT + " where v.id = :id")
+    Optional<CarDTO> findDTOById(@Param("id") Long id);
+
+    /**
+     * Retrieves the cars with the given IDs, built straight into CarDTO records by a constructor expression.
+     *
+     * @param ids the IDs of the cars
+     * @return the CarDTO records of the cars found, in no particular order
+     */
+    @Query(DTO_SELECT + " where v.id in :ids")
+    List<CarDTO> findDTOsByIdIn(@Param("ids") Collection<Long> ids);
+
+    /**
+     * Retrieves the first cars ordered by make and ID in ascending order, built straight into CarDTO records.
+     *
+     * @param limit the maximum number of cars to return
+     * @return the list of CarDTO records ordered by make and ID
+     */
+    @Query(DTO_SELECT + " order by v.make asc, v.id asc")
+    List<CarDTO> findDTOsOrderByMakeAscIdAsc(Limit limit);
+
+    /**
+     * Retrieves the cars positioned after the given make and ID, ordered by make and ID in ascending order, built
+     * straight into CarDTO records.
+     * The row value comparison lets PostgreSQL seek on the (make, id) index instead of skipping over the previous rows.
+     *
+     * @param make  the make of the last object of the previous page
+     * @param id    the ID of the last object of the previous page
+     * @param limit the maximum number of objects to return
+     * @return the list of CarDTO records positioned after the given make and ID
+     */
+    @Query(DTO_SELECT + " where (v.make, v.id) > (:make, :id) order by v.make asc, v.id asc")
+    List<CarDTO> findDTOsAfterOrderByMakeAscIdAsc(@Param("make") String make, @Param("id") Long id, Limit limit);
+
+    /**
+     * Retrieves a slice of cars built straight into CarDTO records, sorted as the pageable requests. No count query
+     * is executed, one extra row is read instead to know whether a next slice exists.
+     *
+     * @param pageable the page number, size and sort of the slice
+     * @return the slice of CarDTO records
+     */
+    @Query(DTO_SELECT)
+    Slice<CarDTO> findDTOsBy(Pageable pageable);
+
+    /**
+     * Retrieves the number of rows of the CAR table estimated by the PostgreSQL planner statistics.
+     * The value is refreshed by ANALYZE and autovacuum and is negative if the table has never been analyzed.
+     *
+     * @return the estimated number of cars
+     */
+    @Query(value = "SELECT CAST(reltuples AS BIGINT) FROM pg_class WHERE oid = to_regclass('car')", nativeQuery = true)
+    Long estimateCount();
+
+    /**
+     * Streams all the cars ordered by make and ID in ascending order, built straight into CarDTO records.
+     * The rows are read through a server side cursor, {@link #STREAM_FETCH_SIZE} at a time, so the stream must be
+     * consumed inside a transaction and closed afterwards.
+     *
+     * @return the stream of CarDTO records ordered by make and ID
+     */
+    @Query(DTO_SELECT + " order by v.make asc, v.id asc")
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = STREAM_FETCH_SIZE))
+    Stream<CarDTO> streamDTOsOrderByMakeAscIdAsc();
+
+    /**
+     * Streams the IDs of all the cars, straight from the CAR table without joining the VEHICLE table.
+     * The stream must be consumed inside a transaction and closed afterwards.
+     *
+     * @return the stream of the IDs of all the cars
+     */
+    @Query(value = "SELECT id FROM car", nativeQuery = true)
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = ID_STREAM_FETCH_SIZE))
+    Stream<Long> streamAllIds();
+
+    /**
+     * Retrieves the IDs of the most recently registered cars, straight from the CAR table without joining the
+     * VEHICLE table.
+     *
+     * @param limit the maximum number of IDs to return
+     * @return the IDs of the most recently registered cars, the most recent first
+     */
+    @Query(value = "SELECT id FROM car ORDER BY id DESC LIMIT :limit", nativeQuery = true)
+    List<Long> findRecentIds(@Param("limit") int limit);
+
+    /**
+     * Deletes the car with the given ID from the CAR and VEHICLE tables in a single statement, without loading it
+     * first. The foreign key from CAR to VEHICLE is checked once both rows are gone.
+     *
+     * @param id the ID of the car to delete
+     * @return the number of rows deleted from the VEHICLE table, 0 if no car has the given ID
+     */
+    @Modifying
+    @Query(value = "WITH deleted_car AS (DELETE FROM car WHERE id = :id RETURNING id) "
+            + "DELETE FROM vehicle WHERE id IN (SELECT id FROM deleted_car)", nativeQuery = true)
+    int deleteRowsById(@Param("id") Long id);
+
+    /**
+     * Locks the cars with the given IDs until the end of the transaction, so that a following delete of them
+     * deletes exactly the IDs returned.
+     *
+     * @param ids the IDs of the cars to lock
+     * @return the IDs of the cars found, in no particular order
+     */
+    @Query(value = "SELECT id FROM car WHERE id IN (:ids) FOR UPDATE", nativeQuery = true)
+    List<Long> lockIdsByIdIn(@Param("ids") Collection<Long> ids);
+
+    /**
+     * Deletes the cars with the given IDs from the CAR and VEHICLE tables in a single statement, without loading
+     * them first.
+     *
+     * @param ids the IDs of the cars to delete
+     * @return the number of rows deleted from the VEHICLE table
+     */
+    @Modifying
+    @Query(value = "WITH deleted_car AS (DELETE FROM car WHERE id IN (:ids) RETURNING id) "
+            + "DELETE FROM vehicle WHERE id IN (SELECT id FROM deleted_car)", nativeQuery = true)
+    int deleteRowsByIdIn(@Param("ids") Collection<Long> ids);
+
+    /**
+     * Updates the car with the given ID in the VEHICLE and CAR tables in a single statement without reading it first,
+     * only if any of the values differ, so re-sending an unchanged car writes nothing and keeps its version. No row is
+     * inserted, whatever the ID.
+     *
+     * @param id            the ID of the car
+     * @param make          the make of the car
+     * @param model         the model of the car
+     * @param year          the year of the car
+     * @param numberOfDoors the number of doors of the car
+     * @return the number of cars updated, 0 if no car has the given ID or if it is unchanged
+     */
+    @Modifying
+    @Query(value = "WITH updated_vehicle AS (UPDATE vehicle SET make = :make, model = :model, year = :year, "
+            + "version = vehicle.version + 1 "
+            + "WHERE vehicle.id = :id AND EXISTS (SELECT 1 FROM car WHERE car.id = vehicle.id "
+            + "AND (vehicle.make, vehicle.model, vehicle.year, car.number_of_doors) IS DISTINCT FROM "
+            + "(CAST(:make AS VARCHAR), CAST(:model AS VARCHAR), CAST(:year AS INTEGER), "
+            + "CAST(:numberOfDoors AS INTEGER))) RETURNING vehicle.id) "
+            + "UPDATE car SET number_of_doors = CAST(:numberOfDoors AS INTEGER) "
+            + "WHERE car.id IN (SELECT id FROM updated_vehicle)", nativeQuery = true)
+    int updateRowIfChanged(@Param("id") Long id, @Param("make") String make, @Param("model") String model,
+                           @Param("year") Integer year, @Param("numberOfDoors") Integer numberOfDoors);
+
+    /**
+     * Retrieves the version of the car with the given ID, without loading it into the persistence context.
+     *
+     * @param id the ID of the car
+     * @return the version of the car, or empty if no car has the given ID
+     */
+    @Query("select v.version from CarEntity v where v.id = :id")
+    Optional<Long> findVersionById(@Param("id") Long id);
+}
@@ -1,9 +1,22 @@
 package com.register.vehicletype.adapter.db.repository;
 
 import com.register.vehicletype.adapter.db.entity.MotorcycleEntity;
+import com.register.vehicletype.domain.dto.MotorcycleDTO;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 
 import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
 
 /**
  * The MotorcycleRepository interface extends the JpaRepository interface and provides additional methods
@@ -11,10 +24,176 @@ import java.util.Collection;
  */
 public interface MotorcycleRepository extends JpaRepository<MotorcycleEntity, Long> {
 
+    String STREAM_FETCH_SIZE = "500";
+    String ID_STREAM_FETCH_SIZE = "10000";
+    String DTO_SELECT = "select new com.register.vehicletype.domain.dto.MotorcycleDTO(v.id, v.make, v.model, v.year, "
+            + "v.hasSidecar) from MotorcycleEntity v";
+
     /**
      * Retrieves a collection of MotorcycleEntity objects from the repository, ordered by the make property in ascending order.
      *
      * @return the collection of MotorcycleEntity objects ordered by make in ascending order
      */
     Collection<MotorcycleEntity> findAllByOrderByMakeAsc();
-}
\ No newline at end of file
+
+    /**
+     * Retrieves the motorcycle with the given ID, built straight into a MotorcycleDTO record by a constructor
+     * expression. No entity is loaded into the persistence context, so there is nothing to snapshot for dirty checking
+     * or to convert.
+     *
+     * @param id the ID of the motorcycle
+     * @return the MotorcycleDTO record of the motorcycle, or empty if no motorcycle has the given ID
+     */
+    @Query(DTO_SELECT + " where v.id = :id")
+    Optional<MotorcycleDTO> findDTOById(@Param("id") Long id);
+
+    /**
+     * Retrieves the motorcycles with the given IDs, built straight into MotorcycleDTO records by a constructor
+     * expression.
+     *
+     * @param ids the IDs of the motorcycles
+     * @return the MotorcycleDTO records of the motorcycles found, in no particular order
+     */
+    @Query(DTO_SELECT + " where v.id in :ids")
+    List<MotorcycleDTO> findDTOsByIdIn(@Param("ids") Collection<Long> ids);
+
+    /**
+     * Retrieves the first motorcycles ordered by make and ID in ascending order, built straight into MotorcycleDTO
+     * records.
+     *
+     * @param limit the maximum number of motorcycles to return
+     * @return the list of MotorcycleDTO records ordered by make and ID
+     */
+    @Query(DTO_SELECT + " order by v.make asc, v.id asc")
+    List<MotorcycleDTO> findDTOsOrderByMakeAscIdAsc(Limit limit);
+
+    /**
+     * Retrieves the motorcycles positioned after the given make and ID, ordered by make and ID in ascending order,
+     * built straight into MotorcycleDTO records. The row value comparison lets PostgreSQL seek on the (make, id) index
+     * instead of skipping over the previous rows.
+     *
+     * @param make  the make of the last object of the previous page
+     * @param id    the ID of the last object of the previous page
+     * @param limit the maximum number of objects to return
+     * @return the list of MotorcycleDTO records positioned after the given make and ID
+     */
+    @Query(DTO_SELECT + " where (v.make, v.id) > (:make, :id) order by v.make asc, v.id asc")
+    List<MotorcycleDTO> findDTOsAfterOrderByMakeAscIdAsc(@Param("make") String make, @Param("id") Long id, Limit limit);
+
+    /**
+     * Retrieves a slice of motorcycles built straight into MotorcycleDTO records, sorted as the pageable requests. No
+     * count query is executed, one extra row is read instead to know whether a next slice exists.
+     *
+     * @param pageable the page number, size and sort of the slice
+     * @return the slice of MotorcycleDTO records
+     */
+    @Query(DTO_SELECT)
+    Slice<MotorcycleDTO> findDTOsBy(Pageable pageable);
+
+    /**
+     * Retrieves the number of rows of the MOTORCYCLE table estimated by the PostgreSQL planner statistics.
+     * The value is refreshed by ANALYZE and autovacuum and is negative if the table has never been analyzed.
+     *
+     * @return the estimated number of motorcycles
+     */
+    @Query(value = "SELECT CAST(reltuples AS BIGINT) FROM pg_class WHERE oid = to_regclass('motorcycle')", nativeQuery = true)
+    Long estimateCount();
+
+    /**
+     * Streams all the motorcycles ordered by make and ID in ascending order, built straight into MotorcycleDTO records.
+     * The rows are read through a server side cursor, {@link #STREAM_FETCH_SIZE} at a time, so the stream must be
+     * consumed inside a transaction and closed afterwards.
+     *
+     * @return the stream of MotorcycleDTO records ordered by make and ID
+     */
+    @Query(DTO_SELECT + " order by v.make asc, v.id asc")
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = STREAM_FETCH_SIZE))
+    Stream<MotorcycleDTO> streamDTOsOrderByMakeAscIdAsc();
+
+    /**
+     * Streams the IDs of all the motorcycles, straight from the MOTORCYCLE table without joining the VEHICLE table.
+     * The stream must be consumed inside a transaction and closed afterwards.
+     *
+     * @return the stream of the IDs of all the motorcycles
+     */
+    @Query(value = "SELECT id FROM motorcycle", nativeQuery = true)
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = ID_STREAM_FETCH_SIZE))
+    Stream<Long> streamAllIds();
+
+    /**
+     * Retrieves the IDs of the most recently registered motorcycles, straight from the MOTORCYCLE table without
+     * joining the VEHICLE table.
+     *
+     * @param limit the maximum number of IDs to return
+     * @return the IDs of the most recently registered motorcycles, the most recent first
+     */
+    @Query(value = "SELECT id FROM motorcycle ORDER BY id DESC LIMIT :limit", nativeQuery = true)
+    List<Long> findRecentIds(@Param("limit") int limit);
+
+    /**
+     * Deletes the motorcycle with the given ID from the MOTORCYCLE and VEHICLE tables in a single statement, without
+     * loading it first. The foreign key from MOTORCYCLE to VEHICLE is checked once both rows are gone.
+     *
+     * @param id the ID of the motorcycle to delete
+     * @return the number of rows deleted from the VEHICLE table, 0 if no motorcycle has the given ID
+     */
+    @Modifying
+    @Query(value = "WITH deleted_motorcycle AS (DELETE FROM motorcycle WHERE id = :id RETURNING id) "
+            + "DELETE FROM vehicle WHERE id IN (SELECT id FROM deleted_motorcycle)", nativeQuery = true)
+    int deleteRowsById(@Param("id") Long id);
+
+    /**
+     * Locks the motorcycles with the given IDs until the end of the transaction, so that a following delete of them
+     * deletes exactly the IDs returned.
+     *
+     * @param ids the IDs of the motorcycles to lock
+     * @return the IDs of the motorcycles found, in no particular order
+     */
+    @Query(value = "SELECT id FROM motorcycle WHERE id IN (:ids) FOR UPDATE", nativeQuery = true)
+    List<Long> lockIdsByIdIn(@Param("ids") Collection<Long> ids);
+
+    /**
+     * Deletes the motorcycles with the given IDs from the MOTORCYCLE and VEHICLE tables in a single statement, without
+     * loading them first.
+     *
+     * @param ids the IDs of the motorcycles to delete
+     * @return the number of rows deleted from the VEHICLE table
+     */
+    @Modifying
+    @Query(value = "WITH deleted_motorcycle AS (DELETE FROM motorcycle WHERE id IN (:ids) RETURNING id) "
+            + "DELETE FROM vehicle WHERE id IN (SELECT id FROM deleted_motorcycle)", nativeQuery = true)
+    int deleteRowsByIdIn(@Param("ids") Collection<Long> ids);
+
+    /**
+     * Updates the motorcycle with the given ID in the VEHICLE and MOTORCYCLE tables in a single statement without
+     * reading it first, only if any of the values differ, so re-sending an unchanged motorcycle writes nothing and
+     * keeps its version. No row is inserted, whatever the ID.
+     *
+     * @param id         the ID of the motorcycle
+     * @param make       the make of the motorcycle
+     * @param model      the model of the motorcycle
+     * @param year       the year of the motorcycle
+     * @param hasSidecar whether the motorcycle has a sidecar
+     * @return the number of motorcycles updated, 0 if no motorcycle has the given ID or if it is unchanged
+     */
+    @Modifying
+    @Query(value = "WITH updated_vehicle AS (UPDATE vehicle SET make = :make, model = :model, year = :year, "
+            + "version = vehicle.version + 1 "
+            + "WHERE vehicle.id = :id AND EXISTS (SELECT 1 FROM motorcycle WHERE motorcycle.id = vehicle.id "
+            + "AND (vehicle.make, vehicle.model, vehicle.year, motorcycle.has_sidecar) IS DISTINCT FROM "
+            + "(CAST(:make AS VARCHAR), CAST(:model AS VARCHAR), CAST(:year AS INTEGER), "
+            + "CAST(:hasSidecar AS BOOLEAN))) RETURNING vehicle.id) "
+            + "UPDATE motorcycle SET has_sidecar = CAST(:hasSidecar AS BOOLEAN) "
+            + "WHERE motorcycle.id IN (SELECT id FROM updated_vehicle)", nativeQuery = true)
+    int updateRowIfChanged(@Param("id") Long id, @Param("make") String make, @Param("model") String model,
+                           @Param("year") Integer year, @Param("hasSidecar") Boolean hasSidecar);
+
+    /**
+     * Retrieves the version of the motorcycle with the given ID, without loading it into the persistence context.
+     *
+     * @param id the ID of the motorcycle
+     * @return the version of the motorcycle, or empty if no motorcycle has the given ID
+     */
+    @Query("select v.version from MotorcycleEntity v where v.id = :id")
+    Optional<Long> findVersionById(@Param("id") Long id);
+}
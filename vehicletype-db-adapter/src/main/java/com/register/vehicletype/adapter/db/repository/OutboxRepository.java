@@ -0,0 +1,26 @@
+package com.register.vehicletype.adapter.db.repository;
+
+import com.register.vehicletype.adapter.db.entity.OutboxEntity;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.util.List;
+
+/**
+ * The OutboxRepository interface provides methods for recording and draining the vehicle events of the outbox.
+ */
+public interface OutboxRepository extends JpaRepository<OutboxEntity, Long> {
+
+    /**
+     * Locks the oldest pending OutboxEntity objects that are not locked by another transaction yet.
+     * Rows locked by another relay are skipped instead of waited for, so several nodes can drain the outbox at once.
+     * Parked rows are left out, so they never hold up the pending ones.
+     *
+     * @param limit the maximum number of objects to lock
+     * @return the locked OutboxEntity objects, oldest first
+     */
+    @Query(value = "SELECT * FROM outbox WHERE status = 'PENDING' ORDER BY id LIMIT :limit FOR UPDATE SKIP LOCKED",
+            nativeQuery = true)
+    List<OutboxEntity> lockOldestPending(@Param("limit") int limit);
+}
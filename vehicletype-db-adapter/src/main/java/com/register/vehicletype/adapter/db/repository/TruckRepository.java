@@ -1,9 +1,22 @@
 package com.register.vehicletype.adapter.db.repository;
 
 import com.register.vehicletype.adapter.db.entity.TruckEntity;
+import com.register.vehicletype.domain.dto.TruckDTO;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 
 import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
 
 /**
  * The TruckRepository interface is responsible for managing TruckEntity objects in the database.
@@ -12,10 +25,173 @@ import java.util.Collection;
  */
 public interface TruckRepository extends JpaRepository<TruckEntity, Long> {
 
+    String STREAM_FETCH_SIZE = "500";
+    String ID_STREAM_FETCH_SIZE = "10000";
+    String DTO_SELECT = "select new com.register.vehicletype.domain.dto.TruckDTO(v.id, v.make, v.model, v.year, "
+            + "v.payloadCapacity) from TruckEntity v";
+
     /**
      * Retrieves a collection of TruckEntity objects from the database, ordered by make in ascending order.
      *
      * @return Collection of TruckEntity objects ordered by make
      */
     Collection<TruckEntity> findAllByOrderByMakeAsc();
-}
\ No newline at end of file
+
+    /**
+     * Retrieves the truck with the given ID, built straight into a TruckDTO record by a constructor expression. No
+     * entity is loaded into the persistence context, so there is nothing to snapshot for dirty checking or to convert.
+     *
+     * @param id the ID of the truck
+     * @return the TruckDTO record of the truck, or empty if no truck has the given ID
+     */
+    @Query(DTO_SELECT + " where v.id = :id")
+    Optional<TruckDTO> findDTOById(@Param("id") Long id);
+
+    /**
+     * Retrieves the trucks with the given IDs, built straight into TruckDTO records by a constructor expression.
+     *
+     * @param ids the IDs of the trucks
+     * @return the TruckDTO records of the trucks found, in no particular order
+     */
+    @Query(DTO_SELECT + " where v.id in :ids")
+    List<TruckDTO> findDTOsByIdIn(@Param("ids") Collection<Long> ids);
+
+    /**
+     * Retrieves the first trucks ordered by make and ID in ascending order, built straight into TruckDTO records.
+     *
+     * @param limit the maximum number of trucks to return
+     * @return the list of TruckDTO records ordered by make and ID
+     */
+    @Query(DTO_SELECT + " order by v.make asc, v.id asc")
+    List<TruckDTO> findDTOsOrderByMakeAscIdAsc(Limit limit);
+
+    /**
+     * Retrieves the trucks positioned after the given make and ID, ordered by make and ID in ascending order, built
+     * straight into TruckDTO records.
+     * The row value comparison lets PostgreSQL seek on the (make, id) index instead of skipping over the previous rows.
+     *
+     * @param make  the make of the last object of the previous page
+     * @param id    the ID of the last object of the previous page
+     * @param limit the maximum number of objects to return
+     * @return the list of TruckDTO records positioned after the given make and ID
+     */
+    @Query(DTO_SELECT + " where (v.make, v.id) > (:make, :id) order by v.make asc, v.id asc")
+    List<TruckDTO> findDTOsAfterOrderByMakeAscIdAsc(@Param("make") String make, @Param("id") Long id, Limit limit);
+
+    /**
+     * Retrieves a slice of trucks built straight into TruckDTO records, sorted as the pageable requests. No count query
+     * is executed, one extra row is read instead to know whether a next slice exists.
+     *
+     * @param pageable the page number, size and sort of the slice
+     * @return the slice of TruckDTO records
+     */
+    @Query(DTO_SELECT)
+    Slice<TruckDTO> findDTOsBy(Pageable pageable);
+
+    /**
+     * Retrieves the number of rows of the TRUCK table estimated by the PostgreSQL planner statistics.
+     * The value is refreshed by ANALYZE and autovacuum and is negative if the table has never been analyzed.
+     *
+     * @return the estimated number of trucks
+     */
+    @Query(value = "SELECT CAST(reltuples AS BIGINT) FROM pg_class WHERE oid = to_regclass('truck')", nativeQuery = true)
+    Long estimateCount();
+
+    /**
+     * Streams all the trucks ordered by make and ID in ascending order, built straight into TruckDTO records.
+     * The rows are read through a server side cursor, {@link #STREAM_FETCH_SIZE} at a time, so the stream must be
+     * consumed inside a transaction and closed afterwards.
+     *
+     * @return the stream of TruckDTO records ordered by make and ID
+     */
+    @Query(DTO_SELECT + " order by v.make asc, v.id asc")
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = STREAM_FETCH_SIZE))
+    Stream<TruckDTO> streamDTOsOrderByMakeAscIdAsc();
+
+    /**
+     * Streams the IDs of all the trucks, straight from the TRUCK table without joining the VEHICLE table.
+     * The stream must be consumed inside a transaction and closed afterwards.
+     *
+     * @return the stream of the IDs of all the trucks
+     */
+    @Query(value = "SELECT id FROM truck", nativeQuery = true)
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = ID_STREAM_FETCH_SIZE))
+    Stream<Long> streamAllIds();
+
+    /**
+     * Retrieves the IDs of the most recently registered trucks, straight from the TRUCK table without joining the
+     * VEHICLE table.
+     *
+     * @param limit the maximum number of IDs to return
+     * @return the IDs of the most recently registered trucks, the most recent first
+     */
+    @Query(value = "SELECT id FROM truck ORDER BY id DESC LIMIT :limit", nativeQuery = true)
+    List<Long> findRecentIds(@Param("limit") int limit);
+
+    /**
+     * Deletes the truck with the given ID from the TRUCK and VEHICLE tables in a single statement, without loading it
+     * first. The foreign key from TRUCK to VEHICLE is checked once both rows are gone.
+     *
+     * @param id the ID of the truck to delete
+     * @return the number of rows deleted from the VEHICLE table, 0 if no truck has the given ID
+     */
+    @Modifying
+    @Query(value = "WITH deleted_truck AS (DELETE FROM truck WHERE id = :id RETURNING id) "
+            + "DELETE FROM vehicle WHERE id IN (SELECT id FROM deleted_truck)", nativeQuery = true)
+    int deleteRowsById(@Param("id") Long id);
+
+    /**
+     * Locks the trucks with the given IDs until the end of the transaction, so that a following delete of them
+     * deletes exactly the IDs returned.
+     *
+     * @param ids the IDs of the trucks to lock
+     * @return the IDs of the trucks found, in no particular order
+     */
+    @Query(value = "SELECT id FROM truck WHERE id IN (:ids) FOR UPDATE", nativeQuery = true)
+    List<Long> lockIdsByIdIn(@Param("ids") Collection<Long> ids);
+
+    /**
+     * Deletes the trucks with the given IDs from the TRUCK and VEHICLE tables in a single statement, without loading
+     * them first.
+     *
+     * @param ids the IDs of the trucks to delete
+     * @return the number of rows deleted from the VEHICLE table
+     */
+    @Modifying
+    @Query(value = "WITH deleted_truck AS (DELETE FROM truck WHERE id IN (:ids) RETURNING id) "
+            + "DELETE FROM vehicle WHERE id IN (SELECT id FROM deleted_truck)", nativeQuery = true)
+    int deleteRowsByIdIn(@Param("ids") Collection<Long> ids);
+
+    /**
+     * Updates the truck with the given ID in the VEHICLE and TRUCK tables in a single statement without reading it
+     * first, only if any of the values differ, so re-sending an unchanged truck writes nothing and keeps its version.
+     * No row is inserted, whatever the ID.
+     *
+     * @param id              the ID of the truck
+     * @param make            the make of the truck
+     * @param model           the model of the truck
+     * @param year            the year of the truck
+     * @param payloadCapacity the payload capacity of the truck
+     * @return the number of trucks updated, 0 if no truck has the given ID or if it is unchanged
+     */
+    @Modifying
+    @Query(value = "WITH updated_vehicle AS (UPDATE vehicle SET make = :make, model = :model, year = :year, "
+            + "version = vehicle.version + 1 "
+            + "WHERE vehicle.id = :id AND EXISTS (SELECT 1 FROM truck WHERE truck.id = vehicle.id "
+            + "AND (vehicle.make, vehicle.model, vehicle.year, truck.payload_capacity) IS DISTINCT FROM "
+            + "(CAST(:make AS VARCHAR), CAST(:model AS VARCHAR), CAST(:year AS INTEGER), "
+            + "CAST(:payloadCapacity AS DOUBLE PRECISION))) RETURNING vehicle.id) "
+            + "UPDATE truck SET payload_capacity = CAST(:payloadCapacity AS DOUBLE PRECISION) "
+            + "WHERE truck.id IN (SELECT id FROM updated_vehicle)", nativeQuery = true)
+    int updateRowIfChanged(@Param("id") Long id, @Param("make") String make, @Param("model") String model,
+                           @Param("year") Integer year, @Param("payloadCapacity") Double payloadCapacity);
+
+    /**
+     * Retrieves the version of the truck with the given ID, without loading it into the persistence context.
+     *
+     * @param id the ID of the truck
+     * @return the version of the truck, or empty if no truck has the given ID
+     */
+    @Query("select v.version from TruckEntity v where v.id = :id")
+    Optional<Long> findVersionById(@Param("id") Long id);
+}
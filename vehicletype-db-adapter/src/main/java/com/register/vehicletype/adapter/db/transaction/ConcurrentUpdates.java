@@ -0,0 +1,39 @@
+package com.register.vehicletype.adapter.db.transaction;
+
+import com.register.vehicletype.adapter.db.entity.VehicleEntity;
+import com.register.vehicletype.domain.exception.ConcurrentUpdateException;
+import jakarta.persistence.OptimisticLockException;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+
+import java.util.function.Supplier;
+
+/**
+ * The ConcurrentUpdates class turns the optimistic lock failures of the writes of versioned vehicles into the
+ * {@link ConcurrentUpdateException} of the domain, whether they are raised by a repository, translated by Spring, or
+ * by a flush of the entity manager, untranslated.
+ */
+public final class ConcurrentUpdates {
+
+    private ConcurrentUpdates() {
+    }
+
+    /**
+     * Runs the given write, throwing a ConcurrentUpdateException if a vehicle it writes was updated concurrently.
+     *
+     * @param write the write to run
+     * @param <T>   the type of the result of the write
+     * @return the result of the write
+     * @throws ConcurrentUpdateException if a vehicle was updated concurrently
+     */
+    public static <T> T failOnConcurrentUpdate(Supplier<T> write) {
+        try {
+            return write.get();
+        } catch (ObjectOptimisticLockingFailureException e) {
+            throw new ConcurrentUpdateException(e.getIdentifier());
+        } catch (OptimisticLockException e) {
+            throw new ConcurrentUpdateException(e.getEntity() instanceof VehicleEntity vehicleEntity
+                    ? vehicleEntity.getId()
+                    : null);
+        }
+    }
+}
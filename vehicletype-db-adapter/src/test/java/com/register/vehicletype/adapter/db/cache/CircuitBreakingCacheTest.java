@@ -0,0 +1,93 @@
+package com.register.vehicletype.adapter.db.cache;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.cache.concurrent.ConcurrentMapCache;
+import org.springframework.data.redis.RedisConnectionFailureException;
+import org.springframework.data.redis.connection.RedisConnection;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class CircuitBreakingCacheTest {
+
+    private final FlakyCache redisCache = new FlakyCache();
+    private RedisCircuitBreaker circuitBreaker;
+    private CircuitBreakingCache cache;
+
+    @BeforeEach
+    void setUp() {
+        RedisConnection redisConnection = mock(RedisConnection.class);
+        when(redisConnection.ping()).thenAnswer(invocation -> {
+            if (redisCache.failing) {
+                throw new RedisConnectionFailureException("Redis is down");
+            }
+            return "PONG";
+        });
+        RedisConnectionFactory redisConnectionFactory = mock(RedisConnectionFactory.class);
+        when(redisConnectionFactory.getConnection()).thenReturn(redisConnection);
+        circuitBreaker = new RedisCircuitBreaker(redisConnectionFactory, 0.5, Duration.ofSeconds(1),
+                Duration.ofSeconds(5), 2, Duration.ofMinutes(1), Duration.ofMillis(10));
+        CacheInvalidationChannel invalidationChannel = new CacheInvalidationChannel(redisConnectionFactory,
+                "invalidation", circuitBreaker);
+        cache = new CircuitBreakingCache(redisCache, circuitBreaker, invalidationChannel, 100);
+    }
+
+    @Test
+    void testFailingRedisIsBypassed() {
+        cache.put(1L, "Volvo");
+        redisCache.failing = true;
+
+        assertNull(cache.get(1L));
+        assertEquals(RedisCircuitBreaker.State.OPEN, circuitBreaker.getState());
+
+        assertNull(cache.get(1L));
+        assertEquals(1, redisCache.failedCalls);
+    }
+
+    @Test
+    void testKeysWrittenWhileBypassedAreEvictedOnRecovery() throws InterruptedException {
+        cache.put(1L, "Volvo");
+        redisCache.failing = true;
+        cache.get(1L);
+
+        cache.put(1L, "Saab");
+        redisCache.failing = false;
+        awaitClosed();
+
+        assertNull(redisCache.get(1L));
+        assertEquals("Saab", cache.get(1L, () -> "Saab"));
+        assertEquals("Saab", redisCache.get(1L).get());
+    }
+
+    private void awaitClosed() throws InterruptedException {
+        for (int i = 0; i < 500 && circuitBreaker.getState() != RedisCircuitBreaker.State.CLOSED; i++) {
+            Thread.sleep(10);
+        }
+        assertEquals(RedisCircuitBreaker.State.CLOSED, circuitBreaker.getState());
+    }
+
+    private static class FlakyCache extends ConcurrentMapCache {
+
+        private volatile boolean failing;
+        private volatile int failedCalls;
+
+        FlakyCache() {
+            super("cars");
+        }
+
+        @Override
+        public ValueWrapper get(Object key) {
+            if (failing) {
+                failedCalls++;
+                throw new RedisConnectionFailureException("Redis is down");
+            }
+            return super.get(key);
+        }
+    }
+}
@@ -0,0 +1,65 @@
+package com.register.vehicletype.adapter.db.cache;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.cache.concurrent.ConcurrentMapCache;
+import org.springframework.data.redis.connection.DefaultMessage;
+import org.springframework.data.redis.connection.RedisConnection;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.connection.RedisStringCommands;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class GenerationalCacheTest {
+
+    private static final byte[] CHANNEL = "invalidation".getBytes(StandardCharsets.UTF_8);
+
+    private final RedisStringCommands stringCommands = mock(RedisStringCommands.class);
+    private final AtomicInteger loads = new AtomicInteger();
+    private CacheInvalidationChannel invalidationChannel;
+    private GenerationalCache generationalCache;
+
+    @BeforeEach
+    void setUp() {
+        RedisConnection redisConnection = mock(RedisConnection.class);
+        when(redisConnection.stringCommands()).thenReturn(stringCommands);
+        when(stringCommands.incr(any(byte[].class))).thenReturn(1L);
+        RedisConnectionFactory redisConnectionFactory = mock(RedisConnectionFactory.class);
+        when(redisConnectionFactory.getConnection()).thenReturn(redisConnection);
+        invalidationChannel = new CacheInvalidationChannel(redisConnectionFactory, "invalidation");
+        generationalCache = new GenerationalCache(new ConcurrentMapCache("cars.lists"),
+                new GenerationCounter("cars.lists", redisConnectionFactory, invalidationChannel));
+    }
+
+    @Test
+    void testResultIsCachedUntilInvalidated() {
+        assertEquals(1, firstPage());
+        assertEquals(1, firstPage());
+
+        generationalCache.invalidate();
+
+        assertEquals(2, firstPage());
+        assertEquals(2, firstPage());
+    }
+
+    @Test
+    void testRemoteBumpOrphansCachedResults() {
+        assertEquals(1, firstPage());
+
+        invalidationChannel.onMessage(new DefaultMessage(CHANNEL,
+                "other-node\ncars.lists:generation\n5".getBytes(StandardCharsets.UTF_8)), CHANNEL);
+
+        assertEquals(2, firstPage());
+    }
+
+    private int firstPage() {
+        return generationalCache.get(List.of("page", 0, 20), loads::incrementAndGet);
+    }
+}
@@ -0,0 +1,145 @@
+package com.register.vehicletype.adapter.db.cache;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.connection.RedisConnection;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.connection.RedisHashCommands;
+import org.springframework.data.redis.connection.RedisScriptingCommands;
+import org.springframework.data.redis.connection.ReturnType;
+import org.springframework.data.redis.serializer.RedisSerializer;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.aryEq;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class HashBucketRedisCacheTest {
+
+    private final RedisHashCommands hashCommands = mock(RedisHashCommands.class);
+    private final RedisScriptingCommands scriptingCommands = mock(RedisScriptingCommands.class);
+    private final RedisSerializer<Object> valueSerializer = RedisSerializer.java();
+    private RedisConnection redisConnection;
+    private HashBucketRedisCache cache;
+
+    @BeforeEach
+    void setUp() {
+        redisConnection = mock(RedisConnection.class);
+        when(redisConnection.hashCommands()).thenReturn(hashCommands);
+        when(redisConnection.scriptingCommands()).thenReturn(scriptingCommands);
+        RedisConnectionFactory redisConnectionFactory = mock(RedisConnectionFactory.class);
+        when(redisConnectionFactory.getConnection()).thenReturn(redisConnection);
+        cache = new HashBucketRedisCache("cars", redisConnectionFactory, valueSerializer, 100, Duration.ZERO);
+    }
+
+    @Test
+    void testEntryIsAFieldOfItsBucket() {
+        cache.put(1234L, "Volvo");
+
+        verify(hashCommands).hSet(aryEq(bytes("cars:{12}")), aryEq(bytes("1234")),
+                aryEq(valueSerializer.serialize("Volvo")));
+    }
+
+    @Test
+    void testLookupReadsTheFieldOfItsBucket() {
+        when(hashCommands.hGet(aryEq(bytes("cars:{0}")), aryEq(bytes("7"))))
+                .thenReturn(valueSerializer.serialize("Saab"));
+
+        assertEquals("Saab", cache.get(7L).get());
+        assertNull(cache.get(8L));
+    }
+
+    @Test
+    void testGetAllReadsEachBucketOnce() {
+        when(redisConnection.closePipeline()).thenReturn(List.of(
+                Arrays.asList(valueSerializer.serialize("Volvo"), null),
+                List.of(valueSerializer.serialize("Saab"))));
+
+        Map<Object, Object> entries = cache.getAll(List.of(1L, 250L, 2L));
+
+        assertEquals(Map.of(1L, "Volvo", 250L, "Saab"), entries);
+        verify(hashCommands).hMGet(aryEq(bytes("cars:{0}")), any(byte[].class), any(byte[].class));
+        verify(hashCommands).hMGet(aryEq(bytes("cars:{2}")), any(byte[].class));
+    }
+
+    @Test
+    void testPutAllIfNewerWritesEachBucketOnceAndReturnsTheRejectedKeys() {
+        when(redisConnection.closePipeline()).thenReturn(List.of(List.of(bytes("2")), List.of()));
+
+        Set<Object> rejectedKeys = cache.putAllIfNewer(Map.of(1L, "Volvo", 2L, "Saab", 250L, "Scania"),
+                Map.of(1L, 3L, 2L, 1L, 250L, 0L));
+
+        assertEquals(Set.of(2L), rejectedKeys);
+        verify(scriptingCommands).eval(any(byte[].class), eq(ReturnType.MULTI), eq(2), aryEq(bytes("cars:{0}")),
+                aryEq(bytes("cars:{0}:versions")), any(byte[].class), any(byte[].class), any(byte[].class),
+                any(byte[].class), any(byte[].class), any(byte[].class), any(byte[].class));
+        verify(scriptingCommands).eval(any(byte[].class), eq(ReturnType.MULTI), eq(2), aryEq(bytes("cars:{2}")),
+                aryEq(bytes("cars:{2}:versions")), aryEq(bytes("0")), aryEq(bytes("250")), aryEq(bytes("0")),
+                aryEq(valueSerializer.serialize("Scania")));
+    }
+
+    @Test
+    void testPutAllIfAbsentSetsOnlyTheMissingFieldsAndReturnsTheKeptKeys() {
+        when(redisConnection.closePipeline()).thenReturn(List.of(true, false, true));
+
+        Set<Object> keptKeys = cache.putAllIfAbsent(new TreeMap<>(Map.of(1L, "Volvo", 2L, "Saab", 250L, "Scania")));
+
+        assertEquals(Set.of(2L), keptKeys);
+        verify(hashCommands).hSetNX(aryEq(bytes("cars:{0}")), aryEq(bytes("1")),
+                aryEq(valueSerializer.serialize("Volvo")));
+        verify(hashCommands).hSetNX(aryEq(bytes("cars:{0}")), aryEq(bytes("2")),
+                aryEq(valueSerializer.serialize("Saab")));
+        verify(hashCommands).hSetNX(aryEq(bytes("cars:{2}")), aryEq(bytes("250")),
+                aryEq(valueSerializer.serialize("Scania")));
+    }
+
+    @Test
+    void testLoadedValueDoesNotReplaceAnEntryWrittenMeanwhile() {
+        when(hashCommands.hSetNX(aryEq(bytes("cars:{0}")), aryEq(bytes("7")), any(byte[].class))).thenReturn(false);
+        when(hashCommands.hGet(aryEq(bytes("cars:{0}")), aryEq(bytes("7"))))
+                .thenReturn(null, valueSerializer.serialize("Saab 9-3"));
+
+        assertEquals("Saab 9-3", cache.get(7L, () -> "Saab 900"));
+        verify(hashCommands, never()).hSet(any(byte[].class), any(byte[].class), any(byte[].class));
+    }
+
+    @Test
+    void testVersionIsReadFromTheVersionsOfItsBucket() {
+        when(hashCommands.hGet(aryEq(bytes("cars:{12}:versions")), aryEq(bytes("1234")))).thenReturn(bytes("3"));
+
+        assertEquals(3L, cache.getVersion(1234L));
+        assertNull(cache.getVersion(1235L));
+    }
+
+    @Test
+    void testEvictAllDeletesTheFieldsOfEachBucketOnce() {
+        cache.evictAll(List.of(1L, 250L, 2L));
+
+        verify(hashCommands).hDel(aryEq(bytes("cars:{0}")), aryEq(bytes("1")), aryEq(bytes("2")));
+        verify(hashCommands).hDel(aryEq(bytes("cars:{2}")), aryEq(bytes("250")));
+        verify(redisConnection).closePipeline();
+    }
+
+    @Test
+    void testNonNumericKeyIsRejected() {
+        assertThrows(IllegalArgumentException.class, () -> cache.put("1234", "Volvo"));
+    }
+
+    private static byte[] bytes(String value) {
+        return value.getBytes(StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,74 @@
+package com.register.vehicletype.adapter.db.cache;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.QueryTimeoutException;
+import org.springframework.data.redis.RedisConnectionFailureException;
+import org.springframework.data.redis.connection.RedisConnection;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class RedisCircuitBreakerTest {
+
+    private final RedisConnectionFactory redisConnectionFactory = mock(RedisConnectionFactory.class);
+
+    @BeforeEach
+    void setUp() {
+        RedisConnection redisConnection = mock(RedisConnection.class);
+        when(redisConnection.ping()).thenReturn("PONG");
+        when(redisConnectionFactory.getConnection()).thenReturn(redisConnection);
+    }
+
+    @Test
+    void testStalledCallIsGivenUpAfterTheCallTimeout() {
+        RedisCircuitBreaker circuitBreaker = newCircuitBreaker(Duration.ofMinutes(1));
+        long start = System.nanoTime();
+
+        assertThrows(QueryTimeoutException.class, () -> circuitBreaker.run(() -> sleep(Duration.ofSeconds(5))));
+
+        assertTrue(System.nanoTime() - start < Duration.ofSeconds(1).toNanos());
+        assertEquals(RedisCircuitBreaker.State.OPEN, circuitBreaker.getState());
+    }
+
+    @Test
+    void testFailingRecoveryHandlerReopensTheBreakerUntilItSucceeds() throws InterruptedException {
+        RedisCircuitBreaker circuitBreaker = newCircuitBreaker(Duration.ofMillis(10));
+        AtomicInteger recoveries = new AtomicInteger();
+        circuitBreaker.addRecoveryHandler(() -> {
+            if (recoveries.getAndIncrement() == 0) {
+                throw new IllegalStateException("Local cache unavailable");
+            }
+        });
+
+        assertThrows(RedisConnectionFailureException.class, () -> circuitBreaker.run(() -> {
+            throw new RedisConnectionFailureException("Redis is down");
+        }));
+
+        for (int i = 0; i < 500 && circuitBreaker.getState() != RedisCircuitBreaker.State.CLOSED; i++) {
+            Thread.sleep(10);
+        }
+        assertEquals(RedisCircuitBreaker.State.CLOSED, circuitBreaker.getState());
+        assertTrue(recoveries.get() >= 3);
+    }
+
+    private RedisCircuitBreaker newCircuitBreaker(Duration probeInterval) {
+        return new RedisCircuitBreaker(redisConnectionFactory, 0.5, Duration.ofSeconds(1), Duration.ofMillis(50), 1,
+                Duration.ofMinutes(1), probeInterval);
+    }
+
+    private static void sleep(Duration duration) {
+        try {
+            Thread.sleep(duration);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
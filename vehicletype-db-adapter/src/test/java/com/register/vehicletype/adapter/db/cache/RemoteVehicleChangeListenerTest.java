@@ -0,0 +1,49 @@
+package com.register.vehicletype.adapter.db.cache;
+
+import com.register.vehicletype.domain.dto.CarDTO;
+import com.register.vehicletype.domain.dto.TruckDTO;
+import com.register.vehicletype.domain.event.RemoteVehicleChangedEvent;
+import com.register.vehicletype.domain.event.VehicleDeletedEvent;
+import com.register.vehicletype.domain.event.VehicleSavedEvent;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.Mockito.mock;
+
+class RemoteVehicleChangeListenerTest {
+
+    private final CacheInvalidationChannel invalidationChannel =
+            new CacheInvalidationChannel(mock(RedisConnectionFactory.class), "invalidations");
+    private final List<String> invalidations = new ArrayList<>();
+    private final RemoteVehicleChangeListener listener = new RemoteVehicleChangeListener(invalidationChannel,
+            Map.of("CarDTO", "cars", "TruckDTO", "trucks"));
+
+    @BeforeEach
+    void setUp() {
+        invalidationChannel.addInvalidationHandler((cacheName, keys) -> invalidations.add(cacheName + keys));
+    }
+
+    @Test
+    void testChangesOfOtherNodesAreHandedToTheInvalidationHandlers() {
+        listener.onApplicationEvent(new RemoteVehicleChangedEvent(this, "CarDTO", 1L, false));
+        listener.onApplicationEvent(new RemoteVehicleChangedEvent(this, "BusDTO", 2L, false));
+
+        assertEquals(List.of("cars[1]"), invalidations);
+    }
+
+    @Test
+    void testChangesRelayedByThisNodeAreHandedToTheInvalidationHandlers() {
+        listener.onEvents(List.of(
+                new VehicleSavedEvent<>(this, new CarDTO(1L, "Volvo", "V60", 2020, 4)),
+                new VehicleDeletedEvent<>(this, 2L, TruckDTO.class),
+                new VehicleDeletedEvent<>(this, 3L)));
+
+        assertEquals(List.of("cars[1]", "trucks[2]"), invalidations);
+    }
+}
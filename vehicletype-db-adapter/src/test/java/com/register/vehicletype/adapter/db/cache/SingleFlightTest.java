@@ -0,0 +1,67 @@
+package com.register.vehicletype.adapter.db.cache;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class SingleFlightTest {
+
+    private final SingleFlight<Object> singleFlight = new SingleFlight<>("cars");
+
+    @Test
+    void testConcurrentLoadsOfSameKeyAreCoalesced() throws Exception {
+        CountDownLatch releaseLoad = new CountDownLatch(1);
+        AtomicInteger loaderCalls = new AtomicInteger();
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            Future<String> leader = executor.submit(() -> singleFlight.load(1L, () -> {
+                loaderCalls.incrementAndGet();
+                await(releaseLoad);
+                return "Volvo";
+            }));
+            while (singleFlight.getInFlightLoads() == 0) {
+                Thread.onSpinWait();
+            }
+            Future<String> follower = executor.submit(() -> singleFlight.load(1L, () -> {
+                loaderCalls.incrementAndGet();
+                return "Saab";
+            }));
+            while (singleFlight.getCoalescedLoads() == 0) {
+                Thread.onSpinWait();
+            }
+            releaseLoad.countDown();
+
+            assertEquals("Volvo", leader.get());
+            assertEquals("Volvo", follower.get());
+        }
+        assertEquals(1, loaderCalls.get());
+        assertEquals(1, singleFlight.getExecutedLoads());
+        assertEquals(1, singleFlight.getCoalescedLoads());
+        assertEquals(0, singleFlight.getInFlightLoads());
+    }
+
+    @Test
+    void testFailedLoadIsNotKept() {
+        assertThrows(IllegalStateException.class, () -> singleFlight.load(1L, () -> {
+            throw new IllegalStateException();
+        }));
+
+        assertEquals("Volvo", singleFlight.load(1L, () -> "Volvo"));
+        assertEquals(2, singleFlight.getExecutedLoads());
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException(e);
+        }
+    }
+}
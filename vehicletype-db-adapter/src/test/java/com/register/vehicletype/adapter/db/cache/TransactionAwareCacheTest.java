@@ -0,0 +1,96 @@
+package com.register.vehicletype.adapter.db.cache;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.cache.Cache;
+import org.springframework.cache.concurrent.ConcurrentMapCache;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+class TransactionAwareCacheTest {
+
+    private final Cache targetCache = new ConcurrentMapCache("cars");
+    private final TransactionAwareCache cache = new TransactionAwareCache(targetCache);
+
+    @BeforeEach
+    void setUp() {
+        TransactionSynchronizationManager.initSynchronization();
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @Test
+    void testWritesAreAppliedOnlyAfterCommit() {
+        targetCache.put(2L, "Saab");
+
+        cache.put(1L, "Volvo");
+        cache.evict(2L);
+        VersionedCache.putIfNewer(cache, 3L, "Scania", 1L);
+
+        assertNull(targetCache.get(1L));
+        assertEquals("Saab", cache.get(2L, String.class));
+        complete(TransactionSynchronization.STATUS_COMMITTED);
+        assertEquals("Volvo", targetCache.get(1L, String.class));
+        assertNull(targetCache.get(2L));
+        assertEquals("Scania", targetCache.get(3L, String.class));
+    }
+
+    @Test
+    void testLoadedEntriesDoNotReplaceTheEntriesWrittenBeforeCommit() {
+        cache.putAllIfAbsent(Map.of(1L, "Volvo", 2L, "Saab"));
+        targetCache.put(2L, "Saab 9-3");
+
+        complete(TransactionSynchronization.STATUS_COMMITTED);
+        assertEquals("Volvo", targetCache.get(1L, String.class));
+        assertEquals("Saab 9-3", targetCache.get(2L, String.class));
+    }
+
+    @Test
+    void testWritesAreDroppedOnRollback() {
+        cache.putAll(Map.of(1L, "Volvo", 2L, "Saab"));
+
+        complete(TransactionSynchronization.STATUS_ROLLED_BACK);
+        assertNull(targetCache.get(1L));
+        assertNull(targetCache.get(2L));
+    }
+
+    @Test
+    void testLaterWriteOfAKeyReplacesTheEarlierOne() {
+        cache.put(1L, "Volvo");
+        cache.evict(1L);
+        cache.put(1L, "Saab");
+
+        complete(TransactionSynchronization.STATUS_COMMITTED);
+        assertEquals("Saab", targetCache.get(1L, String.class));
+    }
+
+    @Test
+    void testWritesOutsideATransactionAreAppliedRightAway() {
+        TransactionSynchronizationManager.clearSynchronization();
+
+        cache.put(1L, "Volvo");
+
+        assertEquals("Volvo", targetCache.get(1L, String.class));
+    }
+
+    private static void complete(int status) {
+        List<TransactionSynchronization> synchronizations = TransactionSynchronizationManager.getSynchronizations();
+        if (status == TransactionSynchronization.STATUS_COMMITTED) {
+            synchronizations.forEach(TransactionSynchronization::afterCommit);
+        }
+        synchronizations.forEach(synchronization -> synchronization.afterCompletion(status));
+        TransactionSynchronizationManager.clearSynchronization();
+    }
+}
@@ -0,0 +1,100 @@
+package com.register.vehicletype.adapter.db.cache;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.cache.Cache;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+import org.springframework.data.redis.connection.DefaultMessage;
+import org.springframework.data.redis.connection.RedisConnection;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class TwoLevelCacheManagerTest {
+
+    private static final String CACHE_NAME = "cars";
+    private static final byte[] CHANNEL = "invalidation".getBytes(StandardCharsets.UTF_8);
+
+    private final RedisConnection redisConnection = mock(RedisConnection.class);
+    private final ConcurrentMapCacheManager redisCacheManager = new ConcurrentMapCacheManager();
+    private TwoLevelCacheManager cacheManager;
+    private CacheInvalidationChannel invalidationChannel;
+
+    @BeforeEach
+    void setUp() {
+        RedisConnectionFactory redisConnectionFactory = mock(RedisConnectionFactory.class);
+        when(redisConnectionFactory.getConnection()).thenReturn(redisConnection);
+        invalidationChannel = new CacheInvalidationChannel(redisConnectionFactory, "invalidation");
+        cacheManager = new TwoLevelCacheManager(redisCacheManager, Caffeine.newBuilder().maximumSize(100),
+                invalidationChannel, new SingleFlightRegistry());
+    }
+
+    @Test
+    void testLocalHitSkipsRedis() {
+        Cache cache = cacheManager.getCache(CACHE_NAME);
+        cache.put(1L, "Volvo");
+        redisCacheManager.getCache(CACHE_NAME).clear();
+
+        assertEquals("Volvo", cache.get(1L, String.class));
+        verify(redisConnection).publish(any(byte[].class), any(byte[].class));
+    }
+
+    @Test
+    void testRemoteInvalidationEvictsLocalEntry() {
+        Cache cache = cacheManager.getCache(CACHE_NAME);
+        cache.put(1L, "Volvo");
+        redisCacheManager.getCache(CACHE_NAME).evict(1L);
+
+        invalidationChannel.onMessage(message("other-node\n" + CACHE_NAME + "\n1"), CHANNEL);
+
+        assertNull(cache.get(1L));
+    }
+
+    @Test
+    void testRemoteClearDropsLocalEntries() {
+        Cache cache = cacheManager.getCache(CACHE_NAME);
+        cache.put(1L, "Volvo");
+        cache.put(2L, "Saab");
+        redisCacheManager.getCache(CACHE_NAME).clear();
+
+        invalidationChannel.onMessage(message("other-node\n" + CACHE_NAME), CHANNEL);
+
+        assertNull(cache.get(1L));
+        assertNull(cache.get(2L));
+    }
+
+    @Test
+    void testHitCloseToExpiryReloadsEntryInBackground() throws InterruptedException {
+        RefreshAhead refreshAhead = new RefreshAhead(Duration.ofMillis(1), Duration.ofHours(1), 100);
+        cacheManager = new TwoLevelCacheManager(redisCacheManager, Caffeine.newBuilder().maximumSize(100), Map.of(),
+                invalidationChannel, new SingleFlightRegistry(), Map.of(CACHE_NAME, refreshAhead));
+        Cache cache = cacheManager.getCache(CACHE_NAME);
+        cache.put(1L, "Volvo");
+        Thread.sleep(5);
+        CountDownLatch reloaded = new CountDownLatch(1);
+
+        assertEquals("Volvo", cache.get(1L, () -> {
+            reloaded.countDown();
+            return "Volvo XC90";
+        }));
+        assertTrue(reloaded.await(5, TimeUnit.SECONDS));
+        assertEquals(1, refreshAhead.getRefreshCount());
+    }
+
+    private static DefaultMessage message(String body) {
+        return new DefaultMessage(CHANNEL, body.getBytes(StandardCharsets.UTF_8));
+    }
+}
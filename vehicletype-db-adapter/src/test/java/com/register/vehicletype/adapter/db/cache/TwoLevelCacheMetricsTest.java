@@ -0,0 +1,66 @@
+package com.register.vehicletype.adapter.db.cache;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+import org.springframework.data.redis.connection.RedisConnection;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.serializer.RedisSerializer;
+
+import java.time.Duration;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class TwoLevelCacheMetricsTest {
+
+    private static final String CACHE_NAME = "cars";
+
+    private final MeterRegistry registry = new SimpleMeterRegistry();
+    private TwoLevelCache cache;
+
+    @BeforeEach
+    void setUp() {
+        RedisConnectionFactory redisConnectionFactory = mock(RedisConnectionFactory.class);
+        when(redisConnectionFactory.getConnection()).thenReturn(mock(RedisConnection.class));
+        CachePolicy policy = new CachePolicy(Duration.ofHours(1), 100, Duration.ofMinutes(5));
+        TwoLevelCacheManager cacheManager = new TwoLevelCacheManager(new ConcurrentMapCacheManager(),
+                policy.newLocalCacheBuilder(Duration.ofMinutes(10)),
+                Map.of(CACHE_NAME, policy.newLocalCacheBuilder(Duration.ofMinutes(10))),
+                new CacheInvalidationChannel(redisConnectionFactory, "invalidation"), new SingleFlightRegistry());
+        cache = (TwoLevelCache) cacheManager.getCache(CACHE_NAME);
+        new TwoLevelCacheMetrics(cache, RedisSerializer.java()).bindTo(registry);
+    }
+
+    @Test
+    void testReadsAreCountedAsHitsAndMisses() {
+        cache.put(1L, "Volvo");
+
+        cache.get(1L);
+        cache.get(2L);
+        cache.get(3L, () -> "Saab");
+
+        assertEquals(2, registry.get("cache.puts").tag("cache", CACHE_NAME).functionCounter().count());
+        assertEquals(1, registry.get("cache.gets").tag("cache", CACHE_NAME).tag("result", "hit")
+                .functionCounter().count());
+        assertEquals(2, registry.get("cache.gets").tag("cache", CACHE_NAME).tag("result", "miss")
+                .functionCounter().count());
+        assertEquals(2, registry.get("cache.size").tag("cache", CACHE_NAME).gauge().value());
+    }
+
+    @Test
+    void testMemoryEstimateGrowsWithEntries() {
+        cache.put(1L, "Volvo");
+        double oneEntry = registry.get("cache.memory.estimate").tag("cache", CACHE_NAME).gauge().value();
+        cache.put(2L, "Saab");
+        double twoEntries = registry.get("cache.memory.estimate").tag("cache", CACHE_NAME).gauge().value();
+
+        assertTrue(oneEntry > 0);
+        assertTrue(twoEntries > oneEntry);
+    }
+}
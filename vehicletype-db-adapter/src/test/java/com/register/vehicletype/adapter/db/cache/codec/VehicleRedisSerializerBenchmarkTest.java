@@ -0,0 +1,76 @@
+package com.register.vehicletype.adapter.db.cache.codec;
+
+import com.register.vehicletype.domain.dto.CarDTO;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.data.redis.serializer.GenericJackson2JsonRedisSerializer;
+import org.springframework.data.redis.serializer.RedisSerializer;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the ns/op of writing and reading a cached car with the binary layout, JDK serialization and Jackson
+ * JSON. Runs only when the benchmark system property is true, for example with
+ * {@code mvn test -Dgroups=benchmark -Dbenchmark=true -pl vehicletype-db-adapter}.
+ */
+@Tag("benchmark")
+@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class VehicleRedisSerializerBenchmarkTest {
+
+    @Param({"binary", "jdk", "json"})
+    public String format;
+
+    private RedisSerializer<Object> serializer;
+    private CarDTO carDTO;
+    private byte[] bytes;
+
+    @Setup
+    public void setUp() {
+        serializer = switch (format) {
+            case "binary" -> new VehicleRedisSerializer();
+            case "jdk" -> RedisSerializer.java();
+            default -> new GenericJackson2JsonRedisSerializer();
+        };
+        carDTO = new CarDTO(123456L, "Mercedes-Benz", "E 220", 2018, 4);
+        bytes = serializer.serialize(carDTO);
+    }
+
+    @Benchmark
+    public byte[] serialize() {
+        return serializer.serialize(carDTO);
+    }
+
+    @Benchmark
+    public Object deserialize() {
+        return serializer.deserialize(bytes);
+    }
+
+    @Test
+    void testRunBenchmarks() throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(getClass().getName())
+                .build())
+                .run();
+    }
+}
@@ -0,0 +1,90 @@
+package com.register.vehicletype.adapter.db.cache.codec;
+
+import com.register.vehicletype.domain.dto.CarDTO;
+import com.register.vehicletype.domain.dto.CursorPageDTO;
+import com.register.vehicletype.domain.dto.MotorcycleDTO;
+import com.register.vehicletype.domain.dto.SliceDTO;
+import com.register.vehicletype.domain.dto.TruckDTO;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.serializer.RedisSerializer;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class VehicleRedisSerializerTest {
+
+    private final VehicleRedisSerializer serializer = new VehicleRedisSerializer();
+
+    @Test
+    void testRoundTripOfVehicles() {
+        List<Object> vehicles = List.of(
+                new CarDTO(42L, "Volvo", "V70", 2004, 5),
+                new CarDTO(null, "Trabant", "601", null, null),
+                new TruckDTO(7L, "Scania", "R 450", 2019, 24000.55),
+                new TruckDTO(8L, "MAN", "TGX", 2021, 1.0 / 3),
+                new MotorcycleDTO(Long.MAX_VALUE, "Ural", "Gear Up", 2022, true));
+
+        for (Object vehicle : vehicles) {
+            assertEquals(vehicle, serializer.deserialize(serializer.serialize(vehicle)));
+        }
+    }
+
+    @Test
+    void testRoundTripOfPages() {
+        List<CarDTO> cars = List.of(new CarDTO(1L, "Ford", "Focus", 2010, 5), new CarDTO(2L, "Kia", "Rio", 2015, 3));
+        List<Object> pages = List.of(
+                cars,
+                new CursorPageDTO<>(cars, "Rm9yZDox"),
+                new CursorPageDTO<>(List.of(), null),
+                new SliceDTO<>(cars, 3, 20, true, 12345L),
+                new SliceDTO<>(cars, 0, 20, false, null));
+
+        for (Object page : pages) {
+            assertEquals(page, serializer.deserialize(serializer.serialize(page)));
+        }
+    }
+
+    @Test
+    void testReadsEntriesWrittenWithJdkSerialization() {
+        CarDTO carDTO = new CarDTO(42L, "Volvo", "V70", 2004, 5);
+
+        assertEquals(carDTO, serializer.deserialize(RedisSerializer.java().serialize(carDTO)));
+    }
+
+    @Test
+    void testEntriesOfUnknownSchemaVersionAreMisses() {
+        byte[] bytes = serializer.serialize(new CarDTO(42L, "Volvo", "V70", 2004, 5));
+        bytes[1] = (byte) (VehicleRedisSerializer.SCHEMA_VERSION + 1);
+
+        assertNull(serializer.deserialize(bytes));
+    }
+
+    @Test
+    void testEntriesOfUnknownTagAreMisses() {
+        byte[] bytes = serializer.serialize(new CarDTO(42L, "Volvo", "V70", 2004, 5));
+        bytes[2] = (byte) 0x7F;
+
+        assertNull(serializer.deserialize(bytes));
+    }
+
+    @Test
+    void testEntriesOfUnknownMakeCodeAreMisses() {
+        byte[] bytes = serializer.serialize(new CarDTO(null, "Volvo", null, null, null));
+        bytes[bytes.length - 1] = (byte) 0x7F;
+
+        assertNull(serializer.deserialize(bytes));
+    }
+
+    @Test
+    void testIsSmallerThanJdkSerialization() {
+        CarDTO carDTO = new CarDTO(123456L, "Mercedes-Benz", "E 220", 2018, 4);
+
+        int binaryLength = serializer.serialize(carDTO).length;
+
+        assertTrue(binaryLength < 20, "binary length: " + binaryLength);
+        assertTrue(binaryLength * 10 < RedisSerializer.java().serialize(carDTO).length);
+    }
+}
@@ -0,0 +1,34 @@
+package com.register.vehicletype.adapter.db.cursor;
+
+import com.register.vehicletype.domain.exception.InvalidCursorException;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class MakeIdCursorTest {
+
+    @Test
+    void testEncodeAndDecode() {
+        MakeIdCursor cursor = new MakeIdCursor("Mercedes-Benz: AMG", 42L);
+
+        MakeIdCursor decodedCursor = MakeIdCursor.decode(cursor.encode());
+
+        assertEquals(cursor, decodedCursor);
+    }
+
+    @Test
+    void testDecodeInvalidCursor() {
+        assertThrows(InvalidCursorException.class, () -> MakeIdCursor.decode("not a cursor"));
+    }
+
+    @Test
+    void testDecodeCursorWithoutId() {
+        String cursor = Base64.getUrlEncoder().encodeToString("Toyota".getBytes(StandardCharsets.UTF_8));
+
+        assertThrows(InvalidCursorException.class, () -> MakeIdCursor.decode(cursor));
+    }
+}
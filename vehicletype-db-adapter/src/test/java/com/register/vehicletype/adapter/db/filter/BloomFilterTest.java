@@ -0,0 +1,50 @@
+package com.register.vehicletype.adapter.db.filter;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class BloomFilterTest {
+
+    private static final int IDS = 10_000;
+
+    @Test
+    void testPutIdsAreAlwaysFound() {
+        BloomFilter bloomFilter = new BloomFilter(IDS, 0.01);
+        for (long id = 1; id <= IDS; id++) {
+            bloomFilter.put(id);
+        }
+
+        for (long id = 1; id <= IDS; id++) {
+            assertTrue(bloomFilter.mightContain(id));
+        }
+        assertFalse(bloomFilter.isSaturated());
+    }
+
+    @Test
+    void testFalsePositivesStayNearTheExpectedProbability() {
+        BloomFilter bloomFilter = new BloomFilter(IDS, 0.01);
+        for (long id = 1; id <= IDS; id++) {
+            bloomFilter.put(id);
+        }
+
+        int falsePositives = 0;
+        for (long id = IDS + 1; id <= 2 * IDS; id++) {
+            if (bloomFilter.mightContain(id)) {
+                falsePositives++;
+            }
+        }
+        assertTrue(falsePositives < IDS * 0.02, "false positives: " + falsePositives);
+    }
+
+    @Test
+    void testSaturatesPastTheExpectedInsertions() {
+        BloomFilter bloomFilter = new BloomFilter(2, 0.01);
+        bloomFilter.put(1);
+        bloomFilter.put(2);
+        bloomFilter.put(3);
+
+        assertTrue(bloomFilter.isSaturated());
+    }
+}
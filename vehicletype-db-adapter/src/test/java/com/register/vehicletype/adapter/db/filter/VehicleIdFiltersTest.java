@@ -0,0 +1,94 @@
+package com.register.vehicletype.adapter.db.filter;
+
+import com.register.vehicletype.adapter.db.cache.CacheInvalidationChannel;
+import com.register.vehicletype.adapter.db.cache.RedisCircuitBreaker;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+
+class VehicleIdFiltersTest {
+
+    private static final String NAME = "cars";
+
+    private final List<Long> ids = new CopyOnWriteArrayList<>(List.of(1L, 2L, 3L));
+    private final CacheInvalidationChannel invalidationChannel =
+            new CacheInvalidationChannel(mock(RedisConnectionFactory.class), "invalidations");
+    private VehicleIdFilters vehicleIdFilters;
+
+    @BeforeEach
+    void buildFilters() {
+        vehicleIdFilters = new VehicleIdFilters(mock(PlatformTransactionManager.class), invalidationChannel,
+                mock(RedisCircuitBreaker.class), 0.000_001, 1_000, Duration.ofMinutes(1), 1_000);
+        vehicleIdFilters.register(NAME, () -> ids.size(), ids::stream);
+        vehicleIdFilters.rebuildAll();
+    }
+
+    @Test
+    void testRebuildAllLearnsTheIdsSavedElsewhere() {
+        assertFalse(vehicleIdFilters.mightExist(NAME, 4L));
+
+        ids.add(4L);
+        vehicleIdFilters.rebuildAll();
+
+        assertTrue(vehicleIdFilters.mightExist(NAME, 4L));
+    }
+
+    @Test
+    void testRebuildAllForgetsTheIdsFoundMissing() {
+        VehicleIdFilter filter = vehicleIdFilters.register(NAME, () -> ids.size(), ids::stream);
+        filter.recordMissing(2L);
+        assertFalse(vehicleIdFilters.mightExist(NAME, 2L));
+
+        vehicleIdFilters.rebuildAll();
+
+        assertTrue(vehicleIdFilters.mightExist(NAME, 2L));
+    }
+
+    @Test
+    void testIdSavedBeforeARebuildIsPutIntoTheRebuiltFilterOnCommit() {
+        VehicleIdFilter filter = vehicleIdFilters.register(NAME, () -> ids.size(), ids::stream);
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            filter.recordSaved(7L);
+            vehicleIdFilters.rebuildAll();
+            assertFalse(vehicleIdFilters.mightExist(NAME, 7L));
+
+            TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+
+        assertTrue(vehicleIdFilters.mightExist(NAME, 7L));
+    }
+
+    @Test
+    void testClearedCacheRebuildsTheFilter() throws InterruptedException {
+        ids.add(5L);
+
+        invalidationChannel.receive(NAME, List.of());
+
+        long deadline = System.nanoTime() + Duration.ofSeconds(5).toNanos();
+        while (!vehicleIdFilters.mightExist(NAME, 5L) && System.nanoTime() < deadline) {
+            Thread.sleep(10);
+        }
+        assertTrue(vehicleIdFilters.mightExist(NAME, 5L));
+    }
+
+    @Test
+    void testEvictedKeysAreRecordedSaved() {
+        invalidationChannel.receive(NAME, List.of("6", "not-an-id"));
+
+        assertTrue(vehicleIdFilters.mightExist(NAME, 6L));
+    }
+}
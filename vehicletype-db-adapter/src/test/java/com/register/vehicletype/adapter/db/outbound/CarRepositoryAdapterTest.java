@@ -0,0 +1,221 @@
+package com.register.vehicletype.adapter.db.outbound;
+
+import com.register.vehicletype.adapter.db.cache.CacheInvalidationChannel;
+import com.register.vehicletype.adapter.db.cache.GenerationalCache;
+import com.register.vehicletype.adapter.db.cache.GenerationalCaches;
+import com.register.vehicletype.adapter.db.cache.RedisCircuitBreaker;
+import com.register.vehicletype.adapter.db.entity.CarEntity;
+import com.register.vehicletype.adapter.db.filter.VehicleIdFilters;
+import com.register.vehicletype.adapter.db.outbox.OutboxWriter;
+import com.register.vehicletype.adapter.db.repository.CarRepository;
+import com.register.vehicletype.domain.dto.BulkDeleteDTO;
+import com.register.vehicletype.domain.dto.CarDTO;
+import com.register.vehicletype.domain.dto.MultiGetDTO;
+import com.register.vehicletype.domain.dto.SliceDTO;
+import com.register.vehicletype.domain.dto.UpsertDTO;
+import com.register.vehicletype.domain.dto.UpsertOutcome;
+import com.register.vehicletype.domain.exception.CarNotFoundException;
+import com.register.vehicletype.domain.exception.ConcurrentUpdateException;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+import org.springframework.core.convert.ConversionService;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Optional;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class CarRepositoryAdapterTest {
+
+    private static final CarDTO VOLVO = new CarDTO(1L, "Volvo", "V70", 2004, 5);
+    private static final CarDTO SAAB = new CarDTO(2L, "Saab", "900", 1990, 3);
+
+    private final CarRepository carRepository = mock(CarRepository.class);
+    private final ConversionService conversionService = mock(ConversionService.class);
+    private final CacheManager cacheManager = new ConcurrentMapCacheManager();
+    private final OutboxWriter outboxWriter = mock(OutboxWriter.class);
+    private final GenerationalCache listCache = mock(GenerationalCache.class);
+    private CarRepositoryAdapter carRepositoryAdapter;
+
+    @BeforeEach
+    void setUp() {
+        GenerationalCaches generationalCaches = mock(GenerationalCaches.class);
+        when(generationalCaches.get(CarRepositoryAdapter.LIST_CACHE_NAME)).thenReturn(listCache);
+        VehicleIdFilters vehicleIdFilters = new VehicleIdFilters(mock(PlatformTransactionManager.class),
+                new CacheInvalidationChannel(mock(RedisConnectionFactory.class), "invalidations"),
+                mock(RedisCircuitBreaker.class), 0.01, 1_000, Duration.ofMinutes(1), 1_000);
+        carRepositoryAdapter = new CarRepositoryAdapter(carRepository, conversionService,
+                mock(EntityManager.class), cacheManager, outboxWriter, 100, 2, generationalCaches, vehicleIdFilters);
+    }
+
+    @Test
+    void testFindByIdReadsTheCarStraightIntoARecord() {
+        when(carRepository.findDTOById(1L)).thenReturn(Optional.of(VOLVO));
+
+        assertEquals(VOLVO, carRepositoryAdapter.findById(1L));
+        verify(carRepository, never()).findById(any());
+        verify(conversionService, never()).convert(any(), eq(CarDTO.class));
+    }
+
+    @Test
+    void testFindByIdOfAMissingCarDoesNotQueryItAgain() {
+        when(carRepository.findDTOById(3L)).thenReturn(Optional.empty());
+
+        assertThrows(CarNotFoundException.class, () -> carRepositoryAdapter.findById(3L));
+        assertThrows(CarNotFoundException.class, () -> carRepositoryAdapter.findById(3L));
+
+        verify(carRepository, times(1)).findDTOById(3L);
+    }
+
+    @Test
+    void testFindSliceReadsTheCarsStraightIntoRecordsWithoutCounting() {
+        Pageable pageable = PageRequest.of(0, 2, Sort.by("make", "id"));
+        when(listCache.get(any(), any())).thenAnswer(invocation -> invocation.<Supplier<?>>getArgument(1).get());
+        when(carRepository.findDTOsBy(pageable)).thenReturn(new SliceImpl<>(List.of(SAAB, VOLVO), pageable, true));
+
+        SliceDTO<CarDTO> sliceDTO = carRepositoryAdapter.findSliceByOrderByMakeAsc(0, 2, false);
+
+        assertEquals(new SliceDTO<>(List.of(SAAB, VOLVO), 0, 2, true, null), sliceDTO);
+        verify(carRepository, never()).count();
+        verify(conversionService, never()).convert(any(), eq(CarDTO.class));
+    }
+
+    @Test
+    void testFindAllByIdLoadsOnlyTheMissedIdsInOneQuery() {
+        cacheManager.getCache(CarRepositoryAdapter.CACHE_NAME).put(1L, VOLVO);
+        when(carRepository.findDTOsByIdIn(List.of(3L, 2L))).thenReturn(List.of(SAAB));
+
+        MultiGetDTO<CarDTO, Long> multiGetDTO = carRepositoryAdapter.findAllById(List.of(3L, 1L, 2L, 1L));
+
+        assertEquals(List.of(VOLVO, SAAB), multiGetDTO.content());
+        assertEquals(List.of(3L), multiGetDTO.missingIds());
+        assertEquals(SAAB, cacheManager.getCache(CarRepositoryAdapter.CACHE_NAME).get(2L).get());
+    }
+
+    @Test
+    void testFindAllByIdDoesNotQueryTheIdsFoundMissingAgain() {
+        when(carRepository.findDTOsByIdIn(any())).thenReturn(List.of());
+
+        carRepositoryAdapter.findAllById(List.of(3L));
+        MultiGetDTO<CarDTO, Long> multiGetDTO = carRepositoryAdapter.findAllById(List.of(3L));
+
+        assertEquals(List.of(), multiGetDTO.content());
+        assertEquals(List.of(3L), multiGetDTO.missingIds());
+        verify(carRepository, times(1)).findDTOsByIdIn(any());
+    }
+
+    @Test
+    void testSaveOfAConcurrentlyUpdatedCarThrowsConcurrentUpdateException() {
+        CarEntity carEntity = new CarEntity(1L, "Volvo", "V70", 2004, 5);
+        carEntity.setVersion(3L);
+        when(conversionService.convert(VOLVO, CarEntity.class)).thenReturn(carEntity);
+        when(carRepository.findAllById(List.of(1L))).thenReturn(List.of(carEntity));
+        when(carRepository.saveAndFlush(carEntity))
+                .thenThrow(new ObjectOptimisticLockingFailureException(CarEntity.class, 1L));
+
+        assertThrows(ConcurrentUpdateException.class, () -> carRepositoryAdapter.save(VOLVO));
+
+        assertNull(cacheManager.getCache(CarRepositoryAdapter.CACHE_NAME).get(1L));
+        verify(outboxWriter, never()).recordSaved(any(), any(), any());
+    }
+
+    @Test
+    void testDeleteAllByIdDeletesTheFoundIdsInChunks() {
+        Cache cache = cacheManager.getCache(CarRepositoryAdapter.CACHE_NAME);
+        cache.put(1L, VOLVO);
+        cache.put(2L, SAAB);
+        when(carRepository.lockIdsByIdIn(List.of(1L, 3L))).thenReturn(List.of(1L));
+        when(carRepository.lockIdsByIdIn(List.of(2L))).thenReturn(List.of(2L));
+
+        BulkDeleteDTO<Long> bulkDeleteDTO = carRepositoryAdapter.deleteAllById(List.of(1L, 3L, 1L, 2L));
+
+        assertEquals(List.of(1L, 2L), bulkDeleteDTO.deletedIds());
+        assertEquals(List.of(3L), bulkDeleteDTO.missingIds());
+        verify(carRepository).deleteRowsByIdIn(List.of(1L));
+        verify(carRepository).deleteRowsByIdIn(List.of(2L));
+        verify(outboxWriter).recordAllDeleted(CarRepositoryAdapter.AGGREGATE_TYPE, List.of(1L, 2L));
+        verify(listCache).invalidate();
+        assertNull(cache.get(1L));
+        assertNull(cache.get(2L));
+    }
+
+    @Test
+    void testDeleteAllByIdOfMissingIdsDeletesNothing() {
+        when(carRepository.lockIdsByIdIn(any())).thenReturn(List.of());
+
+        BulkDeleteDTO<Long> bulkDeleteDTO = carRepositoryAdapter.deleteAllById(List.of(3L, 4L));
+
+        assertEquals(List.of(), bulkDeleteDTO.deletedIds());
+        assertEquals(List.of(3L, 4L), bulkDeleteDTO.missingIds());
+        verify(carRepository, never()).deleteRowsByIdIn(any());
+        verify(outboxWriter, never()).recordAllDeleted(any(), any());
+        verify(listCache, never()).invalidate();
+    }
+
+    @Test
+    void testUpsertOfAChangedCarUpdatesItAndCachesItsNewVersion() {
+        when(carRepository.updateRowIfChanged(1L, "Volvo", "V70", 2004, 5)).thenReturn(1);
+        when(carRepository.findVersionById(1L)).thenReturn(Optional.of(4L));
+
+        UpsertDTO<CarDTO> upsertDTO = carRepositoryAdapter.upsert(VOLVO);
+
+        assertEquals(new UpsertDTO<>(VOLVO, UpsertOutcome.UPDATED), upsertDTO);
+        assertEquals(VOLVO, cacheManager.getCache(CarRepositoryAdapter.CACHE_NAME).get(1L).get());
+        verify(outboxWriter).recordSaved(CarRepositoryAdapter.AGGREGATE_TYPE, 1L, VOLVO);
+        verify(carRepository, never()).saveAndFlush(any());
+    }
+
+    @Test
+    void testUpsertOfAnUnchangedCarWritesNothing() {
+        when(carRepository.updateRowIfChanged(1L, "Volvo", "V70", 2004, 5)).thenReturn(0);
+        when(carRepository.findVersionById(1L)).thenReturn(Optional.of(3L));
+
+        UpsertDTO<CarDTO> upsertDTO = carRepositoryAdapter.upsert(VOLVO);
+
+        assertEquals(new UpsertDTO<>(VOLVO, UpsertOutcome.UNCHANGED), upsertDTO);
+        assertNull(cacheManager.getCache(CarRepositoryAdapter.CACHE_NAME).get(1L));
+        verify(outboxWriter, never()).recordSaved(any(), any(), any());
+        verify(carRepository, never()).saveAndFlush(any());
+    }
+
+    @Test
+    void testUpsertOfAnAbsentCarInsertsItWithANewId() {
+        CarEntity carEntity = new CarEntity(1L, "Volvo", "V70", 2004, 5);
+        CarEntity savedCarEntity = new CarEntity(7L, "Volvo", "V70", 2004, 5);
+        savedCarEntity.setVersion(0L);
+        CarDTO savedCarDTO = new CarDTO(7L, "Volvo", "V70", 2004, 5);
+        when(carRepository.updateRowIfChanged(1L, "Volvo", "V70", 2004, 5)).thenReturn(0);
+        when(carRepository.findVersionById(1L)).thenReturn(Optional.empty());
+        when(conversionService.convert(VOLVO, CarEntity.class)).thenReturn(carEntity);
+        when(carRepository.findAllById(List.of(1L))).thenReturn(List.of());
+        when(carRepository.saveAndFlush(carEntity)).thenReturn(savedCarEntity);
+        when(conversionService.convert(savedCarEntity, CarDTO.class)).thenReturn(savedCarDTO);
+
+        UpsertDTO<CarDTO> upsertDTO = carRepositoryAdapter.upsert(VOLVO);
+
+        assertEquals(new UpsertDTO<>(savedCarDTO, UpsertOutcome.INSERTED), upsertDTO);
+        assertNull(carEntity.getId());
+    }
+}
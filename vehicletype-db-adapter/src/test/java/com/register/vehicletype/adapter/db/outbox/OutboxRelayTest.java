@@ -0,0 +1,135 @@
+package com.register.vehicletype.adapter.db.outbox;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.register.vehicletype.adapter.db.entity.OutboxEntity;
+import com.register.vehicletype.adapter.db.repository.OutboxRepository;
+import com.register.vehicletype.domain.dto.CarDTO;
+import com.register.vehicletype.domain.event.VehicleChangedEvent;
+import com.register.vehicletype.domain.event.VehicleDeletedEvent;
+import com.register.vehicletype.domain.event.VehicleSavedEvent;
+import com.register.vehicletype.domain.event.bus.AsyncVehicleEventBus;
+import com.register.vehicletype.domain.event.bus.OverflowPolicy;
+import com.register.vehicletype.domain.event.bus.VehicleEventListener;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class OutboxRelayTest {
+
+    private static final int BATCH_SIZE = 10;
+    private static final int MAX_ATTEMPTS = 2;
+
+    private final OutboxRepository outboxRepository = mock(OutboxRepository.class);
+    private final List<VehicleChangedEvent<?>> deliveredEvents = new ArrayList<>();
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    @Test
+    void testDeliveredEventsAreDeletedAfterTheListenersHandledThem() throws Exception {
+        OutboxEntity saved = new OutboxEntity("car", 1L, OutboxEventType.SAVED,
+                objectMapper.writeValueAsString(new CarDTO(1L, "Volvo", "V60", 2020, 4)));
+        OutboxEntity deleted = new OutboxEntity("car", 2L, OutboxEventType.DELETED, null);
+        when(outboxRepository.lockOldestPending(BATCH_SIZE)).thenReturn(List.of(saved, deleted));
+
+        int relayedEvents = newRelay(deliveredEvents::addAll).relayBatch();
+
+        assertEquals(2, relayedEvents);
+        assertEquals(new CarDTO(1L, "Volvo", "V60", 2020, 4),
+                assertInstanceOf(VehicleSavedEvent.class, deliveredEvents.get(0)).getPayload());
+        assertEquals(2L, assertInstanceOf(VehicleDeletedEvent.class, deliveredEvents.get(1)).getPayload());
+        verify(outboxRepository).deleteAllInBatch(List.of(saved, deleted));
+    }
+
+    @Test
+    void testUnreadableEventsAreParkedInsteadOfDeleted() {
+        OutboxEntity unknownType = new OutboxEntity("bus", 1L, OutboxEventType.DELETED, null);
+        OutboxEntity unreadablePayload = new OutboxEntity("car", 2L, OutboxEventType.SAVED, "{not json");
+        when(outboxRepository.lockOldestPending(BATCH_SIZE)).thenReturn(List.of(unknownType, unreadablePayload));
+
+        newRelay(deliveredEvents::addAll).relayBatch();
+
+        assertEquals(OutboxStatus.FAILED, unknownType.getStatus());
+        assertEquals(OutboxStatus.FAILED, unreadablePayload.getStatus());
+        assertEquals(List.of(), deliveredEvents);
+        verify(outboxRepository).deleteAllInBatch(List.of());
+    }
+
+    @Test
+    void testFailingEventIsKeptAndParkedAfterTheMaximumAttemptsWhileTheOthersAreDeleted() {
+        OutboxEntity failing = new OutboxEntity("car", 1L, OutboxEventType.DELETED, null);
+        OutboxEntity delivered = new OutboxEntity("car", 2L, OutboxEventType.DELETED, null);
+        when(outboxRepository.lockOldestPending(BATCH_SIZE)).thenReturn(List.of(failing, delivered));
+        OutboxRelay relay = newRelay(events -> {
+            if (events.stream().anyMatch(event -> Long.valueOf(1L).equals(event.getPayload()))) {
+                throw new IllegalStateException("Listener down");
+            }
+            deliveredEvents.addAll(events);
+        });
+
+        assertEquals(1, relay.relayBatch());
+        assertEquals(OutboxStatus.PENDING, failing.getStatus());
+        assertEquals(1, failing.getAttempts());
+        relay.relayBatch();
+
+        assertEquals(OutboxStatus.FAILED, failing.getStatus());
+        assertEquals(2, deliveredEvents.size());
+        verify(outboxRepository, times(2)).deleteAllInBatch(List.of(delivered));
+    }
+
+    @Test
+    void testFailedDeletionFailsTheBatchWithoutDeliveringItAgain() {
+        OutboxEntity deleted = new OutboxEntity("car", 1L, OutboxEventType.DELETED, null);
+        when(outboxRepository.lockOldestPending(BATCH_SIZE)).thenReturn(List.of(deleted));
+        doThrow(new IllegalStateException("Database down")).when(outboxRepository).deleteAllInBatch(any());
+
+        assertThrows(IllegalStateException.class, () -> newRelay(deliveredEvents::addAll).relayBatch());
+
+        assertEquals(1, deliveredEvents.size());
+    }
+
+    @Test
+    void testFailedAttemptsSurviveTheRollbackOfTheBatch() {
+        OutboxEntity failing = new OutboxEntity("car", 1L, OutboxEventType.DELETED, null);
+        OutboxEntity reloaded = new OutboxEntity("car", 1L, OutboxEventType.DELETED, null);
+        when(outboxRepository.lockOldestPending(BATCH_SIZE)).thenReturn(List.of(failing));
+        when(outboxRepository.findAllById(any())).thenReturn(List.of(reloaded));
+        doThrow(new IllegalStateException("Database down")).when(outboxRepository).deleteAllInBatch(any());
+        OutboxRelay relay = newRelay(events -> {
+            throw new IllegalStateException("Listener down");
+        });
+
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            assertThrows(IllegalStateException.class, relay::relayBatch);
+            TransactionSynchronizationManager.getSynchronizations().forEach(synchronization ->
+                    synchronization.afterCompletion(TransactionSynchronization.STATUS_ROLLED_BACK));
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+
+        assertEquals(1, reloaded.getAttempts());
+    }
+
+    private OutboxRelay newRelay(VehicleEventListener listener) {
+        AsyncVehicleEventBus vehicleEventBus = new AsyncVehicleEventBus(event -> { }, List.of(listener), BATCH_SIZE,
+                BATCH_SIZE, Duration.ofMillis(100), OverflowPolicy.BLOCK);
+        return new OutboxRelay(outboxRepository, new TransactionTemplate(mock(PlatformTransactionManager.class)),
+                objectMapper, vehicleEventBus, Map.of("car", CarDTO.class), BATCH_SIZE, MAX_ATTEMPTS);
+    }
+}
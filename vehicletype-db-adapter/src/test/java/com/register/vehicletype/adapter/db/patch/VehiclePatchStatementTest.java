@@ -0,0 +1,99 @@
+package com.register.vehicletype.adapter.db.patch;
+
+import com.register.vehicletype.domain.exception.InvalidPatchException;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.Query;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class VehiclePatchStatementTest {
+
+    private final VehiclePatchStatement statement = new VehiclePatchStatement("truck",
+            Map.of("payloadCapacity", new PatchColumn("payload_capacity", Double.class)));
+    private final EntityManager entityManager = mock(EntityManager.class);
+    private final Query query = mock(Query.class);
+
+    @BeforeEach
+    void setUp() {
+        when(entityManager.createNativeQuery(anyString())).thenReturn(query);
+    }
+
+    @Test
+    void testPatchOfTheTypeColumnUpdatesTheTypeTableOnTheExpectedVersion() {
+        when(query.getResultList()).thenReturn(List.<Object[]>of(new Object[]{"Volvo", "FH16", 2020, 25.5, 4L}));
+
+        PatchedVehicle patchedVehicle = statement.execute(entityManager, 7L, Map.of("payloadCapacity", 25.5), 3L);
+
+        verify(entityManager).createNativeQuery("WITH patched_vehicle AS (UPDATE vehicle SET version = version + 1 "
+                + "WHERE id = :id AND version = :expectedVersion "
+                + "AND EXISTS (SELECT 1 FROM truck WHERE truck.id = vehicle.id) "
+                + "RETURNING id, make, model, year, version), "
+                + "patched_truck AS (UPDATE truck SET payload_capacity = :payloadCapacity "
+                + "WHERE id IN (SELECT id FROM patched_vehicle) RETURNING id, payload_capacity) "
+                + "SELECT v.make, v.model, v.year, t.payload_capacity, v.version "
+                + "FROM patched_vehicle v JOIN patched_truck t ON t.id = v.id");
+        verify(query).setParameter("id", 7L);
+        verify(query).setParameter("payloadCapacity", 25.5);
+        verify(query).setParameter("expectedVersion", 3L);
+        assertEquals("Volvo", patchedVehicle.value("make", String.class));
+        assertEquals(2020, patchedVehicle.value("year", Integer.class));
+        assertEquals(25.5, patchedVehicle.value("payloadCapacity", Double.class));
+        assertEquals(4L, patchedVehicle.version());
+    }
+
+    @Test
+    void testPatchOfVehicleColumnsLeavesTheTypeTableUntouched() {
+        when(query.getResultList()).thenReturn(List.<Object[]>of(new Object[]{"Scania", "R500", 2021, 18, 2L}));
+
+        PatchedVehicle patchedVehicle = statement.execute(entityManager, 7L,
+                Map.of("year", 2021L, "make", "Scania"), null);
+
+        verify(entityManager).createNativeQuery("WITH patched_vehicle AS (UPDATE vehicle SET make = :make, "
+                + "year = :year, version = version + 1 WHERE id = :id "
+                + "AND EXISTS (SELECT 1 FROM truck WHERE truck.id = vehicle.id) "
+                + "RETURNING id, make, model, year, version) "
+                + "SELECT v.make, v.model, v.year, t.payload_capacity, v.version "
+                + "FROM patched_vehicle v JOIN truck t ON t.id = v.id");
+        verify(query).setParameter("year", 2021);
+        verify(query, never()).setParameter(eq("expectedVersion"), any());
+        assertEquals(18.0, patchedVehicle.value("payloadCapacity", Double.class));
+    }
+
+    @Test
+    void testPatchOfNoMatchingVehicleReturnsNull() {
+        when(query.getResultList()).thenReturn(List.of());
+
+        assertNull(statement.execute(entityManager, 7L, Map.of("model", "FH"), 3L));
+    }
+
+    @Test
+    void testInvalidPatchesAreRejectedBeforeExecution() {
+        Map<String, Object> nullMake = new HashMap<>();
+        nullMake.put("make", null);
+
+        assertThrows(InvalidPatchException.class, () -> statement.execute(entityManager, 7L, Map.of(), null));
+        assertThrows(InvalidPatchException.class,
+                () -> statement.execute(entityManager, 7L, Map.of("numberOfDoors", 4), null));
+        assertThrows(InvalidPatchException.class, () -> statement.execute(entityManager, 7L, nullMake, null));
+        assertThrows(InvalidPatchException.class,
+                () -> statement.execute(entityManager, 7L, Map.of("year", "2020"), null));
+        assertThrows(InvalidPatchException.class,
+                () -> statement.execute(entityManager, 7L, Map.of("year", 1.5), null));
+        verify(query, never()).getResultList();
+    }
+}
@@ -3,70 +3,178 @@ package com.register.vehicletype.domain.config;
 import com.register.vehicletype.domain.dto.CarDTO;
 import com.register.vehicletype.domain.dto.MotorcycleDTO;
 import com.register.vehicletype.domain.dto.TruckDTO;
+import com.register.vehicletype.domain.event.bus.ApplicationEventForwarder;
+import com.register.vehicletype.domain.event.bus.AsyncVehicleEventBus;
+import com.register.vehicletype.domain.event.bus.OverflowPolicy;
+import com.register.vehicletype.domain.event.bus.VehicleEventListener;
+import com.register.vehicletype.domain.exception.CarNotFoundException;
+import com.register.vehicletype.domain.exception.MotorcycleNotFoundException;
+import com.register.vehicletype.domain.exception.TruckNotFoundException;
+import com.register.vehicletype.domain.hotkey.HotKeyTrackers;
+import com.register.vehicletype.domain.loader.BatchingLoader;
 import com.register.vehicletype.domain.port.inbound.IServicePort;
 import com.register.vehicletype.domain.port.outbound.IHazelcastPublisherPort;
 import com.register.vehicletype.domain.port.outbound.IRepositoryPort;
 import com.register.vehicletype.domain.service.CarServiceAdapter;
 import com.register.vehicletype.domain.service.MotorcycleServiceAdapter;
 import com.register.vehicletype.domain.service.TruckServiceAdapter;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.ComponentScan;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.PropertySource;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
 
 /**
  * The DomainConfig class is a configuration class that defines the bean definitions for the domain layer of the application.
  * It provides service ports for managing different types of entities such as cars, trucks, and motorcycles.
- * The service ports are implemented using corresponding service adapters that interact with repository ports and publish
- * application events.
+ * The service ports are implemented using corresponding service adapters that interact with repository ports.
+ * The vehicle events relayed from the outbox are delivered through an asynchronous event bus.
  */
 @Configuration
 @ComponentScan(value = "com.register.vehicletype.domain")
+@PropertySource("classpath:/application-domain.properties")
 public class DomainConfig {
 
     private static final String CAR_SERVICE_BEAN_NAME = "carServicePort";
     private static final String TRUCK_SERVICE_BEAN_NAME = "truckServicePort";
     private static final String MOTORCYCLE_SERVICE_BEAN_NAME = "motorcycleServicePort";
+    private static final String VEHICLE_EVENT_BUS_BEAN_NAME = "vehicleEventBus";
+    private static final String HOT_KEY_TRACKERS_BEAN_NAME = "hotKeyTrackers";
+    private static final String CAR_TYPE = "car";
+    private static final String TRUCK_TYPE = "truck";
+    private static final String MOTORCYCLE_TYPE = "motorcycle";
+    private static final String FIND_BY_ID_BATCHING_ENABLED = "${vehicletype.find-by-id-batching.enabled}";
+    private static final String FIND_BY_ID_BATCHING_MAX_BATCH_SIZE = "${vehicletype.find-by-id-batching.max-batch-size}";
+    private static final String FIND_BY_ID_BATCHING_WINDOW = "${vehicletype.find-by-id-batching.window}";
+    private static final String HOT_KEYS_TOP_SIZE = "${vehicletype.hot-keys.top-size}";
+    private static final String HOT_KEYS_SKETCH_WIDTH = "${vehicletype.hot-keys.sketch-width}";
+    private static final String HOT_KEYS_DECAY_INTERVAL = "${vehicletype.hot-keys.decay-interval}";
 
 
     /**
      * Creates and retrieves a service port for managing CarDTO entities.
      *
+     * When enabled, the lookups by ID arriving at the same time are loaded with a single multi-get.
+     *
      * @param carRepositoryPort          the repository port for CarDTO entities
-     * @param applicationEventPublisher  the publisher for application events
+     * @param batchingEnabled            whether the lookups by ID are batched
+     * @param maxBatchSize               the maximum number of lookups by ID loaded at once
+     * @param window                     the maximum time the first lookup by ID of a batch waits for others
+     * @param hotKeyTrackers             the trackers of the most read IDs and list pages of each type
      * @return the service port for managing CarDTO entities
      */
     @Bean(name = CAR_SERVICE_BEAN_NAME)
     public IServicePort<CarDTO, Long> carServicePort(IRepositoryPort<CarDTO, Long> carRepositoryPort,
-                                                     ApplicationEventPublisher applicationEventPublisher) {
-        return new CarServiceAdapter(carRepositoryPort, applicationEventPublisher);
+                                                     @Value(FIND_BY_ID_BATCHING_ENABLED) boolean batchingEnabled,
+                                                     @Value(FIND_BY_ID_BATCHING_MAX_BATCH_SIZE) int maxBatchSize,
+                                                     @Value(FIND_BY_ID_BATCHING_WINDOW) Duration window,
+                                                     HotKeyTrackers hotKeyTrackers) {
+        BatchingLoader<CarDTO, Long> findByIdLoader = batchingEnabled
+                ? new BatchingLoader<>(carRepositoryPort::findAllById, CarDTO::id, CarNotFoundException::new,
+                        maxBatchSize, window)
+                : null;
+        return new CarServiceAdapter(carRepositoryPort, findByIdLoader, hotKeyTrackers.register(CAR_TYPE));
     }
 
     /**
      * Creates a service port for managing TruckDTO entities. The service port provides methods for saving, deleting,
-     * finding by ID, and retrieving all TruckDTO entities. It uses a TruckRepositoryPort and an ApplicationEventPublisher
+     * finding by ID, and retrieving all TruckDTO entities. It uses a TruckRepositoryPort
      * internally for performing the operations.
      *
+     * When enabled, the lookups by ID arriving at the same time are loaded with a single multi-get.
+     *
      * @param truckRepositoryPort         the repository port for TruckDTO entities
-     * @param applicationEventPublisher   the event publisher for application events
+     * @param batchingEnabled             whether the lookups by ID are batched
+     * @param maxBatchSize                the maximum number of lookups by ID loaded at once
+     * @param window                      the maximum time the first lookup by ID of a batch waits for others
+     * @param hotKeyTrackers              the trackers of the most read IDs and list pages of each type
      * @return the service port for managing TruckDTO entities
      */
     @Bean(name = TRUCK_SERVICE_BEAN_NAME)
     public IServicePort<TruckDTO, Long> truckServicePort(IRepositoryPort<TruckDTO, Long> truckRepositoryPort,
-                                                       ApplicationEventPublisher applicationEventPublisher) {
-        return new TruckServiceAdapter(truckRepositoryPort, applicationEventPublisher);
+                                                         @Value(FIND_BY_ID_BATCHING_ENABLED) boolean batchingEnabled,
+                                                         @Value(FIND_BY_ID_BATCHING_MAX_BATCH_SIZE) int maxBatchSize,
+                                                         @Value(FIND_BY_ID_BATCHING_WINDOW) Duration window,
+                                                         HotKeyTrackers hotKeyTrackers) {
+        BatchingLoader<TruckDTO, Long> findByIdLoader = batchingEnabled
+                ? new BatchingLoader<>(truckRepositoryPort::findAllById, TruckDTO::id, TruckNotFoundException::new,
+                        maxBatchSize, window)
+                : null;
+        return new TruckServiceAdapter(truckRepositoryPort, findByIdLoader, hotKeyTrackers.register(TRUCK_TYPE));
     }
 
     /**
      * Retrieves the motorcycle service port.
      *
+     * When enabled, the lookups by ID arriving at the same time are loaded with a single multi-get.
+     *
      * @param motorcycleRepositoryPort        the repository port for motorcycles
-     * @param applicationEventPublisher       the publisher for application events
+     * @param batchingEnabled                 whether the lookups by ID are batched
+     * @param maxBatchSize                    the maximum number of lookups by ID loaded at once
+     * @param window                          the maximum time the first lookup by ID of a batch waits for others
+     * @param hotKeyTrackers                  the trackers of the most read IDs and list pages of each type
      * @return the motorcycle service port
      */
     @Bean(name = MOTORCYCLE_SERVICE_BEAN_NAME)
     public IServicePort<MotorcycleDTO, Long> motorcycleServicePort(IRepositoryPort<MotorcycleDTO, Long> motorcycleRepositoryPort,
-                                                         ApplicationEventPublisher applicationEventPublisher) {
-        return new MotorcycleServiceAdapter(motorcycleRepositoryPort, applicationEventPublisher);
+                                                                   @Value(FIND_BY_ID_BATCHING_ENABLED) boolean batchingEnabled,
+                                                                   @Value(FIND_BY_ID_BATCHING_MAX_BATCH_SIZE) int maxBatchSize,
+                                                                   @Value(FIND_BY_ID_BATCHING_WINDOW) Duration window,
+                                                                   HotKeyTrackers hotKeyTrackers) {
+        BatchingLoader<MotorcycleDTO, Long> findByIdLoader = batchingEnabled
+                ? new BatchingLoader<>(motorcycleRepositoryPort::findAllById, MotorcycleDTO::id,
+                        MotorcycleNotFoundException::new, maxBatchSize, window)
+                : null;
+        return new MotorcycleServiceAdapter(motorcycleRepositoryPort, findByIdLoader,
+                hotKeyTrackers.register(MOTORCYCLE_TYPE));
+    }
+
+    /**
+     * Creates the trackers of the most read IDs and list pages of each vehicle type, which take a constant amount of
+     * memory whatever the number of distinct keys read.
+     *
+     * @param topSize       the number of IDs and of list pages reported per type
+     * @param sketchWidth   the number of counters of each row of the sketches estimating the counts
+     * @param decayInterval the interval at which all the counts are halved, so the most read keys reflect the recent
+     *                      traffic
+     * @return the hot key trackers
+     */
+    @Bean(name = HOT_KEY_TRACKERS_BEAN_NAME)
+    public HotKeyTrackers hotKeyTrackers(@Value(HOT_KEYS_TOP_SIZE) int topSize,
+                                         @Value(HOT_KEYS_SKETCH_WIDTH) int sketchWidth,
+                                         @Value(HOT_KEYS_DECAY_INTERVAL) Duration decayInterval) {
+        return new HotKeyTrackers(topSize, sketchWidth, decayInterval);
+    }
+
+    /**
+     * Creates the event bus delivering the vehicle events in batches, away from the thread that published them.
+     * Besides the VehicleEventListener beans, the events are forwarded to the application event publisher,
+     * so the {@code @EventListener} methods receive them as well.
+     *
+     * @param applicationEventPublisher the publisher for application events
+     * @param vehicleEventListeners     the listeners the vehicle events are delivered to
+     * @param queueCapacity             the maximum number of events queued per listener
+     * @param batchSize                 the maximum number of events delivered at once
+     * @param maxDelay                  the maximum time the first event of a batch waits for more events
+     * @param overflowPolicy            what to do with an event published while the queue of a listener is full
+     * @return the vehicle event bus
+     */
+    @Bean(name = VEHICLE_EVENT_BUS_BEAN_NAME)
+    public AsyncVehicleEventBus vehicleEventBus(ApplicationEventPublisher applicationEventPublisher,
+                                                ObjectProvider<VehicleEventListener> vehicleEventListeners,
+                                                @Value("${vehicletype.event-bus.queue-capacity}") int queueCapacity,
+                                                @Value("${vehicletype.event-bus.batch-size}") int batchSize,
+                                                @Value("${vehicletype.event-bus.max-delay}") Duration maxDelay,
+                                                @Value("${vehicletype.event-bus.overflow-policy}") OverflowPolicy overflowPolicy) {
+        List<VehicleEventListener> listeners = new ArrayList<>(vehicleEventListeners.orderedStream().toList());
+        listeners.add(new ApplicationEventForwarder(applicationEventPublisher));
+        return new AsyncVehicleEventBus(applicationEventPublisher, listeners, queueCapacity, batchSize, maxDelay,
+                overflowPolicy);
     }
 }
@@ -0,0 +1,14 @@
+package com.register.vehicletype.domain.dto;
+
+import java.io.Serializable;
+import java.util.List;
+
+/**
+ * The BulkDeleteDTO class represents the result of deleting many objects by ID at once.
+ *
+ * @param deletedIds  the requested IDs whose object was deleted, in the order of the requested IDs
+ * @param missingIds  the requested IDs no object was found for, in the order of the requested IDs
+ * @param <I>         the type of the IDs
+ */
+public record BulkDeleteDTO<I>(List<I> deletedIds, List<I> missingIds) implements Serializable {
+}
@@ -0,0 +1,14 @@
+package com.register.vehicletype.domain.dto;
+
+import java.io.Serializable;
+import java.util.List;
+
+/**
+ * The CursorPageDTO class represents one page of a keyset (cursor) paginated result.
+ *
+ * @param content     the objects of the current page
+ * @param nextCursor  the opaque cursor to request the next page with, or null if this is the last page
+ * @param <T>         the type of the objects in the page
+ */
+public record CursorPageDTO<T>(List<T> content, String nextCursor) implements Serializable {
+}
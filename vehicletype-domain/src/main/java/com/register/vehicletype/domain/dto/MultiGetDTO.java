@@ -0,0 +1,15 @@
+package com.register.vehicletype.domain.dto;
+
+import java.io.Serializable;
+import java.util.List;
+
+/**
+ * The MultiGetDTO class represents the result of looking many objects up by ID at once.
+ *
+ * @param content     the objects found, in the order of the requested IDs
+ * @param missingIds  the requested IDs no object was found for, in the order of the requested IDs
+ * @param <T>         the type of the objects
+ * @param <I>         the type of the IDs
+ */
+public record MultiGetDTO<T, I>(List<T> content, List<I> missingIds) implements Serializable {
+}
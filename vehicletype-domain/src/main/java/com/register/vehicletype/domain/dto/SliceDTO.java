@@ -0,0 +1,19 @@
+package com.register.vehicletype.domain.dto;
+
+import java.io.Serializable;
+import java.util.List;
+
+/**
+ * The SliceDTO class represents one page of an offset paginated result that is served without counting all the rows.
+ *
+ * @param content         the objects of the current page
+ * @param page            the number of the current page
+ * @param size            the requested page size
+ * @param hasNext         whether there is a page after the current one
+ * @param estimatedTotal  a rough total number of rows taken from the database statistics, or null if not requested
+ *                        or not available
+ * @param <T>             the type of the objects in the page
+ */
+public record SliceDTO<T>(List<T> content, int page, int size, boolean hasNext, Long estimatedTotal)
+        implements Serializable {
+}
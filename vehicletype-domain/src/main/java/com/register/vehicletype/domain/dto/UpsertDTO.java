@@ -0,0 +1,13 @@
+package com.register.vehicletype.domain.dto;
+
+import java.io.Serializable;
+
+/**
+ * The UpsertDTO class represents the result of inserting an object or updating the one with the same ID.
+ *
+ * @param object   the object as stored after the upsert
+ * @param outcome  whether the object was inserted, updated or left unchanged
+ * @param <T>      the type of the object
+ */
+public record UpsertDTO<T>(T object, UpsertOutcome outcome) implements Serializable {
+}
@@ -0,0 +1,22 @@
+package com.register.vehicletype.domain.dto;
+
+/**
+ * The UpsertOutcome enum tells what an upsert did to the stored object.
+ */
+public enum UpsertOutcome {
+
+    /**
+     * No object had the ID, so the given one was inserted with a newly assigned ID.
+     */
+    INSERTED,
+
+    /**
+     * An object had the ID and differed from the given one, so it was updated.
+     */
+    UPDATED,
+
+    /**
+     * An object had the ID and equalled the given one, so nothing was written.
+     */
+    UNCHANGED
+}
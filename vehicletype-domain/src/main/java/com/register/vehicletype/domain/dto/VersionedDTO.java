@@ -0,0 +1,13 @@
+package com.register.vehicletype.domain.dto;
+
+import java.io.Serializable;
+
+/**
+ * The VersionedDTO class represents an object together with the version it is stored at.
+ *
+ * @param object   the object
+ * @param version  the version of the object, increased by every update
+ * @param <T>      the type of the object
+ */
+public record VersionedDTO<T>(T object, long version) implements Serializable {
+}
@@ -0,0 +1,49 @@
+package com.register.vehicletype.domain.event;
+
+import org.springframework.context.ApplicationEvent;
+
+/**
+ * The RemoteVehicleChangedEvent class represents a vehicle change announced by a node of the cluster.
+ * It only identifies the changed vehicle, so each node can drop the copies it keeps locally.
+ */
+public class RemoteVehicleChangedEvent extends ApplicationEvent {
+
+    private final String vehicleType;
+    private final long vehicleId;
+    private final boolean deleted;
+
+    /**
+     * The RemoteVehicleChangedEvent class represents a vehicle change announced by a node of the cluster.
+     *
+     * @param vehicleType the simple name of the DTO class of the changed vehicle
+     * @param vehicleId   the ID of the changed vehicle
+     * @param deleted     whether the vehicle was deleted rather than saved
+     */
+    public RemoteVehicleChangedEvent(Object source, String vehicleType, long vehicleId, boolean deleted) {
+        super(source);
+        this.vehicleType = vehicleType;
+        this.vehicleId = vehicleId;
+        this.deleted = deleted;
+    }
+
+    public String getVehicleType() {
+        return vehicleType;
+    }
+
+    public long getVehicleId() {
+        return vehicleId;
+    }
+
+    public boolean isDeleted() {
+        return deleted;
+    }
+
+    @Override
+    public String toString() {
+        return "RemoteVehicleChangedEvent{" +
+                "vehicleType='" + vehicleType + '\'' +
+                ", vehicleId=" + vehicleId +
+                ", deleted=" + deleted +
+                '}';
+    }
+}
@@ -24,6 +24,15 @@ public abstract class VehicleChangedEvent<D> extends ApplicationEvent {
         this.payload = payload;
     }
 
+    /**
+     * Returns the payload associated with this event.
+     *
+     * @return the payload of the event
+     */
+    public D getPayload() {
+        return payload;
+    }
+
     /**
      * Returns a map of variables associated with this event.
      *
@@ -9,6 +9,8 @@ package com.register.vehicletype.domain.event;
  */
 public class VehicleDeletedEvent<D> extends VehicleChangedEvent<D> {
 
+    private final Class<?> vehicleType;
+
     /**
      * The VehicleDeletedEvent class represents an event that occurs when a vehicle is deleted.
      * It extends the VehicleChangedEvent class.
@@ -16,6 +18,27 @@ public class VehicleDeletedEvent<D> extends VehicleChangedEvent<D> {
      * @param payload the type of payload associated with the event
      */
     public VehicleDeletedEvent(Object source, D payload) {
+        this(source, payload, null);
+    }
+
+    /**
+     * The VehicleDeletedEvent class represents an event that occurs when a vehicle is deleted.
+     * It extends the VehicleChangedEvent class.
+     *
+     * @param payload     the type of payload associated with the event
+     * @param vehicleType the DTO class of the deleted vehicle
+     */
+    public VehicleDeletedEvent(Object source, D payload, Class<?> vehicleType) {
         super(source, payload);
+        this.vehicleType = vehicleType;
+    }
+
+    /**
+     * Returns the DTO class of the deleted vehicle, since the payload only identifies it.
+     *
+     * @return the DTO class of the deleted vehicle, or null if unknown
+     */
+    public Class<?> getVehicleType() {
+        return vehicleType;
     }
 }
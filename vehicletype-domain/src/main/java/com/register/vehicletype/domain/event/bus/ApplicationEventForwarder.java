@@ -0,0 +1,30 @@
+package com.register.vehicletype.domain.event.bus;
+
+import com.register.vehicletype.domain.event.VehicleChangedEvent;
+import org.springframework.context.ApplicationEventPublisher;
+
+import java.util.List;
+
+/**
+ * The ApplicationEventForwarder class republishes every batch of vehicle events through the application event
+ * publisher, so the {@code @EventListener} methods keep receiving them, only away from the publishing thread.
+ */
+public class ApplicationEventForwarder implements VehicleEventListener {
+
+    private final ApplicationEventPublisher applicationEventPublisher;
+
+    /**
+     * The ApplicationEventForwarder class republishes every batch of vehicle events through the application event
+     * publisher.
+     *
+     * @param applicationEventPublisher the publisher the events are republished through
+     */
+    public ApplicationEventForwarder(ApplicationEventPublisher applicationEventPublisher) {
+        this.applicationEventPublisher = applicationEventPublisher;
+    }
+
+    @Override
+    public void onEvents(List<VehicleChangedEvent<?>> events) {
+        events.forEach(applicationEventPublisher::publishEvent);
+    }
+}
@@ -0,0 +1,126 @@
+package com.register.vehicletype.domain.event.bus;
+
+import com.register.vehicletype.domain.event.VehicleChangedEvent;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.SmartLifecycle;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * The AsyncVehicleEventBus class takes the vehicle events off the thread that publishes them.
+ * Every listener has its own bounded queue and delivery thread, so a slow listener neither delays the publisher
+ * nor the other listeners. The events are delivered in batches of at most {@code batchSize} events, or whatever
+ * was queued once {@code maxDelay} has elapsed. Any other event is handed to the application event publisher
+ * right away.
+ */
+public class AsyncVehicleEventBus implements SmartLifecycle {
+
+    private static final Duration STOP_TIMEOUT = Duration.ofSeconds(10);
+
+    private final ApplicationEventPublisher applicationEventPublisher;
+    private final List<ListenerDispatcher> dispatchers;
+    private final List<Thread> threads = new ArrayList<>();
+    private volatile boolean running;
+
+    /**
+     * The AsyncVehicleEventBus class takes the vehicle events off the thread that publishes them.
+     *
+     * @param applicationEventPublisher the publisher the events that are not vehicle events are handed to
+     * @param listeners                 the listeners the vehicle events are delivered to
+     * @param queueCapacity             the maximum number of events queued per listener
+     * @param batchSize                 the maximum number of events delivered at once
+     * @param maxDelay                  the maximum time the first event of a batch waits for more events
+     * @param overflowPolicy            what to do with an event published while the queue of a listener is full
+     */
+    public AsyncVehicleEventBus(ApplicationEventPublisher applicationEventPublisher,
+                                List<VehicleEventListener> listeners, int queueCapacity, int batchSize,
+                                Duration maxDelay, OverflowPolicy overflowPolicy) {
+        this.applicationEventPublisher = applicationEventPublisher;
+        this.dispatchers = listeners.stream()
+                .map(listener -> new ListenerDispatcher(listener, queueCapacity, batchSize, maxDelay.toNanos(),
+                        overflowPolicy))
+                .toList();
+    }
+
+    /**
+     * Queues the given event for every listener when it is a vehicle event,
+     * otherwise hands it to the application event publisher.
+     *
+     * @param event the event to publish
+     */
+    public void publishEvent(Object event) {
+        if (event instanceof VehicleChangedEvent<?> vehicleChangedEvent) {
+            dispatchers.forEach(dispatcher -> dispatcher.offer(vehicleChangedEvent));
+        } else {
+            applicationEventPublisher.publishEvent(event);
+        }
+    }
+
+    /**
+     * Delivers the given vehicle events to every listener on the calling thread, bypassing the queues, and returns
+     * once every listener has handled them. Unlike {@link #publishEvent(Object)}, the failure of a listener is thrown
+     * to the caller, so a caller can keep the events until they are delivered. The listeners before the failing one
+     * have handled the events by then, and receive them again if the caller retries.
+     *
+     * @param events the events to deliver, in the order they were published
+     */
+    public void deliver(List<VehicleChangedEvent<?>> events) {
+        if (events.isEmpty()) {
+            return;
+        }
+        dispatchers.forEach(dispatcher -> dispatcher.deliverNow(events));
+    }
+
+    /**
+     * Returns the delivery metrics of every listener, keyed by listener name.
+     *
+     * @return the metrics of the listeners
+     */
+    public Map<String, ListenerMetrics> getListenerMetrics() {
+        Map<String, ListenerMetrics> listenerMetrics = new LinkedHashMap<>();
+        dispatchers.forEach(dispatcher -> listenerMetrics.put(dispatcher.getName(), dispatcher.getMetrics()));
+        return Collections.unmodifiableMap(listenerMetrics);
+    }
+
+    @Override
+    public synchronized void start() {
+        if (running) {
+            return;
+        }
+        for (ListenerDispatcher dispatcher : dispatchers) {
+            dispatcher.start();
+            threads.add(Thread.ofVirtual().name("vehicle-event-bus-" + dispatcher.getName()).start(dispatcher));
+        }
+        running = true;
+    }
+
+    /**
+     * Stops the delivery threads once they have delivered the events still queued.
+     */
+    @Override
+    public synchronized void stop() {
+        if (!running) {
+            return;
+        }
+        dispatchers.forEach(ListenerDispatcher::stop);
+        try {
+            for (Thread thread : threads) {
+                thread.join(STOP_TIMEOUT);
+            }
+        } catch (InterruptedException exception) {
+            Thread.currentThread().interrupt();
+        }
+        threads.clear();
+        running = false;
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+}
@@ -0,0 +1,163 @@
+package com.register.vehicletype.domain.event.bus;
+
+import com.register.vehicletype.domain.event.VehicleChangedEvent;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The ListenerDispatcher class queues the events of a single listener and delivers them from its own thread,
+ * in batches of at most {@code batchSize} events or whatever was queued once {@code maxDelayNanos} have elapsed.
+ */
+class ListenerDispatcher implements Runnable {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(ListenerDispatcher.class);
+
+    private final VehicleEventListener listener;
+    private final BlockingQueue<VehicleChangedEvent<?>> queue;
+    private final int batchSize;
+    private final long maxDelayNanos;
+    private final OverflowPolicy overflowPolicy;
+    private final ListenerMetrics metrics;
+    private volatile boolean running;
+
+    ListenerDispatcher(VehicleEventListener listener, int queueCapacity, int batchSize, long maxDelayNanos,
+                       OverflowPolicy overflowPolicy) {
+        this.listener = listener;
+        this.queue = new ArrayBlockingQueue<>(queueCapacity);
+        this.batchSize = batchSize;
+        this.maxDelayNanos = maxDelayNanos;
+        this.overflowPolicy = overflowPolicy;
+        this.metrics = new ListenerMetrics(queue::size);
+    }
+
+    String getName() {
+        return listener.getName();
+    }
+
+    ListenerMetrics getMetrics() {
+        return metrics;
+    }
+
+    void start() {
+        running = true;
+    }
+
+    void stop() {
+        running = false;
+    }
+
+    /**
+     * Queues the given event, applying the overflow policy when the queue is full.
+     * A blocking publisher never waits on a dispatcher that is not running, the event is delivered on its thread.
+     *
+     * @param event the event to queue
+     */
+    void offer(VehicleChangedEvent<?> event) {
+        if (queue.offer(event)) {
+            return;
+        }
+        switch (overflowPolicy) {
+            case BLOCK -> {
+                if (running) {
+                    put(event);
+                } else {
+                    metrics.recordCallerRuns();
+                    deliver(List.of(event));
+                }
+            }
+            case DROP_OLDEST -> {
+                while (!queue.offer(event)) {
+                    if (queue.poll() != null) {
+                        metrics.recordDropped();
+                    }
+                }
+            }
+            case CALLER_RUNS -> {
+                metrics.recordCallerRuns();
+                deliver(List.of(event));
+            }
+        }
+    }
+
+    /**
+     * Delivers the queued events in batches until the dispatcher is stopped, then delivers whatever is left.
+     */
+    @Override
+    public void run() {
+        List<VehicleChangedEvent<?>> batch = new ArrayList<>(batchSize);
+        try {
+            while (running) {
+                VehicleChangedEvent<?> firstEvent = queue.poll(maxDelayNanos, TimeUnit.NANOSECONDS);
+                if (firstEvent == null) {
+                    continue;
+                }
+                batch.add(firstEvent);
+                fillBatch(batch, System.nanoTime() + maxDelayNanos);
+                deliver(batch);
+                batch.clear();
+            }
+        } catch (InterruptedException exception) {
+            Thread.currentThread().interrupt();
+        }
+        while (queue.drainTo(batch, batchSize) > 0) {
+            deliver(batch);
+            batch.clear();
+        }
+    }
+
+    private void fillBatch(List<VehicleChangedEvent<?>> batch, long deadline) throws InterruptedException {
+        while (batch.size() < batchSize) {
+            if (queue.drainTo(batch, batchSize - batch.size()) > 0) {
+                continue;
+            }
+            long remainingNanos = deadline - System.nanoTime();
+            if (remainingNanos <= 0) {
+                return;
+            }
+            VehicleChangedEvent<?> event = queue.poll(remainingNanos, TimeUnit.NANOSECONDS);
+            if (event == null) {
+                return;
+            }
+            batch.add(event);
+        }
+    }
+
+    /**
+     * Delivers the given events to the listener on the calling thread, throwing the failure of the listener.
+     *
+     * @param batch the events to deliver
+     */
+    void deliverNow(List<VehicleChangedEvent<?>> batch) {
+        long start = System.nanoTime();
+        try {
+            listener.onEvents(List.copyOf(batch));
+        } catch (RuntimeException exception) {
+            metrics.recordBatch(batch.size(), System.nanoTime() - start, true);
+            throw exception;
+        }
+        metrics.recordBatch(batch.size(), System.nanoTime() - start, false);
+    }
+
+    private void deliver(List<VehicleChangedEvent<?>> batch) {
+        try {
+            deliverNow(batch);
+        } catch (RuntimeException exception) {
+            LOGGER.error("Listener {} failed to handle a batch of {} events.", getName(), batch.size(), exception);
+        }
+    }
+
+    private void put(VehicleChangedEvent<?> event) {
+        try {
+            queue.put(event);
+        } catch (InterruptedException exception) {
+            Thread.currentThread().interrupt();
+            metrics.recordDropped();
+        }
+    }
+}
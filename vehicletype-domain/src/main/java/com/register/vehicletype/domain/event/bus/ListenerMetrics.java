@@ -0,0 +1,81 @@
+package com.register.vehicletype.domain.event.bus;
+
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.IntSupplier;
+
+/**
+ * The ListenerMetrics class holds the delivery counters of a single listener of the event bus.
+ */
+public class ListenerMetrics {
+
+    private final LongAdder deliveredEvents = new LongAdder();
+    private final LongAdder deliveredBatches = new LongAdder();
+    private final LongAdder failedBatches = new LongAdder();
+    private final LongAdder droppedEvents = new LongAdder();
+    private final LongAdder callerRunsEvents = new LongAdder();
+    private final LongAdder deliveryNanos = new LongAdder();
+    private final IntSupplier queueSize;
+
+    ListenerMetrics(IntSupplier queueSize) {
+        this.queueSize = queueSize;
+    }
+
+    void recordBatch(int events, long nanos, boolean failed) {
+        deliveredBatches.increment();
+        deliveryNanos.add(nanos);
+        if (failed) {
+            failedBatches.increment();
+        } else {
+            deliveredEvents.add(events);
+        }
+    }
+
+    void recordDropped() {
+        droppedEvents.increment();
+    }
+
+    void recordCallerRuns() {
+        callerRunsEvents.increment();
+    }
+
+    public long getDeliveredEvents() {
+        return deliveredEvents.sum();
+    }
+
+    public long getDeliveredBatches() {
+        return deliveredBatches.sum();
+    }
+
+    public long getFailedBatches() {
+        return failedBatches.sum();
+    }
+
+    public long getDroppedEvents() {
+        return droppedEvents.sum();
+    }
+
+    public long getCallerRunsEvents() {
+        return callerRunsEvents.sum();
+    }
+
+    public long getDeliveryNanos() {
+        return deliveryNanos.sum();
+    }
+
+    public int getQueueSize() {
+        return queueSize.getAsInt();
+    }
+
+    @Override
+    public String toString() {
+        return "ListenerMetrics{" +
+                "deliveredEvents=" + getDeliveredEvents() +
+                ", deliveredBatches=" + getDeliveredBatches() +
+                ", failedBatches=" + getFailedBatches() +
+                ", droppedEvents=" + getDroppedEvents() +
+                ", callerRunsEvents=" + getCallerRunsEvents() +
+                ", deliveryNanos=" + getDeliveryNanos() +
+                ", queueSize=" + getQueueSize() +
+                '}';
+    }
+}
@@ -0,0 +1,23 @@
+package com.register.vehicletype.domain.event.bus;
+
+/**
+ * The OverflowPolicy enum defines what the event bus does with an event published while the queue of a listener
+ * is full.
+ */
+public enum OverflowPolicy {
+
+    /**
+     * The publishing thread waits until the queue has room for the event.
+     */
+    BLOCK,
+
+    /**
+     * The oldest queued event is dropped to make room for the new one.
+     */
+    DROP_OLDEST,
+
+    /**
+     * The event is delivered to the listener on the publishing thread.
+     */
+    CALLER_RUNS
+}
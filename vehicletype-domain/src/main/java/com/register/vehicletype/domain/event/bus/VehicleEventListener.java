@@ -0,0 +1,29 @@
+package com.register.vehicletype.domain.event.bus;
+
+import com.register.vehicletype.domain.event.VehicleChangedEvent;
+
+import java.util.List;
+
+/**
+ * The VehicleEventListener interface is implemented by the beans that want to receive the vehicle events
+ * published by the services. The events are delivered in batches, away from the thread that published them.
+ */
+@FunctionalInterface
+public interface VehicleEventListener {
+
+    /**
+     * Handles a batch of vehicle events, in the order they were published.
+     *
+     * @param events the events of the batch
+     */
+    void onEvents(List<VehicleChangedEvent<?>> events);
+
+    /**
+     * Returns the name of the listener, used to name its delivery thread and its metrics.
+     *
+     * @return the name of the listener
+     */
+    default String getName() {
+        return getClass().getSimpleName();
+    }
+}
@@ -3,7 +3,7 @@ package com.register.vehicletype.domain.exception;
 /**
  * CarNotFoundException is an exception that is thrown when a car with a specific value (such as an ID) is not found.
  */
-public class CarNotFoundException extends RuntimeException {
+public class CarNotFoundException extends StacklessException {
 
     /**
      * CarNotFoundException is an exception that is thrown when a car with a specific value (such as an ID) is not found.
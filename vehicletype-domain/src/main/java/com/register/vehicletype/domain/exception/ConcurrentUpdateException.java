@@ -0,0 +1,17 @@
+package com.register.vehicletype.domain.exception;
+
+/**
+ * The ConcurrentUpdateException is an exception thrown when a vehicle is saved while another save of the same vehicle
+ * commits first, so that saving it would silently overwrite the other save.
+ */
+public class ConcurrentUpdateException extends StacklessException {
+
+    /**
+     * Exception thrown when a vehicle was updated concurrently.
+     *
+     * @param id The ID of the vehicle, or null if it is not known.
+     */
+    public ConcurrentUpdateException(Object id) {
+        super("Vehicle with id " + id + " was updated concurrently");
+    }
+}
@@ -0,0 +1,16 @@
+package com.register.vehicletype.domain.exception;
+
+/**
+ * InvalidCursorException is an exception that is thrown when a pagination cursor cannot be decoded.
+ */
+public class InvalidCursorException extends RuntimeException {
+
+    /**
+     * InvalidCursorException is an exception that is thrown when a pagination cursor cannot be decoded.
+     *
+     * @param value the cursor that could not be decoded
+     */
+    public InvalidCursorException(Object value) {
+        super("Invalid cursor " + value);
+    }
+}
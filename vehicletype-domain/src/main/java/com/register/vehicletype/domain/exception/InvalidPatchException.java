@@ -0,0 +1,17 @@
+package com.register.vehicletype.domain.exception;
+
+/**
+ * InvalidPatchException is an exception that is thrown when a partial update names an unknown field, gives a field
+ * a value of the wrong type, or carries a version that cannot be read.
+ */
+public class InvalidPatchException extends RuntimeException {
+
+    /**
+     * InvalidPatchException is an exception that is thrown when a partial update cannot be applied.
+     *
+     * @param value the description of the part of the partial update that could not be applied
+     */
+    public InvalidPatchException(Object value) {
+        super("Invalid patch: " + value);
+    }
+}
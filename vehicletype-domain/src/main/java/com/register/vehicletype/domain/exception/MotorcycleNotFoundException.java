@@ -4,7 +4,7 @@ package com.register.vehicletype.domain.exception;
  * The MotorcycleNotFoundException class is a custom exception that is thrown when a motorcycle
  * with the specified ID is not found.
  */
-public class MotorcycleNotFoundException extends RuntimeException {
+public class MotorcycleNotFoundException extends StacklessException {
 
     /**
      * Constructs a new MotorcycleNotFoundException with the specified book ID.
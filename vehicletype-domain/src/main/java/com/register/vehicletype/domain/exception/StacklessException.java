@@ -0,0 +1,18 @@
+package com.register.vehicletype.domain.exception;
+
+/**
+ * StacklessException is the base of the exceptions that report an expected outcome, such as a missing vehicle or a
+ * lost concurrent update, rather than a programming error. They carry no stack trace, as filling it in would be most
+ * of the cost of throwing them on a hot path.
+ */
+public abstract class StacklessException extends RuntimeException {
+
+    /**
+     * StacklessException is the base of the exceptions that report an expected outcome.
+     *
+     * @param message the detail message
+     */
+    protected StacklessException(String message) {
+        super(message, null, false, false);
+    }
+}
@@ -4,7 +4,7 @@ package com.register.vehicletype.domain.exception;
 /**
  * The TruckNotFoundException is an exception thrown when a truck is not found.
  */
-public class TruckNotFoundException extends RuntimeException {
+public class TruckNotFoundException extends StacklessException {
 
     /**
      * Exception thrown when a truck is not found.
@@ -0,0 +1,18 @@
+package com.register.vehicletype.domain.exception;
+
+/**
+ * The VersionConflictException is an exception thrown when a vehicle is updated on the condition of being at a
+ * version it is no longer at, because it was updated in the meantime.
+ */
+public class VersionConflictException extends StacklessException {
+
+    /**
+     * Exception thrown when a vehicle is no longer at the expected version.
+     *
+     * @param id      The ID of the vehicle.
+     * @param version The version the vehicle was expected to be at.
+     */
+    public VersionConflictException(Object id, Object version) {
+        super("Vehicle with id " + id + " is no longer at version " + version);
+    }
+}
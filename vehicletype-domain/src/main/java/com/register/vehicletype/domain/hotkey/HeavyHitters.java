@@ -0,0 +1,178 @@
+package com.register.vehicletype.domain.hotkey;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * The HeavyHitters class tracks the most frequent keys of a stream in constant memory. Every key is counted in a
+ * Count-Min Sketch, whose estimate never falls below the true count, and the keys whose estimate reaches the
+ * smallest count of the current top are kept as candidates, at most twice the number of keys reported. The counters
+ * are LongAdders, so that the threads recording the same hot key do not contend on the same cache lines. Recording a
+ * key already among the candidates takes no lock; a new candidate is added under the lock, pruning the candidates
+ * down to the top first when they are full. All the counts are halved every {@code decayInterval}, so the top
+ * reflects the recent traffic.
+ *
+ * @param <K> the type of the keys
+ */
+public class HeavyHitters<K> {
+
+    private static final int DEPTH = 4;
+    private static final long[] SEEDS = {0x9E3779B97F4A7C15L, 0xC2B2AE3D27D4EB4FL, 0x165667B19E3779F9L,
+            0xD6E8FEB86659FD93L};
+
+    private final int topSize;
+    private final int widthBits;
+    private final LongAdder[] counters;
+    private final Map<K, Long> candidates = new ConcurrentHashMap<>();
+    private final LongAdder total = new LongAdder();
+    private final ReentrantLock maintenanceLock = new ReentrantLock();
+    private final long decayIntervalNanos;
+    private volatile long minimumTopCount;
+    private volatile long nextDecayNanos;
+
+    /**
+     * The HeavyHitters class tracks the most frequent keys of a stream in constant memory.
+     *
+     * @param topSize       the number of keys reported
+     * @param width         the number of counters of each row of the sketch, rounded up to a power of two
+     * @param decayInterval the interval at which all the counts are halved
+     */
+    public HeavyHitters(int topSize, int width, Duration decayInterval) {
+        if (topSize < 1 || width < 1) {
+            throw new IllegalArgumentException("The top size and the width must be positive: " + topSize + ", " + width);
+        }
+        this.topSize = topSize;
+        this.widthBits = Math.max(1, 32 - Integer.numberOfLeadingZeros(width - 1));
+        this.counters = new LongAdder[DEPTH << widthBits];
+        for (int i = 0; i < counters.length; i++) {
+            counters[i] = new LongAdder();
+        }
+        this.decayIntervalNanos = decayInterval.toNanos();
+        this.nextDecayNanos = System.nanoTime() + decayIntervalNanos;
+    }
+
+    /**
+     * Counts one occurrence of the given key.
+     *
+     * @param key the key
+     */
+    public void record(K key) {
+        long hash = key.hashCode();
+        long estimate = Long.MAX_VALUE;
+        for (int row = 0; row < DEPTH; row++) {
+            LongAdder counter = counters[index(row, hash)];
+            counter.increment();
+            estimate = Math.min(estimate, counter.sum());
+        }
+        total.increment();
+        if (estimate >= minimumTopCount && candidates.replace(key, estimate) == null) {
+            addCandidate(key, estimate);
+        }
+        if (System.nanoTime() - nextDecayNanos >= 0) {
+            decay();
+        }
+    }
+
+    /**
+     * Returns the most frequent keys with their estimated counts, the most frequent first.
+     *
+     * @return the most frequent keys
+     */
+    public List<HotKey<K>> getTop() {
+        return candidates.entrySet().stream()
+                .map(candidate -> new HotKey<>(candidate.getKey(), candidate.getValue()))
+                .sorted(Comparator.comparingLong(HotKey<K>::count).reversed())
+                .limit(topSize)
+                .toList();
+    }
+
+    /**
+     * Returns the number of occurrences counted since the last decay, halved at each decay.
+     *
+     * @return the number of occurrences
+     */
+    public long getTotal() {
+        return total.sum();
+    }
+
+    /**
+     * Returns the number of keys currently kept as candidates for the top.
+     *
+     * @return the number of candidates, at most twice the number of keys reported
+     */
+    int getCandidateCount() {
+        return candidates.size();
+    }
+
+    private void addCandidate(K key, long estimate) {
+        maintenanceLock.lock();
+        try {
+            if (candidates.size() >= 2 * topSize) {
+                prune();
+            }
+            if (candidates.size() < 2 * topSize && estimate >= minimumTopCount) {
+                candidates.put(key, estimate);
+            }
+        } finally {
+            maintenanceLock.unlock();
+        }
+    }
+
+    private void decay() {
+        if (!maintenanceLock.tryLock()) {
+            return;
+        }
+        try {
+            if (System.nanoTime() - nextDecayNanos >= 0) {
+                for (LongAdder counter : counters) {
+                    halve(counter);
+                }
+                halve(total);
+                candidates.replaceAll((key, count) -> count >> 1);
+                nextDecayNanos = System.nanoTime() + decayIntervalNanos;
+                prune();
+            }
+        } finally {
+            maintenanceLock.unlock();
+        }
+    }
+
+    private static void halve(LongAdder counter) {
+        long count = counter.sum();
+        counter.add((count >> 1) - count);
+    }
+
+    private void prune() {
+        List<Map.Entry<K, Long>> sortedCandidates = new ArrayList<>(candidates.entrySet());
+        if (sortedCandidates.size() <= topSize) {
+            minimumTopCount = 0;
+            return;
+        }
+        sortedCandidates.sort(Map.Entry.<K, Long>comparingByValue().reversed());
+        minimumTopCount = sortedCandidates.get(topSize - 1).getValue();
+        for (Map.Entry<K, Long> candidate : sortedCandidates.subList(topSize, sortedCandidates.size())) {
+            candidates.remove(candidate.getKey(), candidate.getValue());
+        }
+    }
+
+    private int index(int row, long hash) {
+        long mixed = (hash + 1) * SEEDS[row];
+        return (row << widthBits) | (int) (mixed >>> (64 - widthBits));
+    }
+
+    /**
+     * The HotKey record holds a frequent key and its estimated count.
+     *
+     * @param key   the key
+     * @param count the estimated number of occurrences of the key, never below the true one
+     * @param <K>   the type of the key
+     */
+    public record HotKey<K>(K key, long count) {
+    }
+}
@@ -0,0 +1,69 @@
+package com.register.vehicletype.domain.hotkey;
+
+import java.time.Duration;
+
+/**
+ * The HotKeyTracker class tracks the most read IDs and list pages of a vehicle type, so that the keys dominating the
+ * traffic can be told apart when sizing the caches or looking for abusive clients.
+ */
+public class HotKeyTracker {
+
+    private final HeavyHitters<Long> ids;
+    private final HeavyHitters<ListPage> listPages;
+
+    /**
+     * The HotKeyTracker class tracks the most read IDs and list pages of a vehicle type.
+     *
+     * @param topSize       the number of IDs and of list pages reported
+     * @param width         the number of counters of each row of the sketches
+     * @param decayInterval the interval at which all the counts are halved
+     */
+    public HotKeyTracker(int topSize, int width, Duration decayInterval) {
+        this.ids = new HeavyHitters<>(topSize, width, decayInterval);
+        this.listPages = new HeavyHitters<>(topSize, width, decayInterval);
+    }
+
+    /**
+     * Counts a read of the vehicle with the given ID.
+     *
+     * @param id the ID of the vehicle read
+     */
+    public void recordId(Long id) {
+        if (id != null) {
+            ids.record(id);
+        }
+    }
+
+    /**
+     * Counts a read of the given list page.
+     *
+     * @param page the number of the page read
+     * @param size the size of the page read
+     */
+    public void recordListPage(int page, int size) {
+        listPages.record(new ListPage(page, size));
+    }
+
+    /**
+     * Returns the most read IDs.
+     */
+    public HeavyHitters<Long> getIds() {
+        return ids;
+    }
+
+    /**
+     * Returns the most read list pages.
+     */
+    public HeavyHitters<ListPage> getListPages() {
+        return listPages;
+    }
+
+    /**
+     * The ListPage record identifies a page of the vehicles ordered by make.
+     *
+     * @param page the number of the page
+     * @param size the size of the page
+     */
+    public record ListPage(int page, int size) {
+    }
+}
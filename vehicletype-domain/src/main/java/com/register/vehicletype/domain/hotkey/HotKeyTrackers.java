@@ -0,0 +1,49 @@
+package com.register.vehicletype.domain.hotkey;
+
+import java.time.Duration;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * The HotKeyTrackers class holds the HotKeyTracker of every vehicle type, keyed by the name of the type.
+ */
+public class HotKeyTrackers {
+
+    private final int topSize;
+    private final int width;
+    private final Duration decayInterval;
+    private final Map<String, HotKeyTracker> trackers = new LinkedHashMap<>();
+
+    /**
+     * The HotKeyTrackers class holds the HotKeyTracker of every vehicle type.
+     *
+     * @param topSize       the number of IDs and of list pages reported per type
+     * @param width         the number of counters of each row of the sketches
+     * @param decayInterval the interval at which all the counts are halved
+     */
+    public HotKeyTrackers(int topSize, int width, Duration decayInterval) {
+        this.topSize = topSize;
+        this.width = width;
+        this.decayInterval = decayInterval;
+    }
+
+    /**
+     * Creates the tracker of the given vehicle type.
+     *
+     * @param type the name of the vehicle type
+     * @return the tracker of the vehicle type
+     */
+    public synchronized HotKeyTracker register(String type) {
+        return trackers.computeIfAbsent(type, key -> new HotKeyTracker(topSize, width, decayInterval));
+    }
+
+    /**
+     * Returns the tracker of every vehicle type, keyed by the name of the type.
+     *
+     * @return the trackers
+     */
+    public synchronized Map<String, HotKeyTracker> getTrackers() {
+        return Collections.unmodifiableMap(new LinkedHashMap<>(trackers));
+    }
+}
@@ -0,0 +1,165 @@
+package com.register.vehicletype.domain.loader;
+
+import com.register.vehicletype.domain.dto.MultiGetDTO;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Function;
+
+/**
+ * The BatchingLoader class gathers the lookups by ID that arrive at the same time into a single multi-get.
+ * The first lookup of a batch waits at most {@code window} for others to join and then loads the batch on its own
+ * thread, while a batch reaching {@code maxBatchSize} lookups is loaded right away by the lookup that filled it.
+ * Every caller receives the object of its own ID, or the exception built for it when the ID is missing.
+ * Lookups of the same ID within a batch share the loaded object.
+ *
+ * @param <T> the type of the objects
+ * @param <I> the type of the IDs
+ */
+public class BatchingLoader<T, I> {
+
+    private final Function<List<I>, MultiGetDTO<T, I>> batchLoadFunction;
+    private final Function<T, I> idFunction;
+    private final Function<I, RuntimeException> notFoundFunction;
+    private final int maxBatchSize;
+    private final long windowNanos;
+    private final ReentrantLock lock = new ReentrantLock();
+    private Batch<T, I> currentBatch;
+
+    /**
+     * The BatchingLoader class gathers the lookups by ID that arrive at the same time into a single multi-get.
+     *
+     * @param batchLoadFunction the function loading the objects of many IDs at once
+     * @param idFunction        the function returning the ID of an object
+     * @param notFoundFunction  the function building the exception thrown for a missing ID
+     * @param maxBatchSize      the maximum number of lookups loaded at once
+     * @param window            the maximum time the first lookup of a batch waits for others
+     */
+    public BatchingLoader(Function<List<I>, MultiGetDTO<T, I>> batchLoadFunction, Function<T, I> idFunction,
+                          Function<I, RuntimeException> notFoundFunction, int maxBatchSize, Duration window) {
+        if (maxBatchSize < 1) {
+            throw new IllegalArgumentException("The maximum batch size must be positive: " + maxBatchSize);
+        }
+        this.batchLoadFunction = batchLoadFunction;
+        this.idFunction = idFunction;
+        this.notFoundFunction = notFoundFunction;
+        this.maxBatchSize = maxBatchSize;
+        this.windowNanos = window.toNanos();
+    }
+
+    /**
+     * Loads the object with the given ID together with the other lookups of the same batch.
+     *
+     * @param id the ID of the object to load
+     * @return the object with the given ID
+     * @throws RuntimeException the exception built for the ID when no object has it, or the one the batch failed with
+     */
+    public T load(I id) {
+        Batch<T, I> batch;
+        CompletableFuture<T> future;
+        boolean leader;
+        boolean full;
+        lock.lock();
+        try {
+            leader = currentBatch == null;
+            if (leader) {
+                currentBatch = new Batch<>();
+            }
+            batch = currentBatch;
+            future = batch.add(id);
+            full = batch.size >= maxBatchSize;
+            if (full) {
+                currentBatch = null;
+            }
+        } finally {
+            lock.unlock();
+        }
+        if (full) {
+            dispatch(batch);
+        } else if (leader && !awaitWindow(future) && close(batch)) {
+            dispatch(batch);
+        }
+        return join(future);
+    }
+
+    private boolean awaitWindow(CompletableFuture<T> future) {
+        try {
+            future.get(windowNanos, TimeUnit.NANOSECONDS);
+            return true;
+        } catch (TimeoutException e) {
+            return false;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        } catch (ExecutionException e) {
+            return true;
+        }
+    }
+
+    private boolean close(Batch<T, I> batch) {
+        lock.lock();
+        try {
+            if (currentBatch != batch) {
+                return false;
+            }
+            currentBatch = null;
+            return true;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void dispatch(Batch<T, I> batch) {
+        try {
+            MultiGetDTO<T, I> result = batchLoadFunction.apply(new ArrayList<>(batch.futures.keySet()));
+            Map<I, T> loaded = new HashMap<>();
+            result.content().forEach(object -> loaded.put(idFunction.apply(object), object));
+            batch.futures.forEach((id, futures) -> {
+                T object = loaded.get(id);
+                for (CompletableFuture<T> future : futures) {
+                    if (object != null) {
+                        future.complete(object);
+                    } else {
+                        future.completeExceptionally(notFoundFunction.apply(id));
+                    }
+                }
+            });
+        } catch (RuntimeException | Error e) {
+            batch.futures.values().forEach(futures -> futures.forEach(future -> future.completeExceptionally(e)));
+        }
+    }
+
+    private static <T> T join(CompletableFuture<T> future) {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+
+    private static final class Batch<T, I> {
+
+        private final Map<I, List<CompletableFuture<T>>> futures = new LinkedHashMap<>();
+        private int size;
+
+        private CompletableFuture<T> add(I id) {
+            CompletableFuture<T> future = new CompletableFuture<>();
+            futures.computeIfAbsent(id, key -> new ArrayList<>(1)).add(future);
+            size++;
+            return future;
+        }
+    }
+}
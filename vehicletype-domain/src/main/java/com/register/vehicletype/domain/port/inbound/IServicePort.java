@@ -1,6 +1,15 @@
 package com.register.vehicletype.domain.port.inbound;
 
+import com.register.vehicletype.domain.dto.BulkDeleteDTO;
+import com.register.vehicletype.domain.dto.CursorPageDTO;
+import com.register.vehicletype.domain.dto.MultiGetDTO;
+import com.register.vehicletype.domain.dto.SliceDTO;
+import com.register.vehicletype.domain.dto.UpsertDTO;
+import com.register.vehicletype.domain.dto.VersionedDTO;
+
 import java.util.Collection;
+import java.util.Map;
+import java.util.function.Consumer;
 
 
 /**
@@ -19,6 +28,32 @@ public interface IServicePort<T, I> {
      */
     T save(T dto);
 
+    /**
+     * Saves a batch of entities.
+     *
+     * @param dtos the objects representing the entities to be saved.
+     * @return the saved entities, in the same order as given.
+     */
+    Collection<T> saveAll(Collection<T> dtos);
+
+    /**
+     * Inserts an entity, or updates the entity with the same ID only if it differs.
+     *
+     * @param dto the object representing the entity to be upserted.
+     * @return the upserted entity and whether it was inserted, updated or left unchanged.
+     */
+    UpsertDTO<T> upsert(T dto);
+
+    /**
+     * Updates only the given fields of the entity with the specified ID.
+     *
+     * @param id              the ID of the entity to update.
+     * @param fields          the new values of the fields to update, keyed by field name.
+     * @param expectedVersion the version the entity must be at to be updated, or null to update it at any version.
+     * @return the updated entity and its new version.
+     */
+    VersionedDTO<T> patch(I id, Map<String, Object> fields, Long expectedVersion);
+
     /**
      * Deletes an entity with the specified ID.
      *
@@ -27,6 +62,14 @@ public interface IServicePort<T, I> {
      */
     boolean delete(I id);
 
+    /**
+     * Deletes many entities by their IDs at once.
+     *
+     * @param ids the IDs of the entities to delete.
+     * @return the IDs whose entity was deleted, and the IDs no entity was found for.
+     */
+    BulkDeleteDTO<I> deleteAllById(Collection<I> ids);
+
     /**
      * Finds an entity by its ID.
      *
@@ -35,10 +78,44 @@ public interface IServicePort<T, I> {
      */
     T findById(I id);
 
+    /**
+     * Finds many entities by their IDs at once.
+     *
+     * @param ids the IDs of the entities.
+     * @return the entities found in the order of the given IDs, and the IDs no entity was found for.
+     */
+    MultiGetDTO<T, I> findAllById(Collection<I> ids);
+
     /**
      * Retrieves all entities from the collection, ordered by make in ascending order.
      *
      * @return a collection of entities, ordered by name in ascending order.
      */
     Collection<T> findAllByOrderByMakeAsc(int page, int size);
+
+    /**
+     * Retrieves a page of entities ordered by make and ID, starting right after the given cursor.
+     *
+     * @param after the opaque cursor returned with the previous page, or null/empty for the first page.
+     * @param size  the maximum number of entities to return.
+     * @return the page of entities together with the cursor of the next page.
+     */
+    CursorPageDTO<T> findAllByOrderByMakeAscAfter(String after, int size);
+
+    /**
+     * Retrieves a page of entities ordered by make without counting all the entities.
+     *
+     * @param page                the number of the page to retrieve.
+     * @param size                the maximum number of entities to return.
+     * @param withEstimatedTotal  whether a rough total of entities should be included.
+     * @return the page of entities and whether a next page exists.
+     */
+    SliceDTO<T> findSliceByOrderByMakeAsc(int page, int size, boolean withEstimatedTotal);
+
+    /**
+     * Passes every entity, ordered by make and ID, to the given action without collecting them.
+     *
+     * @param action the action to perform on each entity.
+     */
+    void forEachOrderByMakeAsc(Consumer<T> action);
 }
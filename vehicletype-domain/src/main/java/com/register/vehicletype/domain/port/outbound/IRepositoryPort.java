@@ -1,8 +1,17 @@
 package com.register.vehicletype.domain.port.outbound;
 
+import com.register.vehicletype.domain.dto.BulkDeleteDTO;
+import com.register.vehicletype.domain.dto.CursorPageDTO;
+import com.register.vehicletype.domain.dto.MultiGetDTO;
+import com.register.vehicletype.domain.dto.SliceDTO;
+import com.register.vehicletype.domain.dto.UpsertDTO;
+import com.register.vehicletype.domain.dto.VersionedDTO;
 import jakarta.validation.constraints.NotNull;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
 
 /**
  * The IRepositoryPort interface defines the contract for a repository that provides CRUD operations for objects.
@@ -20,6 +29,15 @@ public interface IRepositoryPort<T, I> {
      */
     T findById(I id);
 
+    /**
+     * Finds many objects by their IDs at once, answering from the cache first and loading all the misses together.
+     * An ID no object is found for is reported rather than failing the whole lookup.
+     *
+     * @param ids the IDs of the objects to find
+     * @return the found objects in the order of the given IDs, and the IDs no object was found for
+     */
+    MultiGetDTO<T, I> findAllById(@NotNull Collection<I> ids);
+
     /**
      * Retrieves a list of objects from the repository in ascending order of their make.
      *
@@ -27,6 +45,34 @@ public interface IRepositoryPort<T, I> {
      */
     List<T> findAllByOrderByMakeAsc(int page, int size);
 
+    /**
+     * Retrieves a page of objects ordered by make and ID, starting right after the given cursor.
+     * Unlike offset paging, the cost of a page does not depend on how deep into the result it is.
+     *
+     * @param after the opaque cursor returned with the previous page, or null/empty for the first page
+     * @param size  the maximum number of objects to return
+     * @return the page of objects together with the cursor of the next page
+     */
+    CursorPageDTO<T> findAllByOrderByMakeAscAfter(String after, int size);
+
+    /**
+     * Retrieves a page of objects ordered by make without counting all the rows of the repository.
+     *
+     * @param page                the number of the page to retrieve
+     * @param size                the maximum number of objects to return
+     * @param withEstimatedTotal  whether a rough total taken from the database statistics should be included
+     * @return the page of objects and whether a next page exists
+     */
+    SliceDTO<T> findSliceByOrderByMakeAsc(int page, int size, boolean withEstimatedTotal);
+
+    /**
+     * Passes every object of the repository, ordered by make and ID, to the given action while they are read.
+     * The objects are never collected, so the memory used does not depend on the number of objects.
+     *
+     * @param action the action to perform on each object
+     */
+    void forEachOrderByMakeAsc(@NotNull Consumer<T> action);
+
     /**
      * Saves the given object.
      *
@@ -35,6 +81,35 @@ public interface IRepositoryPort<T, I> {
      */
     T save(@NotNull T object);
 
+    /**
+     * Saves the given objects in batches.
+     *
+     * @param objects the objects to be saved
+     * @return the saved objects, in the same order as given
+     */
+    List<T> saveAll(@NotNull Collection<T> objects);
+
+    /**
+     * Updates the object with the same ID only if any of its values differ, without reading the stored object first,
+     * or inserts the given object with a newly assigned ID if no object has its ID. An unchanged object is not
+     * written at all.
+     *
+     * @param object the object to be upserted
+     * @return the upserted object and whether it was inserted, updated or left unchanged
+     */
+    UpsertDTO<T> upsert(@NotNull T object);
+
+    /**
+     * Updates only the given fields of the object with the specified ID, in the tables that hold them, without
+     * reading the object first.
+     *
+     * @param id              the ID of the object to update
+     * @param fields          the new values of the fields to update, keyed by field name
+     * @param expectedVersion the version the object must be at to be updated, or null to update it at any version
+     * @return the updated object and its new version
+     */
+    VersionedDTO<T> patch(I id, @NotNull Map<String, Object> fields, Long expectedVersion);
+
     /**
      * Deletes an object with the specified ID.
      *
@@ -42,4 +117,13 @@ public interface IRepositoryPort<T, I> {
      * @return true if the object was deleted successfully, false otherwise
      */
     boolean delete(I id);
+
+    /**
+     * Deletes many objects by their IDs at once, with set based statements instead of one delete per object.
+     * An ID no object is found for is reported rather than failing the whole deletion.
+     *
+     * @param ids the IDs of the objects to delete
+     * @return the IDs whose object was deleted, and the IDs no object was found for
+     */
+    BulkDeleteDTO<I> deleteAllById(@NotNull Collection<I> ids);
 }
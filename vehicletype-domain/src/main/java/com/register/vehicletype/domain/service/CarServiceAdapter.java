@@ -1,13 +1,20 @@
 package com.register.vehicletype.domain.service;
 
+import com.register.vehicletype.domain.dto.BulkDeleteDTO;
 import com.register.vehicletype.domain.dto.CarDTO;
-import com.register.vehicletype.domain.event.VehicleDeletedEvent;
-import com.register.vehicletype.domain.event.VehicleSavedEvent;
+import com.register.vehicletype.domain.dto.CursorPageDTO;
+import com.register.vehicletype.domain.dto.MultiGetDTO;
+import com.register.vehicletype.domain.dto.SliceDTO;
+import com.register.vehicletype.domain.dto.UpsertDTO;
+import com.register.vehicletype.domain.dto.VersionedDTO;
+import com.register.vehicletype.domain.hotkey.HotKeyTracker;
+import com.register.vehicletype.domain.loader.BatchingLoader;
 import com.register.vehicletype.domain.port.inbound.IServicePort;
 import com.register.vehicletype.domain.port.outbound.IRepositoryPort;
-import org.springframework.context.ApplicationEventPublisher;
 
 import java.util.Collection;
+import java.util.Map;
+import java.util.function.Consumer;
 
 /**
  * The CarServiceAdapter class is an adapter that implements the IServicePort interface for managing CarDTO entities.
@@ -16,19 +23,32 @@ import java.util.Collection;
 public class CarServiceAdapter implements IServicePort<CarDTO, Long> {
 
     private final IRepositoryPort<CarDTO, Long> carRepositoryPort;
-    private final ApplicationEventPublisher applicationEventPublisher;
+    private final BatchingLoader<CarDTO, Long> findByIdLoader;
+    private final HotKeyTracker hotKeyTracker;
 
     /**
      * The CarServiceAdapter class is an adapter that implements the IServicePort interface for managing CarDTO entities.
      * It provides methods for saving, deleting, finding by ID, and retrieving all CarDTO objects.
      *
      * @param carRepositoryPort            the repository port for CarDTO entities
-     * @param applicationEventPublisher    the publisher for application events
+     */
+    public CarServiceAdapter(IRepositoryPort<CarDTO, Long> carRepositoryPort) {
+        this(carRepositoryPort, null, null);
+    }
+
+    /**
+     * Constructs a CarServiceAdapter whose lookups by ID arriving at the same time are loaded together
+     * through the given loader, and whose reads are counted by the given tracker of the most read keys.
+     *
+     * @param carRepositoryPort the repository port for CarDTO entities
+     * @param findByIdLoader    the loader batching the lookups by ID, or null to look every ID up on its own
+     * @param hotKeyTracker     the tracker of the most read IDs and list pages, or null to track none
      */
     public CarServiceAdapter(IRepositoryPort<CarDTO, Long> carRepositoryPort,
-                             ApplicationEventPublisher applicationEventPublisher) {
+                             BatchingLoader<CarDTO, Long> findByIdLoader, HotKeyTracker hotKeyTracker) {
         this.carRepositoryPort = carRepositoryPort;
-        this.applicationEventPublisher = applicationEventPublisher;
+        this.findByIdLoader = findByIdLoader;
+        this.hotKeyTracker = hotKeyTracker;
     }
 
     /**
@@ -39,9 +59,42 @@ public class CarServiceAdapter implements IServicePort<CarDTO, Long> {
      */
     @Override
     public CarDTO save(CarDTO carDTO) {
-        CarDTO savedCarDTO = carRepositoryPort.save(carDTO);
-        applicationEventPublisher.publishEvent(new VehicleSavedEvent<>(this, savedCarDTO));
-        return savedCarDTO;
+        return carRepositoryPort.save(carDTO);
+    }
+
+    /**
+     * Saves a batch of CarDTO objects.
+     *
+     * @param carDTOs the CarDTO objects to be saved
+     * @return the saved CarDTO objects
+     */
+    @Override
+    public Collection<CarDTO> saveAll(Collection<CarDTO> carDTOs) {
+        return carRepositoryPort.saveAll(carDTOs);
+    }
+
+    /**
+     * Inserts a car DTO, or updates the car with the same ID only if it differs.
+     *
+     * @param carDTO the car DTO to be upserted
+     * @return the upserted car DTO and whether it was inserted, updated or left unchanged
+     */
+    @Override
+    public UpsertDTO<CarDTO> upsert(CarDTO carDTO) {
+        return carRepositoryPort.upsert(carDTO);
+    }
+
+    /**
+     * Updates only the given fields of the car with the specified ID.
+     *
+     * @param carId           the ID of the car to update
+     * @param fields          the new values of the fields to update, keyed by field name
+     * @param expectedVersion the version the car must be at to be updated, or null to update it at any version
+     * @return the updated car DTO and its new version
+     */
+    @Override
+    public VersionedDTO<CarDTO> patch(Long carId, Map<String, Object> fields, Long expectedVersion) {
+        return carRepositoryPort.patch(carId, fields, expectedVersion);
     }
 
     /**
@@ -52,9 +105,18 @@ public class CarServiceAdapter implements IServicePort<CarDTO, Long> {
      */
     @Override
     public boolean delete(Long carId) {
-        boolean isCarDeleted = carRepositoryPort.delete(carId);
-        applicationEventPublisher.publishEvent(new VehicleDeletedEvent<>(this, isCarDeleted));
-        return isCarDeleted;
+        return carRepositoryPort.delete(carId);
+    }
+
+    /**
+     * Deletes many cars by their IDs at once.
+     *
+     * @param carIds the IDs of the cars to delete
+     * @return the IDs of the deleted cars, and the IDs no car was found for
+     */
+    @Override
+    public BulkDeleteDTO<Long> deleteAllById(Collection<Long> carIds) {
+        return carRepositoryPort.deleteAllById(carIds);
     }
 
     /**
@@ -65,9 +127,26 @@ public class CarServiceAdapter implements IServicePort<CarDTO, Long> {
      */
     @Override
     public CarDTO findById(Long carId) {
+        if (hotKeyTracker != null) {
+            hotKeyTracker.recordId(carId);
+        }
+        if (findByIdLoader != null) {
+            return findByIdLoader.load(carId);
+        }
         return carRepositoryPort.findById(carId);
     }
 
+    /**
+     * Finds many cars by their IDs at once.
+     *
+     * @param carIds the IDs of the cars to find
+     * @return the found cars in the order of the given IDs, and the IDs no car was found for
+     */
+    @Override
+    public MultiGetDTO<CarDTO, Long> findAllById(Collection<Long> carIds) {
+        return carRepositoryPort.findAllById(carIds);
+    }
+
     /**
      * Retrieves a collection of CarDTO objects from the carRepositoryPort, ordered by make in ascending order.
      *
@@ -75,6 +154,45 @@ public class CarServiceAdapter implements IServicePort<CarDTO, Long> {
      */
     @Override
     public Collection<CarDTO> findAllByOrderByMakeAsc(int page, int size) {
+        if (hotKeyTracker != null) {
+            hotKeyTracker.recordListPage(page, size);
+        }
         return carRepositoryPort.findAllByOrderByMakeAsc(page, size);
     }
+
+    /**
+     * Retrieves a page of CarDTO objects ordered by make and ID, starting right after the given cursor.
+     *
+     * @param after the cursor returned with the previous page, or null/empty for the first page
+     * @param size  the maximum number of cars to return
+     * @return a page of CarDTO objects and the cursor of the next page
+     */
+    @Override
+    public CursorPageDTO<CarDTO> findAllByOrderByMakeAscAfter(String after, int size) {
+        return carRepositoryPort.findAllByOrderByMakeAscAfter(after, size);
+    }
+
+    /**
+     * Retrieves a page of CarDTO objects ordered by make without counting all the cars.
+     *
+     * @param page                the number of the page to retrieve
+     * @param size                the maximum number of cars to return
+     * @param withEstimatedTotal  whether a rough total of cars should be included
+     * @return a page of CarDTO objects and whether a next page exists
+     */
+    @Override
+    public SliceDTO<CarDTO> findSliceByOrderByMakeAsc(int page, int size, boolean withEstimatedTotal) {
+        return carRepositoryPort.findSliceByOrderByMakeAsc(page, size, withEstimatedTotal);
+    }
+
+    /**
+     * Passes every CarDTO object, ordered by make and ID, to the given action while they are read from the
+     * carRepositoryPort.
+     *
+     * @param action the action to perform on each CarDTO object
+     */
+    @Override
+    public void forEachOrderByMakeAsc(Consumer<CarDTO> action) {
+        carRepositoryPort.forEachOrderByMakeAsc(action);
+    }
 }
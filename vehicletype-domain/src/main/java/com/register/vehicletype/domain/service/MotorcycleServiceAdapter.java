@@ -1,44 +1,98 @@
 package com.register.vehicletype.domain.service;
 
+import com.register.vehicletype.domain.dto.BulkDeleteDTO;
+import com.register.vehicletype.domain.dto.CursorPageDTO;
+import com.register.vehicletype.domain.dto.MultiGetDTO;
 import com.register.vehicletype.domain.dto.MotorcycleDTO;
-import com.register.vehicletype.domain.event.VehicleDeletedEvent;
-import com.register.vehicletype.domain.event.VehicleSavedEvent;
+import com.register.vehicletype.domain.dto.SliceDTO;
+import com.register.vehicletype.domain.dto.UpsertDTO;
+import com.register.vehicletype.domain.dto.VersionedDTO;
+import com.register.vehicletype.domain.hotkey.HotKeyTracker;
+import com.register.vehicletype.domain.loader.BatchingLoader;
 import com.register.vehicletype.domain.port.inbound.IServicePort;
 import com.register.vehicletype.domain.port.outbound.IRepositoryPort;
-import org.springframework.context.ApplicationEventPublisher;
 
 import java.util.Collection;
+import java.util.Map;
+import java.util.function.Consumer;
 
 /**
  * The MotorcycleServiceAdapter class is an implementation of the IServicePort interface that provides methods for managing MotorcycleDTO entities.
- * It interacts with the IRepositoryPort implementation for MotorcycleDTO objects to perform CRUD operations and publishes application events.
+ * It interacts with the IRepositoryPort implementation for MotorcycleDTO objects to perform CRUD operations.
  */
 public class MotorcycleServiceAdapter implements IServicePort<MotorcycleDTO, Long> {
 
     private final IRepositoryPort<MotorcycleDTO, Long> motorcycleRepositoryPort;
-    private final ApplicationEventPublisher applicationEventPublisher;
+    private final BatchingLoader<MotorcycleDTO, Long> findByIdLoader;
+    private final HotKeyTracker hotKeyTracker;
 
     /**
      * The MotorcycleServiceAdapter class is an implementation of the IServicePort interface that provides methods for managing MotorcycleDTO entities.
-     * It interacts with the IRepositoryPort implementation for MotorcycleDTO objects to perform CRUD operations and publishes application events.
+     * It interacts with the IRepositoryPort implementation for MotorcycleDTO objects to perform CRUD operations.
+     */
+    public MotorcycleServiceAdapter(IRepositoryPort<MotorcycleDTO, Long> motorcycleRepositoryPort) {
+        this(motorcycleRepositoryPort, null, null);
+    }
+
+    /**
+     * Constructs a MotorcycleServiceAdapter whose lookups by ID arriving at the same time are loaded together
+     * through the given loader, and whose reads are counted by the given tracker of the most read keys.
+     *
+     * @param motorcycleRepositoryPort the repository port for MotorcycleDTO entities
+     * @param findByIdLoader           the loader batching the lookups by ID, or null to look every ID up on its own
+     * @param hotKeyTracker            the tracker of the most read IDs and list pages, or null to track none
      */
     public MotorcycleServiceAdapter(IRepositoryPort<MotorcycleDTO, Long> motorcycleRepositoryPort,
-                             ApplicationEventPublisher applicationEventPublisher) {
+                                    BatchingLoader<MotorcycleDTO, Long> findByIdLoader, HotKeyTracker hotKeyTracker) {
         this.motorcycleRepositoryPort = motorcycleRepositoryPort;
-        this.applicationEventPublisher = applicationEventPublisher;
+        this.findByIdLoader = findByIdLoader;
+        this.hotKeyTracker = hotKeyTracker;
     }
 
     /**
-     * Saves the MotorcycleDTO object into the repository and publishes a VehicleSavedEvent.
+     * Saves the MotorcycleDTO object into the repository.
      *
      * @param motorcycleDTO the MotorcycleDTO object to be saved
      * @return the saved MotorcycleDTO object
      */
     @Override
     public MotorcycleDTO save(MotorcycleDTO motorcycleDTO) {
-        MotorcycleDTO savedMotorcycleDTO = motorcycleRepositoryPort.save(motorcycleDTO);
-        applicationEventPublisher.publishEvent(new VehicleSavedEvent<>(this, savedMotorcycleDTO));
-        return savedMotorcycleDTO;
+        return motorcycleRepositoryPort.save(motorcycleDTO);
+    }
+
+    /**
+     * Saves a batch of MotorcycleDTO objects.
+     *
+     * @param motorcycleDTOs the MotorcycleDTO objects to be saved
+     * @return the saved MotorcycleDTO objects
+     */
+    @Override
+    public Collection<MotorcycleDTO> saveAll(Collection<MotorcycleDTO> motorcycleDTOs) {
+        return motorcycleRepositoryPort.saveAll(motorcycleDTOs);
+    }
+
+    /**
+     * Inserts a motorcycle DTO, or updates the motorcycle with the same ID only if it differs.
+     *
+     * @param motorcycleDTO the motorcycle DTO to be upserted
+     * @return the upserted motorcycle DTO and whether it was inserted, updated or left unchanged
+     */
+    @Override
+    public UpsertDTO<MotorcycleDTO> upsert(MotorcycleDTO motorcycleDTO) {
+        return motorcycleRepositoryPort.upsert(motorcycleDTO);
+    }
+
+    /**
+     * Updates only the given fields of the motorcycle with the specified ID.
+     *
+     * @param motorcycleId    the ID of the motorcycle to update
+     * @param fields          the new values of the fields to update, keyed by field name
+     * @param expectedVersion the version the motorcycle must be at to be updated, or null to update it at any version
+     * @return the updated motorcycle DTO and its new version
+     */
+    @Override
+    public VersionedDTO<MotorcycleDTO> patch(Long motorcycleId, Map<String, Object> fields, Long expectedVersion) {
+        return motorcycleRepositoryPort.patch(motorcycleId, fields, expectedVersion);
     }
 
     /**
@@ -49,9 +103,18 @@ public class MotorcycleServiceAdapter implements IServicePort<MotorcycleDTO, Lon
      */
     @Override
     public boolean delete(Long motorcycleId) {
-        boolean isMotorcycleDeleted = motorcycleRepositoryPort.delete(motorcycleId);
-        applicationEventPublisher.publishEvent(new VehicleDeletedEvent<>(this, isMotorcycleDeleted));
-        return isMotorcycleDeleted;
+        return motorcycleRepositoryPort.delete(motorcycleId);
+    }
+
+    /**
+     * Deletes many motorcycles by their IDs at once.
+     *
+     * @param motorcycleIds the IDs of the motorcycles to delete
+     * @return the IDs of the deleted motorcycles, and the IDs no motorcycle was found for
+     */
+    @Override
+    public BulkDeleteDTO<Long> deleteAllById(Collection<Long> motorcycleIds) {
+        return motorcycleRepositoryPort.deleteAllById(motorcycleIds);
     }
 
     /**
@@ -62,9 +125,26 @@ public class MotorcycleServiceAdapter implements IServicePort<MotorcycleDTO, Lon
      */
     @Override
     public MotorcycleDTO findById(Long motorcycleId) {
+        if (hotKeyTracker != null) {
+            hotKeyTracker.recordId(motorcycleId);
+        }
+        if (findByIdLoader != null) {
+            return findByIdLoader.load(motorcycleId);
+        }
         return motorcycleRepositoryPort.findById(motorcycleId);
     }
 
+    /**
+     * Finds many motorcycles by their IDs at once.
+     *
+     * @param motorcycleIds the IDs of the motorcycles to find
+     * @return the found motorcycles in the order of the given IDs, and the IDs no motorcycle was found for
+     */
+    @Override
+    public MultiGetDTO<MotorcycleDTO, Long> findAllById(Collection<Long> motorcycleIds) {
+        return motorcycleRepositoryPort.findAllById(motorcycleIds);
+    }
+
     /**
      * Retrieves a collection of MotorcycleDTO objects from the repository in ascending order of their make.
      *
@@ -72,6 +152,45 @@ public class MotorcycleServiceAdapter implements IServicePort<MotorcycleDTO, Lon
      */
     @Override
     public Collection<MotorcycleDTO> findAllByOrderByMakeAsc(int page, int size) {
+        if (hotKeyTracker != null) {
+            hotKeyTracker.recordListPage(page, size);
+        }
         return motorcycleRepositoryPort.findAllByOrderByMakeAsc(page, size);
     }
+
+    /**
+     * Retrieves a page of MotorcycleDTO objects ordered by make and ID, starting right after the given cursor.
+     *
+     * @param after the cursor returned with the previous page, or null/empty for the first page
+     * @param size  the maximum number of motorcycles to return
+     * @return a page of MotorcycleDTO objects and the cursor of the next page
+     */
+    @Override
+    public CursorPageDTO<MotorcycleDTO> findAllByOrderByMakeAscAfter(String after, int size) {
+        return motorcycleRepositoryPort.findAllByOrderByMakeAscAfter(after, size);
+    }
+
+    /**
+     * Retrieves a page of MotorcycleDTO objects ordered by make without counting all the motorcycles.
+     *
+     * @param page                the number of the page to retrieve
+     * @param size                the maximum number of motorcycles to return
+     * @param withEstimatedTotal  whether a rough total of motorcycles should be included
+     * @return a page of MotorcycleDTO objects and whether a next page exists
+     */
+    @Override
+    public SliceDTO<MotorcycleDTO> findSliceByOrderByMakeAsc(int page, int size, boolean withEstimatedTotal) {
+        return motorcycleRepositoryPort.findSliceByOrderByMakeAsc(page, size, withEstimatedTotal);
+    }
+
+    /**
+     * Passes every MotorcycleDTO object, ordered by make and ID, to the given action while they are read from the
+     * motorcycleRepositoryPort.
+     *
+     * @param action the action to perform on each MotorcycleDTO object
+     */
+    @Override
+    public void forEachOrderByMakeAsc(Consumer<MotorcycleDTO> action) {
+        motorcycleRepositoryPort.forEachOrderByMakeAsc(action);
+    }
 }
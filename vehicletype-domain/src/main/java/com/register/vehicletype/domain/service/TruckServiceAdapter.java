@@ -1,35 +1,55 @@
 package com.register.vehicletype.domain.service;
 
+import com.register.vehicletype.domain.dto.BulkDeleteDTO;
+import com.register.vehicletype.domain.dto.CursorPageDTO;
+import com.register.vehicletype.domain.dto.MultiGetDTO;
+import com.register.vehicletype.domain.dto.SliceDTO;
+import com.register.vehicletype.domain.dto.UpsertDTO;
+import com.register.vehicletype.domain.dto.VersionedDTO;
 import com.register.vehicletype.domain.dto.TruckDTO;
-import com.register.vehicletype.domain.event.VehicleDeletedEvent;
-import com.register.vehicletype.domain.event.VehicleSavedEvent;
+import com.register.vehicletype.domain.hotkey.HotKeyTracker;
+import com.register.vehicletype.domain.loader.BatchingLoader;
 import com.register.vehicletype.domain.port.inbound.IServicePort;
 import com.register.vehicletype.domain.port.outbound.IRepositoryPort;
-import org.springframework.context.ApplicationEventPublisher;
 
 import java.util.Collection;
+import java.util.Map;
+import java.util.function.Consumer;
 
 /**
- * Constructs a TruckServiceAdapter object with the specified repository port and event publisher.
+ * Constructs a TruckServiceAdapter object with the specified repository port.
  */
 public class TruckServiceAdapter implements IServicePort<TruckDTO, Long> {
 
     private final IRepositoryPort<TruckDTO, Long> truckRepositoryPort;
-    private final ApplicationEventPublisher applicationEventPublisher;
+    private final BatchingLoader<TruckDTO, Long> findByIdLoader;
+    private final HotKeyTracker hotKeyTracker;
 
     /**
      * The TruckServiceAdapter class is an implementation of the IServicePort interface
      * for managing TruckDTO entities. It provides methods for saving, deleting, finding by ID,
-     * and retrieving all TruckDTO entities. It uses a TruckRepositoryPort and an ApplicationEventPublisher
+     * and retrieving all TruckDTO entities. It uses a TruckRepositoryPort
      * internally for performing the operations.
      *
      * @param truckRepositoryPort         the repository port for TruckDTO entities
-     * @param applicationEventPublisher   the event publisher for application events
+     */
+    public TruckServiceAdapter(IRepositoryPort<TruckDTO, Long> truckRepositoryPort) {
+        this(truckRepositoryPort, null, null);
+    }
+
+    /**
+     * Constructs a TruckServiceAdapter whose lookups by ID arriving at the same time are loaded together
+     * through the given loader, and whose reads are counted by the given tracker of the most read keys.
+     *
+     * @param truckRepositoryPort the repository port for TruckDTO entities
+     * @param findByIdLoader      the loader batching the lookups by ID, or null to look every ID up on its own
+     * @param hotKeyTracker       the tracker of the most read IDs and list pages, or null to track none
      */
     public TruckServiceAdapter(IRepositoryPort<TruckDTO, Long> truckRepositoryPort,
-                             ApplicationEventPublisher applicationEventPublisher) {
+                               BatchingLoader<TruckDTO, Long> findByIdLoader, HotKeyTracker hotKeyTracker) {
         this.truckRepositoryPort = truckRepositoryPort;
-        this.applicationEventPublisher = applicationEventPublisher;
+        this.findByIdLoader = findByIdLoader;
+        this.hotKeyTracker = hotKeyTracker;
     }
 
     /**
@@ -40,9 +60,42 @@ public class TruckServiceAdapter implements IServicePort<TruckDTO, Long> {
      */
     @Override
     public TruckDTO save(TruckDTO truckDTO) {
-        TruckDTO savedTruckDTO = truckRepositoryPort.save(truckDTO);
-        applicationEventPublisher.publishEvent(new VehicleSavedEvent<>(this, savedTruckDTO));
-        return savedTruckDTO;
+        return truckRepositoryPort.save(truckDTO);
+    }
+
+    /**
+     * Saves a batch of TruckDTO objects.
+     *
+     * @param truckDTOs the TruckDTO objects to be saved
+     * @return the saved TruckDTO objects
+     */
+    @Override
+    public Collection<TruckDTO> saveAll(Collection<TruckDTO> truckDTOs) {
+        return truckRepositoryPort.saveAll(truckDTOs);
+    }
+
+    /**
+     * Inserts a truck DTO, or updates the truck with the same ID only if it differs.
+     *
+     * @param truckDTO the truck DTO to be upserted
+     * @return the upserted truck DTO and whether it was inserted, updated or left unchanged
+     */
+    @Override
+    public UpsertDTO<TruckDTO> upsert(TruckDTO truckDTO) {
+        return truckRepositoryPort.upsert(truckDTO);
+    }
+
+    /**
+     * Updates only the given fields of the truck with the specified ID.
+     *
+     * @param truckId         the ID of the truck to update
+     * @param fields          the new values of the fields to update, keyed by field name
+     * @param expectedVersion the version the truck must be at to be updated, or null to update it at any version
+     * @return the updated truck DTO and its new version
+     */
+    @Override
+    public VersionedDTO<TruckDTO> patch(Long truckId, Map<String, Object> fields, Long expectedVersion) {
+        return truckRepositoryPort.patch(truckId, fields, expectedVersion);
     }
 
     /**
@@ -53,9 +106,18 @@ public class TruckServiceAdapter implements IServicePort<TruckDTO, Long> {
      */
     @Override
     public boolean delete(Long truckId) {
-        boolean isTruckDeleted = truckRepositoryPort.delete(truckId);
-        applicationEventPublisher.publishEvent(new VehicleDeletedEvent<>(this, isTruckDeleted));
-        return isTruckDeleted;
+        return truckRepositoryPort.delete(truckId);
+    }
+
+    /**
+     * Deletes many trucks by their IDs at once.
+     *
+     * @param truckIds the IDs of the trucks to delete
+     * @return the IDs of the deleted trucks, and the IDs no truck was found for
+     */
+    @Override
+    public BulkDeleteDTO<Long> deleteAllById(Collection<Long> truckIds) {
+        return truckRepositoryPort.deleteAllById(truckIds);
     }
 
     /**
@@ -66,9 +128,26 @@ public class TruckServiceAdapter implements IServicePort<TruckDTO, Long> {
      */
     @Override
     public TruckDTO findById(Long truckId) {
+        if (hotKeyTracker != null) {
+            hotKeyTracker.recordId(truckId);
+        }
+        if (findByIdLoader != null) {
+            return findByIdLoader.load(truckId);
+        }
         return truckRepositoryPort.findById(truckId);
     }
 
+    /**
+     * Finds many trucks by their IDs at once.
+     *
+     * @param truckIds the IDs of the trucks to find
+     * @return the found trucks in the order of the given IDs, and the IDs no truck was found for
+     */
+    @Override
+    public MultiGetDTO<TruckDTO, Long> findAllById(Collection<Long> truckIds) {
+        return truckRepositoryPort.findAllById(truckIds);
+    }
+
     /**
      * Retrieves all trucks from the repository in ascending order of their make.
      *
@@ -76,6 +155,45 @@ public class TruckServiceAdapter implements IServicePort<TruckDTO, Long> {
      */
     @Override
     public Collection<TruckDTO> findAllByOrderByMakeAsc(int page, int size) {
+        if (hotKeyTracker != null) {
+            hotKeyTracker.recordListPage(page, size);
+        }
         return truckRepositoryPort.findAllByOrderByMakeAsc(page, size);
     }
+
+    /**
+     * Retrieves a page of TruckDTO objects ordered by make and ID, starting right after the given cursor.
+     *
+     * @param after the cursor returned with the previous page, or null/empty for the first page
+     * @param size  the maximum number of trucks to return
+     * @return a page of TruckDTO objects and the cursor of the next page
+     */
+    @Override
+    public CursorPageDTO<TruckDTO> findAllByOrderByMakeAscAfter(String after, int size) {
+        return truckRepositoryPort.findAllByOrderByMakeAscAfter(after, size);
+    }
+
+    /**
+     * Retrieves a page of TruckDTO objects ordered by make without counting all the trucks.
+     *
+     * @param page                the number of the page to retrieve
+     * @param size                the maximum number of trucks to return
+     * @param withEstimatedTotal  whether a rough total of trucks should be included
+     * @return a page of TruckDTO objects and whether a next page exists
+     */
+    @Override
+    public SliceDTO<TruckDTO> findSliceByOrderByMakeAsc(int page, int size, boolean withEstimatedTotal) {
+        return truckRepositoryPort.findSliceByOrderByMakeAsc(page, size, withEstimatedTotal);
+    }
+
+    /**
+     * Passes every TruckDTO object, ordered by make and ID, to the given action while they are read from the
+     * truckRepositoryPort.
+     *
+     * @param action the action to perform on each TruckDTO object
+     */
+    @Override
+    public void forEachOrderByMakeAsc(Consumer<TruckDTO> action) {
+        truckRepositoryPort.forEachOrderByMakeAsc(action);
+    }
 }
@@ -0,0 +1,82 @@
+package com.register.vehicletype.domain.event.bus;
+
+import com.register.vehicletype.domain.event.VehicleChangedEvent;
+import com.register.vehicletype.domain.event.VehicleSavedEvent;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class AsyncVehicleEventBusTest {
+
+    @Test
+    void testDeliverEventsInBatches() throws InterruptedException {
+        List<List<VehicleChangedEvent<?>>> batches = new CopyOnWriteArrayList<>();
+        CountDownLatch delivered = new CountDownLatch(5);
+        VehicleEventListener listener = events -> {
+            batches.add(events);
+            events.forEach(event -> delivered.countDown());
+        };
+        AsyncVehicleEventBus eventBus = new AsyncVehicleEventBus(event -> { }, List.of(listener), 10, 2,
+                Duration.ofMillis(100), OverflowPolicy.BLOCK);
+
+        for (int i = 0; i < 5; i++) {
+            eventBus.publishEvent(new VehicleSavedEvent<>(this, i));
+        }
+        eventBus.start();
+
+        assertTrue(delivered.await(5, TimeUnit.SECONDS));
+        eventBus.stop();
+        assertEquals(List.of(2, 2, 1), batches.stream().map(List::size).toList());
+        assertEquals(5, eventBus.getListenerMetrics().get(listener.getName()).getDeliveredEvents());
+    }
+
+    @Test
+    void testDropOldestEventWhenQueueIsFull() {
+        VehicleEventListener listener = events -> { };
+        AsyncVehicleEventBus eventBus = new AsyncVehicleEventBus(event -> { }, List.of(listener), 2, 2,
+                Duration.ofMillis(100), OverflowPolicy.DROP_OLDEST);
+
+        for (int i = 0; i < 3; i++) {
+            eventBus.publishEvent(new VehicleSavedEvent<>(this, i));
+        }
+
+        ListenerMetrics metrics = eventBus.getListenerMetrics().get(listener.getName());
+        assertEquals(1, metrics.getDroppedEvents());
+        assertEquals(2, metrics.getQueueSize());
+    }
+
+    @Test
+    void testDeliverOnTheCallingThreadAndThrowTheFailureOfAListener() {
+        List<VehicleChangedEvent<?>> delivered = new CopyOnWriteArrayList<>();
+        VehicleEventListener listener = delivered::addAll;
+        VehicleEventListener failingListener = new VehicleEventListener() {
+            @Override
+            public void onEvents(List<VehicleChangedEvent<?>> events) {
+                throw new IllegalStateException("Listener down");
+            }
+
+            @Override
+            public String getName() {
+                return "failingListener";
+            }
+        };
+        AsyncVehicleEventBus eventBus = new AsyncVehicleEventBus(event -> { }, List.of(listener, failingListener), 2,
+                2, Duration.ofMillis(100), OverflowPolicy.BLOCK);
+
+        List<VehicleChangedEvent<?>> events =
+                List.of(new VehicleSavedEvent<>(this, 1), new VehicleSavedEvent<>(this, 2));
+        assertThrows(IllegalStateException.class, () -> eventBus.deliver(events));
+
+        assertEquals(events, delivered);
+        assertEquals(1, eventBus.getListenerMetrics().get("failingListener").getFailedBatches());
+        assertEquals(0, eventBus.getListenerMetrics().get(listener.getName()).getQueueSize());
+    }
+}
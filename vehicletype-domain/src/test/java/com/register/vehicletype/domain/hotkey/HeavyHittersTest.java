@@ -0,0 +1,72 @@
+package com.register.vehicletype.domain.hotkey;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class HeavyHittersTest {
+
+    @Test
+    void testReportMostFrequentKeys() {
+        HeavyHitters<Long> heavyHitters = new HeavyHitters<>(3, 1024, Duration.ofHours(1));
+        for (long id = 0; id < 10_000; id++) {
+            heavyHitters.record(id);
+            heavyHitters.record(id % 10 == 0 ? 7L : id % 10 == 1 ? 8L : id % 10 == 2 ? 9L : id);
+        }
+
+        List<HeavyHitters.HotKey<Long>> top = heavyHitters.getTop();
+        assertEquals(List.of(7L, 8L, 9L), top.stream().map(HeavyHitters.HotKey::key).sorted().toList());
+        top.forEach(hotKey -> assertTrue(hotKey.count() >= 1_000));
+        assertEquals(20_000, heavyHitters.getTotal());
+    }
+
+    @Test
+    void testHalveCountsAfterDecayInterval() throws InterruptedException {
+        HeavyHitters<String> heavyHitters = new HeavyHitters<>(1, 64, Duration.ofMillis(200));
+        for (int i = 0; i < 100; i++) {
+            heavyHitters.record("hot");
+        }
+        Thread.sleep(300);
+        heavyHitters.record("hot");
+
+        assertEquals(50, heavyHitters.getTop().getFirst().count());
+        assertEquals(50, heavyHitters.getTotal());
+    }
+
+    @Test
+    void testKeepCandidatesBoundedWhileRecordingConcurrently() throws Exception {
+        HeavyHitters<Long> heavyHitters = new HeavyHitters<>(5, 1024, Duration.ofHours(1));
+        int threads = 8;
+        int keysPerThread = 20_000;
+        List<Future<?>> recordings;
+        try (ExecutorService executor = Executors.newFixedThreadPool(threads)) {
+            recordings = IntStream.range(0, threads)
+                    .<Future<?>>mapToObj(thread -> executor.submit(() -> {
+                        for (long i = 0; i < keysPerThread; i++) {
+                            heavyHitters.record(thread * 1_000_000L + i);
+                            heavyHitters.record(-1L);
+                        }
+                    }))
+                    .toList();
+            while (recordings.stream().anyMatch(recording -> !recording.isDone())) {
+                assertTrue(heavyHitters.getCandidateCount() <= 10);
+            }
+        }
+        for (Future<?> recording : recordings) {
+            recording.get();
+        }
+
+        HeavyHitters.HotKey<Long> hottest = heavyHitters.getTop().getFirst();
+        assertEquals(-1L, hottest.key());
+        assertTrue(hottest.count() >= threads * keysPerThread * 9L / 10);
+        assertEquals(2L * threads * keysPerThread, heavyHitters.getTotal());
+    }
+}
@@ -0,0 +1,65 @@
+package com.register.vehicletype.domain.loader;
+
+import com.register.vehicletype.domain.dto.CarDTO;
+import com.register.vehicletype.domain.dto.MultiGetDTO;
+import com.register.vehicletype.domain.exception.CarNotFoundException;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Function;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class BatchingLoaderTest {
+
+    private final List<List<Long>> batches = new CopyOnWriteArrayList<>();
+
+    private final Function<List<Long>, MultiGetDTO<CarDTO, Long>> batchLoadFunction = ids -> {
+        batches.add(ids);
+        List<CarDTO> cars = new ArrayList<>();
+        List<Long> missingIds = new ArrayList<>();
+        ids.forEach(id -> {
+            if (id > 0) {
+                cars.add(new CarDTO(id, "Make", "Model " + id, 2020, 4));
+            } else {
+                missingIds.add(id);
+            }
+        });
+        return new MultiGetDTO<>(cars, missingIds);
+    };
+
+    @Test
+    void testLoadConcurrentLookupsInOneBatch() throws InterruptedException {
+        BatchingLoader<CarDTO, Long> loader = new BatchingLoader<>(batchLoadFunction, CarDTO::id,
+                CarNotFoundException::new, 4, Duration.ofSeconds(10));
+        Map<Long, CarDTO> loaded = new ConcurrentHashMap<>();
+        List<Thread> threads = new ArrayList<>();
+        for (long id = 1; id <= 4; id++) {
+            long carId = id;
+            threads.add(Thread.ofVirtual().start(() -> loaded.put(carId, loader.load(carId))));
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+
+        assertEquals(1, batches.size());
+        assertEquals(4, batches.getFirst().size());
+        loaded.forEach((id, carDTO) -> assertEquals(id, carDTO.id()));
+    }
+
+    @Test
+    void testThrowNotFoundForMissingId() {
+        BatchingLoader<CarDTO, Long> loader = new BatchingLoader<>(batchLoadFunction, CarDTO::id,
+                CarNotFoundException::new, 64, Duration.ofNanos(1));
+
+        assertThrows(CarNotFoundException.class, () -> loader.load(-1L));
+        assertEquals(7L, loader.load(7L).id());
+        assertEquals(List.of(List.of(-1L), List.of(7L)), batches);
+    }
+}
@@ -0,0 +1,125 @@
+package com.register.vehicletype.adapter.hazelcast.config;
+
+import com.hazelcast.config.Config;
+import com.hazelcast.config.JoinConfig;
+import com.hazelcast.config.ReliableTopicConfig;
+import com.hazelcast.config.RingbufferConfig;
+import com.hazelcast.core.Hazelcast;
+import com.hazelcast.core.HazelcastInstance;
+import com.hazelcast.topic.TopicOverloadPolicy;
+import com.register.vehicletype.adapter.hazelcast.inbound.HazelcastSubscriberAdapter;
+import com.register.vehicletype.adapter.hazelcast.message.VehicleChangeBatchSerializer;
+import com.register.vehicletype.adapter.hazelcast.outbound.HazelcastPublisherAdapter;
+import com.register.vehicletype.adapter.hazelcast.outbound.HazelcastVehicleEventBridge;
+import com.register.vehicletype.domain.port.inbound.IHazelcastSubscriberPort;
+import com.register.vehicletype.domain.port.outbound.IHazelcastPublisherPort;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.ComponentScan;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.PropertySource;
+
+import java.util.List;
+
+/**
+ * The HazelcastAdapterConfig class is a configuration class for the Hazelcast adapter.
+ * It starts an embedded Hazelcast member and bridges the vehicle events to the other members of the cluster
+ * through a reliable topic.
+ */
+@Configuration
+@ComponentScan(value = "com.register.vehicletype.adapter.hazelcast")
+@PropertySource("classpath:/application-hazelcast.properties")
+public class HazelcastAdapterConfig {
+
+    private static final String HAZELCAST_CONFIG_NAME = "hazelcastConfig";
+    private static final String HAZELCAST_INSTANCE_NAME = "hazelcastInstance";
+    private static final String HAZELCAST_PUBLISHER_PORT_NAME = "hazelcastPublisherPort";
+    private static final String HAZELCAST_SUBSCRIBER_PORT_NAME = "hazelcastSubscriberPort";
+    private static final String HAZELCAST_VEHICLE_EVENT_BRIDGE_NAME = "hazelcastVehicleEventBridge";
+    private static final String TOPIC = "${vehicletype.hazelcast.topic}";
+    private static final String RELIABLE_TOPIC_RINGBUFFER_PREFIX = "_hz_rb_";
+
+    /**
+     * Creates the configuration of the embedded Hazelcast member.
+     * The members find each other through the configured TCP/IP addresses, and the reliable topic drops its oldest
+     * messages rather than blocking the publishers when a member lags behind.
+     *
+     * @param clusterName   the name of the cluster
+     * @param members       the addresses of the members of the cluster
+     * @param topic         the name of the reliable topic carrying the vehicle changes
+     * @param topicCapacity the number of messages kept by the reliable topic
+     * @return the configuration of the Hazelcast member
+     */
+    @Bean(name = HAZELCAST_CONFIG_NAME)
+    public Config hazelcastConfig(@Value("${vehicletype.hazelcast.cluster-name}") String clusterName,
+                                  @Value("${vehicletype.hazelcast.members}") List<String> members,
+                                  @Value(TOPIC) String topic,
+                                  @Value("${vehicletype.hazelcast.topic-capacity}") int topicCapacity) {
+        Config config = new Config();
+        config.setClusterName(clusterName);
+        JoinConfig joinConfig = config.getNetworkConfig().getJoin();
+        joinConfig.getMulticastConfig().setEnabled(false);
+        joinConfig.getTcpIpConfig().setEnabled(true).setMembers(members);
+        config.getSerializationConfig().getCompactSerializationConfig()
+                .addSerializer(new VehicleChangeBatchSerializer());
+        config.addRingBufferConfig(new RingbufferConfig(RELIABLE_TOPIC_RINGBUFFER_PREFIX + topic)
+                .setCapacity(topicCapacity));
+        config.addReliableTopicConfig(new ReliableTopicConfig(topic)
+                .setTopicOverloadPolicy(TopicOverloadPolicy.DISCARD_OLDEST));
+        return config;
+    }
+
+    /**
+     * Starts the embedded Hazelcast member.
+     *
+     * @param hazelcastConfig the configuration of the Hazelcast member
+     * @return the embedded Hazelcast member
+     */
+    @Bean(name = HAZELCAST_INSTANCE_NAME, destroyMethod = "shutdown")
+    public HazelcastInstance hazelcastInstance(Config hazelcastConfig) {
+        return Hazelcast.newHazelcastInstance(hazelcastConfig);
+    }
+
+    /**
+     * Creates the port publishing messages to the reliable topics of the cluster.
+     *
+     * @param hazelcastInstance the embedded Hazelcast member
+     * @return an instance of IHazelcastPublisherPort
+     */
+    @Bean(name = HAZELCAST_PUBLISHER_PORT_NAME)
+    public IHazelcastPublisherPort hazelcastPublisherPort(HazelcastInstance hazelcastInstance) {
+        return new HazelcastPublisherAdapter(hazelcastInstance);
+    }
+
+    /**
+     * Creates the port receiving the vehicle changes of the cluster, already subscribed to the vehicle changes topic.
+     *
+     * @param hazelcastInstance         the embedded Hazelcast member
+     * @param applicationEventPublisher the publisher the received changes are published through
+     * @param topic                     the name of the reliable topic carrying the vehicle changes
+     * @return an instance of IHazelcastSubscriberPort
+     */
+    @Bean(name = HAZELCAST_SUBSCRIBER_PORT_NAME)
+    public IHazelcastSubscriberPort hazelcastSubscriberPort(HazelcastInstance hazelcastInstance,
+                                                            ApplicationEventPublisher applicationEventPublisher,
+                                                            @Value(TOPIC) String topic) {
+        IHazelcastSubscriberPort hazelcastSubscriberPort =
+                new HazelcastSubscriberAdapter(hazelcastInstance, applicationEventPublisher);
+        hazelcastSubscriberPort.subscribeToHazelcast(topic);
+        return hazelcastSubscriberPort;
+    }
+
+    /**
+     * Creates the listener of the vehicle event bus forwarding every batch of vehicle events to the cluster.
+     *
+     * @param hazelcastPublisherPort the port the messages are published through
+     * @param topic                  the name of the reliable topic carrying the vehicle changes
+     * @return the Hazelcast vehicle event bridge
+     */
+    @Bean(name = HAZELCAST_VEHICLE_EVENT_BRIDGE_NAME)
+    public HazelcastVehicleEventBridge hazelcastVehicleEventBridge(IHazelcastPublisherPort hazelcastPublisherPort,
+                                                                   @Value(TOPIC) String topic) {
+        return new HazelcastVehicleEventBridge(hazelcastPublisherPort, topic);
+    }
+}
@@ -0,0 +1,54 @@
+package com.register.vehicletype.adapter.hazelcast.inbound;
+
+import com.hazelcast.core.HazelcastInstance;
+import com.hazelcast.topic.Message;
+import com.register.vehicletype.adapter.hazelcast.message.VehicleChangeBatch;
+import com.register.vehicletype.domain.event.RemoteVehicleChangedEvent;
+import com.register.vehicletype.domain.port.inbound.IHazelcastSubscriberPort;
+import org.springframework.context.ApplicationEventPublisher;
+
+/**
+ * The HazelcastSubscriberAdapter class listens to the reliable topics of the embedded Hazelcast member and publishes
+ * a RemoteVehicleChangedEvent for every change of the received VehicleChangeBatch messages, so the local caches of
+ * this node can drop the changed vehicles. The messages published by this node are skipped, since its own caches
+ * already hold the changes.
+ */
+public class HazelcastSubscriberAdapter implements IHazelcastSubscriberPort {
+
+    private final HazelcastInstance hazelcastInstance;
+    private final ApplicationEventPublisher applicationEventPublisher;
+
+    /**
+     * The HazelcastSubscriberAdapter class listens to the reliable topics of the embedded Hazelcast member.
+     *
+     * @param hazelcastInstance         the embedded Hazelcast member
+     * @param applicationEventPublisher the publisher the received changes are published through
+     */
+    public HazelcastSubscriberAdapter(HazelcastInstance hazelcastInstance,
+                                      ApplicationEventPublisher applicationEventPublisher) {
+        this.hazelcastInstance = hazelcastInstance;
+        this.applicationEventPublisher = applicationEventPublisher;
+    }
+
+    /**
+     * Subscribes to the reliable topic with the given name.
+     *
+     * @param topic the name of the reliable topic
+     */
+    @Override
+    public void subscribeToHazelcast(String topic) {
+        hazelcastInstance.<VehicleChangeBatch>getReliableTopic(topic).addMessageListener(this::onMessage);
+    }
+
+    private void onMessage(Message<VehicleChangeBatch> message) {
+        if (message.getPublishingMember() != null && message.getPublishingMember().localMember()) {
+            return;
+        }
+        VehicleChangeBatch vehicleChangeBatch = message.getMessageObject();
+        for (int i = 0; i < vehicleChangeBatch.size(); i++) {
+            applicationEventPublisher.publishEvent(new RemoteVehicleChangedEvent(this,
+                    vehicleChangeBatch.vehicleTypes()[i], vehicleChangeBatch.vehicleIds()[i],
+                    vehicleChangeBatch.deleted()[i]));
+        }
+    }
+}
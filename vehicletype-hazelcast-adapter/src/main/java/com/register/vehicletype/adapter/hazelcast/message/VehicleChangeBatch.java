@@ -0,0 +1,46 @@
+package com.register.vehicletype.adapter.hazelcast.message;
+
+import java.util.Arrays;
+
+/**
+ * The VehicleChangeBatch record is the message sent to the other nodes for a batch of vehicle changes.
+ * It only identifies the changed vehicles, as parallel arrays, so it stays a few bytes per change whatever the size
+ * of the vehicles.
+ *
+ * @param vehicleTypes the simple name of the DTO class of every changed vehicle
+ * @param vehicleIds   the ID of every changed vehicle
+ * @param deleted      whether every vehicle was deleted rather than saved
+ */
+public record VehicleChangeBatch(String[] vehicleTypes, long[] vehicleIds, boolean[] deleted) {
+
+    /**
+     * Returns the number of changes of the batch.
+     *
+     * @return the number of changes
+     */
+    public int size() {
+        return vehicleIds.length;
+    }
+
+    @Override
+    public boolean equals(Object object) {
+        return object instanceof VehicleChangeBatch other
+                && Arrays.equals(vehicleTypes, other.vehicleTypes)
+                && Arrays.equals(vehicleIds, other.vehicleIds)
+                && Arrays.equals(deleted, other.deleted);
+    }
+
+    @Override
+    public int hashCode() {
+        return 31 * (31 * Arrays.hashCode(vehicleTypes) + Arrays.hashCode(vehicleIds)) + Arrays.hashCode(deleted);
+    }
+
+    @Override
+    public String toString() {
+        return "VehicleChangeBatch{" +
+                "vehicleTypes=" + Arrays.toString(vehicleTypes) +
+                ", vehicleIds=" + Arrays.toString(vehicleIds) +
+                ", deleted=" + Arrays.toString(deleted) +
+                '}';
+    }
+}
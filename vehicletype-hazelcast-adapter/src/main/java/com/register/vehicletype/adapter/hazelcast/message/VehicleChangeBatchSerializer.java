@@ -0,0 +1,40 @@
+package com.register.vehicletype.adapter.hazelcast.message;
+
+import com.hazelcast.nio.serialization.compact.CompactReader;
+import com.hazelcast.nio.serialization.compact.CompactSerializer;
+import com.hazelcast.nio.serialization.compact.CompactWriter;
+
+/**
+ * The VehicleChangeBatchSerializer class writes the VehicleChangeBatch messages with the Hazelcast compact
+ * serialization, as three typed arrays instead of Java serialized objects.
+ */
+public class VehicleChangeBatchSerializer implements CompactSerializer<VehicleChangeBatch> {
+
+    private static final String TYPE_NAME = "vehicleChangeBatch";
+    private static final String VEHICLE_TYPES_FIELD = "vehicleTypes";
+    private static final String VEHICLE_IDS_FIELD = "vehicleIds";
+    private static final String DELETED_FIELD = "deleted";
+
+    @Override
+    public VehicleChangeBatch read(CompactReader reader) {
+        return new VehicleChangeBatch(reader.readArrayOfString(VEHICLE_TYPES_FIELD),
+                reader.readArrayOfInt64(VEHICLE_IDS_FIELD), reader.readArrayOfBoolean(DELETED_FIELD));
+    }
+
+    @Override
+    public void write(CompactWriter writer, VehicleChangeBatch vehicleChangeBatch) {
+        writer.writeArrayOfString(VEHICLE_TYPES_FIELD, vehicleChangeBatch.vehicleTypes());
+        writer.writeArrayOfInt64(VEHICLE_IDS_FIELD, vehicleChangeBatch.vehicleIds());
+        writer.writeArrayOfBoolean(DELETED_FIELD, vehicleChangeBatch.deleted());
+    }
+
+    @Override
+    public String getTypeName() {
+        return TYPE_NAME;
+    }
+
+    @Override
+    public Class<VehicleChangeBatch> getCompactClass() {
+        return VehicleChangeBatch.class;
+    }
+}
@@ -0,0 +1,32 @@
+package com.register.vehicletype.adapter.hazelcast.outbound;
+
+import com.hazelcast.core.HazelcastInstance;
+import com.register.vehicletype.domain.port.outbound.IHazelcastPublisherPort;
+
+/**
+ * The HazelcastPublisherAdapter class publishes messages to the reliable topics of the embedded Hazelcast member.
+ */
+public class HazelcastPublisherAdapter implements IHazelcastPublisherPort {
+
+    private final HazelcastInstance hazelcastInstance;
+
+    /**
+     * The HazelcastPublisherAdapter class publishes messages to the reliable topics of the embedded Hazelcast member.
+     *
+     * @param hazelcastInstance the embedded Hazelcast member
+     */
+    public HazelcastPublisherAdapter(HazelcastInstance hazelcastInstance) {
+        this.hazelcastInstance = hazelcastInstance;
+    }
+
+    /**
+     * Publishes a message to the reliable topic with the given name.
+     *
+     * @param topic   the name of the reliable topic
+     * @param message the message to be published
+     */
+    @Override
+    public void publishToHazelcast(String topic, Object message) {
+        hazelcastInstance.getReliableTopic(topic).publish(message);
+    }
+}
@@ -0,0 +1,87 @@
+package com.register.vehicletype.adapter.hazelcast.outbound;
+
+import com.register.vehicletype.adapter.hazelcast.message.VehicleChangeBatch;
+import com.register.vehicletype.domain.dto.CarDTO;
+import com.register.vehicletype.domain.dto.MotorcycleDTO;
+import com.register.vehicletype.domain.dto.TruckDTO;
+import com.register.vehicletype.domain.event.VehicleChangedEvent;
+import com.register.vehicletype.domain.event.VehicleDeletedEvent;
+import com.register.vehicletype.domain.event.VehicleSavedEvent;
+import com.register.vehicletype.domain.event.bus.VehicleEventListener;
+import com.register.vehicletype.domain.port.outbound.IHazelcastPublisherPort;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * The HazelcastVehicleEventBridge class forwards the vehicle events to the other nodes of the cluster.
+ * Every batch delivered by the vehicle event bus is coalesced into a single VehicleChangeBatch message.
+ */
+public class HazelcastVehicleEventBridge implements VehicleEventListener {
+
+    private final IHazelcastPublisherPort hazelcastPublisherPort;
+    private final String topic;
+
+    /**
+     * The HazelcastVehicleEventBridge class forwards the vehicle events to the other nodes of the cluster.
+     *
+     * @param hazelcastPublisherPort the port the messages are published through
+     * @param topic                  the name of the topic the messages are published to
+     */
+    public HazelcastVehicleEventBridge(IHazelcastPublisherPort hazelcastPublisherPort, String topic) {
+        this.hazelcastPublisherPort = hazelcastPublisherPort;
+        this.topic = topic;
+    }
+
+    /**
+     * Publishes the changes of the given events as a single message.
+     *
+     * @param events the events of the batch
+     */
+    @Override
+    public void onEvents(List<VehicleChangedEvent<?>> events) {
+        List<String> vehicleTypes = new ArrayList<>();
+        List<Long> vehicleIds = new ArrayList<>();
+        List<Boolean> deleted = new ArrayList<>();
+        for (VehicleChangedEvent<?> event : events) {
+            if (event instanceof VehicleSavedEvent<?> savedEvent) {
+                addSaved(savedEvent.getPayload(), vehicleTypes, vehicleIds, deleted);
+            } else if (event instanceof VehicleDeletedEvent<?> deletedEvent
+                    && deletedEvent.getVehicleType() != null
+                    && deletedEvent.getPayload() instanceof Number vehicleId) {
+                vehicleTypes.add(deletedEvent.getVehicleType().getSimpleName());
+                vehicleIds.add(vehicleId.longValue());
+                deleted.add(true);
+            }
+        }
+        if (!vehicleIds.isEmpty()) {
+            hazelcastPublisherPort.publishToHazelcast(topic, toMessage(vehicleTypes, vehicleIds, deleted));
+        }
+    }
+
+    private static void addSaved(Object vehicle, List<String> vehicleTypes, List<Long> vehicleIds,
+                                 List<Boolean> deleted) {
+        Long vehicleId = switch (vehicle) {
+            case CarDTO carDTO -> carDTO.id();
+            case TruckDTO truckDTO -> truckDTO.id();
+            case MotorcycleDTO motorcycleDTO -> motorcycleDTO.id();
+            default -> null;
+        };
+        if (vehicleId != null) {
+            vehicleTypes.add(vehicle.getClass().getSimpleName());
+            vehicleIds.add(vehicleId);
+            deleted.add(false);
+        }
+    }
+
+    private static VehicleChangeBatch toMessage(List<String> vehicleTypes, List<Long> vehicleIds,
+                                                List<Boolean> deleted) {
+        long[] vehicleIdArray = new long[vehicleIds.size()];
+        boolean[] deletedArray = new boolean[deleted.size()];
+        for (int i = 0; i < vehicleIdArray.length; i++) {
+            vehicleIdArray[i] = vehicleIds.get(i);
+            deletedArray[i] = deleted.get(i);
+        }
+        return new VehicleChangeBatch(vehicleTypes.toArray(String[]::new), vehicleIdArray, deletedArray);
+    }
+}
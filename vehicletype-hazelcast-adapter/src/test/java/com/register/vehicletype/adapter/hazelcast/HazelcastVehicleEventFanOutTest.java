@@ -0,0 +1,84 @@
+package com.register.vehicletype.adapter.hazelcast;
+
+import com.hazelcast.config.Config;
+import com.hazelcast.core.HazelcastInstance;
+import com.hazelcast.test.TestHazelcastInstanceFactory;
+import com.register.vehicletype.adapter.hazelcast.config.HazelcastAdapterConfig;
+import com.register.vehicletype.adapter.hazelcast.inbound.HazelcastSubscriberAdapter;
+import com.register.vehicletype.adapter.hazelcast.outbound.HazelcastPublisherAdapter;
+import com.register.vehicletype.adapter.hazelcast.outbound.HazelcastVehicleEventBridge;
+import com.register.vehicletype.domain.dto.CarDTO;
+import com.register.vehicletype.domain.dto.TruckDTO;
+import com.register.vehicletype.domain.event.RemoteVehicleChangedEvent;
+import com.register.vehicletype.domain.event.VehicleDeletedEvent;
+import com.register.vehicletype.domain.event.VehicleSavedEvent;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class HazelcastVehicleEventFanOutTest {
+
+    private static final String TOPIC = "vehicle-changes";
+
+    private final TestHazelcastInstanceFactory hazelcastInstanceFactory = new TestHazelcastInstanceFactory(2);
+
+    @AfterEach
+    void tearDown() {
+        hazelcastInstanceFactory.shutdownAll();
+    }
+
+    @Test
+    void testFanOutVehicleEventsToOtherMember() throws InterruptedException {
+        HazelcastInstance publishingMember = hazelcastInstanceFactory.newHazelcastInstance(newConfig());
+        HazelcastInstance receivingMember = hazelcastInstanceFactory.newHazelcastInstance(newConfig());
+        BlockingQueue<Object> receivedEvents = new LinkedBlockingQueue<>();
+        new HazelcastSubscriberAdapter(receivingMember, receivedEvents::add).subscribeToHazelcast(TOPIC);
+        HazelcastVehicleEventBridge bridge =
+                new HazelcastVehicleEventBridge(new HazelcastPublisherAdapter(publishingMember), TOPIC);
+
+        bridge.onEvents(List.of(
+                new VehicleSavedEvent<>(this, new CarDTO(1L, "Toyota", "Corolla", 2020, 4)),
+                new VehicleDeletedEvent<>(this, 2L, TruckDTO.class)));
+
+        RemoteVehicleChangedEvent savedEvent = (RemoteVehicleChangedEvent) receivedEvents.poll(10, TimeUnit.SECONDS);
+        RemoteVehicleChangedEvent deletedEvent = (RemoteVehicleChangedEvent) receivedEvents.poll(10, TimeUnit.SECONDS);
+        assertNotNull(savedEvent);
+        assertEquals("CarDTO", savedEvent.getVehicleType());
+        assertEquals(1L, savedEvent.getVehicleId());
+        assertFalse(savedEvent.isDeleted());
+        assertNotNull(deletedEvent);
+        assertEquals("TruckDTO", deletedEvent.getVehicleType());
+        assertEquals(2L, deletedEvent.getVehicleId());
+        assertTrue(deletedEvent.isDeleted());
+    }
+
+    @Test
+    void testSkipMessagesPublishedByTheSameMember() throws InterruptedException {
+        HazelcastInstance publishingMember = hazelcastInstanceFactory.newHazelcastInstance(newConfig());
+        HazelcastInstance receivingMember = hazelcastInstanceFactory.newHazelcastInstance(newConfig());
+        BlockingQueue<Object> ownEvents = new LinkedBlockingQueue<>();
+        BlockingQueue<Object> receivedEvents = new LinkedBlockingQueue<>();
+        new HazelcastSubscriberAdapter(publishingMember, ownEvents::add).subscribeToHazelcast(TOPIC);
+        new HazelcastSubscriberAdapter(receivingMember, receivedEvents::add).subscribeToHazelcast(TOPIC);
+        HazelcastVehicleEventBridge bridge =
+                new HazelcastVehicleEventBridge(new HazelcastPublisherAdapter(publishingMember), TOPIC);
+
+        bridge.onEvents(List.of(new VehicleDeletedEvent<>(this, 2L, TruckDTO.class)));
+
+        assertNotNull(receivedEvents.poll(10, TimeUnit.SECONDS));
+        assertTrue(ownEvents.isEmpty());
+    }
+
+    private static Config newConfig() {
+        return new HazelcastAdapterConfig().hazelcastConfig("vehicletype-test", List.of(), TOPIC, 100);
+    }
+}
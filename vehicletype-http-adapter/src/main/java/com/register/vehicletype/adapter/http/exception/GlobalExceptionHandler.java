@@ -1,8 +1,15 @@
 package com.register.vehicletype.adapter.http.exception;
 
 import com.register.vehicletype.domain.exception.CarNotFoundException;
+import com.register.vehicletype.domain.exception.ConcurrentUpdateException;
+import com.register.vehicletype.domain.exception.InvalidCursorException;
+import com.register.vehicletype.domain.exception.InvalidPatchException;
 import com.register.vehicletype.domain.exception.MotorcycleNotFoundException;
 import com.register.vehicletype.domain.exception.TruckNotFoundException;
+import com.register.vehicletype.domain.exception.VersionConflictException;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.ConstraintViolationException;
+import jakarta.validation.Path;
 import org.springframework.http.HttpStatus;
 import org.springframework.validation.FieldError;
 import org.springframework.web.bind.MethodArgumentNotValidException;
@@ -59,6 +66,58 @@ public class GlobalExceptionHandler {
         return getCustomResponseEntity(errorsMap, HttpStatus.NOT_FOUND);
     }
 
+    /**
+     * Handles the InvalidCursorException by creating a custom error response and returning it as a ResponseEntity.
+     *
+     * @param invalidCursorException The InvalidCursorException to be handled.
+     * @return A ResponseEntity containing the custom error response and the appropriate HTTP status code.
+     */
+    @ExceptionHandler(InvalidCursorException.class)
+    public ResponseEntity<CustomErrorResponse> handleInvalidCursorException(InvalidCursorException invalidCursorException) {
+        Map<String, String> errorsMap = new HashMap<>();
+        errorsMap.put("Cursor", invalidCursorException.getMessage());
+        return getCustomResponseEntity(errorsMap, HttpStatus.BAD_REQUEST);
+    }
+
+    /**
+     * Handles the InvalidPatchException by creating a custom error response and returning it as a ResponseEntity.
+     *
+     * @param invalidPatchException The InvalidPatchException to be handled.
+     * @return A ResponseEntity containing the custom error response and the appropriate HTTP status code.
+     */
+    @ExceptionHandler(InvalidPatchException.class)
+    public ResponseEntity<CustomErrorResponse> handleInvalidPatchException(InvalidPatchException invalidPatchException) {
+        Map<String, String> errorsMap = new HashMap<>();
+        errorsMap.put("Patch", invalidPatchException.getMessage());
+        return getCustomResponseEntity(errorsMap, HttpStatus.BAD_REQUEST);
+    }
+
+    /**
+     * Handles the VersionConflictException by creating a custom error response and returning it as a ResponseEntity.
+     *
+     * @param versionConflictException The VersionConflictException to be handled.
+     * @return A ResponseEntity containing the custom error response and the appropriate HTTP status code.
+     */
+    @ExceptionHandler(VersionConflictException.class)
+    public ResponseEntity<CustomErrorResponse> handleVersionConflictException(VersionConflictException versionConflictException) {
+        Map<String, String> errorsMap = new HashMap<>();
+        errorsMap.put("Version", versionConflictException.getMessage());
+        return getCustomResponseEntity(errorsMap, HttpStatus.PRECONDITION_FAILED);
+    }
+
+    /**
+     * Handles the ConcurrentUpdateException by creating a custom error response and returning it as a ResponseEntity.
+     *
+     * @param concurrentUpdateException The ConcurrentUpdateException to be handled.
+     * @return A ResponseEntity containing the custom error response and the appropriate HTTP status code.
+     */
+    @ExceptionHandler(ConcurrentUpdateException.class)
+    public ResponseEntity<CustomErrorResponse> handleConcurrentUpdateException(ConcurrentUpdateException concurrentUpdateException) {
+        Map<String, String> errorsMap = new HashMap<>();
+        errorsMap.put("Version", concurrentUpdateException.getMessage());
+        return getCustomResponseEntity(errorsMap, HttpStatus.CONFLICT);
+    }
+
     /**
      * Handles the MethodArgumentNotValidException by creating a custom error response and returning it as a ResponseEntity.
      *
@@ -76,6 +135,26 @@ public class GlobalExceptionHandler {
         return getCustomResponseEntity(errors, HttpStatus.BAD_REQUEST);
     }
 
+    /**
+     * Handles the ConstraintViolationException raised by the validation of the request parameters by creating a custom
+     * error response and returning it as a ResponseEntity.
+     *
+     * @param constraintViolationException The ConstraintViolationException to be handled.
+     * @return A ResponseEntity containing the custom error response and the appropriate HTTP status code.
+     */
+    @ExceptionHandler(ConstraintViolationException.class)
+    protected ResponseEntity<CustomErrorResponse> handleConstraintViolation(ConstraintViolationException constraintViolationException) {
+        Map<String, String> errors = new HashMap<>();
+        for (ConstraintViolation<?> violation : constraintViolationException.getConstraintViolations()) {
+            String parameterName = null;
+            for (Path.Node node : violation.getPropertyPath()) {
+                parameterName = node.getName();
+            }
+            errors.put(parameterName, violation.getMessage());
+        }
+        return getCustomResponseEntity(errors, HttpStatus.BAD_REQUEST);
+    }
+
     /**
      * Returns a ResponseEntity object containing a custom error response.
      *
@@ -1,13 +1,26 @@
 package com.register.vehicletype.adapter.http.inbound;
 
 import com.register.vehicletype.adapter.http.validator.Numeric;
+import com.register.vehicletype.domain.dto.BulkDeleteDTO;
+import com.register.vehicletype.domain.dto.CursorPageDTO;
+import com.register.vehicletype.domain.dto.MultiGetDTO;
+import com.register.vehicletype.domain.dto.SliceDTO;
+import com.register.vehicletype.domain.dto.UpsertDTO;
 import jakarta.validation.Valid;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.Size;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.util.Collection;
+import java.util.List;
+import java.util.Map;
 
 import static org.springframework.http.MediaType.APPLICATION_JSON_VALUE;
+import static org.springframework.http.MediaType.APPLICATION_NDJSON_VALUE;
 
 /**
  * Represents a REST controller interface for managing entities.
@@ -23,11 +36,49 @@ public interface IRestController<D, I> {
      *
      * @param dto the entity to save
      * @return a ResponseEntity with an empty body and HTTP 200 status if the entity is successfully saved,
-     *         or an HTTP 400 status if the request body is invalid
+     *         an HTTP 400 status if the request body is invalid, or an HTTP 409 status if the entity was updated
+     *         concurrently
      */
     @PostMapping(value = "/save", produces = APPLICATION_JSON_VALUE, consumes = APPLICATION_JSON_VALUE)
     ResponseEntity<D> save(@Valid @RequestBody D dto);
 
+    /**
+     * Saves a batch of entities of type T in a single request.
+     *
+     * @param dtos the entities to save
+     * @return a ResponseEntity containing the saved entities with HTTP 200 status,
+     *         an HTTP 400 status if one of the entities in the request body is invalid, or an HTTP 409 status if
+     *         one of them was updated concurrently
+     */
+    @PostMapping(value = "/save/batch", produces = APPLICATION_JSON_VALUE, consumes = APPLICATION_JSON_VALUE)
+    ResponseEntity<Collection<D>> saveAll(@RequestBody List<@Valid D> dtos);
+
+    /**
+     * Inserts an entity of type T, or updates the entity with the same ID only if it differs.
+     *
+     * @param dto the entity to upsert
+     * @return a ResponseEntity containing the upserted entity and whether it was inserted, updated or left unchanged
+     *         with HTTP 200 status, or an HTTP 400 status if the request body is invalid
+     */
+    @PutMapping(value = "/upsert", produces = APPLICATION_JSON_VALUE, consumes = APPLICATION_JSON_VALUE)
+    ResponseEntity<UpsertDTO<D>> upsert(@Valid @RequestBody D dto);
+
+    /**
+     * Updates only the given fields of an entity of type T, on the condition of it being at the version given by the
+     * If-Match header when the header is present.
+     *
+     * @param id      the ID of the entity to update
+     * @param ifMatch the ETag of the version the entity must be at, or null to update it at any version
+     * @param fields  the new values of the fields to update, keyed by field name
+     * @return a ResponseEntity containing the updated entity and the ETag of its new version with HTTP 200 status,
+     *         an HTTP 400 status if a field is unknown or invalid, an HTTP 404 status if the entity is not found,
+     *         or an HTTP 412 status if the entity is no longer at the given version
+     */
+    @PatchMapping(value = "/{id}", produces = APPLICATION_JSON_VALUE, consumes = APPLICATION_JSON_VALUE)
+    ResponseEntity<D> patch(@Numeric @PathVariable(value = "id") I id,
+                            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch,
+                            @RequestBody Map<String, Object> fields);
+
     /**
      * Deletes an entity by its ID.
      *
@@ -38,6 +89,16 @@ public interface IRestController<D, I> {
     @DeleteMapping(value = "/delete/{id}")
     ResponseEntity<String> delete(@Numeric @PathVariable(value = "id") I id);
 
+    /**
+     * Deletes many entities by their IDs in a single request.
+     *
+     * @param ids the IDs of the entities to delete, at most 1000
+     * @return a ResponseEntity containing the IDs whose entity was deleted and the IDs no entity was found for,
+     *         both in the order of the given IDs
+     */
+    @DeleteMapping(params = "ids", produces = APPLICATION_JSON_VALUE)
+    ResponseEntity<BulkDeleteDTO<I>> deleteAllById(@Size(max = 1000) @RequestParam List<I> ids);
+
     /**
      * Finds an entity of type T by its ID.
      *
@@ -47,11 +108,61 @@ public interface IRestController<D, I> {
     @GetMapping(value = "/{id}", produces = APPLICATION_JSON_VALUE)
     ResponseEntity<D> findById(@Numeric @PathVariable(value = "id") I id);
 
+    /**
+     * Finds many entities of type T by their IDs in a single request.
+     *
+     * @param ids the IDs of the entities to find, at most 1000
+     * @return a ResponseEntity containing the found entities in the order of the given IDs and the IDs that were
+     *         not found
+     */
+    @GetMapping(params = "ids", produces = APPLICATION_JSON_VALUE)
+    ResponseEntity<MultiGetDTO<D, I>> findAllById(@Size(max = 1000) @RequestParam List<I> ids);
+
     /**
      * Finds all entities of type T and returns them in ascending order by name.
      *
-     * @return a ResponseEntity containing the collection of entities
+     * @param page the number of the page to find, starting from 0
+     * @param size the maximum number of entities to return, from 1 to 1000
+     * @return a ResponseEntity containing the collection of entities, or an HTTP 400 status if the page or the size
+     *         is out of range
      */
     @GetMapping(value = "/all", produces = APPLICATION_JSON_VALUE)
-    ResponseEntity<Collection<D>> findAllByOrderByMakeAsc(@Numeric int page, @Numeric int size);
+    ResponseEntity<Collection<D>> findAllByOrderByMakeAsc(@Numeric @Min(0) int page,
+                                                          @Numeric @Min(1) @Max(1000) int size);
+
+    /**
+     * Finds a page of entities of type T ordered by make and ID, starting right after the given cursor.
+     * Selected instead of the offset based listing whenever the {@code after} parameter is present.
+     *
+     * @param after the cursor returned with the previous page, empty for the first page
+     * @param size  the maximum number of entities to return, from 1 to 1000
+     * @return a ResponseEntity containing the page of entities and the cursor of the next page, or an HTTP 400 status
+     *         if the size is out of range
+     */
+    @GetMapping(value = "/all", params = "after", produces = APPLICATION_JSON_VALUE)
+    ResponseEntity<CursorPageDTO<D>> findAllByOrderByMakeAscAfter(String after, @Numeric @Min(1) @Max(1000) int size);
+
+    /**
+     * Finds a page of entities of type T ordered by make, telling whether a next page exists instead of counting
+     * all the entities.
+     *
+     * @param page            the number of the page to find, starting from 0
+     * @param size            the maximum number of entities to return, from 1 to 1000
+     * @param estimatedTotal  whether a rough total of entities, taken from the database statistics, should be included
+     * @return a ResponseEntity containing the page of entities, or an HTTP 400 status if the page or the size is out
+     *         of range
+     */
+    @GetMapping(value = "/slice", produces = APPLICATION_JSON_VALUE)
+    ResponseEntity<SliceDTO<D>> findSliceByOrderByMakeAsc(@Numeric @Min(0) int page,
+                                                         @Numeric @Min(1) @Max(1000) int size,
+                                                         @RequestParam(defaultValue = "false") boolean estimatedTotal);
+
+    /**
+     * Exports all the entities of type T ordered by make and ID as newline delimited JSON, one entity per line.
+     * The entities are written to the response while they are read, without collecting them first.
+     *
+     * @return a ResponseEntity streaming the entities
+     */
+    @GetMapping(value = "/export", produces = APPLICATION_NDJSON_VALUE)
+    ResponseEntity<StreamingResponseBody> export();
 }
@@ -0,0 +1,57 @@
+package com.register.vehicletype.adapter.http.inbound;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.register.vehicletype.domain.exception.InvalidPatchException;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+
+import java.lang.reflect.RecordComponent;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * The PatchFields class checks the fields of a partial update against the constraints declared by the DTO they
+ * belong to, so that a patch is held to the same rules as a full update before it reaches the database.
+ */
+public final class PatchFields {
+
+    private PatchFields() {
+    }
+
+    /**
+     * Validates every given field against the constraints of the component of the same name of the given DTO record,
+     * once its value is read as the type of the component.
+     *
+     * @param validator    the validator checking the constraints
+     * @param objectMapper the mapper reading the values as the types of the components
+     * @param dtoClass     the class of the DTO record the fields belong to
+     * @param fields       the new values of the fields to update, keyed by field name
+     * @param <T>          the type of the DTO record
+     * @throws InvalidPatchException if a field is unknown, or its value cannot be read as the type of the field or
+     *                               breaks one of its constraints
+     */
+    public static <T extends Record> void validate(Validator validator, ObjectMapper objectMapper, Class<T> dtoClass,
+                                                   Map<String, Object> fields) {
+        Map<String, Class<?>> types = new HashMap<>();
+        for (RecordComponent recordComponent : dtoClass.getRecordComponents()) {
+            types.put(recordComponent.getName(), recordComponent.getType());
+        }
+        fields.forEach((field, value) -> {
+            Class<?> type = types.get(field);
+            if (type == null) {
+                throw new InvalidPatchException("unknown field " + field);
+            }
+            Object typedValue;
+            try {
+                typedValue = value == null ? null : objectMapper.convertValue(value, type);
+            } catch (IllegalArgumentException e) {
+                throw new InvalidPatchException(field + " must be a " + type.getSimpleName() + ", got " + value);
+            }
+            Set<ConstraintViolation<T>> violations = validator.validateValue(dtoClass, field, typedValue);
+            if (!violations.isEmpty()) {
+                throw new InvalidPatchException(field + ": " + violations.iterator().next().getMessage());
+            }
+        });
+    }
+}
@@ -0,0 +1,52 @@
+package com.register.vehicletype.adapter.http.inbound;
+
+import com.register.vehicletype.domain.exception.InvalidPatchException;
+
+/**
+ * The VersionETag class converts the version of a vehicle to the entity tag sent in the ETag header of a response,
+ * and back from the entity tag a client sends in the If-Match header of a conditional update.
+ */
+public final class VersionETag {
+
+    private static final String ANY = "*";
+    private static final String WEAK_PREFIX = "W/";
+    private static final String QUOTE = "\"";
+
+    private VersionETag() {
+    }
+
+    /**
+     * Returns the entity tag of the given version.
+     *
+     * @param version the version of the vehicle
+     * @return the quoted entity tag of the version
+     */
+    public static String of(long version) {
+        return QUOTE + version + QUOTE;
+    }
+
+    /**
+     * Returns the version the given If-Match header asks the vehicle to be at.
+     *
+     * @param ifMatch the value of the If-Match header, quoted and possibly weak, or null if the header is absent
+     * @return the version of the entity tag, or null if the header is absent or matches any version
+     * @throws InvalidPatchException if the header is not the entity tag of a version
+     */
+    public static Long parse(String ifMatch) {
+        if (ifMatch == null || ifMatch.isBlank() || ifMatch.strip().equals(ANY)) {
+            return null;
+        }
+        String entityTag = ifMatch.strip();
+        if (entityTag.startsWith(WEAK_PREFIX)) {
+            entityTag = entityTag.substring(WEAK_PREFIX.length());
+        }
+        if (entityTag.length() > 2 && entityTag.startsWith(QUOTE) && entityTag.endsWith(QUOTE)) {
+            entityTag = entityTag.substring(1, entityTag.length() - 1);
+        }
+        try {
+            return Long.parseLong(entityTag);
+        } catch (NumberFormatException e) {
+            throw new InvalidPatchException("If-Match " + ifMatch);
+        }
+    }
+}
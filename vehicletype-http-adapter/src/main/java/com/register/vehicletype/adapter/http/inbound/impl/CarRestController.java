@@ -1,15 +1,29 @@
 package com.register.vehicletype.adapter.http.inbound.impl;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
 import com.register.vehicletype.adapter.http.inbound.IRestController;
+import com.register.vehicletype.adapter.http.inbound.PatchFields;
+import com.register.vehicletype.adapter.http.inbound.VersionETag;
+import com.register.vehicletype.adapter.http.stream.NdjsonResponseBody;
+import com.register.vehicletype.domain.dto.BulkDeleteDTO;
 import com.register.vehicletype.domain.dto.CarDTO;
+import com.register.vehicletype.domain.dto.CursorPageDTO;
+import com.register.vehicletype.domain.dto.MultiGetDTO;
+import com.register.vehicletype.domain.dto.SliceDTO;
+import com.register.vehicletype.domain.dto.UpsertDTO;
+import com.register.vehicletype.domain.dto.VersionedDTO;
 import com.register.vehicletype.domain.port.inbound.IServicePort;
+import jakarta.validation.Validator;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.util.Collection;
+import java.util.List;
+import java.util.Map;
 
 /**
  * The CarRestController class is a REST controller for managing CarDTO objects.
@@ -21,13 +35,18 @@ import java.util.Collection;
 public class CarRestController implements IRestController<CarDTO, Long> {
 
     private final IServicePort<CarDTO, Long> carServicePort;
+    private final ObjectMapper objectMapper;
+    private final Validator validator;
 
     /**
      * The CarRestController class is a REST controller for managing CarDTO objects.
      * It implements the IRestController interface for defining the CRUD operations.
      */
-    public CarRestController(IServicePort<CarDTO, Long> carServicePort) {
+    public CarRestController(IServicePort<CarDTO, Long> carServicePort, ObjectMapper objectMapper,
+                             Validator validator) {
         this.carServicePort = carServicePort;
+        this.objectMapper = objectMapper;
+        this.validator = validator;
     }
 
     /**
@@ -41,6 +60,44 @@ public class CarRestController implements IRestController<CarDTO, Long> {
         return ResponseEntity.ok(carServicePort.save(carDTO));
     }
 
+    /**
+     * Saves a batch of cars.
+     *
+     * @param carDTOs the CarDTO objects representing the cars to be saved.
+     * @return a ResponseEntity containing the saved CarDTO objects.
+     */
+    @Override
+    public ResponseEntity<Collection<CarDTO>> saveAll(List<CarDTO> carDTOs) {
+        return ResponseEntity.ok(carServicePort.saveAll(carDTOs));
+    }
+
+    /**
+     * Inserts a car, or updates the car with the same ID only if it differs.
+     *
+     * @param carDTO the CarDTO object representing the car to be upserted.
+     * @return a ResponseEntity containing the upserted CarDTO object and whether it was inserted, updated or left
+     *         unchanged.
+     */
+    @Override
+    public ResponseEntity<UpsertDTO<CarDTO>> upsert(CarDTO carDTO) {
+        return ResponseEntity.ok(carServicePort.upsert(carDTO));
+    }
+
+    /**
+     * Updates only the given fields of a car.
+     *
+     * @param carId the ID of the car to update.
+     * @param ifMatch the ETag of the version the car must be at, or null to update it at any version.
+     * @param fields the new values of the fields to update, keyed by field name.
+     * @return a ResponseEntity containing the updated CarDTO object and the ETag of its new version.
+     */
+    @Override
+    public ResponseEntity<CarDTO> patch(Long carId, String ifMatch, Map<String, Object> fields) {
+        PatchFields.validate(validator, objectMapper, CarDTO.class, fields);
+        VersionedDTO<CarDTO> patchedCar = carServicePort.patch(carId, fields, VersionETag.parse(ifMatch));
+        return ResponseEntity.ok().eTag(VersionETag.of(patchedCar.version())).body(patchedCar.object());
+    }
+
     /**
      * Deletes a car with the specified ID.
      *
@@ -57,6 +114,17 @@ public class CarRestController implements IRestController<CarDTO, Long> {
         return new ResponseEntity<>("Unable to delete car with ID " + carId, HttpStatus.SEE_OTHER);
     }
 
+    /**
+     * Deletes many cars by their IDs.
+     *
+     * @param carIds the IDs of the cars to delete.
+     * @return a ResponseEntity containing the IDs of the deleted cars and the IDs no car was found for.
+     */
+    @Override
+    public ResponseEntity<BulkDeleteDTO<Long>> deleteAllById(List<Long> carIds) {
+        return ResponseEntity.ok(carServicePort.deleteAllById(carIds));
+    }
+
     /**
      * Finds a car by its ID.
      *
@@ -69,6 +137,18 @@ public class CarRestController implements IRestController<CarDTO, Long> {
         return ResponseEntity.ok(carServicePort.findById(carId));
     }
 
+    /**
+     * Finds many cars by their IDs.
+     *
+     * @param carIds the IDs of the cars to find.
+     * @return a ResponseEntity containing the found CarDTO objects in the order of the given IDs and the IDs
+     *         no car was found for.
+     */
+    @Override
+    public ResponseEntity<MultiGetDTO<CarDTO, Long>> findAllById(List<Long> carIds) {
+        return ResponseEntity.ok(carServicePort.findAllById(carIds));
+    }
+
     /**
      * Retrieves all entities from the collection, ordered by the make property in ascending order.
      *
@@ -78,4 +158,40 @@ public class CarRestController implements IRestController<CarDTO, Long> {
     public ResponseEntity<Collection<CarDTO>> findAllByOrderByMakeAsc(int page, int size) {
         return ResponseEntity.ok(carServicePort.findAllByOrderByMakeAsc(page, size));
     }
+
+    /**
+     * Retrieves a page of cars ordered by make and ID, starting right after the given cursor.
+     *
+     * @param after the cursor returned with the previous page, empty for the first page
+     * @param size  the maximum number of cars to return
+     * @return a ResponseEntity containing the page of CarDTO objects and the cursor of the next page
+     */
+    @Override
+    public ResponseEntity<CursorPageDTO<CarDTO>> findAllByOrderByMakeAscAfter(String after, int size) {
+        return ResponseEntity.ok(carServicePort.findAllByOrderByMakeAscAfter(after, size));
+    }
+
+    /**
+     * Retrieves a page of cars ordered by make without counting all the cars.
+     *
+     * @param page            the number of the page to retrieve
+     * @param size            the maximum number of cars to return
+     * @param estimatedTotal  whether a rough total of cars should be included
+     * @return a ResponseEntity containing the page of CarDTO objects and whether a next page exists
+     */
+    @Override
+    public ResponseEntity<SliceDTO<CarDTO>> findSliceByOrderByMakeAsc(int page, int size, boolean estimatedTotal) {
+        return ResponseEntity.ok(carServicePort.findSliceByOrderByMakeAsc(page, size, estimatedTotal));
+    }
+
+    /**
+     * Exports all the cars ordered by make and ID as newline delimited JSON, writing each car to the response
+     * while it is read from the database.
+     *
+     * @return a ResponseEntity streaming the CarDTO objects, one per line
+     */
+    @Override
+    public ResponseEntity<StreamingResponseBody> export() {
+        return ResponseEntity.ok(new NdjsonResponseBody<>(objectMapper, carServicePort::forEachOrderByMakeAsc));
+    }
 }
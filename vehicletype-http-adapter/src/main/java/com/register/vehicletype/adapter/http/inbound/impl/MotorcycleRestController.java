@@ -1,14 +1,28 @@
 package com.register.vehicletype.adapter.http.inbound.impl;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
 import com.register.vehicletype.adapter.http.inbound.IRestController;
+import com.register.vehicletype.adapter.http.inbound.PatchFields;
+import com.register.vehicletype.adapter.http.inbound.VersionETag;
+import com.register.vehicletype.adapter.http.stream.NdjsonResponseBody;
+import com.register.vehicletype.domain.dto.BulkDeleteDTO;
+import com.register.vehicletype.domain.dto.CursorPageDTO;
 import com.register.vehicletype.domain.dto.MotorcycleDTO;
+import com.register.vehicletype.domain.dto.MultiGetDTO;
+import com.register.vehicletype.domain.dto.SliceDTO;
+import com.register.vehicletype.domain.dto.UpsertDTO;
+import com.register.vehicletype.domain.dto.VersionedDTO;
 import com.register.vehicletype.domain.port.inbound.IServicePort;
+import jakarta.validation.Validator;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.util.Collection;
+import java.util.List;
+import java.util.Map;
 
 /**
  * The MotorcycleRestController class represents a REST controller for managing motorcycle entities.
@@ -20,14 +34,19 @@ import java.util.Collection;
 public class MotorcycleRestController implements IRestController<MotorcycleDTO, Long> {
 
     private final IServicePort<MotorcycleDTO, Long> motorcycleServicePort;
+    private final ObjectMapper objectMapper;
+    private final Validator validator;
 
     /**
      * The MotorcycleRestController class represents a REST controller for managing motorcycle entities.
      * It implements the IRestController interface, which defines methods for saving, deleting, finding by ID,
      * and retrieving motorcycle entities.
      */
-    public MotorcycleRestController(IServicePort<MotorcycleDTO, Long> motorcycleServicePort) {
+    public MotorcycleRestController(IServicePort<MotorcycleDTO, Long> motorcycleServicePort, ObjectMapper objectMapper,
+                                    Validator validator) {
         this.motorcycleServicePort = motorcycleServicePort;
+        this.objectMapper = objectMapper;
+        this.validator = validator;
     }
 
     /**
@@ -41,6 +60,45 @@ public class MotorcycleRestController implements IRestController<MotorcycleDTO,
         return ResponseEntity.ok(motorcycleServicePort.save(motorcycleDTO));
     }
 
+    /**
+     * Saves a batch of motorcycles.
+     *
+     * @param motorcycleDTOs the MotorcycleDTO objects representing the motorcycles to be saved.
+     * @return a ResponseEntity containing the saved MotorcycleDTO objects.
+     */
+    @Override
+    public ResponseEntity<Collection<MotorcycleDTO>> saveAll(List<MotorcycleDTO> motorcycleDTOs) {
+        return ResponseEntity.ok(motorcycleServicePort.saveAll(motorcycleDTOs));
+    }
+
+    /**
+     * Inserts a motorcycle, or updates the motorcycle with the same ID only if it differs.
+     *
+     * @param motorcycleDTO the MotorcycleDTO object representing the motorcycle to be upserted.
+     * @return a ResponseEntity containing the upserted MotorcycleDTO object and whether it was inserted, updated
+     *         or left unchanged.
+     */
+    @Override
+    public ResponseEntity<UpsertDTO<MotorcycleDTO>> upsert(MotorcycleDTO motorcycleDTO) {
+        return ResponseEntity.ok(motorcycleServicePort.upsert(motorcycleDTO));
+    }
+
+    /**
+     * Updates only the given fields of a motorcycle.
+     *
+     * @param motorcycleId the ID of the motorcycle to update.
+     * @param ifMatch the ETag of the version the motorcycle must be at, or null to update it at any version.
+     * @param fields the new values of the fields to update, keyed by field name.
+     * @return a ResponseEntity containing the updated MotorcycleDTO object and the ETag of its new version.
+     */
+    @Override
+    public ResponseEntity<MotorcycleDTO> patch(Long motorcycleId, String ifMatch, Map<String, Object> fields) {
+        PatchFields.validate(validator, objectMapper, MotorcycleDTO.class, fields);
+        VersionedDTO<MotorcycleDTO> patchedMotorcycle = motorcycleServicePort.patch(motorcycleId, fields,
+                VersionETag.parse(ifMatch));
+        return ResponseEntity.ok().eTag(VersionETag.of(patchedMotorcycle.version())).body(patchedMotorcycle.object());
+    }
+
     /**
      * Deletes a motorcycle with the specified ID.
      *
@@ -57,6 +115,17 @@ public class MotorcycleRestController implements IRestController<MotorcycleDTO,
         return new ResponseEntity<>("Unable to delete motorcycle with ID " + motorcycleId, HttpStatus.SEE_OTHER);
     }
 
+    /**
+     * Deletes many motorcycles by their IDs.
+     *
+     * @param motorcycleIds the IDs of the motorcycles to delete.
+     * @return a ResponseEntity containing the IDs of the deleted motorcycles and the IDs no motorcycle was found for.
+     */
+    @Override
+    public ResponseEntity<BulkDeleteDTO<Long>> deleteAllById(List<Long> motorcycleIds) {
+        return ResponseEntity.ok(motorcycleServicePort.deleteAllById(motorcycleIds));
+    }
+
     /**
      * Finds a motorcycle by its ID.
      *
@@ -68,6 +137,18 @@ public class MotorcycleRestController implements IRestController<MotorcycleDTO,
         return ResponseEntity.ok(motorcycleServicePort.findById(motorcycleId));
     }
 
+    /**
+     * Finds many motorcycles by their IDs.
+     *
+     * @param motorcycleIds the IDs of the motorcycles to find.
+     * @return a ResponseEntity containing the found MotorcycleDTO objects in the order of the given IDs and the IDs
+     *         no motorcycle was found for.
+     */
+    @Override
+    public ResponseEntity<MultiGetDTO<MotorcycleDTO, Long>> findAllById(List<Long> motorcycleIds) {
+        return ResponseEntity.ok(motorcycleServicePort.findAllById(motorcycleIds));
+    }
+
     /**
      * Retrieves all motorcycles from the collection, ordered by make in ascending order.
      *
@@ -78,4 +159,40 @@ public class MotorcycleRestController implements IRestController<MotorcycleDTO,
     public ResponseEntity<Collection<MotorcycleDTO>> findAllByOrderByMakeAsc(int page, int size) {
         return ResponseEntity.ok(motorcycleServicePort.findAllByOrderByMakeAsc(page, size));
     }
+
+    /**
+     * Retrieves a page of motorcycles ordered by make and ID, starting right after the given cursor.
+     *
+     * @param after the cursor returned with the previous page, empty for the first page
+     * @param size  the maximum number of motorcycles to return
+     * @return a ResponseEntity containing the page of MotorcycleDTO objects and the cursor of the next page
+     */
+    @Override
+    public ResponseEntity<CursorPageDTO<MotorcycleDTO>> findAllByOrderByMakeAscAfter(String after, int size) {
+        return ResponseEntity.ok(motorcycleServicePort.findAllByOrderByMakeAscAfter(after, size));
+    }
+
+    /**
+     * Retrieves a page of motorcycles ordered by make without counting all the motorcycles.
+     *
+     * @param page            the number of the page to retrieve
+     * @param size            the maximum number of motorcycles to return
+     * @param estimatedTotal  whether a rough total of motorcycles should be included
+     * @return a ResponseEntity containing the page of MotorcycleDTO objects and whether a next page exists
+     */
+    @Override
+    public ResponseEntity<SliceDTO<MotorcycleDTO>> findSliceByOrderByMakeAsc(int page, int size, boolean estimatedTotal) {
+        return ResponseEntity.ok(motorcycleServicePort.findSliceByOrderByMakeAsc(page, size, estimatedTotal));
+    }
+
+    /**
+     * Exports all the motorcycles ordered by make and ID as newline delimited JSON, writing each motorcycle to the response
+     * while it is read from the database.
+     *
+     * @return a ResponseEntity streaming the MotorcycleDTO objects, one per line
+     */
+    @Override
+    public ResponseEntity<StreamingResponseBody> export() {
+        return ResponseEntity.ok(new NdjsonResponseBody<>(objectMapper, motorcycleServicePort::forEachOrderByMakeAsc));
+    }
 }
@@ -1,14 +1,28 @@
 package com.register.vehicletype.adapter.http.inbound.impl;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
 import com.register.vehicletype.adapter.http.inbound.IRestController;
+import com.register.vehicletype.adapter.http.inbound.PatchFields;
+import com.register.vehicletype.adapter.http.inbound.VersionETag;
+import com.register.vehicletype.adapter.http.stream.NdjsonResponseBody;
+import com.register.vehicletype.domain.dto.BulkDeleteDTO;
+import com.register.vehicletype.domain.dto.CursorPageDTO;
+import com.register.vehicletype.domain.dto.MultiGetDTO;
+import com.register.vehicletype.domain.dto.SliceDTO;
 import com.register.vehicletype.domain.dto.TruckDTO;
+import com.register.vehicletype.domain.dto.UpsertDTO;
+import com.register.vehicletype.domain.dto.VersionedDTO;
 import com.register.vehicletype.domain.port.inbound.IServicePort;
+import jakarta.validation.Validator;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.util.Collection;
+import java.util.List;
+import java.util.Map;
 
 /**
  * This class represents a REST controller for managing TruckDTO entities.
@@ -19,13 +33,18 @@ import java.util.Collection;
 public class TruckRestController implements IRestController<TruckDTO, Long> {
 
     private final IServicePort<TruckDTO, Long> truckServicePort;
+    private final ObjectMapper objectMapper;
+    private final Validator validator;
 
     /**
      * This class represents a REST controller for managing TruckDTO entities.
      * It provides endpoints for saving, deleting, finding by ID, and retrieving all TruckDTO entities.
      */
-    public TruckRestController(IServicePort<TruckDTO, Long> truckServicePort) {
+    public TruckRestController(IServicePort<TruckDTO, Long> truckServicePort, ObjectMapper objectMapper,
+                               Validator validator) {
         this.truckServicePort = truckServicePort;
+        this.objectMapper = objectMapper;
+        this.validator = validator;
     }
 
     /**
@@ -39,6 +58,44 @@ public class TruckRestController implements IRestController<TruckDTO, Long> {
         return ResponseEntity.ok(truckServicePort.save(truckDTO));
     }
 
+    /**
+     * Saves a batch of trucks.
+     *
+     * @param truckDTOs the TruckDTO objects representing the trucks to be saved.
+     * @return a ResponseEntity containing the saved TruckDTO objects.
+     */
+    @Override
+    public ResponseEntity<Collection<TruckDTO>> saveAll(List<TruckDTO> truckDTOs) {
+        return ResponseEntity.ok(truckServicePort.saveAll(truckDTOs));
+    }
+
+    /**
+     * Inserts a truck, or updates the truck with the same ID only if it differs.
+     *
+     * @param truckDTO the TruckDTO object representing the truck to be upserted.
+     * @return a ResponseEntity containing the upserted TruckDTO object and whether it was inserted, updated or left
+     *         unchanged.
+     */
+    @Override
+    public ResponseEntity<UpsertDTO<TruckDTO>> upsert(TruckDTO truckDTO) {
+        return ResponseEntity.ok(truckServicePort.upsert(truckDTO));
+    }
+
+    /**
+     * Updates only the given fields of a truck.
+     *
+     * @param truckId the ID of the truck to update.
+     * @param ifMatch the ETag of the version the truck must be at, or null to update it at any version.
+     * @param fields the new values of the fields to update, keyed by field name.
+     * @return a ResponseEntity containing the updated TruckDTO object and the ETag of its new version.
+     */
+    @Override
+    public ResponseEntity<TruckDTO> patch(Long truckId, String ifMatch, Map<String, Object> fields) {
+        PatchFields.validate(validator, objectMapper, TruckDTO.class, fields);
+        VersionedDTO<TruckDTO> patchedTruck = truckServicePort.patch(truckId, fields, VersionETag.parse(ifMatch));
+        return ResponseEntity.ok().eTag(VersionETag.of(patchedTruck.version())).body(patchedTruck.object());
+    }
+
     /**
      * Deletes a truck with the specified ID.
      *
@@ -54,6 +111,17 @@ public class TruckRestController implements IRestController<TruckDTO, Long> {
         return new ResponseEntity<>("Unable to delete truck with ID " + truckId, HttpStatus.SEE_OTHER);
     }
 
+    /**
+     * Deletes many trucks by their IDs.
+     *
+     * @param truckIds the IDs of the trucks to delete.
+     * @return a ResponseEntity containing the IDs of the deleted trucks and the IDs no truck was found for.
+     */
+    @Override
+    public ResponseEntity<BulkDeleteDTO<Long>> deleteAllById(List<Long> truckIds) {
+        return ResponseEntity.ok(truckServicePort.deleteAllById(truckIds));
+    }
+
     /**
      * Finds a TruckDTO entity by its ID.
      *
@@ -65,6 +133,18 @@ public class TruckRestController implements IRestController<TruckDTO, Long> {
         return ResponseEntity.ok(truckServicePort.findById(truckId));
     }
 
+    /**
+     * Finds many trucks by their IDs.
+     *
+     * @param truckIds the IDs of the trucks to find.
+     * @return a ResponseEntity containing the found TruckDTO objects in the order of the given IDs and the IDs
+     *         no truck was found for.
+     */
+    @Override
+    public ResponseEntity<MultiGetDTO<TruckDTO, Long>> findAllById(List<Long> truckIds) {
+        return ResponseEntity.ok(truckServicePort.findAllById(truckIds));
+    }
+
     /**
      * Retrieves all TruckDTO entities from the collection, ordered by make in ascending order.
      *
@@ -74,4 +154,40 @@ public class TruckRestController implements IRestController<TruckDTO, Long> {
     public ResponseEntity<Collection<TruckDTO>> findAllByOrderByMakeAsc(int page, int size) {
         return ResponseEntity.ok(truckServicePort.findAllByOrderByMakeAsc(page, size));
     }
+
+    /**
+     * Retrieves a page of trucks ordered by make and ID, starting right after the given cursor.
+     *
+     * @param after the cursor returned with the previous page, empty for the first page
+     * @param size  the maximum number of trucks to return
+     * @return a ResponseEntity containing the page of TruckDTO objects and the cursor of the next page
+     */
+    @Override
+    public ResponseEntity<CursorPageDTO<TruckDTO>> findAllByOrderByMakeAscAfter(String after, int size) {
+        return ResponseEntity.ok(truckServicePort.findAllByOrderByMakeAscAfter(after, size));
+    }
+
+    /**
+     * Retrieves a page of trucks ordered by make without counting all the trucks.
+     *
+     * @param page            the number of the page to retrieve
+     * @param size            the maximum number of trucks to return
+     * @param estimatedTotal  whether a rough total of trucks should be included
+     * @return a ResponseEntity containing the page of TruckDTO objects and whether a next page exists
+     */
+    @Override
+    public ResponseEntity<SliceDTO<TruckDTO>> findSliceByOrderByMakeAsc(int page, int size, boolean estimatedTotal) {
+        return ResponseEntity.ok(truckServicePort.findSliceByOrderByMakeAsc(page, size, estimatedTotal));
+    }
+
+    /**
+     * Exports all the trucks ordered by make and ID as newline delimited JSON, writing each truck to the response
+     * while it is read from the database.
+     *
+     * @return a ResponseEntity streaming the TruckDTO objects, one per line
+     */
+    @Override
+    public ResponseEntity<StreamingResponseBody> export() {
+        return ResponseEntity.ok(new NdjsonResponseBody<>(objectMapper, truckServicePort::forEachOrderByMakeAsc));
+    }
 }
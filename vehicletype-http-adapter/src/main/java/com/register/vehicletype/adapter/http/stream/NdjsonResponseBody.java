@@ -0,0 +1,61 @@
+package com.register.vehicletype.adapter.http.stream;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.util.function.Consumer;
+
+/**
+ * The NdjsonResponseBody class writes the objects handed out by a source as newline delimited JSON,
+ * one line per object, straight to the response output stream as they come.
+ *
+ * @param <D> the type of the written objects
+ */
+public class NdjsonResponseBody<D> implements StreamingResponseBody {
+
+    private static final int LINE_SEPARATOR = '\n';
+
+    private final ObjectWriter objectWriter;
+    private final Consumer<Consumer<D>> source;
+
+    /**
+     * The NdjsonResponseBody class writes the objects handed out by a source as newline delimited JSON.
+     *
+     * @param objectMapper the object mapper used to write each object
+     * @param source       the source that passes every object to be written to the given action
+     */
+    public NdjsonResponseBody(ObjectMapper objectMapper, Consumer<Consumer<D>> source) {
+        this.objectWriter = objectMapper.writer().without(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+        this.source = source;
+    }
+
+    /**
+     * Writes every object of the source to the given output stream, followed by a line separator.
+     *
+     * @param outputStream the output stream of the response
+     * @throws IOException if the response can not be written
+     */
+    @Override
+    public void writeTo(OutputStream outputStream) throws IOException {
+        try {
+            source.accept(object -> writeLine(outputStream, object));
+        } catch (UncheckedIOException exception) {
+            throw exception.getCause();
+        }
+        outputStream.flush();
+    }
+
+    private void writeLine(OutputStream outputStream, D object) {
+        try {
+            objectWriter.writeValue(outputStream, object);
+            outputStream.write(LINE_SEPARATOR);
+        } catch (IOException exception) {
+            throw new UncheckedIOException(exception);
+        }
+    }
+}
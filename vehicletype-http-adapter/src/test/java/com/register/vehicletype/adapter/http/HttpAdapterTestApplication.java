@@ -0,0 +1,11 @@
+package com.register.vehicletype.adapter.http;
+
+import org.springframework.boot.autoconfigure.SpringBootApplication;
+
+/**
+ * The HttpAdapterTestApplication class is the configuration the web layer slices of the HTTP adapter tests boot
+ * from, since the adapter holds no application class of its own.
+ */
+@SpringBootApplication
+public class HttpAdapterTestApplication {
+}
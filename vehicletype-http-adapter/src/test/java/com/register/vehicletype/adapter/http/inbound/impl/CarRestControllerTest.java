@@ -0,0 +1,175 @@
+package com.register.vehicletype.adapter.http.inbound.impl;
+
+import com.register.vehicletype.domain.dto.BulkDeleteDTO;
+import com.register.vehicletype.domain.dto.CarDTO;
+import com.register.vehicletype.domain.dto.CursorPageDTO;
+import com.register.vehicletype.domain.dto.MultiGetDTO;
+import com.register.vehicletype.domain.dto.UpsertDTO;
+import com.register.vehicletype.domain.dto.UpsertOutcome;
+import com.register.vehicletype.domain.exception.CarNotFoundException;
+import com.register.vehicletype.domain.exception.ConcurrentUpdateException;
+import com.register.vehicletype.domain.port.inbound.IServicePort;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.LongStream;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.patch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@WebMvcTest(CarRestController.class)
+class CarRestControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockitoBean
+    private IServicePort<CarDTO, Long> carServicePort;
+
+    @Test
+    void testFindAllByOrderByMakeAscAfter() throws Exception {
+        when(carServicePort.findAllByOrderByMakeAscAfter("", 2)).thenReturn(
+                new CursorPageDTO<>(List.of(new CarDTO(1L, "Audi", "A4", 2020, 4)), null));
+
+        mockMvc.perform(get("/api/v1/car/all").param("after", "").param("size", "2"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content[0].make").value("Audi"));
+    }
+
+    @Test
+    void testNegativeSizeIsRejected() throws Exception {
+        mockMvc.perform(get("/api/v1/car/all").param("after", "").param("size", "-1"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.errors.size").exists());
+        mockMvc.perform(get("/api/v1/car/all").param("page", "0").param("size", "0"))
+                .andExpect(status().isBadRequest());
+        mockMvc.perform(get("/api/v1/car/slice").param("page", "-1").param("size", "10"))
+                .andExpect(status().isBadRequest());
+
+        verify(carServicePort, never()).findAllByOrderByMakeAscAfter(anyString(), anyInt());
+    }
+
+    @Test
+    void testFindById() throws Exception {
+        when(carServicePort.findById(1L)).thenReturn(new CarDTO(1L, "Audi", "A4", 2020, 4));
+
+        mockMvc.perform(get("/api/v1/car/1"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.make").value("Audi"))
+                .andExpect(jsonPath("$.numberOfDoors").value(4));
+    }
+
+    @Test
+    void testFindByIdOfAMissingCarIsNotFound() throws Exception {
+        when(carServicePort.findById(3L)).thenThrow(new CarNotFoundException(3L));
+
+        mockMvc.perform(get("/api/v1/car/3"))
+                .andExpect(status().isNotFound());
+    }
+
+    @Test
+    void testFindAllById() throws Exception {
+        when(carServicePort.findAllById(List.of(1L, 3L))).thenReturn(
+                new MultiGetDTO<>(List.of(new CarDTO(1L, "Audi", "A4", 2020, 4)), List.of(3L)));
+
+        mockMvc.perform(get("/api/v1/car").param("ids", "1,3"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content[0].make").value("Audi"))
+                .andExpect(jsonPath("$.missingIds[0]").value(3));
+    }
+
+    @Test
+    void testFindAllByIdRejectsMoreThanAThousandIds() throws Exception {
+        String ids = LongStream.rangeClosed(1, 1001).mapToObj(String::valueOf).collect(Collectors.joining(","));
+
+        mockMvc.perform(get("/api/v1/car").param("ids", ids))
+                .andExpect(status().isBadRequest());
+
+        verify(carServicePort, never()).findAllById(anyCollection());
+    }
+
+    @Test
+    void testDeleteAllById() throws Exception {
+        when(carServicePort.deleteAllById(List.of(1L, 3L))).thenReturn(new BulkDeleteDTO<>(List.of(1L), List.of(3L)));
+
+        mockMvc.perform(delete("/api/v1/car").param("ids", "1,3"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.deletedIds[0]").value(1))
+                .andExpect(jsonPath("$.missingIds[0]").value(3));
+    }
+
+    @Test
+    void testDeleteAllByIdRejectsMoreThanAThousandIds() throws Exception {
+        String ids = LongStream.rangeClosed(1, 1001).mapToObj(String::valueOf).collect(Collectors.joining(","));
+
+        mockMvc.perform(delete("/api/v1/car").param("ids", ids))
+                .andExpect(status().isBadRequest());
+
+        verify(carServicePort, never()).deleteAllById(anyCollection());
+    }
+
+    @Test
+    void testUpsert() throws Exception {
+        CarDTO carDTO = new CarDTO(1L, "Audi", "A4", 2020, 4);
+        when(carServicePort.upsert(carDTO)).thenReturn(new UpsertDTO<>(carDTO, UpsertOutcome.UNCHANGED));
+
+        mockMvc.perform(put("/api/v1/car/upsert")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("""
+                                {"id": 1, "make": "Audi", "model": "A4", "year": 2020, "numberOfDoors": 4}
+                                """))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.object.make").value("Audi"))
+                .andExpect(jsonPath("$.outcome").value("UNCHANGED"));
+    }
+
+    @Test
+    void testInvalidPatchIsRejected() throws Exception {
+        mockMvc.perform(patch("/api/v1/car/1")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("""
+                                {"make": ""}
+                                """))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.errors.Patch").value("Invalid patch: make: Make cannot be empty."));
+        mockMvc.perform(patch("/api/v1/car/1")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("""
+                                {"numberOfDoors": "many"}
+                                """))
+                .andExpect(status().isBadRequest());
+
+        verify(carServicePort, never()).patch(any(), any(), any());
+    }
+
+    @Test
+    void testConcurrentSaveIsAConflict() throws Exception {
+        when(carServicePort.save(new CarDTO(1L, "Audi", "A4", 2020, 4))).thenThrow(new ConcurrentUpdateException(1L));
+
+        mockMvc.perform(post("/api/v1/car/save")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("""
+                                {"id": 1, "make": "Audi", "model": "A4", "year": 2020, "numberOfDoors": 4}
+                                """))
+                .andExpect(status().isConflict())
+                .andExpect(jsonPath("$.errors.Version").value("Vehicle with id 1 was updated concurrently"));
+    }
+}
@@ -0,0 +1,28 @@
+package com.register.vehicletype;
+
+import org.springframework.beans.factory.ListableBeanFactory;
+import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.boot.convert.ApplicationConversionService;
+import org.springframework.context.annotation.Bean;
+import org.springframework.core.convert.ConversionService;
+
+/**
+ * The VehicleTypeBenchmarkApplication class boots the domain, database and Liquibase adapters without the HTTP layer,
+ * so that the benchmarks measure the persistence path only.
+ */
+@SpringBootApplication
+public class VehicleTypeBenchmarkApplication {
+
+    /**
+     * Provides the conversion service holding the entity and DTO converters of the database adapter.
+     *
+     * @param beanFactory the bean factory holding the converters
+     * @return the conversion service
+     */
+    @Bean
+    public ConversionService conversionService(ListableBeanFactory beanFactory) {
+        ApplicationConversionService conversionService = new ApplicationConversionService();
+        ApplicationConversionService.addBeans(conversionService, beanFactory);
+        return conversionService;
+    }
+}
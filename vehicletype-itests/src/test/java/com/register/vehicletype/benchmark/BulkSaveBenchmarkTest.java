@@ -0,0 +1,75 @@
+package com.register.vehicletype.benchmark;
+
+import com.register.vehicletype.adapter.db.repository.CarRepository;
+import com.register.vehicletype.domain.dto.CarDTO;
+import com.register.vehicletype.domain.port.inbound.IServicePort;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfEnvironmentVariable;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Compares the rows per second of saving cars one by one against saving them through the bulk save path.
+ * Runs only against the PostgreSQL and Redis instances of the docker-compose file, pointed to by DB_URL.
+ */
+@Tag("benchmark")
+@SpringBootTest
+@EnabledIfEnvironmentVariable(named = "DB_URL", matches = ".+")
+class BulkSaveBenchmarkTest {
+
+    private static final int ROWS = 5_000;
+
+    @Autowired
+    private IServicePort<CarDTO, Long> carServicePort;
+
+    @Autowired
+    private CarRepository carRepository;
+
+    private final List<Long> savedIds = new ArrayList<>();
+
+    @AfterEach
+    void deleteSavedCars() {
+        carRepository.deleteAllByIdInBatch(savedIds);
+        savedIds.clear();
+    }
+
+    @Test
+    void testSaveOneByOne() {
+        long start = System.nanoTime();
+        for (CarDTO carDTO : newCars()) {
+            savedIds.add(carServicePort.save(carDTO).id());
+        }
+        report("save", start);
+    }
+
+    @Test
+    void testSaveAll() {
+        long start = System.nanoTime();
+        Collection<CarDTO> savedCars = carServicePort.saveAll(newCars());
+        report("saveAll", start);
+
+        savedCars.forEach(carDTO -> savedIds.add(carDTO.id()));
+        assertEquals(ROWS, savedIds.size());
+    }
+
+    private static List<CarDTO> newCars() {
+        List<CarDTO> cars = new ArrayList<>(ROWS);
+        for (int i = 0; i < ROWS; i++) {
+            cars.add(new CarDTO(null, "Benchmark", "Model " + i, 2000 + i % 25, 2 + i % 3));
+        }
+        return cars;
+    }
+
+    private static void report(String path, long start) {
+        double seconds = (System.nanoTime() - start) / 1_000_000_000d;
+        System.out.printf("%s: %d rows in %.2f s, %.0f rows/s%n", path, ROWS, seconds, ROWS / seconds);
+    }
+}
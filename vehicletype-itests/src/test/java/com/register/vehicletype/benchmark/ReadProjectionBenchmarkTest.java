@@ -0,0 +1,124 @@
+package com.register.vehicletype.benchmark;
+
+import com.register.vehicletype.adapter.db.entity.CarEntity;
+import com.register.vehicletype.adapter.db.repository.CarRepository;
+import com.register.vehicletype.domain.dto.CarDTO;
+import com.register.vehicletype.domain.port.inbound.IServicePort;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfEnvironmentVariable;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.core.convert.ConversionService;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Compares the latency and the allocations per row of reading cars as entities converted to DTOs against reading
+ * them straight into DTO records with constructor expressions, both by IDs and by page. Each read runs in its own
+ * read-only transaction, so the cost of the persistence context is included.
+ * Runs only against the PostgreSQL and Redis instances of the docker-compose file, pointed to by DB_URL.
+ */
+@Tag("benchmark")
+@SpringBootTest
+@EnabledIfEnvironmentVariable(named = "DB_URL", matches = ".+")
+class ReadProjectionBenchmarkTest {
+
+    private static final int ROWS = 5_000;
+    private static final int PAGE_SIZE = 500;
+    private static final int ITERATIONS = 20;
+
+    @Autowired
+    private IServicePort<CarDTO, Long> carServicePort;
+
+    @Autowired
+    private CarRepository carRepository;
+
+    @Autowired
+    private ConversionService conversionService;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private final List<Long> savedIds = new ArrayList<>();
+
+    @BeforeEach
+    void saveCars() {
+        carServicePort.saveAll(newCars()).forEach(carDTO -> savedIds.add(carDTO.id()));
+    }
+
+    @AfterEach
+    void deleteSavedCars() {
+        carRepository.deleteAllByIdInBatch(savedIds);
+        savedIds.clear();
+    }
+
+    @Test
+    void testFindByIds() {
+        List<CarDTO> entityCars = measure("findAllById + convert", () -> carRepository.findAllById(savedIds).stream()
+                .map(carEntity -> conversionService.convert(carEntity, CarDTO.class))
+                .toList());
+        List<CarDTO> projectedCars = measure("findDTOsByIdIn", () -> carRepository.findDTOsByIdIn(savedIds));
+
+        assertEquals(ROWS, entityCars.size());
+        assertEquals(ROWS, projectedCars.size());
+    }
+
+    @Test
+    void testFindPage() {
+        List<CarDTO> entityCars = measure("entity page + convert", () -> entityManager
+                .createQuery("select c from CarEntity c order by c.make asc, c.id asc", CarEntity.class)
+                .setMaxResults(PAGE_SIZE)
+                .getResultStream()
+                .map(carEntity -> conversionService.convert(carEntity, CarDTO.class))
+                .toList());
+        List<CarDTO> projectedCars = measure("findDTOsBy", () -> carRepository
+                .findDTOsBy(PageRequest.of(0, PAGE_SIZE, Sort.by("make", "id")))
+                .getContent());
+
+        assertEquals(entityCars, projectedCars);
+    }
+
+    private List<CarDTO> measure(String path, Supplier<List<CarDTO>> read) {
+        TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+        transactionTemplate.setReadOnly(true);
+        com.sun.management.ThreadMXBean threadMXBean =
+                (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        long threadId = Thread.currentThread().threadId();
+        List<CarDTO> cars = transactionTemplate.execute(status -> read.get());
+        long rows = 0;
+        long allocatedBefore = threadMXBean.getThreadAllocatedBytes(threadId);
+        long start = System.nanoTime();
+        for (int i = 0; i < ITERATIONS; i++) {
+            rows += transactionTemplate.execute(status -> read.get()).size();
+        }
+        long nanos = System.nanoTime() - start;
+        long allocated = threadMXBean.getThreadAllocatedBytes(threadId) - allocatedBefore;
+        System.out.printf("%s: %d rows in %.2f ms, %.0f ns/row, %.0f bytes/row%n", path, rows, nanos / 1_000_000d,
+                (double) nanos / rows, (double) allocated / rows);
+        return cars;
+    }
+
+    private static List<CarDTO> newCars() {
+        List<CarDTO> cars = new ArrayList<>(ROWS);
+        for (int i = 0; i < ROWS; i++) {
+            cars.add(new CarDTO(null, "Benchmark", "Model " + i, 2000 + i % 25, 2 + i % 3));
+        }
+        return cars;
+    }
+}
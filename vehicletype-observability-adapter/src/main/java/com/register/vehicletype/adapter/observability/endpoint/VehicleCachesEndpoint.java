@@ -0,0 +1,157 @@
+package com.register.vehicletype.adapter.observability.endpoint;
+
+import io.micrometer.core.instrument.Measurement;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.boot.actuate.endpoint.annotation.DeleteOperation;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Selector;
+import org.springframework.boot.actuate.endpoint.jmx.annotation.JmxEndpoint;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.core.env.Environment;
+import org.springframework.lang.Nullable;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.stream.StreamSupport;
+
+/**
+ * The VehicleCachesEndpoint class is an actuator endpoint, exposed as the {@code vehiclecaches} MBean, reporting for
+ * each cache its policy, its hit and miss rates, its evictions, its number of entries and an estimate of its memory,
+ * read from the standard cache metrics. It also evicts a single key or a whole cache on demand, on every node through
+ * the invalidation of the caches, which is why it is only exposed over JMX and never over HTTP.
+ */
+@Component
+@JmxEndpoint(id = "vehiclecaches")
+public class VehicleCachesEndpoint {
+
+    private static final String CACHE_TAG = "cache";
+    private static final String RESULT_TAG = "result";
+    private static final String POLICY_PROPERTY_PREFIX = "vehicletype.cache.";
+    private static final String NUMERIC_KEY_PATTERN = "-?\\d+";
+
+    private final CacheManager cacheManager;
+    private final MeterRegistry meterRegistry;
+    private final Environment environment;
+
+    /**
+     * The VehicleCachesEndpoint class is an actuator endpoint reporting on the caches and evicting them on demand.
+     *
+     * @param cacheManager  the cache manager holding the caches
+     * @param meterRegistry the registry of the cache metrics
+     * @param environment   the environment holding the cache policies
+     */
+    public VehicleCachesEndpoint(CacheManager cacheManager, MeterRegistry meterRegistry, Environment environment) {
+        this.cacheManager = cacheManager;
+        this.meterRegistry = meterRegistry;
+        this.environment = environment;
+    }
+
+    /**
+     * Reports on every cache.
+     *
+     * @return the reports of the caches, keyed by cache name
+     */
+    @ReadOperation
+    public Map<String, CacheReport> caches() {
+        Map<String, CacheReport> reports = new TreeMap<>();
+        cacheManager.getCacheNames().forEach(cacheName -> reports.put(cacheName, report(cacheName)));
+        return reports;
+    }
+
+    /**
+     * Reports on the cache with the given name.
+     *
+     * @param cacheName the name of the cache
+     * @return the report of the cache, or null when there is no such cache
+     */
+    @ReadOperation
+    public CacheReport cache(@Selector String cacheName) {
+        return cacheManager.getCacheNames().contains(cacheName) ? report(cacheName) : null;
+    }
+
+    /**
+     * Evicts the given key from the cache with the given name, or clears the whole cache when no key is given.
+     * Numeric keys are evicted as the vehicle IDs they stand for.
+     *
+     * @param cacheName the name of the cache
+     * @param key       the key to evict, null to clear the whole cache
+     * @return the report of the cache after the eviction, or null when there is no such cache
+     */
+    @DeleteOperation
+    public CacheReport evict(@Selector String cacheName, @Nullable String key) {
+        Cache cache = cacheManager.getCache(cacheName);
+        if (cache == null) {
+            return null;
+        }
+        if (key == null) {
+            cache.clear();
+        } else {
+            cache.evict(key.matches(NUMERIC_KEY_PATTERN) ? Long.valueOf(key) : key);
+        }
+        return report(cacheName);
+    }
+
+    private CacheReport report(String cacheName) {
+        long hits = (long) measure("cache.gets", cacheName, RESULT_TAG, "hit");
+        long misses = (long) measure("cache.gets", cacheName, RESULT_TAG, "miss");
+        long gets = hits + misses;
+        return new CacheReport(
+                policy(cacheName),
+                hits,
+                misses,
+                gets == 0 ? 0 : (double) hits / gets,
+                gets == 0 ? 0 : (double) misses / gets,
+                (long) measure("cache.puts", cacheName),
+                (long) measure("cache.evictions", cacheName),
+                (long) measure("cache.size", cacheName),
+                (long) measure("cache.memory.estimate", cacheName));
+    }
+
+    private CachePolicyReport policy(String cacheName) {
+        String propertyPrefix = POLICY_PROPERTY_PREFIX + cacheName;
+        String timeToLive = environment.getProperty(propertyPrefix + ".time-to-live");
+        String maximumSize = environment.getProperty(propertyPrefix + ".maximum-size");
+        String expireAfterAccess = environment.getProperty(propertyPrefix + ".expire-after-access");
+        if (timeToLive == null && maximumSize == null && expireAfterAccess == null) {
+            return null;
+        }
+        return new CachePolicyReport(timeToLive, maximumSize, expireAfterAccess);
+    }
+
+    private double measure(String meterName, String cacheName, String... tags) {
+        return meterRegistry.find(meterName).tag(CACHE_TAG, cacheName).tags(tags).meters().stream()
+                .flatMap(meter -> StreamSupport.stream(meter.measure().spliterator(), false))
+                .mapToDouble(Measurement::getValue)
+                .filter(Double::isFinite)
+                .sum();
+    }
+
+    /**
+     * The CacheReport record describes a cache as seen by this node.
+     *
+     * @param policy               the configured policy of the cache, null when it has none of its own
+     * @param hits                 the number of reads answered by the cache
+     * @param misses               the number of reads missed by the cache
+     * @param hitRate              the share of reads answered by the cache
+     * @param missRate             the share of reads missed by the cache
+     * @param puts                 the number of entries written to the cache
+     * @param evictions            the number of entries the cache dropped to stay within its policy
+     * @param size                 the number of entries held by the node
+     * @param memoryEstimateBytes  the estimated bytes of the entries held by the node, once serialized
+     */
+    public record CacheReport(CachePolicyReport policy, long hits, long misses, double hitRate, double missRate,
+                              long puts, long evictions, long size, long memoryEstimateBytes) {
+    }
+
+    /**
+     * The CachePolicyReport record describes the configured policy of a cache.
+     *
+     * @param timeToLive        the time an entry lives after being written
+     * @param maximumSize       the maximum number of entries held by each node
+     * @param expireAfterAccess the time an entry may go unread before being dropped by each node
+     */
+    public record CachePolicyReport(String timeToLive, String maximumSize, String expireAfterAccess) {
+    }
+}
@@ -0,0 +1,101 @@
+package com.register.vehicletype.adapter.observability.endpoint;
+
+import com.register.vehicletype.domain.hotkey.HeavyHitters;
+import com.register.vehicletype.domain.hotkey.HotKeyTracker;
+import com.register.vehicletype.domain.hotkey.HotKeyTrackers;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Selector;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * The VehicleHotKeysEndpoint class is an actuator endpoint, exposed at {@code /actuator/vehiclehotkeys}, reporting
+ * for each vehicle type the IDs and the list pages read the most on this node, with their estimated number of reads
+ * and their share of all the reads.
+ */
+@Component
+@Endpoint(id = "vehiclehotkeys")
+public class VehicleHotKeysEndpoint {
+
+    private final HotKeyTrackers hotKeyTrackers;
+
+    /**
+     * The VehicleHotKeysEndpoint class is an actuator endpoint reporting the most read keys of each vehicle type.
+     *
+     * @param hotKeyTrackers the trackers of the most read keys of each vehicle type
+     */
+    public VehicleHotKeysEndpoint(HotKeyTrackers hotKeyTrackers) {
+        this.hotKeyTrackers = hotKeyTrackers;
+    }
+
+    /**
+     * Reports the most read keys of every vehicle type.
+     *
+     * @return the reports of the vehicle types, keyed by type name
+     */
+    @ReadOperation
+    public Map<String, HotKeysReport> hotKeys() {
+        Map<String, HotKeysReport> reports = new TreeMap<>();
+        hotKeyTrackers.getTrackers().forEach((type, tracker) -> reports.put(type, report(tracker)));
+        return reports;
+    }
+
+    /**
+     * Reports the most read keys of the vehicle type with the given name.
+     *
+     * @param type the name of the vehicle type
+     * @return the report of the vehicle type, or null when there is no such type
+     */
+    @ReadOperation
+    public HotKeysReport hotKeysOfType(@Selector String type) {
+        HotKeyTracker tracker = hotKeyTrackers.getTrackers().get(type);
+        return tracker == null ? null : report(tracker);
+    }
+
+    private static HotKeysReport report(HotKeyTracker tracker) {
+        return new HotKeysReport(keys(tracker.getIds()), keys(tracker.getListPages()));
+    }
+
+    private static <K> KeysReport<K> keys(HeavyHitters<K> heavyHitters) {
+        long total = heavyHitters.getTotal();
+        List<KeyReport<K>> top = heavyHitters.getTop().stream()
+                .map(hotKey -> new KeyReport<>(hotKey.key(), hotKey.count(),
+                        total == 0 ? 0 : Math.min(1, (double) hotKey.count() / total)))
+                .toList();
+        return new KeysReport<>(total, top);
+    }
+
+    /**
+     * The HotKeysReport record describes the most read keys of a vehicle type on this node.
+     *
+     * @param ids       the most read IDs
+     * @param listPages the most read list pages
+     */
+    public record HotKeysReport(KeysReport<Long> ids, KeysReport<HotKeyTracker.ListPage> listPages) {
+    }
+
+    /**
+     * The KeysReport record describes the most read keys of one kind.
+     *
+     * @param reads the number of reads counted, halved at each decay of the counts
+     * @param top   the most read keys, the most read first
+     * @param <K>   the type of the keys
+     */
+    public record KeysReport<K>(long reads, List<KeyReport<K>> top) {
+    }
+
+    /**
+     * The KeyReport record describes one of the most read keys.
+     *
+     * @param key   the key
+     * @param reads the estimated number of reads of the key, never below the true one
+     * @param share the estimated share of all the reads going to the key
+     * @param <K>   the type of the key
+     */
+    public record KeyReport<K>(K key, long reads, double share) {
+    }
+}
@@ -0,0 +1,65 @@
+package com.register.vehicletype.adapter.observability.metrics;
+
+import com.register.vehicletype.domain.hotkey.HeavyHitters;
+import com.register.vehicletype.domain.hotkey.HotKeyTrackers;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.stereotype.Component;
+
+/**
+ * The HotKeyMetrics class reports, for each vehicle type and each kind of key, the estimated number of reads of the
+ * most read key and the share of all the reads going to the most read keys. The keys themselves are left out of the
+ * tags to keep the number of time series constant, they are listed by the {@code vehiclehotkeys} endpoint.
+ */
+@Component
+public class HotKeyMetrics implements MeterBinder {
+
+    private static final String HOTTEST_READS_METRIC_NAME = "vehicletype.hot-keys.hottest.reads";
+    private static final String TOP_SHARE_METRIC_NAME = "vehicletype.hot-keys.top.share";
+
+    private final HotKeyTrackers hotKeyTrackers;
+
+    /**
+     * The HotKeyMetrics class reports the concentration of the reads of each vehicle type on its most read keys.
+     *
+     * @param hotKeyTrackers the trackers of the most read keys of each vehicle type
+     */
+    public HotKeyMetrics(HotKeyTrackers hotKeyTrackers) {
+        this.hotKeyTrackers = hotKeyTrackers;
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        hotKeyTrackers.getTrackers().forEach((type, tracker) -> {
+            bind(registry, type, "id", tracker.getIds());
+            bind(registry, type, "list-page", tracker.getListPages());
+        });
+    }
+
+    private static void bind(MeterRegistry registry, String type, String kind, HeavyHitters<?> heavyHitters) {
+        Gauge.builder(HOTTEST_READS_METRIC_NAME, heavyHitters, HotKeyMetrics::hottestReads)
+                .tag("type", type)
+                .tag("kind", kind)
+                .description("Estimated number of reads of the most read key since the counts last decayed")
+                .register(registry);
+        Gauge.builder(TOP_SHARE_METRIC_NAME, heavyHitters, HotKeyMetrics::topShare)
+                .tag("type", type)
+                .tag("kind", kind)
+                .description("Estimated share of the reads going to the most read keys")
+                .register(registry);
+    }
+
+    private static double hottestReads(HeavyHitters<?> heavyHitters) {
+        return heavyHitters.getTop().stream().findFirst().map(hotKey -> (double) hotKey.count()).orElse(0d);
+    }
+
+    private static double topShare(HeavyHitters<?> heavyHitters) {
+        long total = heavyHitters.getTotal();
+        if (total == 0) {
+            return 0;
+        }
+        long topReads = heavyHitters.getTop().stream().mapToLong(HeavyHitters.HotKey::count).sum();
+        return Math.min(1, (double) topReads / total);
+    }
+}